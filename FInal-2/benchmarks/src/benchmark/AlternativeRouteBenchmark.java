@@ -0,0 +1,103 @@
+package benchmark;
+
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import core.RouteNavigator;
+import core.SkiEngine;
+import domain.graph.SkiGraph;
+import domain.skier.Goal;
+import domain.skier.Skill;
+import exceptions.ParseException;
+import exceptions.RoutingException;
+
+/**
+ * Benchmark of {@link RouteNavigator#findAlternativeRoute()}. Before every
+ * invocation a route is planned and its first step is taken, so that the
+ * alternative avoids the second step of a freshly planned route.
+ *
+ * @author udqch
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AlternativeRouteBenchmark {
+    private static final LocalTime START_TIME = LocalTime.of(9, 0);
+
+    /** The number of nodes of the generated area. */
+    @Param({"24"})
+    public int nodeCount;
+
+    /** The number of pistes starting at each lift. */
+    @Param({"2"})
+    public int branching;
+
+    /** The probability that a piste does not lead towards the valley. */
+    @Param({"0.2"})
+    public double cycleDensity;
+
+    /** The goal of the skier. */
+    @Param({"ALTITUDE", "DISTANCE"})
+    public Goal goal;
+
+    /** The length of the time window in minutes. */
+    @Param({"90"})
+    public int windowMinutes;
+
+    private SkiGraph graph;
+    private SkiEngine engine;
+
+    /**
+     * Generates the area.
+     *
+     * @throws ParseException if the generated area is invalid
+     */
+    @Setup(Level.Trial)
+    public void setUpArea() throws ParseException {
+        this.graph = BenchmarkAreas.parse(nodeCount, branching, cycleDensity);
+    }
+
+    /**
+     * Plans a new route and takes its first step.
+     *
+     * @throws RoutingException if no route can be planned
+     */
+    @Setup(Level.Invocation)
+    public void setUpRoute() throws RoutingException {
+        this.engine = new SkiEngine();
+        engine.setGraph(graph);
+        engine.setSkill(Skill.INTERMEDIATE);
+        engine.setGoal(goal);
+        engine.planRoute(ResortGenerator.talstationId(0), START_TIME, START_TIME.plusMinutes(windowMinutes));
+        engine.getNavigator().showNextStep();
+        engine.getNavigator().takeNextStep();
+        engine.getNavigator().showNextStep();
+    }
+
+    /**
+     * Plans the alternative route.
+     *
+     * @return the ID of the avoided node, or null if there is no alternative
+     * @throws RoutingException if the engine is not in the expected state
+     */
+    @Benchmark
+    public String findAlternativeRoute() throws RoutingException {
+        return engine.getNavigator().findAlternativeRoute();
+    }
+}
@@ -0,0 +1,153 @@
+package benchmark;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import domain.graph.SkiGraph;
+import domain.routing.BatchRoutePlanner;
+import domain.routing.Route;
+import domain.routing.RoutePlanner;
+import domain.routing.RouteRequest;
+import domain.routing.RouteSink;
+import domain.routing.TimeCalculator;
+import domain.skier.Goal;
+import domain.skier.SkierProfile;
+import domain.skier.Skill;
+import exceptions.ParseException;
+import exceptions.RoutingException;
+
+/**
+ * Benchmark of a what-if analysis over all skill levels, goals and a few start
+ * times at the first talstation of a generated area, planned one request after
+ * the other by a {@link RoutePlanner} and concurrently by a
+ * {@link BatchRoutePlanner}.
+ *
+ * @author udqch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BatchPlanBenchmark {
+    private static final LocalTime FIRST_START_TIME = LocalTime.of(9, 0);
+    private static final int START_TIMES = 3;
+    private static final int BRANCHING = 2;
+    private static final double CYCLE_DENSITY = 0.2;
+
+    /** The number of nodes of the generated area. */
+    @Param({"48"})
+    public int nodeCount;
+
+    /** The number of threads of the batch planner. */
+    @Param({"1", "4"})
+    public int threads;
+
+    /** The length of the time window in minutes. */
+    @Param({"120"})
+    public int windowMinutes;
+
+    private RoutePlanner planner;
+    private BatchRoutePlanner batchPlanner;
+    private List<RouteRequest> requests;
+
+    /**
+     * Generates the area and creates one request per skill level, goal and start
+     * time.
+     *
+     * @throws ParseException if the generated area is invalid
+     */
+    @Setup
+    public void setUp() throws ParseException {
+        SkiGraph graph = BenchmarkAreas.parse(nodeCount, BRANCHING, CYCLE_DENSITY);
+        TimeCalculator timeCalculator = new TimeCalculator();
+        this.planner = new RoutePlanner(timeCalculator);
+        this.batchPlanner = new BatchRoutePlanner(timeCalculator, threads);
+        this.requests = new ArrayList<>();
+        for (Skill skill : Skill.values()) {
+            for (Goal goal : Goal.values()) {
+                for (int i = 0; i < START_TIMES; i++) {
+                    SkierProfile skier = new SkierProfile();
+                    skier.setSkill(skill);
+                    skier.setGoal(goal);
+                    LocalTime startTime = FIRST_START_TIME.plusHours(i);
+                    requests.add(planner.createSessionRequest(graph, skier,
+                            graph.getNodeById(ResortGenerator.talstationId(0)), startTime,
+                            startTime.plusMinutes(windowMinutes)).orElseThrow());
+                }
+            }
+        }
+    }
+
+    /**
+     * Shuts down the worker threads of the batch planner.
+     */
+    @TearDown
+    public void tearDown() {
+        batchPlanner.close();
+    }
+
+    /**
+     * Plans all requests one after the other.
+     *
+     * @return the number of requests with a route
+     * @throws RoutingException if a request is invalid
+     */
+    @Benchmark
+    public int planSequential() throws RoutingException {
+        int routes = 0;
+        for (RouteRequest request : requests) {
+            if (planner.planRoute(request).isPresent()) {
+                routes++;
+            }
+        }
+        return routes;
+    }
+
+    /**
+     * Plans all requests with the batch planner.
+     *
+     * @return the number of requests with a route
+     * @throws RoutingException if the batch is interrupted
+     */
+    @Benchmark
+    public int planBatch() throws RoutingException {
+        CountingSink sink = new CountingSink();
+        batchPlanner.planAll(requests, sink);
+        return sink.routes;
+    }
+
+    // Counts the requests with a route and rethrows the first failure
+    private static final class CountingSink implements RouteSink {
+        private int routes;
+
+        @Override
+        public void accept(int index, RouteRequest request, Optional<Route> route) {
+            if (route.isPresent()) {
+                routes++;
+            }
+        }
+
+        @Override
+        public void fail(int index, RouteRequest request, RoutingException error) {
+            throw new IllegalStateException(error.getMessage());
+        }
+    }
+}
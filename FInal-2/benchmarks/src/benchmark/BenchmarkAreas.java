@@ -0,0 +1,36 @@
+package benchmark;
+
+import domain.graph.SkiGraph;
+import exceptions.ParseException;
+import io.MermaidParser;
+
+/**
+ * Utility class holding the settings shared by all benchmarks and creating the
+ * parsed areas they run on.
+ *
+ * @author udqch
+ */
+final class BenchmarkAreas {
+    /** The seed all benchmark areas are generated with. */
+    static final long SEED = 2526L;
+    /** The number of hours each lift of a benchmark area is open. */
+    static final int LIFT_HOURS = 8;
+
+    private BenchmarkAreas() {
+    }
+
+    /**
+     * Generates and parses an area.
+     *
+     * @param nodeCount    the number of nodes of the area
+     * @param branching    the number of pistes starting at each lift
+     * @param cycleDensity the probability that a piste does not lead towards the
+     *                     valley
+     * @return the parsed and validated graph
+     * @throws ParseException if the generated area is invalid
+     */
+    static SkiGraph parse(int nodeCount, int branching, double cycleDensity) throws ParseException {
+        return new MermaidParser().parse(
+                new ResortGenerator(nodeCount, branching, cycleDensity, LIFT_HOURS).generate(SEED));
+    }
+}
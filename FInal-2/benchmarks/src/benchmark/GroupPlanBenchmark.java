@@ -0,0 +1,106 @@
+package benchmark;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import domain.graph.SkiGraph;
+import domain.routing.Route;
+import domain.routing.RoutePlanner;
+import domain.routing.RouteRequest;
+import domain.routing.TimeCalculator;
+import domain.skier.Goal;
+import domain.skier.SkierGroup;
+import domain.skier.SkierProfile;
+import domain.skier.Skill;
+import exceptions.ParseException;
+import exceptions.RoutingException;
+
+/**
+ * Benchmark of {@link RoutePlanner#planRoute(RouteRequest, SkierGroup)} for
+ * groups of different sizes, whose members cycle through all skill levels and
+ * goals, starting at the first talstation of a generated area. Groups without
+ * additive goals start with a member aiming for unique pistes.
+ *
+ * @author udqch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GroupPlanBenchmark {
+    private static final LocalTime START_TIME = LocalTime.of(9, 0);
+    private static final int BRANCHING = 2;
+    private static final double CYCLE_DENSITY = 0.2;
+
+    /** The number of nodes of the generated area. */
+    @Param({"48"})
+    public int nodeCount;
+
+    /** The number of members of the group. */
+    @Param({"1", "2", "4"})
+    public int groupSize;
+
+    /** Whether all members have additive goals, so that the memoised search applies. */
+    @Param({"true", "false"})
+    public boolean additive;
+
+    /** The length of the time window in minutes. */
+    @Param({"120", "240"})
+    public int windowMinutes;
+
+    private RoutePlanner planner;
+    private RouteRequest request;
+    private SkierGroup group;
+
+    /**
+     * Generates the area and creates the group and the request.
+     *
+     * @throws ParseException if the generated area is invalid
+     */
+    @Setup
+    public void setUp() throws ParseException {
+        SkiGraph graph = BenchmarkAreas.parse(nodeCount, BRANCHING, CYCLE_DENSITY);
+        List<SkierProfile> members = new ArrayList<>();
+        for (int i = 0; i < groupSize; i++) {
+            SkierProfile member = new SkierProfile();
+            member.setSkill(Skill.values()[i % Skill.values().length]);
+            int goal = additive ? i % Goal.UNIQUE.ordinal() : (Goal.UNIQUE.ordinal() + i) % Goal.values().length;
+            member.setGoal(Goal.values()[goal]);
+            members.add(member);
+        }
+        this.group = new SkierGroup(members);
+
+        this.planner = new RoutePlanner(new TimeCalculator());
+        this.request = planner.createSessionRequest(graph, members.get(0),
+                graph.getNodeById(ResortGenerator.talstationId(0)), START_TIME,
+                START_TIME.plusMinutes(windowMinutes)).orElseThrow();
+    }
+
+    /**
+     * Plans the route for the group.
+     *
+     * @return the best route, if any
+     * @throws RoutingException if the request is invalid
+     */
+    @Benchmark
+    public Optional<Route> planGroupRoute() throws RoutingException {
+        return planner.planRoute(request, group);
+    }
+}
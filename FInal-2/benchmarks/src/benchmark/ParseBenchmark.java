@@ -0,0 +1,68 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import domain.graph.SkiGraph;
+import exceptions.ParseException;
+import io.MermaidParser;
+
+/**
+ * Benchmark of {@link MermaidParser#parse(List)} on generated areas of
+ * increasing size. Parsing includes the validation of the graph.
+ *
+ * @author udqch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ParseBenchmark {
+    /** The number of nodes of the generated area. */
+    @Param({"100", "1000", "3000"})
+    public int nodeCount;
+
+    /** The number of pistes starting at each lift. */
+    @Param({"3"})
+    public int branching;
+
+    /** The probability that a piste does not lead towards the valley. */
+    @Param({"0.2"})
+    public double cycleDensity;
+
+    private List<String> lines;
+
+    /**
+     * Generates the area.
+     */
+    @Setup
+    public void setUp() {
+        this.lines = new ResortGenerator(nodeCount, branching, cycleDensity, BenchmarkAreas.LIFT_HOURS)
+                .generate(BenchmarkAreas.SEED);
+    }
+
+    /**
+     * Parses the generated area.
+     *
+     * @return the parsed graph
+     * @throws ParseException if the generated area is invalid
+     */
+    @Benchmark
+    public SkiGraph parse() throws ParseException {
+        return new MermaidParser().parse(lines);
+    }
+}
@@ -0,0 +1,96 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import domain.graph.Piste;
+import domain.graph.SkiGraph;
+import domain.routing.PisteTimeBatch;
+import domain.skier.Skill;
+import exceptions.ParseException;
+
+/**
+ * Benchmark of the batch piste time evaluation with the Vector API against the
+ * scalar loop. The pairs combine random pistes of a generated area with random
+ * skill levels. The forked JVM enables {@code jdk.incubator.vector}, so that
+ * the vectorized path is used.
+ *
+ * @author udqch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PisteTimeBenchmark {
+    private static final int NODE_COUNT = 1000;
+    private static final int BRANCHING = 3;
+    private static final double CYCLE_DENSITY = 0.2;
+
+    /** The number of (piste, skill modifier) pairs per evaluation. */
+    @Param({"1000", "100000"})
+    public int pairCount;
+
+    private PisteTimeBatch batch;
+    private int[] pistes;
+    private double[] skillModifiers;
+    private long[] seconds;
+
+    /**
+     * Generates the area and the pairs.
+     *
+     * @throws ParseException if the generated area is invalid
+     */
+    @Setup
+    public void setUp() throws ParseException {
+        SkiGraph graph = BenchmarkAreas.parse(NODE_COUNT, BRANCHING, CYCLE_DENSITY);
+        List<Piste> areaPistes = new ArrayList<>(graph.getAllPistes());
+        this.batch = new PisteTimeBatch(areaPistes);
+
+        Random random = new Random(BenchmarkAreas.SEED);
+        this.pistes = new int[pairCount];
+        this.skillModifiers = new double[pairCount];
+        this.seconds = new long[pairCount];
+        for (int i = 0; i < pairCount; i++) {
+            pistes[i] = random.nextInt(areaPistes.size());
+            skillModifiers[i] = Skill.values()[random.nextInt(Skill.values().length)].getModifier();
+        }
+    }
+
+    /**
+     * Evaluates the pairs with the Vector API.
+     *
+     * @return the computed times
+     */
+    @Benchmark
+    public long[] vectorized() {
+        batch.computeSeconds(pistes, skillModifiers, seconds);
+        return seconds;
+    }
+
+    /**
+     * Evaluates the pairs with the scalar loop.
+     *
+     * @return the computed times
+     */
+    @Benchmark
+    public long[] scalar() {
+        batch.computeScalarSeconds(pistes, skillModifiers, seconds);
+        return seconds;
+    }
+}
@@ -0,0 +1,101 @@
+package benchmark;
+
+import java.time.LocalTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import domain.graph.SkiGraph;
+import domain.routing.Route;
+import domain.routing.RoutePlanner;
+import domain.routing.RouteRequest;
+import domain.routing.TimeCalculator;
+import domain.skier.Goal;
+import domain.skier.SkierProfile;
+import domain.skier.Skill;
+import exceptions.ParseException;
+import exceptions.RoutingException;
+
+/**
+ * Benchmark of {@link RoutePlanner#planRoute(RouteRequest)} across all goals,
+ * several time windows and time resolutions, starting at the first talstation
+ * of a generated area. A resolution of 0 runs the full search for all goals.
+ *
+ * @author udqch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PlanRouteBenchmark {
+    private static final LocalTime START_TIME = LocalTime.of(9, 0);
+
+    /** The number of nodes of the generated area. */
+    @Param({"24", "48"})
+    public int nodeCount;
+
+    /** The number of pistes starting at each lift. */
+    @Param({"2"})
+    public int branching;
+
+    /** The probability that a piste does not lead towards the valley. */
+    @Param({"0.2"})
+    public double cycleDensity;
+
+    /** The goal of the skier. */
+    @Param({"ALTITUDE", "DISTANCE", "NUMBER", "UNIQUE"})
+    public Goal goal;
+
+    /** The length of the time window in minutes. */
+    @Param({"60", "90", "120"})
+    public int windowMinutes;
+
+    /** The time resolution of the memoised search in seconds. */
+    @Param({"0", "1", "60"})
+    public int timeResolution;
+
+    private RoutePlanner planner;
+    private RouteRequest request;
+
+    /**
+     * Generates the area and creates the request.
+     *
+     * @throws ParseException if the generated area is invalid
+     */
+    @Setup
+    public void setUp() throws ParseException {
+        SkiGraph graph = BenchmarkAreas.parse(nodeCount, branching, cycleDensity);
+        SkierProfile skier = new SkierProfile();
+        skier.setSkill(Skill.INTERMEDIATE);
+        skier.setGoal(goal);
+
+        this.planner = new RoutePlanner(new TimeCalculator());
+        planner.setTimeResolution(timeResolution);
+        this.request = planner.createSessionRequest(graph, skier, graph.getNodeById(ResortGenerator.talstationId(0)),
+                START_TIME, START_TIME.plusMinutes(windowMinutes)).orElseThrow();
+    }
+
+    /**
+     * Plans the route.
+     *
+     * @return the best route, if any
+     * @throws RoutingException if the request is invalid
+     */
+    @Benchmark
+    public Optional<Route> planRoute() throws RoutingException {
+        return planner.planRoute(request);
+    }
+}
@@ -0,0 +1,125 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import domain.skier.Goal;
+import domain.skier.SkierProfile;
+import domain.skier.Skill;
+import persistence.JournalEvent;
+import persistence.ProfileState;
+import persistence.RouteState;
+import persistence.SessionJournal;
+import persistence.SessionState;
+
+/**
+ * Benchmark of recovering sessions from their journals. Every session consists
+ * of a snapshot followed by a planned route and the given number of taken
+ * steps, which is the state after a restart in the middle of a ski day.
+ *
+ * @author udqch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RecoveryBenchmark {
+    private static final int SESSION_COUNT = 1000;
+    private static final int ROUTE_LENGTH = 40;
+    private static final int SNAPSHOT_INTERVAL = 256;
+    private static final LocalTime START_TIME = LocalTime.of(9, 0);
+    private static final LocalTime END_TIME = LocalTime.of(16, 0);
+    private static final int STEP_SECONDS = 90;
+
+    /** The number of journaled steps per session since the last snapshot. */
+    @Param({"10", "100"})
+    public int stepCount;
+
+    private Path directory;
+
+    /**
+     * Writes the journals of all sessions.
+     *
+     * @throws IOException if writing fails
+     */
+    @Setup
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("recovery-benchmark");
+        List<String> nodeIds = new ArrayList<>();
+        for (int i = 0; i < ROUTE_LENGTH; i++) {
+            nodeIds.add(ResortGenerator.talstationId(i));
+        }
+        SkierProfile profile = new SkierProfile();
+        profile.setSkill(Skill.INTERMEDIATE);
+        profile.setGoal(Goal.DISTANCE);
+        SessionState initial = new SessionState(ProfileState.of(profile), List.of(), null);
+
+        for (int s = 0; s < SESSION_COUNT; s++) {
+            try (SessionJournal journal = SessionJournal.open(sessionDirectory(s), SNAPSHOT_INTERVAL)) {
+                journal.snapshot(initial);
+                journal.append(new JournalEvent.Plan(
+                        new RouteState(nodeIds, START_TIME, 0, 0, 0, START_TIME, END_TIME)));
+                for (int step = 1; step <= stepCount; step++) {
+                    journal.append(new JournalEvent.Take(START_TIME.plusSeconds((long) step * STEP_SECONDS)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes the journals.
+     *
+     * @throws IOException if deleting fails
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * Recovers the states of all sessions.
+     *
+     * @return the sum of the recovered step indexes
+     * @throws IOException if reading fails
+     */
+    @Benchmark
+    public long recoverAll() throws IOException {
+        long steps = 0;
+        for (int s = 0; s < SESSION_COUNT; s++) {
+            try (SessionJournal journal = SessionJournal.open(sessionDirectory(s), SNAPSHOT_INTERVAL)) {
+                steps += journal.getState().route().stepIndex();
+            }
+        }
+        return steps;
+    }
+
+    private Path sessionDirectory(int session) {
+        return directory.resolve(Integer.toString(session));
+    }
+}
@@ -0,0 +1,146 @@
+package benchmark;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import domain.graph.Difficulty;
+import domain.graph.LiftType;
+import domain.graph.Surface;
+
+/**
+ * The ResortGenerator class generates synthetic ski areas in the Mermaid format
+ * read by the {@link io.MermaidParser}. The same parameters and seed always
+ * produce the same area.
+ *
+ * <p>
+ * Every lift is the start of as many pistes as the branching factor demands.
+ * Each piste leads down to a lift with a lower index, so that every route can
+ * return to the valley; the first lifts are talstations. The cycle density is
+ * the probability that a piste leads to a lift with the same or a higher index
+ * instead, which creates loops in the upper part of the area and makes the
+ * route search considerably harder.
+ * </p>
+ *
+ * @author udqch
+ */
+public final class ResortGenerator {
+    private static final String GRAPH_START = "graph";
+    private static final String TALSTATION_FORMAT = "    %s[[%s<br/>%s;%s;%s;%d;%d]]";
+    private static final String LIFT_FORMAT = "    %s[%s<br/>%s;%s;%s;%d;%d]";
+    private static final String PISTE_FORMAT = "    %s([%s<br/>%s;%s;%d;%d])";
+    private static final String EDGE_FORMAT = "    %s --> %s";
+    private static final String LIFT_PREFIX = "L";
+    private static final String PISTE_PREFIX = "P";
+    private static final LocalTime FIRST_OPENING = LocalTime.of(8, 0);
+    private static final LocalTime LAST_CLOSING = LocalTime.of(23, 59);
+    private static final int OPENING_STEPS = 3;
+    private static final int OPENING_STEP_MINUTES = 15;
+    private static final int TALSTATION_SHARE = 4;
+    private static final int MIN_RIDE = 3;
+    private static final int MAX_RIDE = 12;
+    private static final int MAX_QUEUE = 4;
+    private static final int MIN_LENGTH = 500;
+    private static final int MAX_LENGTH = 3000;
+    private static final int MIN_HEIGHT = 50;
+    private static final int MAX_HEIGHT = 900;
+
+    private final int nodeCount;
+    private final int branching;
+    private final double cycleDensity;
+    private final int liftHours;
+
+    /**
+     * Constructs a new ResortGenerator.
+     *
+     * @param nodeCount    the total number of lifts and pistes, at least 3
+     * @param branching    the number of pistes starting at each lift, at least 1
+     * @param cycleDensity the probability in [0, 1] that a piste leads to a lift
+     *                     that is not closer to the valley
+     * @param liftHours    the number of hours each lift is open
+     */
+    public ResortGenerator(int nodeCount, int branching, double cycleDensity, int liftHours) {
+        this.nodeCount = Math.max(3, nodeCount);
+        this.branching = Math.max(1, branching);
+        this.cycleDensity = cycleDensity;
+        this.liftHours = liftHours;
+    }
+
+    /**
+     * Generates the lines of an area file.
+     *
+     * @param seed the seed for the random choices
+     * @return the lines of the Mermaid area definition
+     */
+    public List<String> generate(long seed) {
+        Random random = new Random(seed);
+        int liftCount = Math.max(1, nodeCount / (branching + 1));
+        int pisteCount = nodeCount - liftCount;
+        int talstationCount = Math.max(1, liftCount / TALSTATION_SHARE);
+
+        List<String> lines = new ArrayList<>();
+        lines.add(GRAPH_START);
+        for (int i = 0; i < liftCount; i++) {
+            lines.add(createLift(random, i, i < talstationCount));
+        }
+        for (int i = 0; i < pisteCount; i++) {
+            lines.add(createPiste(random, i));
+        }
+        for (String[] edge : createEdges(random, liftCount, pisteCount)) {
+            lines.add(EDGE_FORMAT.formatted(edge[0], edge[1]));
+        }
+        return lines;
+    }
+
+    /**
+     * Returns the ID of the talstation with the given index.
+     *
+     * @param index the index of the talstation
+     * @return the ID of the talstation
+     */
+    public static String talstationId(int index) {
+        return LIFT_PREFIX + index;
+    }
+
+    private String createLift(Random random, int index, boolean isTalstation) {
+        LiftType type = LiftType.values()[random.nextInt(LiftType.values().length)];
+        LocalTime start = FIRST_OPENING.plusMinutes((long) random.nextInt(OPENING_STEPS) * OPENING_STEP_MINUTES);
+        LocalTime end = start.plusHours(liftHours);
+        if (end.isBefore(start) || end.isAfter(LAST_CLOSING)) {
+            end = LAST_CLOSING;
+        }
+        int ride = MIN_RIDE + random.nextInt(MAX_RIDE - MIN_RIDE + 1);
+        int queue = random.nextInt(MAX_QUEUE + 1);
+        String id = LIFT_PREFIX + index;
+        String format = isTalstation ? TALSTATION_FORMAT : LIFT_FORMAT;
+        return format.formatted(id, id, type, start, end, ride, queue);
+    }
+
+    private String createPiste(Random random, int index) {
+        Difficulty difficulty = Difficulty.values()[random.nextInt(Difficulty.values().length)];
+        Surface surface = Surface.values()[random.nextInt(Surface.values().length)];
+        int length = MIN_LENGTH + random.nextInt(MAX_LENGTH - MIN_LENGTH + 1);
+        int height = MIN_HEIGHT + random.nextInt(MAX_HEIGHT - MIN_HEIGHT + 1);
+        String id = PISTE_PREFIX + index;
+        return PISTE_FORMAT.formatted(id, id, difficulty, surface, length, height);
+    }
+
+    // Pistes are assigned to their start lifts in turn, so the first piste of
+    // every lift always leads further down and keeps the area connected
+    private List<String[]> createEdges(Random random, int liftCount, int pisteCount) {
+        List<String[]> edges = new ArrayList<>();
+        for (int piste = 0; piste < pisteCount; piste++) {
+            int source = piste % liftCount;
+            int target;
+            if (piste >= liftCount && random.nextDouble() < cycleDensity) {
+                target = source + random.nextInt(liftCount - source);
+            } else {
+                target = source == 0 ? 0 : random.nextInt(source);
+            }
+            edges.add(new String[] {LIFT_PREFIX + source, PISTE_PREFIX + piste});
+            edges.add(new String[] {PISTE_PREFIX + piste, LIFT_PREFIX + target});
+        }
+        return edges;
+    }
+}
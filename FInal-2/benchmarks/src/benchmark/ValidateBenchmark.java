@@ -0,0 +1,70 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import domain.graph.IndexedGraph;
+import domain.graph.SkiGraph;
+import exceptions.ParseException;
+
+/**
+ * Benchmark of {@link SkiGraph#validate()} on generated areas of increasing
+ * size. Validation is repeated on the same graph, which rebuilds all derived
+ * structures every time.
+ *
+ * @author udqch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ValidateBenchmark {
+    /** The number of nodes of the generated area. */
+    @Param({"100", "1000", "3000"})
+    public int nodeCount;
+
+    /** The number of pistes starting at each lift. */
+    @Param({"3"})
+    public int branching;
+
+    /** The probability that a piste does not lead towards the valley. */
+    @Param({"0.2"})
+    public double cycleDensity;
+
+    private SkiGraph graph;
+
+    /**
+     * Generates and parses the area.
+     *
+     * @throws ParseException if the generated area is invalid
+     */
+    @Setup
+    public void setUp() throws ParseException {
+        this.graph = BenchmarkAreas.parse(nodeCount, branching, cycleDensity);
+    }
+
+    /**
+     * Validates the graph.
+     *
+     * @return the indexed view built by the validation
+     * @throws ParseException if the graph is invalid
+     */
+    @Benchmark
+    public IndexedGraph validate() throws ParseException {
+        graph.validate();
+        return graph.getIndexedGraph();
+    }
+}
@@ -35,7 +35,17 @@ public enum Command {
     /** Command to show alternative ski routes. */
     ALTERNATIVE("alternative"),
     /** Command to show the current ski route. */
-    SHOW("show");
+    SHOW("show"),
+    /** Command to list all nodes that can still be skied in a time window. */
+    REACHABLE("reachable"),
+    /** Command to simulate the lift queues of a ski day. */
+    SIMULATE("simulate"),
+    /** Command to control and show the route planner statistics. */
+    STATS("stats"),
+    /** Command to open or close the session journal. */
+    JOURNAL("journal"),
+    /** Command to add the current profile to the group of skiers or clear it. */
+    GROUP("group");
 
     private final String keyword;
 
@@ -0,0 +1,50 @@
+package cli;
+
+import exceptions.CommandError;
+import exceptions.CommandException;
+import utils.EnumParser;
+
+/**
+ * Utility class for validating the arguments of the commands of the
+ * {@link SystemCLI}.
+ *
+ * @author udqch
+ */
+final class CommandArgs {
+
+    private CommandArgs() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Validates that the number of arguments provided matches the expected count.
+     *
+     * @param parts    the command keyword followed by its arguments
+     * @param expected the expected number of parts, including the keyword
+     * @throws CommandException if the number of parts differs
+     */
+    static void requireArgs(String[] parts, int expected) throws CommandException {
+        if (parts.length != expected) {
+            throw new CommandException(
+                    CommandError.INVALID_NUMBER_ARGS.getMessage(parts[0], expected - 1, parts.length - 1));
+        }
+    }
+
+    /**
+     * Parses an argument as an enum value and provides detailed error messages if
+     * parsing fails.
+     *
+     * @param <T>       the type of the enum
+     * @param command   the command keyword
+     * @param args      the argument to parse
+     * @param enumClass the class of the enum
+     * @return the parsed enum constant
+     * @throws CommandException if the argument is not a constant of the enum
+     */
+    static <T extends Enum<T>> T parseEnumArgs(String command, String args, Class<T> enumClass)
+            throws CommandException {
+        return EnumParser.parseEnum(enumClass, args)
+                .orElseThrow(() -> new CommandException(
+                        CommandError.INVALID_ARGUMENT.getMessage(command, args)));
+    }
+}
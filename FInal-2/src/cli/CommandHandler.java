@@ -0,0 +1,20 @@
+package cli;
+
+import exceptions.SkiException;
+
+/**
+ * The CommandHandler interface executes a single parsed command of the
+ * {@link SystemCLI}.
+ *
+ * @author udqch
+ */
+@FunctionalInterface
+interface CommandHandler {
+    /**
+     * Executes the command.
+     *
+     * @param parts the command keyword followed by its arguments
+     * @throws SkiException if the arguments are invalid or the command fails
+     */
+    void execute(String[] parts) throws SkiException;
+}
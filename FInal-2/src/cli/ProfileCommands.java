@@ -0,0 +1,142 @@
+package cli;
+
+import static cli.CommandArgs.parseEnumArgs;
+import static cli.CommandArgs.requireArgs;
+
+import java.util.Map;
+import java.util.Optional;
+
+import core.SkiEngine;
+import domain.graph.Difficulty;
+import domain.graph.Surface;
+import domain.skier.Goal;
+import domain.skier.Preference;
+import domain.skier.Skill;
+import exceptions.CommandError;
+import exceptions.CommandException;
+import exceptions.SkiException;
+import utils.EnumParser;
+
+/**
+ * The ProfileCommands class handles the commands of the {@link SystemCLI} that
+ * change the skier profile, the group of skiers and the settings of the route
+ * search.
+ *
+ * @author udqch
+ */
+final class ProfileCommands {
+
+    private enum SetTarget {
+        /** The target for setting skill level */
+        skill,
+        /** The target for setting goal */
+        goal,
+        /** The target for setting the time resolution of the route search */
+        resolution
+    }
+
+    private enum PreferenceTarget {
+        /** The target for resetting preferences */
+        preferences
+    }
+
+    private enum GroupAction {
+        /** The action for adding the current profile to the group */
+        add,
+        /** The action for removing all members from the group */
+        clear
+    }
+
+    private final SkiEngine engine;
+
+    /**
+     * Constructs new ProfileCommands for the given engine.
+     *
+     * @param engine the engine the commands are executed on
+     */
+    ProfileCommands(SkiEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Registers the handlers of the profile commands.
+     *
+     * @param handlers the handlers of the CLI, by command
+     */
+    void register(Map<Command, CommandHandler> handlers) {
+        handlers.put(Command.SET, this::handleSet);
+        handlers.put(Command.LIKE, parts -> this.handlePreference(parts, Preference.LIKE));
+        handlers.put(Command.DISLIKE, parts -> this.handlePreference(parts, Preference.DISLIKE));
+        handlers.put(Command.RESET, this::handleReset);
+        handlers.put(Command.GROUP, this::handleGroup);
+    }
+
+    private void handleSet(String[] parts) throws SkiException {
+        // Expected format: set skill|goal|resolution <value>
+        requireArgs(parts, 3);
+        SetTarget target = parseEnumArgs(parts[0], parts[1], SetTarget.class);
+
+        switch (target) {
+            case skill -> engine.setSkill(parseEnumArgs(parts[0], parts[2], Skill.class));
+            case goal -> engine.setGoal(parseEnumArgs(parts[0], parts[2], Goal.class));
+            default -> engine.setTimeResolution(parseResolution(parts));
+        }
+    }
+
+    // The resolution is a number of seconds, 0 disables the memoised search
+    private static int parseResolution(String[] parts) throws CommandException {
+        int seconds;
+        try {
+            seconds = Integer.parseInt(parts[2]);
+        } catch (NumberFormatException e) {
+            throw new CommandException(CommandError.INVALID_ARGUMENT.getMessage(parts[0], parts[2]));
+        }
+        if (seconds < 0) {
+            throw new CommandException(CommandError.INVALID_ARGUMENT.getMessage(parts[0], parts[2]));
+        }
+        return seconds;
+    }
+
+    private void handlePreference(String[] parts, Preference preference) throws SkiException {
+        // Expected format: like|dislike <difficulty>|<surface>
+        requireArgs(parts, 2);
+
+        // First try parsing as Difficulty
+        Optional<Difficulty> difficultyOpt = EnumParser.parseEnum(Difficulty.class, parts[1]);
+        if (difficultyOpt.isPresent()) {
+            engine.setPreference(difficultyOpt.get(), preference);
+            return;
+        }
+        // Then try parsing as Surface
+        Optional<Surface> surfaceOpt = EnumParser.parseEnum(Surface.class, parts[1]);
+        if (surfaceOpt.isPresent()) {
+            engine.setPreference(surfaceOpt.get(), preference);
+            return;
+        }
+
+        // If neither parsing succeeded, throw an error
+        throw new CommandException(CommandError.INVALID_ARGUMENT.getMessage(parts[0], parts[1]));
+    }
+
+    private void handleReset(String[] parts) throws SkiException {
+        // Expected format: reset preferences
+        requireArgs(parts, 2);
+        PreferenceTarget target = parseEnumArgs(parts[0], parts[1], PreferenceTarget.class);
+
+        if (target == PreferenceTarget.preferences) {
+            engine.resetPreferences();
+        }
+    }
+
+    private void handleGroup(String[] parts) throws SkiException {
+        // Expected format: group add|clear
+        requireArgs(parts, 2);
+        GroupAction action = parseEnumArgs(parts[0], parts[1], GroupAction.class);
+
+        if (action == GroupAction.add) {
+            engine.addGroupMember();
+        } else {
+            engine.clearGroup();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package cli;
+
+import static cli.CommandArgs.parseEnumArgs;
+import static cli.CommandArgs.requireArgs;
+
+import java.io.PrintWriter;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+
+import core.RouteNavigator;
+import core.SkiEngine;
+import exceptions.CommandError;
+import exceptions.CommandException;
+import exceptions.SkiException;
+
+/**
+ * The RouteCommands class handles the commands of the {@link SystemCLI} that
+ * plan a route and guide the skier along it, as well as the query of the
+ * reachable nodes.
+ *
+ * @author udqch
+ */
+final class RouteCommands {
+    private static final String MSG_ROUTE_PLANNED = "route planned";
+    private static final String MSG_ROUTE_ABORTED = "route aborted";
+    private static final String MSG_ROUTE_FINISHED = "route finished!";
+    private static final String MSG_NO_ALTERNATIVE = "no alternative found";
+    private static final String MSG_AVOIDED = "avoided %s";
+    private static final String MSG_NOTHING_REACHABLE = "nothing reachable";
+    private static final String NODE_SEPARATOR = " ";
+
+    private enum ShowTarget {
+        /** The target for showing the current route */
+        route
+    }
+
+    private final SkiEngine engine;
+    private final RouteNavigator navigator;
+    private final PrintWriter output;
+
+    /**
+     * Constructs new RouteCommands for the given engine.
+     *
+     * @param engine the engine the commands are executed on
+     * @param output the writer all output is written to
+     */
+    RouteCommands(SkiEngine engine, PrintWriter output) {
+        this.engine = engine;
+        this.navigator = engine.getNavigator();
+        this.output = output;
+    }
+
+    /**
+     * Registers the handlers of the route commands.
+     *
+     * @param handlers the handlers of the CLI, by command
+     */
+    void register(Map<Command, CommandHandler> handlers) {
+        handlers.put(Command.PLAN, this::handlePlan);
+        handlers.put(Command.ABORT, this::handleAbort);
+        handlers.put(Command.NEXT, this::handleNext);
+        handlers.put(Command.TAKE, this::handleTake);
+        handlers.put(Command.ALTERNATIVE, this::handleAlternative);
+        handlers.put(Command.SHOW, this::handleShow);
+        handlers.put(Command.REACHABLE, this::handleReachable);
+    }
+
+    private void handlePlan(String[] parts) throws SkiException {
+        // Expected format: plan <id> <startTime> <endTime>
+        requireArgs(parts, 4);
+
+        String startNodeId = parts[1];
+        try {
+            LocalTime startTime = LocalTime.parse(parts[2]);
+            LocalTime endTime = LocalTime.parse(parts[3]);
+
+            engine.planRoute(startNodeId, startTime, endTime);
+            output.println(MSG_ROUTE_PLANNED);
+        } catch (DateTimeParseException e) {
+            throw new CommandException(CommandError.INVALID_TIME_FORMAT.getMessage());
+        }
+    }
+
+    private void handleAbort(String[] parts) throws SkiException {
+        // Expected format: abort
+        requireArgs(parts, 1);
+        navigator.abortRoute();
+        output.println(MSG_ROUTE_ABORTED);
+    }
+
+    private void handleNext(String[] parts) throws SkiException {
+        // Expected format: next
+        requireArgs(parts, 1);
+        String nextStepId = navigator.showNextStep();
+        if (nextStepId != null) {
+            output.println(nextStepId);
+        } else {
+            output.println(MSG_ROUTE_FINISHED);
+        }
+    }
+
+    private void handleTake(String[] parts) throws SkiException {
+        // Expected format: take
+        requireArgs(parts, 1);
+        navigator.takeNextStep();
+    }
+
+    private void handleAlternative(String[] parts) throws SkiException {
+        // Expected format: alternative
+        requireArgs(parts, 1);
+        String avoidedId = navigator.findAlternativeRoute();
+        if (avoidedId != null) {
+            output.println(MSG_AVOIDED.formatted(avoidedId));
+        } else {
+            output.println(MSG_NO_ALTERNATIVE);
+        }
+    }
+
+    private void handleShow(String[] parts) throws SkiException {
+        // Expected format: show preferences
+        requireArgs(parts, 2);
+        ShowTarget target = parseEnumArgs(parts[0], parts[1], ShowTarget.class);
+
+        if (target == ShowTarget.route) {
+            output.println(navigator.showCurrentRoute());
+        }
+    }
+
+    private void handleReachable(String[] parts) throws SkiException {
+        // Expected format: reachable <id> <startTime> <endTime>
+        requireArgs(parts, 4);
+
+        try {
+            LocalTime startTime = LocalTime.parse(parts[2]);
+            LocalTime endTime = LocalTime.parse(parts[3]);
+
+            List<String> reachableIds = engine.getAnalyzer().findReachableNodes(parts[1], startTime, endTime);
+            if (reachableIds.isEmpty()) {
+                output.println(MSG_NOTHING_REACHABLE);
+            } else {
+                output.println(String.join(NODE_SEPARATOR, reachableIds));
+            }
+        } catch (DateTimeParseException e) {
+            throw new CommandException(CommandError.INVALID_TIME_FORMAT.getMessage());
+        }
+    }
+}
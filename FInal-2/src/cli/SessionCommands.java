@@ -0,0 +1,120 @@
+package cli;
+
+import static cli.CommandArgs.parseEnumArgs;
+import static cli.CommandArgs.requireArgs;
+
+import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.util.Map;
+
+import core.SkiEngine;
+import exceptions.CommandError;
+import exceptions.CommandException;
+import exceptions.SkiException;
+
+/**
+ * The SessionCommands class handles the commands of the {@link SystemCLI} that
+ * concern the session as a whole: the session journal, the planner statistics
+ * and the simulation of a ski day.
+ *
+ * @author udqch
+ */
+final class SessionCommands {
+
+    private enum StatsAction {
+        /** The action for enabling the statistics */
+        on,
+        /** The action for disabling the statistics */
+        off,
+        /** The action for showing the statistics */
+        show,
+        /** The action for resetting the statistics */
+        reset
+    }
+
+    private enum JournalAction {
+        /** The action for opening the journal in a directory */
+        open,
+        /** The action for closing the journal */
+        close
+    }
+
+    private final SkiEngine engine;
+    private final PrintWriter output;
+    private final Path baseDirectory;
+
+    /**
+     * Constructs new SessionCommands for the given engine.
+     *
+     * @param engine        the engine the commands are executed on
+     * @param output        the writer all output is written to
+     * @param baseDirectory the directory relative journal paths are resolved
+     *                      against
+     */
+    SessionCommands(SkiEngine engine, PrintWriter output, Path baseDirectory) {
+        this.engine = engine;
+        this.output = output;
+        this.baseDirectory = baseDirectory;
+    }
+
+    /**
+     * Registers the handlers of the session commands.
+     *
+     * @param handlers the handlers of the CLI, by command
+     */
+    void register(Map<Command, CommandHandler> handlers) {
+        handlers.put(Command.SIMULATE, this::handleSimulate);
+        handlers.put(Command.STATS, this::handleStats);
+        handlers.put(Command.JOURNAL, this::handleJournal);
+    }
+
+    private void handleSimulate(String[] parts) throws SkiException {
+        // Expected format: simulate <skierCount> <seed>
+        requireArgs(parts, 3);
+
+        int skierCount;
+        long seed;
+        try {
+            skierCount = Integer.parseInt(parts[1]);
+            seed = Long.parseLong(parts[2]);
+        } catch (NumberFormatException e) {
+            throw new CommandException(CommandError.INVALID_ARGUMENT.getMessage(parts[0], parts[1] + " " + parts[2]));
+        }
+        if (skierCount < 0) {
+            throw new CommandException(CommandError.INVALID_ARGUMENT.getMessage(parts[0], parts[1]));
+        }
+
+        for (String line : engine.getAnalyzer().simulate(skierCount, seed).format()) {
+            output.println(line);
+        }
+    }
+
+    private void handleStats(String[] parts) throws SkiException {
+        // Expected format: stats on|off|show|reset
+        requireArgs(parts, 2);
+        StatsAction action = parseEnumArgs(parts[0], parts[1], StatsAction.class);
+
+        switch (action) {
+            case on -> engine.getMetrics().setEnabled(true);
+            case off -> engine.getMetrics().setEnabled(false);
+            case reset -> engine.getMetrics().reset();
+            default -> engine.getMetrics().format().forEach(output::println); // show
+        }
+    }
+
+    private void handleJournal(String[] parts) throws SkiException {
+        // Expected format: journal open <directory> | journal close
+        if (parts.length < 2) {
+            requireArgs(parts, 2);
+        }
+        JournalAction action = parseEnumArgs(parts[0], parts[1], JournalAction.class);
+
+        if (action == JournalAction.open) {
+            requireArgs(parts, 3);
+            engine.getRecorder().openJournal(baseDirectory.resolve(parts[2]));
+        } else {
+            requireArgs(parts, 2);
+            engine.getRecorder().closeJournal();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package core;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+import domain.graph.IndexedGraph;
+import domain.graph.Lift;
+import domain.graph.SkiGraph;
+import domain.routing.ReachabilityIndex;
+import domain.routing.RoutePlanner;
+import domain.routing.RouteRequest;
+import domain.routing.TimeCalculator;
+import exceptions.RoutingError;
+import exceptions.RoutingException;
+import simulation.ResortSimulator;
+import simulation.SimulationReport;
+
+/**
+ * The AreaAnalyzer class answers questions about the ski area of a
+ * {@link SkiEngine} that do not concern the active route: which nodes the
+ * skier can still reach, and how long the queues at the lifts are during a
+ * simulated ski day.
+ *
+ * @author udqch
+ */
+public class AreaAnalyzer {
+    private final SkiEngine engine;
+    private final RoutePlanner planner;
+    private final TimeCalculator timeCalculator;
+    private final ReachabilityIndex reachabilityIndex;
+
+    /**
+     * Constructs a new AreaAnalyzer.
+     *
+     * @param engine         the engine whose graph and skier are analysed
+     * @param planner        the route planner creating the session requests
+     * @param timeCalculator the time calculator of the engine
+     */
+    AreaAnalyzer(SkiEngine engine, RoutePlanner planner, TimeCalculator timeCalculator) {
+        this.engine = engine;
+        this.planner = planner;
+        this.timeCalculator = timeCalculator;
+        this.reachabilityIndex = new ReachabilityIndex(timeCalculator);
+    }
+
+    /**
+     * Finds all nodes the skier can still ski when starting at the given
+     * talstation, such that a return to the talstation before the end time
+     * remains possible. Only the skill level of the skier is taken into account.
+     *
+     * @param startNodeId the ID of the talstation to start from
+     * @param startTime   the starting time
+     * @param endTime     the time by which the skier must be back
+     * @return the IDs of all reachable nodes in ascending order
+     * @throws RoutingException if no graph is loaded, the skill level is not set
+     *                          or the start node is not a talstation
+     */
+    public List<String> findReachableNodes(String startNodeId, LocalTime startTime, LocalTime endTime)
+            throws RoutingException {
+        SkiGraph graph = engine.getGraph();
+        if (graph == null) {
+            throw new RoutingException(RoutingError.NO_GRAPH_LOADED.getMessage());
+        }
+        if (engine.getSkier().getSkill() == null) {
+            throw new RoutingException(RoutingError.MISSING_SKILL.getMessage());
+        }
+        if (!(graph.getNodeById(startNodeId) instanceof Lift startLift) || !startLift.isTalstation()) {
+            throw new RoutingException(RoutingError.INVALID_START_NODE.getMessage());
+        }
+
+        List<String> reachableIds = new ArrayList<>();
+        Optional<RouteRequest> requestOpt = planner.createSessionRequest(graph, engine.getSkier(), startLift,
+                startTime, endTime);
+        if (requestOpt.isEmpty()) {
+            return reachableIds;
+        }
+
+        IndexedGraph indexedGraph = graph.getIndexedGraph();
+        BitSet reachable = reachabilityIndex.compute(requestOpt.get());
+        // Indexes are assigned in ascending ID order, so the result is already sorted
+        for (int i = reachable.nextSetBit(0); i >= 0; i = reachable.nextSetBit(i + 1)) {
+            reachableIds.add(indexedGraph.nodeAt(i).getId());
+        }
+        return reachableIds;
+    }
+
+    /**
+     * Simulates a ski day on the loaded graph and feeds the resulting queue
+     * profiles of the lifts back into the time calculation, so that later plans
+     * take the simulated queues into account.
+     *
+     * @param skierCount the number of skiers to simulate
+     * @param seed       the seed for the random skier generation
+     * @return the report with the simulated queue statistics
+     * @throws RoutingException if no graph is loaded or planning fails
+     */
+    public SimulationReport simulate(int skierCount, long seed) throws RoutingException {
+        if (engine.getGraph() == null) {
+            throw new RoutingException(RoutingError.NO_GRAPH_LOADED.getMessage());
+        }
+        SimulationReport report = new ResortSimulator(engine.getGraph(), timeCalculator).simulate(skierCount, seed);
+        timeCalculator.setQueueProfiles(report.toQueueProfiles());
+        return report;
+    }
+}
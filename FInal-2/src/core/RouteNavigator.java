@@ -0,0 +1,303 @@
+package core;
+
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import domain.graph.Node;
+import domain.routing.Route;
+import domain.routing.RouteRequest;
+import exceptions.RoutingError;
+import exceptions.RoutingException;
+import metrics.PhaseTimer;
+import metrics.PlanningPhase;
+import persistence.JournalEvent;
+import persistence.RouteState;
+
+/**
+ * The RouteNavigator class guides the skier along the active route of a
+ * {@link SkiEngine}. It keeps track of the current step and time, shows and
+ * takes the next step, and plans alternatives and replacements of the remaining
+ * route with the planner of the engine.
+ *
+ * @author udqch
+ */
+public class RouteNavigator {
+    private final SkiEngine engine;
+
+    private LocalTime sessionEndTime;
+    private Route currentRoute;
+    private int currentStepIndex;
+    private LocalTime currentTime;
+    private Node pendingNode;
+    private LocalTime pendingTime;
+
+    /**
+     * Constructs a new RouteNavigator without an active route.
+     *
+     * @param engine the engine whose planner and journal are used
+     */
+    RouteNavigator(SkiEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Shows the next step in the route.
+     *
+     * @return the next node in the route, or null if the route is complete
+     * @throws RoutingException if an error occurs while showing the next step
+     */
+    public String showNextStep() throws RoutingException {
+        requireActiveRoute();
+        if (currentStepIndex >= currentRoute.size()) {
+            this.currentRoute = null; // Route is complete, reset current route
+            resetPendingState();
+            engine.getRecorder().record(new JournalEvent.End());
+
+            return null; // No more steps, route is complete
+        }
+
+        this.pendingNode = currentRoute.getNode(currentStepIndex);
+
+        long timeSpent = engine.calculateTimeSpent(pendingNode, currentTime)
+                .orElseThrow(() -> new RoutingException(RoutingError.ERROR_TIME_CALCULATING.getMessage()));
+        this.pendingTime = currentTime.plusSeconds(timeSpent);
+
+        return pendingNode.getId();
+    }
+
+    /**
+     * Takes the next step in the route, updating the current time and step index.
+     *
+     * @throws RoutingException if an error occurs while taking the next step, such
+     *                          as no pending step or no active route
+     */
+    public void takeNextStep() throws RoutingException {
+        requireActiveRoute();
+        if (pendingNode == null) {
+            throw new RoutingException(RoutingError.NO_NEXT_STEP.getMessage());
+        }
+
+        this.currentStepIndex++;
+        this.currentTime = this.pendingTime;
+        resetPendingState();
+        engine.getRecorder().record(new JournalEvent.Take(currentTime));
+    }
+
+    /**
+     * Plans an alternative route that avoids the pending node. This method is
+     * called when the skier wants to avoid the next step in the current route.
+     *
+     * @return the ID of the node that was avoided
+     * @throws RoutingException if an error occurs while planning the alternative
+     *                          route, such as no pending step or no active route
+     */
+    public String findAlternativeRoute() throws RoutingException {
+        requireActiveRoute();
+        if (pendingNode == null) {
+            throw new RoutingException(RoutingError.NO_PENDING_STEP.getMessage());
+        }
+        if (currentStepIndex == 0) {
+            throw new RoutingException(RoutingError.NO_NEXT_STEP.getMessage());
+        }
+
+        Optional<Route> alternativePath;
+        PhaseTimer timer = engine.getMetrics().startPhase(PlanningPhase.ALTERNATIVE);
+        try {
+            alternativePath = planSubRoute(Set.of(pendingNode));
+        } finally {
+            timer.stop();
+        }
+        if (alternativePath.isEmpty()) {
+            return null; // No alternative route found, keep the current route
+        }
+
+        String avoidedId = pendingNode.getId();
+        stitchRoutes(alternativePath.get());
+        return avoidedId;
+    }
+
+    /**
+     * Shows the remaining route from the current step to the destination.
+     *
+     * @return a string representation of the remaining route, with node IDs
+     *         separated by spaces
+     * @throws RoutingException if an error occurs while showing the route, such as
+     *                          no active route
+     */
+    public String showCurrentRoute() throws RoutingException {
+        requireActiveRoute();
+        if (currentStepIndex >= currentRoute.size()) {
+            throw new RoutingException(RoutingError.NO_ACTIVE_ROUTE.getMessage());
+        }
+        return currentRoute.appendIds(currentStepIndex, new StringBuilder()).toString();
+    }
+
+    /**
+     * Aborts the active route.
+     *
+     * @throws RoutingException if an error occurs while aborting the route, such
+     *                          as no graph loaded or no active route
+     */
+    public void abortRoute() throws RoutingException {
+        if (engine.getGraph() == null) {
+            throw new RoutingException(RoutingError.NO_GRAPH_LOADED.getMessage());
+        }
+        requireActiveRoute(); // Ensure there is an active route to abort
+
+        clear();
+        engine.getRecorder().record(new JournalEvent.End());
+    }
+
+    /**
+     * Resets the pending step, which has to be shown again before it can be taken.
+     */
+    public void resetPendingState() {
+        this.pendingNode = null;
+        this.pendingTime = null;
+    }
+
+    /**
+     * Checks if there is an active route.
+     *
+     * @return true if a route is active
+     */
+    public boolean hasActiveRoute() {
+        return currentRoute != null;
+    }
+
+    /**
+     * Makes a newly planned route the active route.
+     *
+     * @param route          the planned route
+     * @param startTime      the time at which the skier arrives at the talstation
+     * @param sessionEndTime the time by which the skier must be back
+     * @throws RoutingException if the plan cannot be recorded
+     */
+    void start(Route route, LocalTime startTime, LocalTime sessionEndTime) throws RoutingException {
+        this.sessionEndTime = sessionEndTime;
+        this.currentRoute = route;
+        this.currentStepIndex = 0;
+        this.currentTime = startTime;
+        resetPendingState();
+        engine.getRecorder().record(new JournalEvent.Plan(exportRoute()));
+    }
+
+    /**
+     * Removes the active route without recording it.
+     */
+    void clear() {
+        this.currentRoute = null;
+        this.currentStepIndex = 0;
+        this.currentTime = null;
+        resetPendingState();
+    }
+
+    /**
+     * Replans the remaining route after the wishes of the skier or the group
+     * changed.
+     *
+     * @throws RoutingException if an error occurs while replanning
+     */
+    void replan() throws RoutingException {
+        if (currentRoute == null) {
+            return; // No active route, nothing to replan
+        }
+        if (currentStepIndex >= currentRoute.size()) {
+            // A finished route is not replanned, but scored by the current goal
+            this.currentRoute = currentRoute.rescore(engine.utility());
+            return;
+        }
+
+        if (currentStepIndex == 0) {
+            String startNodeId = currentRoute.getNode(0).getId();
+            this.currentRoute = null; // Reset current route before re- planning
+            engine.getRecorder().record(new JournalEvent.End());
+            engine.planRoute(startNodeId, currentTime, sessionEndTime); // Timed as a plan phase
+            return;
+        }
+
+        Optional<Route> newRouteOpt;
+        PhaseTimer timer = engine.getMetrics().startPhase(PlanningPhase.REPLAN);
+        try {
+            newRouteOpt = planSubRoute(Collections.emptySet());
+        } finally {
+            timer.stop();
+        }
+
+        if (newRouteOpt.isPresent()) {
+            stitchRoutes(newRouteOpt.get());
+        } else {
+            this.currentRoute = null; // No valid route found, reset current route
+            engine.getRecorder().record(new JournalEvent.End());
+        }
+    }
+
+    /**
+     * Returns the persistent state of the active route.
+     *
+     * @return the state of the route, or null if there is no active route
+     */
+    RouteState exportRoute() {
+        if (currentRoute == null) {
+            return null;
+        }
+        String[] nodeIds = new String[currentRoute.size()];
+        for (int i = 0; i < nodeIds.length; i++) {
+            nodeIds[i] = currentRoute.getNode(i).getId();
+        }
+        return new RouteState(List.of(nodeIds), currentRoute.getStartTime(), currentRoute.getDuration(),
+                currentRoute.getScore(), currentStepIndex, currentTime, sessionEndTime);
+    }
+
+    /**
+     * Makes a restored route the active route. A pending step is not restored.
+     *
+     * @param route the restored route, or null if there is no active route
+     * @param state the stored state of the route, or null if there is no active
+     *              route
+     */
+    void restore(Route route, RouteState state) {
+        clear();
+        if (state != null) {
+            this.currentStepIndex = state.stepIndex();
+            this.currentTime = state.currentTime();
+            this.sessionEndTime = state.sessionEndTime();
+        }
+        this.currentRoute = route;
+    }
+
+    // --- HELPER METHODS ---
+
+    private void requireActiveRoute() throws RoutingException {
+        if (currentRoute == null) {
+            throw new RoutingException(RoutingError.NO_ACTIVE_ROUTE.getMessage());
+        }
+    }
+
+    private Optional<Route> planSubRoute(Set<Node> forbiddenNodes) throws RoutingException {
+        Node currentNode = currentRoute.getNode(Math.max(0, currentStepIndex - 1));
+        Node destinationNode = currentRoute.getNode(0);
+
+        RouteRequest request = new RouteRequest(
+                engine.getGraph(), engine.getSkier(), currentNode, destinationNode,
+                this.currentTime, this.sessionEndTime, forbiddenNodes);
+
+        return engine.planRequest(request);
+    }
+
+    // This method stitches a new path with the past path up to the current step
+    private void stitchRoutes(Route newRoute) throws RoutingException {
+        // The new route starts at the current node, so the past path is kept up to
+        // the node before; times and scores follow from the encoded routes
+        this.currentRoute = currentRoute.stitch(Math.max(0, currentStepIndex - 1), newRoute, engine.utility());
+
+        // Reset pending state
+        resetPendingState();
+        RouteState stitched = exportRoute();
+        engine.getRecorder()
+                .record(new JournalEvent.Reroute(stitched.nodeIds(), stitched.duration(), stitched.score()));
+    }
+}
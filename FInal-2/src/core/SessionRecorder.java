@@ -0,0 +1,223 @@
+package core;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import domain.graph.IndexedGraph;
+import domain.graph.Node;
+import domain.routing.Route;
+import domain.routing.TimeCalculator;
+import domain.skier.PathUtility;
+import domain.skier.SkierGroup;
+import domain.skier.SkierProfile;
+import exceptions.RoutingError;
+import exceptions.RoutingException;
+import persistence.JournalEvent;
+import persistence.ProfileState;
+import persistence.RouteState;
+import persistence.SessionJournal;
+import persistence.SessionState;
+
+/**
+ * The SessionRecorder class persists the session of a {@link SkiEngine}. It
+ * exports and restores the skier profile, the group members and the active
+ * route, and appends every change of the session to the session journal while
+ * one is open.
+ *
+ * @author udqch
+ */
+public class SessionRecorder {
+    private static final int JOURNAL_SNAPSHOT_INTERVAL = 256;
+
+    private final SkiEngine engine;
+    private final TimeCalculator timeCalculator;
+    private SessionJournal journal;
+
+    /**
+     * Constructs a new SessionRecorder without an open journal.
+     *
+     * @param engine         the engine whose session is recorded
+     * @param timeCalculator the time calculator restored routes are timed with
+     */
+    SessionRecorder(SkiEngine engine, TimeCalculator timeCalculator) {
+        this.engine = engine;
+        this.timeCalculator = timeCalculator;
+    }
+
+    /**
+     * Opens the session journal in the given directory. If the directory already
+     * contains a session, the skier profile and the active route are restored
+     * from it without planning; otherwise the current session is stored as the
+     * first snapshot. All later changes of the session are appended to the
+     * journal.
+     *
+     * @param directory the directory of the journal
+     * @throws RoutingException if no graph is loaded, the journal cannot be read
+     *                          or written, or the stored route does not fit the
+     *                          loaded graph
+     */
+    public void openJournal(Path directory) throws RoutingException {
+        if (engine.getGraph() == null) {
+            throw new RoutingException(RoutingError.NO_GRAPH_LOADED.getMessage());
+        }
+        closeJournal();
+        try {
+            SessionJournal opened = SessionJournal.open(directory, JOURNAL_SNAPSHOT_INTERVAL);
+            try {
+                if (opened.isNew()) {
+                    opened.snapshot(exportSession());
+                } else {
+                    restoreSession(opened.getState());
+                }
+            } catch (RoutingException | IOException e) {
+                opened.close();
+                throw e;
+            }
+            this.journal = opened;
+        } catch (IOException e) {
+            throw new RoutingException(RoutingError.JOURNAL_FAILED.getMessage(e.getMessage()));
+        }
+    }
+
+    /**
+     * Closes the session journal, if one is open. Later changes of the session
+     * are not recorded anymore.
+     *
+     * @throws RoutingException if the journal cannot be closed
+     */
+    public void closeJournal() throws RoutingException {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            throw new RoutingException(RoutingError.JOURNAL_FAILED.getMessage(e.getMessage()));
+        } finally {
+            this.journal = null;
+        }
+    }
+
+    /**
+     * Returns the persistent state of the current session, consisting of the
+     * skier profile, the group members and the active route.
+     *
+     * @return the state of the session
+     */
+    public SessionState exportSession() {
+        return new SessionState(ProfileState.of(engine.getSkier()), exportGroup(engine.getGroup()),
+                engine.getNavigator().exportRoute());
+    }
+
+    /**
+     * Restores a session exported by {@link #exportSession()} on the loaded graph.
+     * The route is taken over as it is, without running the route planner. A
+     * pending step is not restored.
+     *
+     * @param state the state of the session
+     * @throws RoutingException if no graph is loaded or the route contains a node
+     *                          that is not part of the graph
+     */
+    public void restoreSession(SessionState state) throws RoutingException {
+        if (engine.getGraph() == null) {
+            throw new RoutingException(RoutingError.NO_GRAPH_LOADED.getMessage());
+        }
+        SkierGroup restoredGroup = restoreGroup(state.group());
+        Route route = state.hasRoute() ? restoreRoute(state.route(), state.profile(), restoredGroup) : null;
+        state.profile().applyTo(engine.getSkier());
+        engine.restoreGroup(restoredGroup);
+        engine.getNavigator().restore(route, state.route());
+    }
+
+    /**
+     * Appends an event to the session journal, if one is open.
+     *
+     * @param event the change of the session
+     * @throws RoutingException if the journal cannot be written
+     */
+    void record(JournalEvent event) throws RoutingException {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.append(event);
+        } catch (IOException e) {
+            throw new RoutingException(RoutingError.JOURNAL_FAILED.getMessage(e.getMessage()));
+        }
+    }
+
+    /**
+     * Returns the states of the profiles of the members of a group.
+     *
+     * @param group the group, or null if there is no group
+     * @return the states of the members, empty if there is no group
+     */
+    static List<ProfileState> exportGroup(SkierGroup group) {
+        List<ProfileState> members = new ArrayList<>();
+        if (group != null) {
+            for (SkierProfile member : group.getMembers()) {
+                members.add(ProfileState.of(member));
+            }
+        }
+        return members;
+    }
+
+    // --- HELPER METHODS ---
+
+    private static SkierGroup restoreGroup(List<ProfileState> memberStates) {
+        if (memberStates.isEmpty()) {
+            return null;
+        }
+        List<SkierProfile> members = new ArrayList<>();
+        for (ProfileState memberState : memberStates) {
+            SkierProfile member = new SkierProfile();
+            memberState.applyTo(member);
+            members.add(member);
+        }
+        return new SkierGroup(members);
+    }
+
+    // Encodes a stored route on the loaded graph. The remaining part of the route
+    // is timed from the current time, as it was planned from there; the nodes
+    // already passed are timed from the start and only serve as history. Routes
+    // of a group are timed and scored for the group.
+    private Route restoreRoute(RouteState state, ProfileState profileState, SkierGroup restoredGroup)
+            throws RoutingException {
+        IndexedGraph indexedGraph = engine.getGraph().getIndexedGraph();
+        int[] nodes = new int[state.nodeIds().size()];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = indexedGraph.indexOf(state.nodeIds().get(i));
+            if (nodes[i] < 0) {
+                throw new RoutingException(RoutingError.UNKNOWN_SESSION_NODE.getMessage(state.nodeIds().get(i)));
+            }
+        }
+        SkierProfile profile = new SkierProfile();
+        profileState.applyTo(profile);
+
+        int[] offsets = new int[nodes.length];
+        int anchor = Math.min(Math.max(0, state.stepIndex() - 1), nodes.length - 1);
+        int anchorOffset = state.stepIndex() == 0 ? 0
+                : state.currentTime().toSecondOfDay() - state.startTime().toSecondOfDay();
+        SkierGroup timedGroup = restoredGroup != null ? restoredGroup : SkierGroup.of(profile);
+        for (int i = 1; i < anchor; i++) {
+            offsets[i] = Math.min(anchorOffset,
+                    finishOffset(indexedGraph.nodeAt(nodes[i]), state, offsets[i - 1], timedGroup));
+        }
+        offsets[anchor] = anchorOffset;
+        for (int i = anchor + 1; i < nodes.length; i++) {
+            offsets[i] = finishOffset(indexedGraph.nodeAt(nodes[i]), state, offsets[i - 1], timedGroup);
+        }
+        PathUtility routeUtility = restoredGroup != null ? restoredGroup : profile.getGoal();
+        return Route.of(indexedGraph, nodes, offsets, state.startTime(), routeUtility);
+    }
+
+    // The seconds after the route's start at which the node is finished when
+    // entered at the given offset
+    private int finishOffset(Node node, RouteState state, int offset, SkierGroup timedGroup) {
+        LocalTime time = state.startTime().plusSeconds(offset);
+        return offset + timeCalculator.calculateTimeSpent(node, time, timedGroup).orElse(0L).intValue();
+    }
+}
@@ -1,28 +1,34 @@
 package core;
 
-import java.time.Duration;
 import java.time.LocalTime;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 import domain.graph.Difficulty;
 import domain.graph.Lift;
 import domain.graph.Node;
+import domain.graph.Region;
 import domain.graph.SkiGraph;
 import domain.graph.Surface;
+import domain.routing.RegionPlanner;
 import domain.routing.Route;
 import domain.routing.RoutePlanner;
 import domain.routing.RouteRequest;
 import domain.routing.TimeCalculator;
 import domain.skier.Goal;
+import domain.skier.PathUtility;
 import domain.skier.Preference;
+import domain.skier.SkierGroup;
 import domain.skier.SkierProfile;
 import domain.skier.Skill;
 import exceptions.RoutingError;
 import exceptions.RoutingException;
+import metrics.PhaseTimer;
+import metrics.PlannerMetrics;
+import metrics.PlanningPhase;
+import persistence.JournalEvent;
+import persistence.ProfileState;
 
 /**
  * The SkiEngine class is responsible for managing the state of the ski resort
@@ -33,18 +39,17 @@ import exceptions.RoutingException;
  *
  * @author udqch
  */
-public class SkiEngine {
+public final class SkiEngine {
     private SkiGraph graph;
     private final SkierProfile skier;
     private final RoutePlanner planner;
     private final TimeCalculator timeCalculator;
-
-    private LocalTime sessionEndTime;
-    private Route currentRoute;
-    private int currentStepIndex;
-    private LocalTime currentTime;
-    private Node pendingNode;
-    private LocalTime pendingTime;
+    private final PlannerMetrics metrics;
+    private final RouteNavigator navigator;
+    private final SessionRecorder recorder;
+    private final AreaAnalyzer analyzer;
+    private RegionPlanner regionPlanner;
+    private SkierGroup group;
 
     /**
      * Constructs a new SkiEngine instance with an empty skier profile and a route
@@ -54,7 +59,11 @@ public class SkiEngine {
     public SkiEngine() {
         this.skier = new SkierProfile();
         this.timeCalculator = new TimeCalculator();
-        this.planner = new RoutePlanner(this.timeCalculator);
+        this.metrics = new PlannerMetrics();
+        this.planner = new RoutePlanner(this.timeCalculator, this.metrics);
+        this.navigator = new RouteNavigator(this);
+        this.recorder = new SessionRecorder(this, this.timeCalculator);
+        this.analyzer = new AreaAnalyzer(this, this.planner, this.timeCalculator);
     }
 
     /**
@@ -79,6 +88,17 @@ public class SkiEngine {
         replanDynamic();
     }
 
+    /**
+     * Sets the time resolution of the memoised route search for goals with an
+     * additive utility. The current route is not replanned, as the resolution
+     * does not change the skier's wishes.
+     *
+     * @param seconds the resolution in seconds, 0 to always use the full search
+     */
+    public void setTimeResolution(int seconds) {
+        planner.setTimeResolution(seconds);
+    }
+
     /**
      * Sets the preference for a specific difficulty level.
      *
@@ -114,6 +134,40 @@ public class SkiEngine {
 
     }
 
+    /**
+     * Adds a copy of the current skier profile as a member to the group of skiers.
+     * As long as the group has members, routes are planned for the whole group
+     * instead of the single skier: the group meets at every lift, and routes are
+     * rated by the goals and preferences of all members.
+     *
+     * @throws RoutingException if the skill level or the goal of the current
+     *                          profile is not set, or replanning fails
+     */
+    public void addGroupMember() throws RoutingException {
+        if (skier.getSkill() == null || skier.getGoal() == null) {
+            throw new RoutingException(RoutingError.INCOMPLETE_PROFILE.getMessage());
+        }
+        SkierProfile member = new SkierProfile();
+        ProfileState.of(skier).applyTo(member);
+        List<SkierProfile> members = new ArrayList<>(group == null ? List.of() : group.getMembers());
+        members.add(member);
+        this.group = new SkierGroup(members);
+        recorder.record(new JournalEvent.Group(SessionRecorder.exportGroup(group)));
+        replanDynamic();
+    }
+
+    /**
+     * Removes all members from the group of skiers, so that routes are planned for
+     * the single skier again.
+     *
+     * @throws RoutingException if replanning fails
+     */
+    public void clearGroup() throws RoutingException {
+        this.group = null;
+        recorder.record(new JournalEvent.Group(List.of()));
+        replanDynamic();
+    }
+
     /**
      * Plans a route for the skier based on the provided start node, start time,
      * and end time. The method uses the route planner to find a suitable route
@@ -128,28 +182,23 @@ public class SkiEngine {
     public void planRoute(String startNodeId, LocalTime startTime, LocalTime endTime) throws RoutingException {
 
         Node startNode = validateInputAndGetNode(startNodeId);
-        // Calculate the time spent on the first node to determine the starting time for
-        // the DFS
-        long firstNodeTime = timeCalculator.calculateTimeSpent(startNode, startTime, skier)
+        // The first lift is taken before the search starts
+        RouteRequest request = planner.createSessionRequest(graph, skier, startNode, startTime, endTime)
                 .orElseThrow(() -> new RoutingException(RoutingError.NO_ROUTE_FOUND.getMessage()));
-        LocalTime dfsStartTime = startTime.plusSeconds(firstNodeTime);
 
-        if (dfsStartTime.isAfter(endTime)) {
-            throw new RoutingException(RoutingError.NO_ROUTE_FOUND.getMessage());
+        Optional<Route> foundRouteOpt;
+        PhaseTimer timer = metrics.startPhase(PlanningPhase.PLAN);
+        try {
+            foundRouteOpt = planRequest(request);
+        } finally {
+            timer.stop();
         }
-
-        RouteRequest request = new RouteRequest(graph, skier, startNode, startNode, dfsStartTime, endTime);
-        Optional<Route> foundRouteOpt = planner.planRoute(request);
         if (foundRouteOpt.isEmpty()) {
             throw new RoutingException(RoutingError.NO_ROUTE_FOUND.getMessage());
         }
 
         // If a route is found, set it as the current route and initialize the state
-        this.sessionEndTime = endTime;
-        this.currentRoute = foundRouteOpt.get();
-        this.currentStepIndex = 0;
-        this.currentTime = startTime;
-        resetPendingState();
+        navigator.start(foundRouteOpt.get(), startTime, endTime);
     }
 
     // This method validates the input for route planning and retrieves the
@@ -158,10 +207,10 @@ public class SkiEngine {
         if (graph == null) {
             throw new RoutingException(RoutingError.NO_GRAPH_LOADED.getMessage());
         }
-        if (this.skier.getSkill() == null || this.skier.getGoal() == null) {
+        if (group == null && (this.skier.getSkill() == null || this.skier.getGoal() == null)) {
             throw new RoutingException(RoutingError.INCOMPLETE_PROFILE.getMessage());
         }
-        if (currentRoute != null) {
+        if (navigator.hasActiveRoute()) {
             throw new RoutingException(RoutingError.EXISTING_ACTIVE_ROUTE.getMessage());
         }
         Node startNode = graph.getNodeById(nodeId);
@@ -175,185 +224,64 @@ public class SkiEngine {
     }
 
     /**
-     * Resets the pending state of the ski engine.
-     */
-    public void resetPendingState() {
-        this.pendingNode = null;
-        this.pendingTime = null;
-    }
-
-    /**
-     * Resets the ski engine to its initial state.
-     * 
-     * @throws RoutingException if an error occurs while resetting the engine, such
-     *                          as no graph loaded
-     */
-    public void resetEngine() throws RoutingException {
-        if (graph == null) {
-            throw new RoutingException(RoutingError.NO_GRAPH_LOADED.getMessage());
-        }
-        requireActiveRoute(); // Ensure there is an active route to reset
-
-        this.currentRoute = null;
-        this.currentStepIndex = 0;
-        this.currentTime = null;
-        resetPendingState();
-    }
-
-    /**
-     * Shows the next step in the route.
+     * Plans a route request hierarchically if a region of several areas is
+     * loaded, and for the group instead of the skier if it has members.
      *
-     * @return the next node in the route, or null if the route is complete
-     * @throws RoutingException if an error occurs while showing the next step
+     * @param request the route request
+     * @return the best route, or an empty Optional if no valid route exists
+     * @throws RoutingException if an error occurs during route planning
      */
-    public String showNextStep() throws RoutingException {
-        requireActiveRoute();
-        List<Node> route = currentRoute.getRoute();
-        if (currentStepIndex >= route.size()) {
-            this.currentRoute = null; // Route is complete, reset current route
-            resetPendingState();
-
-            return null; // No more steps, route is complete
+    Optional<Route> planRequest(RouteRequest request) throws RoutingException {
+        if (group != null) {
+            return regionPlanner != null ? regionPlanner.planRoute(request, group) : planner.planRoute(request, group);
         }
-
-        this.pendingNode = route.get(currentStepIndex);
-
-        long timeSpent = timeCalculator.calculateTimeSpent(pendingNode, currentTime, skier)
-                .orElseThrow(() -> new RoutingException(RoutingError.ERROR_TIME_CALCULATING.getMessage()));
-        this.pendingTime = currentTime.plusSeconds(timeSpent);
-
-        return pendingNode.getId();
+        if (regionPlanner != null) {
+            return regionPlanner.planRoute(request);
+        }
+        return planner.planRoute(request);
     }
 
     /**
-     * Takes the next step in the route, updating the current time and step index.
+     * Returns the utility routes are scored by: the skier's goal or that of the
+     * group.
      *
-     * @throws RoutingException if an error occurs while taking the next step, such
-     *                          as no pending step or no active route
+     * @return the utility of the routes
      */
-    public void takeNextStep() throws RoutingException {
-        requireActiveRoute();
-        if (pendingNode == null) {
-            throw new RoutingException(RoutingError.NO_NEXT_STEP.getMessage());
-        }
-
-        this.currentStepIndex++;
-        this.currentTime = this.pendingTime;
-        resetPendingState();
+    PathUtility utility() {
+        return group != null ? group : skier.getGoal();
     }
 
     /**
-     * Plans an alternative route that avoids the pending node. This method is
-     * called when the skier wants to avoid the next step in the current route.
+     * Calculates the time the skier, or the group, spends on a node.
      *
-     * @return the ID of the node that was avoided
-     * @throws RoutingException if an error occurs while planning the alternative
-     *                          route, such as no pending step or no active route
+     * @param node the node
+     * @param time the time at which the node is entered
+     * @return the seconds spent on the node, or an empty Optional if it cannot be
+     *         taken at that time
      */
-    public String findAlternativeRoute() throws RoutingException {
-        requireActiveRoute();
-        if (pendingNode == null) {
-            throw new RoutingException(RoutingError.NO_PENDING_STEP.getMessage());
-        }
-        if (currentStepIndex == 0) {
-            throw new RoutingException(RoutingError.NO_NEXT_STEP.getMessage());
-        }
-
-        Optional<Route> alternativePath = planSubRoute(Set.of(pendingNode));
-        if (alternativePath.isEmpty()) {
-            return null; // No alternative route found, keep the current route
+    Optional<Long> calculateTimeSpent(Node node, LocalTime time) {
+        if (group != null) {
+            return timeCalculator.calculateTimeSpent(node, time, group);
         }
-
-        String avoidedId = pendingNode.getId();
-        stitchRoutes(alternativePath.get());
-        return avoidedId;
+        return timeCalculator.calculateTimeSpent(node, time, skier);
     }
 
     /**
-     * Shows the remaining route from the current step to the destination.
+     * Replaces the group of skiers by a restored one, without recording or
+     * replanning.
      *
-     * @return a string representation of the remaining route, with node IDs
-     *         separated by spaces
-     * @throws RoutingException if an error occurs while showing the route, such as
-     *                          no active route
+     * @param restoredGroup the restored group, or null if there is no group
      */
-    public String showCurrentRoute() throws RoutingException {
-        requireActiveRoute();
-        if (currentStepIndex >= currentRoute.getRoute().size()) {
-            throw new RoutingException(RoutingError.NO_ACTIVE_ROUTE.getMessage());
-        }
-
-        StringBuilder result = new StringBuilder();
-        List<Node> path = currentRoute.getRoute();
-        for (int i = currentStepIndex; i < path.size(); i++) {
-            result.append(path.get(i).getId());
-            if (i < path.size() - 1) {
-                result.append(" ");
-            }
-        }
-        return result.toString();
+    void restoreGroup(SkierGroup restoredGroup) {
+        this.group = restoredGroup;
     }
 
     // --- HELPER METHODS ---
 
-    private void requireActiveRoute() throws RoutingException {
-        if (currentRoute == null) {
-            throw new RoutingException(RoutingError.NO_ACTIVE_ROUTE.getMessage());
-        }
-    }
-
-    private Optional<Route> planSubRoute(Set<Node> forbiddenNodes) throws RoutingException {
-        Node currentNode = currentRoute.getRoute().get(Math.max(0, currentStepIndex - 1));
-        Node destinationNode = currentRoute.getRoute().get(0);
-
-        RouteRequest request = new RouteRequest(
-                this.graph, this.skier, currentNode, destinationNode,
-                this.currentTime, this.sessionEndTime, forbiddenNodes);
-
-        return planner.planRoute(request);
-    }
-
+    // Called after every profile change, which is recorded first
     private void replanDynamic() throws RoutingException {
-        if (currentRoute == null || currentStepIndex >= currentRoute.getRoute().size()) {
-            return; // No active route, nothing to replan
-        }
-
-        if (currentStepIndex == 0) {
-            String startNodeId = currentRoute.getRoute().get(0).getId();
-            this.currentRoute = null; // Reset current route before re- planning
-            planRoute(startNodeId, currentTime, sessionEndTime);
-            return;
-        }
-
-        Optional<Route> newRouteOpt = planSubRoute(Collections.emptySet());
-
-        if (newRouteOpt.isPresent()) {
-            stitchRoutes(newRouteOpt.get());
-        } else {
-            this.currentRoute = null; // No valid route found, reset current route
-        }
-    }
-
-    // This method stitches a new path with the past path up to the current step
-    private void stitchRoutes(Route newRoute) {
-        // Stitch the new route with the past path up to the current step
-        List<Node> stitchedPath = new ArrayList<>(
-                currentRoute.getRoute().subList(0, Math.max(0, currentStepIndex - 1)));
-        stitchedPath.addAll(newRoute.getRoute());
-
-        // Recalculate the total duration and score for the new stitched route
-        long pastDuration = Duration.between(currentRoute.getStartTime(), currentTime).getSeconds();
-        long totalDuration = pastDuration + newRoute.getDuration();
-
-        // Calculate the new score based on the skier's goal and the stitched path
-        int newScore = skier.getGoal().calculateUtility(stitchedPath);
-
-        // Update the current route with the new stitched path, start time, total
-        // duration, and score
-        this.currentRoute = new Route(stitchedPath, currentRoute.getStartTime(), totalDuration, newScore);
-
-        // Reset pending state
-        resetPendingState();
+        recorder.record(new JournalEvent.Profile(ProfileState.of(skier)));
+        navigator.replan();
     }
 
     // --- GETTERS ---
@@ -376,6 +304,51 @@ public class SkiEngine {
         return skier;
     }
 
+    /**
+     * Returns the group of skiers routes are planned for.
+     *
+     * @return the group, or null if routes are planned for the single skier
+     */
+    public SkierGroup getGroup() {
+        return group;
+    }
+
+    /**
+     * Returns the metrics recorded by the route planner.
+     *
+     * @return the planner metrics
+     */
+    public PlannerMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the navigator guiding the skier along the active route.
+     *
+     * @return the route navigator
+     */
+    public RouteNavigator getNavigator() {
+        return navigator;
+    }
+
+    /**
+     * Returns the recorder persisting the session.
+     *
+     * @return the session recorder
+     */
+    public SessionRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * Returns the analyzer of the loaded ski area.
+     *
+     * @return the area analyzer
+     */
+    public AreaAnalyzer getAnalyzer() {
+        return analyzer;
+    }
+
     // --- SETTERS ---
     /**
      * Sets the ski graph for the engine.
@@ -386,11 +359,24 @@ public class SkiEngine {
      */
     public void setGraph(SkiGraph graph) throws RoutingException {
         this.graph = graph;
+        this.regionPlanner = null;
+        this.timeCalculator.clearQueueProfiles();
 
         // Reset the engine state when a new graph is loaded
-        this.currentRoute = null;
-        this.currentStepIndex = 0;
-        this.currentTime = null;
-        resetPendingState();
+        navigator.clear();
+        recorder.record(new JournalEvent.End());
+    }
+
+    /**
+     * Sets a region of several linked ski areas as the graph of the engine.
+     * Routes in the region are planned hierarchically by a
+     * {@link RegionPlanner}, whose boundary tables are computed here.
+     *
+     * @param region the merged region to set
+     * @throws RoutingException if an error occurs while setting the graph
+     */
+    public void setRegion(Region region) throws RoutingException {
+        setGraph(region.getGraph());
+        this.regionPlanner = new RegionPlanner(region, timeCalculator, planner);
     }
 }
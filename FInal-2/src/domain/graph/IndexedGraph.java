@@ -0,0 +1,140 @@
+package domain.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact, int-indexed view of a ski graph. Nodes are numbered in ascending
+ * order of their IDs and successors as well as predecessors are stored as
+ * primitive arrays, so that algorithms working on the whole graph can use
+ * plain arrays and bitsets instead of hash-based collections.
+ *
+ * @author udqch
+ */
+public final class IndexedGraph {
+    private static final int[] NO_NEIGHBORS = new int[0];
+
+    private final Node[] nodes;
+    private final Map<String, Integer> indexById;
+    private final int[][] successors;
+    private final int[][] predecessors;
+    private final int edgeCount;
+
+    /**
+     * Builds the indexed view from the nodes and adjacency lists of a ski graph.
+     *
+     * @param allNodes      all nodes of the graph
+     * @param adjacencyList the adjacency list of the graph
+     */
+    IndexedGraph(Collection<Node> allNodes, Map<Node, List<Node>> adjacencyList) {
+        this.nodes = allNodes.toArray(new Node[0]);
+        Arrays.sort(this.nodes, Comparator.comparing(Node::getId));
+
+        this.indexById = new HashMap<>();
+        for (int i = 0; i < nodes.length; i++) {
+            indexById.put(nodes[i].getId(), i);
+        }
+
+        int edges = 0;
+        List<List<Integer>> reverse = new ArrayList<>();
+        this.successors = new int[nodes.length][];
+        for (int i = 0; i < nodes.length; i++) {
+            reverse.add(new ArrayList<>());
+        }
+        for (int i = 0; i < nodes.length; i++) {
+            List<Node> adjacent = adjacencyList.getOrDefault(nodes[i], List.of());
+            successors[i] = new int[adjacent.size()];
+            for (int j = 0; j < adjacent.size(); j++) {
+                int target = indexById.get(adjacent.get(j).getId());
+                successors[i][j] = target;
+                reverse.get(target).add(i);
+            }
+            edges += adjacent.size();
+        }
+        this.edgeCount = edges;
+
+        this.predecessors = new int[nodes.length][];
+        for (int i = 0; i < nodes.length; i++) {
+            predecessors[i] = reverse.get(i).isEmpty() ? NO_NEIGHBORS
+                    : reverse.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * Returns the number of nodes in the graph.
+     *
+     * @return the number of nodes
+     */
+    public int size() {
+        return nodes.length;
+    }
+
+    /**
+     * Returns the number of edges in the graph.
+     *
+     * @return the number of edges
+     */
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Returns the index of the given node, or -1 if the node is not part of the
+     * graph.
+     *
+     * @param node the node to look up
+     * @return the index of the node, or -1 if it is unknown
+     */
+    public int indexOf(Node node) {
+        return indexOf(node.getId());
+    }
+
+    /**
+     * Returns the index of the node with the given ID, or -1 if no such node is
+     * part of the graph.
+     *
+     * @param id the ID of the node to look up
+     * @return the index of the node, or -1 if it is unknown
+     */
+    public int indexOf(String id) {
+        Integer index = indexById.get(id);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Returns the node stored at the given index.
+     *
+     * @param index the index of the node
+     * @return the node at the given index
+     */
+    public Node nodeAt(int index) {
+        return nodes[index];
+    }
+
+    /**
+     * Returns the indexes of the successors of the given node in adjacency order.
+     * The returned array is shared and must not be modified.
+     *
+     * @param index the index of the node
+     * @return the indexes of all successors
+     */
+    public int[] successors(int index) {
+        return successors[index];
+    }
+
+    /**
+     * Returns the indexes of the predecessors of the given node. The returned
+     * array is shared and must not be modified.
+     *
+     * @param index the index of the node
+     * @return the indexes of all predecessors
+     */
+    public int[] predecessors(int index) {
+        return predecessors[index];
+    }
+}
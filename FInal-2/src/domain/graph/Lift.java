@@ -1,6 +1,7 @@
 package domain.graph;
 
 import java.time.LocalTime;
+import java.util.Objects;
 
 /**
  * Class representing a lift in a ski area.
@@ -17,6 +18,7 @@ public class Lift extends Node {
     private final int rideTime; // Time taken to ride the lift in minutes
     private final int queueTime; // Average time spent in the queue in minutes
     private final boolean isTalstation; // Indicates if the lift is a talstation (base station)
+    private final QueueProfile queueProfile; // Time-dependent queue time, or null if static
 
     /**
      * Constructor to initialize the lift with the specified parameters.
@@ -38,6 +40,45 @@ public class Lift extends Node {
         this.rideTime = rideTime;
         this.queueTime = queueTime;
         this.isTalstation = isTalstation;
+        this.queueProfile = null;
+    }
+
+    // Copy constructor used to attach a queue profile to an otherwise identical lift
+    private Lift(Lift base, QueueProfile queueProfile) {
+        super(base.getId());
+        this.type = base.type;
+        this.startTime = base.startTime;
+        this.endTime = base.endTime;
+        this.rideTime = base.rideTime;
+        this.queueTime = base.queueTime;
+        this.isTalstation = base.isTalstation;
+        this.queueProfile = queueProfile;
+    }
+
+    /**
+     * Returns a copy of this lift whose queue time varies over the day according
+     * to the given profile.
+     *
+     * @param profile the queue profile of the lift
+     * @return a new lift with the given queue profile
+     */
+    public Lift withQueueProfile(QueueProfile profile) {
+        return new Lift(this, profile);
+    }
+
+    /**
+     * Checks whether the given lift has the same ID and attributes as this lift.
+     * Lifts shared by several areas of a region must be defined identically in
+     * every area.
+     *
+     * @param other the lift to compare with
+     * @return true if both lifts are defined identically
+     */
+    boolean hasSameDefinition(Lift other) {
+        return getId().equals(other.getId()) && type == other.type
+                && startTime.equals(other.startTime) && endTime.equals(other.endTime)
+                && rideTime == other.rideTime && queueTime == other.queueTime
+                && isTalstation == other.isTalstation && Objects.equals(queueProfile, other.queueProfile);
     }
 
     // --- GETTERS ---
@@ -86,6 +127,15 @@ public class Lift extends Node {
         return queueTime;
     }
 
+    /**
+     * Returns the time-dependent queue profile of the lift.
+     *
+     * @return the queue profile, or null if the lift has a static queue time
+     */
+    public QueueProfile getQueueProfile() {
+        return queueProfile;
+    }
+
     /**
      * Returns whether the lift is a talstation (base station).
      *
@@ -2,15 +2,32 @@ package domain.graph;
 
 /**
  * Enum representing the types of ski lifts.
+ * Each lift type has an associated capacity that is used to simulate the
+ * queues in front of the lifts.
  * 
  * @author udqch
  */
 public enum LiftType {
 
     /** The gondola lift type. */
-    GONDOLA,
+    GONDOLA(40),
     /** The chairlift type. */
-    CHAIRLIFT;
+    CHAIRLIFT(30);
+
+    private final int capacityPerMinute;
+
+    LiftType(int capacityPerMinute) {
+        this.capacityPerMinute = capacityPerMinute;
+    }
+
+    /**
+     * Returns the number of skiers that can board a lift of this type per minute.
+     *
+     * @return the boarding capacity per minute
+     */
+    public int getCapacityPerMinute() {
+        return capacityPerMinute;
+    }
 
     @Override
     public String toString() {
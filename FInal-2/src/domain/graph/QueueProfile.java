@@ -0,0 +1,113 @@
+package domain.graph;
+
+import java.util.Arrays;
+
+/**
+ * Class representing the time-varying queue time of a lift as a piecewise
+ * constant function of the time of day. Each breakpoint starts a segment with
+ * the time a skier joining the queue during that segment has to wait; the first
+ * segment also applies before its breakpoint and the last one until the end of
+ * the day. Lookups use a binary search over the breakpoints and respect the
+ * first-in-first-out nature of a queue: a skier never leaves the queue before
+ * someone who joined earlier, even if a later segment has a shorter queue.
+ *
+ * @author udqch
+ */
+public final class QueueProfile {
+    private final int[] breakpointSeconds;
+    private final int[] queueSeconds;
+    private final long[] latestDeparture;
+    private final int minimumQueueSeconds;
+
+    /**
+     * Constructs a new QueueProfile from breakpoints and queue times.
+     *
+     * @param breakpointSeconds the seconds of the day at which the segments
+     *                          start, in strictly ascending order
+     * @param queueSeconds      the queue time in seconds of each segment
+     */
+    public QueueProfile(int[] breakpointSeconds, int[] queueSeconds) {
+        this.breakpointSeconds = breakpointSeconds.clone();
+        this.queueSeconds = queueSeconds.clone();
+        this.minimumQueueSeconds = Arrays.stream(queueSeconds).min().orElse(0);
+
+        // For every segment, remember the latest time at which a skier who joined
+        // during an earlier segment leaves the queue
+        this.latestDeparture = new long[queueSeconds.length];
+        long latest = 0;
+        for (int i = 0; i < queueSeconds.length; i++) {
+            latestDeparture[i] = latest;
+            if (i + 1 < breakpointSeconds.length) {
+                latest = Math.max(latest, (long) breakpointSeconds[i + 1] + queueSeconds[i]);
+            }
+        }
+    }
+
+    /**
+     * Creates a QueueProfile from buckets of equal length.
+     *
+     * @param firstSecond   the second of the day at which the first bucket starts
+     * @param bucketSeconds the length of each bucket in seconds
+     * @param queueSeconds  the queue time in seconds for each bucket
+     * @return the resulting queue profile
+     */
+    public static QueueProfile ofBuckets(int firstSecond, int bucketSeconds, int[] queueSeconds) {
+        int[] breakpoints = new int[queueSeconds.length];
+        for (int i = 0; i < breakpoints.length; i++) {
+            breakpoints[i] = firstSecond + i * bucketSeconds;
+        }
+        return new QueueProfile(breakpoints, queueSeconds);
+    }
+
+    /**
+     * Returns the queue time for a skier joining the queue at the given second of
+     * the day.
+     *
+     * @param secondOfDay the second of the day at which the skier joins the queue
+     * @return the queue time in seconds
+     */
+    public long getQueueSeconds(long secondOfDay) {
+        if (queueSeconds.length == 0) {
+            return 0;
+        }
+        int index = segmentOf(secondOfDay);
+        return Math.max(queueSeconds[index], latestDeparture[index] - secondOfDay);
+    }
+
+    /**
+     * Returns the shortest queue time of this profile.
+     *
+     * @return the minimum queue time in seconds
+     */
+    public int getMinimumQueueSeconds() {
+        return minimumQueueSeconds;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || this.getClass() != obj.getClass()) {
+            return false;
+        }
+        QueueProfile other = (QueueProfile) obj;
+        return Arrays.equals(breakpointSeconds, other.breakpointSeconds)
+                && Arrays.equals(queueSeconds, other.queueSeconds);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(breakpointSeconds) + Arrays.hashCode(queueSeconds);
+    }
+
+    // Finds the segment whose breakpoint is the last one not after the given time
+    private int segmentOf(long secondOfDay) {
+        int key = (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, secondOfDay));
+        int index = Arrays.binarySearch(breakpointSeconds, key);
+        if (index < 0) {
+            index = -index - 2; // Insertion point minus one
+        }
+        return Math.max(0, index);
+    }
+}
@@ -0,0 +1,179 @@
+package domain.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import exceptions.ParseError;
+import exceptions.ParseException;
+
+/**
+ * Class representing a region of several linked ski areas. The areas are
+ * merged into one ski graph; lifts with the same ID in several areas are
+ * transfer lifts connecting these areas and must be defined identically
+ * everywhere. For every area, the region keeps the set of its nodes and its
+ * boundary nodes, i.e. its transfer lifts and talstations, by their index in
+ * the indexed view of the merged graph.
+ *
+ * @author udqch
+ */
+public final class Region {
+    private final SkiGraph graph;
+    private final List<String> areaNames;
+    private final BitSet[] areaNodes;
+    private final int[][] boundaries;
+
+    private Region(SkiGraph graph, List<String> areaNames, BitSet[] areaNodes, int[][] boundaries) {
+        this.graph = graph;
+        this.areaNames = List.copyOf(areaNames);
+        this.areaNodes = areaNodes;
+        this.boundaries = boundaries;
+    }
+
+    /**
+     * Merges the given areas into a region and validates the merged graph.
+     *
+     * @param names the names of the areas, used in error messages
+     * @param areas the validated graphs of the areas
+     * @return the merged region
+     * @throws ParseException if a node other than a lift is shared by several
+     *                        areas, a transfer lift is defined differently in two
+     *                        areas, or the merged graph is invalid
+     */
+    public static Region merge(List<String> names, List<SkiGraph> areas) throws ParseException {
+        SkiGraph merged = new SkiGraph();
+        Map<String, Integer> firstArea = new HashMap<>();
+        for (int a = 0; a < areas.size(); a++) {
+            for (Node node : nodesOf(areas.get(a))) {
+                Integer previous = firstArea.putIfAbsent(node.getId(), a);
+                if (previous == null) {
+                    merged.addNode(node);
+                } else {
+                    checkShared(merged.getNodeById(node.getId()), node, names.get(previous), names.get(a));
+                }
+            }
+        }
+        for (SkiGraph area : areas) {
+            for (Node node : nodesOf(area)) {
+                for (Node target : area.getAdjacencyNodes(node)) {
+                    Node from = merged.getNodeById(node.getId());
+                    Node to = merged.getNodeById(target.getId());
+                    if (!merged.getAdjacencyNodes(from).contains(to)) {
+                        merged.addEdge(from, to);
+                    }
+                }
+            }
+        }
+        merged.validate();
+
+        IndexedGraph indexed = merged.getIndexedGraph();
+        BitSet[] areaNodes = new BitSet[areas.size()];
+        int[] areaCount = new int[indexed.size()];
+        for (int a = 0; a < areas.size(); a++) {
+            areaNodes[a] = new BitSet(indexed.size());
+            for (Node node : nodesOf(areas.get(a))) {
+                int index = indexed.indexOf(node.getId());
+                areaNodes[a].set(index);
+                areaCount[index]++;
+            }
+        }
+
+        int[][] boundaries = new int[areas.size()][];
+        for (int a = 0; a < areas.size(); a++) {
+            boundaries[a] = areaNodes[a].stream()
+                    .filter(i -> areaCount[i] > 1
+                            || indexed.nodeAt(i) instanceof Lift lift && lift.isTalstation())
+                    .toArray();
+        }
+        return new Region(merged, names, areaNodes, boundaries);
+    }
+
+    // Checks that a node defined in two areas is the same transfer lift
+    private static void checkShared(Node existing, Node node, String firstName, String secondName)
+            throws ParseException {
+        if (!(existing instanceof Lift existingLift) || !(node instanceof Lift lift)) {
+            throw new ParseException(ParseError.SHARED_NON_LIFT.getMessage(node.getId(), firstName, secondName));
+        }
+        if (!existingLift.hasSameDefinition(lift)) {
+            throw new ParseException(ParseError.TRANSFER_MISMATCH.getMessage(node.getId(), firstName, secondName));
+        }
+    }
+
+    private static List<Node> nodesOf(SkiGraph area) {
+        List<Node> nodes = new ArrayList<>(area.getAllLifts());
+        nodes.addAll(area.getAllPistes());
+        return nodes;
+    }
+
+    /**
+     * Returns the indexes of the areas containing the node with the given index.
+     * Transfer lifts belong to several areas, all other nodes to exactly one.
+     *
+     * @param node the index of the node in the merged graph
+     * @return the indexes of the areas containing the node
+     */
+    public int[] areasOf(int node) {
+        int[] result = new int[areaNodes.length];
+        int count = 0;
+        for (int a = 0; a < areaNodes.length; a++) {
+            if (areaNodes[a].get(node)) {
+                result[count++] = a;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    // --- GETTERS ---
+
+    /**
+     * Returns the merged ski graph of all areas.
+     *
+     * @return the merged graph
+     */
+    public SkiGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Returns the number of areas in the region.
+     *
+     * @return the number of areas
+     */
+    public int getAreaCount() {
+        return areaNodes.length;
+    }
+
+    /**
+     * Returns the name of the area with the given index.
+     *
+     * @param area the index of the area
+     * @return the name of the area
+     */
+    public String getAreaName(int area) {
+        return areaNames.get(area);
+    }
+
+    /**
+     * Returns the nodes of the area with the given index.
+     *
+     * @param area the index of the area
+     * @return a copy of the set of node indexes of the area
+     */
+    public BitSet getAreaNodes(int area) {
+        return (BitSet) areaNodes[area].clone();
+    }
+
+    /**
+     * Returns the boundary nodes of the area with the given index, i.e. its
+     * transfer lifts and talstations, in ascending order.
+     *
+     * @param area the index of the area
+     * @return the node indexes of the boundary nodes
+     */
+    public int[] getBoundaries(int area) {
+        return boundaries[area].clone();
+    }
+}
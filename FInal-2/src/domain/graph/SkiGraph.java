@@ -2,6 +2,7 @@ package domain.graph;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -25,6 +26,11 @@ public class SkiGraph {
     private final Map<String, Node> nodes = new HashMap<>();
     private final Map<Node, List<Node>> adjacencyList = new HashMap<>();
     private String duplicateErrorMessage = null;
+    private IndexedGraph indexedGraph = null;
+    private int version = 0;
+    private List<Lift> sortedLifts = null;
+    private List<Piste> sortedPistes = null;
+    private List<Lift> talstations = null;
 
     /**
      * Adds a node to the graph.
@@ -41,6 +47,7 @@ public class SkiGraph {
         }
 
         // If the node is unique, add it to the graph and initialize its adjacency list
+        invalidateIndexes();
         nodes.put(node.getId(), node);
         adjacencyList.put(node, new ArrayList<>());
     }
@@ -67,6 +74,7 @@ public class SkiGraph {
             addNode(to);
         }
         this.adjacencyList.get(from).add(to);
+        invalidateIndexes();
     }
 
     /**
@@ -91,6 +99,36 @@ public class SkiGraph {
         checkMinimumRequirements();
         checkSymmetricalRules();
         checkConnectivity();
+        this.indexedGraph = new IndexedGraph(nodes.values(), adjacencyList);
+        buildNodeIndexes();
+    }
+
+    // Drops all derived structures after a modification of the graph
+    private void invalidateIndexes() {
+        this.version++;
+        this.indexedGraph = null;
+        this.sortedLifts = null;
+        this.sortedPistes = null;
+        this.talstations = null;
+    }
+
+    // Builds the ID-sorted lists of lifts, pistes and talstations
+    private void buildNodeIndexes() {
+        List<Lift> lifts = new ArrayList<>();
+        List<Piste> pistes = new ArrayList<>();
+        for (Node node : nodes.values()) {
+            if (node instanceof Lift lift) {
+                lifts.add(lift);
+            } else if (node instanceof Piste piste) {
+                pistes.add(piste);
+            }
+        }
+        lifts.sort(Comparator.comparing(Lift::getId));
+        pistes.sort(Comparator.comparing(Piste::getId));
+
+        this.sortedLifts = Collections.unmodifiableList(lifts);
+        this.sortedPistes = Collections.unmodifiableList(pistes);
+        this.talstations = lifts.stream().filter(Lift::isTalstation).toList();
     }
 
     // Check for minimum requirements: at least one piste and one talstation
@@ -167,6 +205,19 @@ public class SkiGraph {
 
     // --- GETTERS ---
 
+    /**
+     * Returns the int-indexed view of this graph. The view is built when the
+     * graph is validated and rebuilt on demand after any later modification.
+     *
+     * @return the indexed view of this graph
+     */
+    public IndexedGraph getIndexedGraph() {
+        if (indexedGraph == null) {
+            indexedGraph = new IndexedGraph(nodes.values(), adjacencyList);
+        }
+        return indexedGraph;
+    }
+
     /**
      * Returns an unmodifiable list of adjacent nodes for the given node.
      *
@@ -179,33 +230,52 @@ public class SkiGraph {
     }
 
     /**
-     * Returns an unmodifiable list of all lift nodes in the graph.
+     * Returns an unmodifiable list of all lift nodes in the graph, sorted by
+     * their ID. The list is built when the graph is validated.
      *
      * @return an unmodifiable list of all lift nodes
      */
     public List<Lift> getAllLifts() {
-        List<Lift> lifts = new ArrayList<>();
-        for (Node node : nodes.values()) {
-            if (node instanceof Lift lift) {
-                lifts.add(lift);
-            }
+        if (sortedLifts == null) {
+            buildNodeIndexes();
         }
-        return Collections.unmodifiableList(lifts);
+        return sortedLifts;
     }
 
     /**
-     * Returns an unmodifiable list of all piste nodes in the graph.
+     * Returns an unmodifiable list of all piste nodes in the graph, sorted by
+     * their ID. The list is built when the graph is validated.
      *
      * @return an unmodifiable list of all piste nodes
      */
     public List<Piste> getAllPistes() {
-        List<Piste> pistes = new ArrayList<>();
-        for (Node node : nodes.values()) {
-            if (node instanceof Piste piste) {
-                pistes.add(piste);
-            }
+        if (sortedPistes == null) {
+            buildNodeIndexes();
         }
-        return Collections.unmodifiableList(pistes);
+        return sortedPistes;
+    }
+
+    /**
+     * Returns an unmodifiable list of all talstations in the graph, sorted by
+     * their ID. The list is built when the graph is validated.
+     *
+     * @return an unmodifiable list of all talstation lifts
+     */
+    public List<Lift> getTalstations() {
+        if (talstations == null) {
+            buildNodeIndexes();
+        }
+        return talstations;
+    }
+
+    /**
+     * Returns the version of the graph, which changes with every modification.
+     * Derived data such as formatted lists can be cached per version.
+     *
+     * @return the current version of the graph
+     */
+    public int getVersion() {
+        return version;
     }
 
     /**
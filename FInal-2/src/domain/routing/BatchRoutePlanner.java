@@ -0,0 +1,151 @@
+package domain.routing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import domain.graph.IndexedGraph;
+import domain.skier.Skill;
+import exceptions.RoutingError;
+import exceptions.RoutingException;
+
+/**
+ * The BatchRoutePlanner class plans many route requests concurrently, e.g. for
+ * what-if analyses over all profiles, talstations and start times. Unlike
+ * {@link core.SkiEngine}, it does not keep any session state: every request is
+ * planned independently by a {@link RoutePlanner} and its result is streamed to
+ * a {@link RouteSink} as soon as it is available.
+ *
+ * <p>
+ * Time tables only depend on the graph and the skill level of the skier, so
+ * they are compiled once per graph and skill and shared by all requests of a
+ * batch.
+ * </p>
+ *
+ * @author udqch
+ */
+public class BatchRoutePlanner implements AutoCloseable {
+    private final TimeCalculator timeCalculator;
+    private final RoutePlanner planner;
+    private final ExecutorService executor;
+    private final Map<TimeTableKey, TimeTable> timeTables = new ConcurrentHashMap<>();
+    private final Object sinkLock = new Object();
+
+    /**
+     * Constructs a new BatchRoutePlanner using one thread per available
+     * processor.
+     *
+     * @param timeCalculator the TimeCalculator used to calculate time spent on
+     *                       nodes during route planning
+     */
+    public BatchRoutePlanner(TimeCalculator timeCalculator) {
+        this(timeCalculator, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a new BatchRoutePlanner with the given number of threads.
+     *
+     * @param timeCalculator the TimeCalculator used to calculate time spent on
+     *                       nodes during route planning
+     * @param threads        the number of requests planned concurrently
+     */
+    public BatchRoutePlanner(TimeCalculator timeCalculator, int threads) {
+        this.timeCalculator = timeCalculator;
+        this.planner = new RoutePlanner(timeCalculator);
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads));
+    }
+
+    /**
+     * Plans all given requests and passes every result to the sink. The method
+     * returns once all requests have been planned.
+     *
+     * @param requests the requests to plan
+     * @param sink     the sink receiving the results as they complete
+     * @throws RoutingException if the calling thread is interrupted while
+     *                          waiting for the results, or if the sink itself
+     *                          failed
+     */
+    public void planAll(List<RouteRequest> requests, RouteSink sink) throws RoutingException {
+        // Queue profiles may have changed since the last batch
+        timeTables.clear();
+        // Compile the indexed graphs up front, they are built lazily and shared by
+        // all workers
+        for (RouteRequest request : requests) {
+            request.graph().getIndexedGraph();
+        }
+
+        List<Future<?>> futures = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            int index = i;
+            RouteRequest request = requests.get(i);
+            futures.add(executor.submit(() -> plan(index, request, sink)));
+        }
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                futures.forEach(f -> f.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new RoutingException(RoutingError.BATCH_INTERRUPTED.getMessage());
+            } catch (ExecutionException e) {
+                // Planning errors are reported to the sink, only the sink fails here
+                throw new RoutingException(RoutingError.BATCH_SINK_FAILED.getMessage(e.getCause()));
+            }
+        }
+    }
+
+    /**
+     * Shuts down the worker threads. Requests that are already planned are
+     * finished first.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    // Plans a single request and reports the outcome to the sink. Any failure
+    // of the planning is reported as the failure of this request, so that the
+    // other requests of the batch are still planned
+    private void plan(int index, RouteRequest request, RouteSink sink) {
+        Optional<Route> route;
+        try {
+            route = planRoute(request);
+        } catch (RoutingException e) {
+            synchronized (sinkLock) {
+                sink.fail(index, request, e);
+            }
+            return;
+        } catch (RuntimeException e) {
+            synchronized (sinkLock) {
+                sink.fail(index, request, new RoutingException(RoutingError.BATCH_REQUEST_FAILED.getMessage(e)));
+            }
+            return;
+        }
+        synchronized (sinkLock) {
+            sink.accept(index, request, route);
+        }
+    }
+
+    // Plans a single request on the time table shared for its graph and skill
+    private Optional<Route> planRoute(RouteRequest request) throws RoutingException {
+        if (request.skier().getSkill() == null || request.skier().getGoal() == null) {
+            throw new RoutingException(RoutingError.INCOMPLETE_PROFILE.getMessage());
+        }
+        IndexedGraph graph = request.graph().getIndexedGraph();
+        TimeTable timeTable = timeTables.computeIfAbsent(
+                new TimeTableKey(graph, request.skier().getSkill()),
+                key -> new TimeTable(graph, timeCalculator, request.skier()));
+        return planner.planRoute(request, timeTable);
+    }
+
+    // Time tables are shared between requests on the same graph and skill level
+    private record TimeTableKey(IndexedGraph graph, Skill skill) {
+    }
+}
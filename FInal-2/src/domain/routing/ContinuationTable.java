@@ -0,0 +1,213 @@
+package domain.routing;
+
+import java.util.Arrays;
+
+/**
+ * The ContinuationTable class stores the best continuations of the memoised
+ * route search per state, i.e. per pair of node index and time slot. Only the
+ * states actually visited are stored: an open-addressing hash index maps each
+ * state to an entry in parallel primitive arrays, so the table needs no
+ * objects per state.
+ *
+ * <p>
+ * An entry holds the goal score and the preference score of the best
+ * continuation from its state and the state that continuation moves to next.
+ * The next node is {@link #STOP} if the best continuation ends at the state's
+ * node, {@link #NONE} if no valid continuation exists, and
+ * {@link #IN_PROGRESS} while the entry is still being computed.
+ * </p>
+ *
+ * @author udqch
+ */
+final class ContinuationTable {
+    /** The next node of a continuation that ends at the state's node. */
+    static final int STOP = -1;
+    /** The next node of a state without any valid continuation. */
+    static final int NONE = -2;
+    /** The next node of a state whose continuation is being computed. */
+    static final int IN_PROGRESS = -3;
+
+    private static final int INITIAL_CAPACITY = 1 << 6;
+    private static final int SLOT_SHIFT = 32;
+    private static final long NODE_MASK = (1L << SLOT_SHIFT) - 1;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private long[] hashKeys;
+    private int[] hashEntries;
+    private int hashMask;
+
+    private long[] keys;
+    private int[] scores;
+    private int[] preferences;
+    private int[] nextNodes;
+    private int[] nextSlots;
+    private int size;
+
+    /**
+     * Constructs a new empty ContinuationTable.
+     */
+    ContinuationTable() {
+        this.hashKeys = new long[2 * INITIAL_CAPACITY];
+        this.hashEntries = new int[2 * INITIAL_CAPACITY];
+        this.hashMask = hashKeys.length - 1;
+        Arrays.fill(hashEntries, -1);
+        this.keys = new long[INITIAL_CAPACITY];
+        this.scores = new int[INITIAL_CAPACITY];
+        this.preferences = new int[INITIAL_CAPACITY];
+        this.nextNodes = new int[INITIAL_CAPACITY];
+        this.nextSlots = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Returns the entry of the given state.
+     *
+     * @param node the index of the node
+     * @param slot the time slot
+     * @return the entry of the state, or -1 if the state has no entry
+     */
+    int find(int node, int slot) {
+        long key = keyOf(node, slot);
+        for (int i = hash(key); hashEntries[i] >= 0; i = (i + 1) & hashMask) {
+            if (hashKeys[i] == key) {
+                return hashEntries[i];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds an entry for the given state, which must not have one yet. The new
+     * entry is marked as {@link #IN_PROGRESS}.
+     *
+     * @param node the index of the node
+     * @param slot the time slot
+     * @return the new entry
+     */
+    int insert(int node, int slot) {
+        if (size == keys.length) {
+            grow();
+        }
+        int entry = size++;
+        keys[entry] = keyOf(node, slot);
+        nextNodes[entry] = IN_PROGRESS;
+        addToHash(keys[entry], entry);
+        return entry;
+    }
+
+    /**
+     * Stores the best continuation of an entry.
+     *
+     * @param entry      the entry
+     * @param score      the goal score of the continuation
+     * @param preference the preference score of the continuation
+     * @param nextNode   the next node, or {@link #STOP} or {@link #NONE}
+     * @param nextSlot   the time slot at which the next node is finished
+     */
+    void set(int entry, int score, int preference, int nextNode, int nextSlot) {
+        scores[entry] = score;
+        preferences[entry] = preference;
+        nextNodes[entry] = nextNode;
+        nextSlots[entry] = nextSlot;
+    }
+
+    // --- GETTERS ---
+
+    /**
+     * Returns the goal score of the continuation of an entry.
+     *
+     * @param entry the entry
+     * @return the goal score
+     */
+    int score(int entry) {
+        return scores[entry];
+    }
+
+    /**
+     * Returns the preference score of the continuation of an entry.
+     *
+     * @param entry the entry
+     * @return the preference score
+     */
+    int preference(int entry) {
+        return preferences[entry];
+    }
+
+    /**
+     * Returns the next node of the continuation of an entry.
+     *
+     * @param entry the entry
+     * @return the next node, or {@link #STOP}, {@link #NONE} or
+     *         {@link #IN_PROGRESS}
+     */
+    int nextNode(int entry) {
+        return nextNodes[entry];
+    }
+
+    /**
+     * Returns the time slot at which the next node of the continuation of an
+     * entry is finished.
+     *
+     * @param entry the entry
+     * @return the time slot of the next state
+     */
+    int nextSlot(int entry) {
+        return nextSlots[entry];
+    }
+
+    /**
+     * Returns the time slot of the state of an entry.
+     *
+     * @param entry the entry
+     * @return the time slot
+     */
+    int slot(int entry) {
+        return (int) (keys[entry] >>> SLOT_SHIFT);
+    }
+
+    /**
+     * Returns the number of stored states.
+     *
+     * @return the number of entries
+     */
+    int size() {
+        return size;
+    }
+
+    // --- HELPER METHODS ---
+
+    private static long keyOf(int node, int slot) {
+        return (long) slot << SLOT_SHIFT | (node & NODE_MASK);
+    }
+
+    private int hash(long key) {
+        return (int) ((key * HASH_MULTIPLIER) >>> SLOT_SHIFT) & hashMask;
+    }
+
+    private void addToHash(long key, int entry) {
+        int i = hash(key);
+        while (hashEntries[i] >= 0) {
+            i = (i + 1) & hashMask;
+        }
+        hashKeys[i] = key;
+        hashEntries[i] = entry;
+    }
+
+    // Doubles the entry arrays and the hash index, keeping the load factor of the
+    // index at most one half
+    private void grow() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        scores = Arrays.copyOf(scores, capacity);
+        preferences = Arrays.copyOf(preferences, capacity);
+        nextNodes = Arrays.copyOf(nextNodes, capacity);
+        nextSlots = Arrays.copyOf(nextSlots, capacity);
+
+        hashKeys = new long[2 * capacity];
+        hashEntries = new int[2 * capacity];
+        hashMask = hashKeys.length - 1;
+        Arrays.fill(hashEntries, -1);
+        for (int entry = 0; entry < size; entry++) {
+            addToHash(keys[entry], entry);
+        }
+    }
+}
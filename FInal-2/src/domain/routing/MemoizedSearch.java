@@ -0,0 +1,263 @@
+package domain.routing;
+
+import domain.graph.IndexedGraph;
+import domain.graph.Piste;
+import domain.skier.SkierGroup;
+import metrics.PruneReason;
+import metrics.SearchCounters;
+
+/**
+ * The MemoizedSearch class finds the best route of a {@link RoutingSession}
+ * for goals whose utility is additive along the path. The best continuation
+ * from a node then only depends on the time at which the node is finished, so
+ * it is computed once per node and time slot and stored in a
+ * {@link ContinuationTable} instead of enumerating all paths.
+ *
+ * <p>
+ * Each slot is evaluated at its latest second. Routes found this way are
+ * recalculated with the exact times; if such a route is not feasible, the
+ * search reports it so that the session falls back to the full search.
+ * </p>
+ *
+ * @author udqch
+ */
+final class MemoizedSearch {
+    private static final int NO_ENTRY = -1;
+
+    private final RoutingSession session;
+    private final IndexedGraph indexedGraph;
+    private final TimeTable timeTable;
+    private final SearchCounters counters;
+    private final int resolution;
+    private final long startSecond;
+    private final long endSecond;
+    private final ContinuationTable table = new ContinuationTable();
+    private final int[] nodeUtilities;
+    private final int[] nodePreferences;
+    private Route bestRoute = null;
+
+    /**
+     * Constructs a new MemoizedSearch for the given session.
+     *
+     * @param session    the session whose request is searched, for a group with
+     *                   additive goals
+     * @param resolution the time resolution in seconds, at least 1
+     */
+    MemoizedSearch(RoutingSession session, int resolution) {
+        this.session = session;
+        this.indexedGraph = session.getIndexedGraph();
+        this.timeTable = session.getTimeTable();
+        this.counters = session.getCounters();
+        this.resolution = resolution;
+        this.startSecond = session.getStartSecond();
+        this.endSecond = session.getEndSecond();
+        SkierGroup group = session.getGroup();
+        this.nodeUtilities = new int[indexedGraph.size()];
+        this.nodePreferences = new int[indexedGraph.size()];
+        for (int i = 0; i < indexedGraph.size(); i++) {
+            if (indexedGraph.nodeAt(i) instanceof Piste piste) {
+                nodeUtilities[i] = group.calculateUtility(piste, false);
+            }
+            nodePreferences[i] = session.getComparator().calculatePreferenceScore(indexedGraph.nodeAt(i));
+        }
+    }
+
+    /**
+     * Searches the best route from the given start node. The start node may not
+     * be the end of the route and only its successors are checked against the
+     * forbidden nodes, so it is handled here; all later states are solved by
+     * the memoised recursion.
+     *
+     * @param start the index of the start node
+     * @return false if the best route is not feasible with the exact times,
+     *         true otherwise
+     */
+    boolean search(int start) {
+        int bestNode = ContinuationTable.NONE;
+        int bestChild = NO_ENTRY;
+        for (int neighbor : indexedGraph.successors(start)) {
+            if (session.isForbidden(neighbor)) {
+                counters.prune(PruneReason.FORBIDDEN);
+                continue; // Skip forbidden nodes
+            }
+            int child = solveSuccessor(neighbor, startSecond, 2);
+            if (child < 0) {
+                continue;
+            }
+            if (bestNode == ContinuationTable.NONE || isBetter(neighbor, child, bestNode, bestChild)) {
+                bestNode = neighbor;
+                bestChild = child;
+                counters.bestUpdate();
+            }
+        }
+        if (bestNode != ContinuationTable.NONE) {
+            this.bestRoute = buildRoute(start, bestNode, table.slot(bestChild));
+            return bestRoute != null;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the best route found by the search.
+     *
+     * @return the best route, or null if no valid route exists
+     */
+    Route getBestRoute() {
+        return bestRoute;
+    }
+
+    // Computes the best continuation after finishing the node in the given time
+    // slot: ending the route there, if possible, or moving on to a successor
+    private int solve(int node, int slot, int level) {
+        int entry = table.find(node, slot);
+        if (entry >= 0) {
+            return entry;
+        }
+        entry = table.insert(node, slot);
+        counters.expand(level);
+        long second = startSecond + (long) slot * resolution;
+
+        int bestNode = ContinuationTable.NONE;
+        int bestChild = NO_ENTRY;
+        if (session.isDestinationNeighbor(node)) {
+            bestNode = ContinuationTable.STOP;
+            counters.candidate();
+        }
+        for (int neighbor : indexedGraph.successors(node)) {
+            int child = solveSuccessor(neighbor, second, level + 1);
+            if (child < 0) {
+                continue;
+            }
+            if (bestNode == ContinuationTable.NONE || isBetter(neighbor, child, bestNode, bestChild)) {
+                bestNode = neighbor;
+                bestChild = child;
+            }
+        }
+        int bestSlot = bestChild == NO_ENTRY ? 0 : table.slot(bestChild);
+        table.set(entry, scoreOf(bestNode, bestChild), preferenceOf(bestNode, bestChild), bestNode, bestSlot);
+        return entry;
+    }
+
+    // Solves the state after moving on to the given node, returns -1 if the node
+    // cannot be taken or no valid continuation follows it
+    private int solveSuccessor(int neighbor, long second, int level) {
+        long nextSecond = session.finishSecond(neighbor, second);
+        if (nextSecond < 0) {
+            return -1;
+        }
+
+        int slot = (int) ((nextSecond - startSecond + resolution - 1) / resolution);
+        int child = solve(neighbor, slot, level);
+        int next = table.nextNode(child);
+        // A state still in progress is only reached again by a cycle without time
+        return next == ContinuationTable.NONE || next == ContinuationTable.IN_PROGRESS ? -1 : child;
+    }
+
+    // Same order as the RouteComparator: goal score, preference score, then the
+    // lexicographically smaller node sequence. Each continuation moves on to a
+    // node whose state is solved in the given entry; both share the path up to
+    // here, so only their own node sequences are compared.
+    private boolean isBetter(int node, int child, int bestNode, int bestChild) {
+        int score = scoreOf(node, child);
+        int bestScore = scoreOf(bestNode, bestChild);
+        if (score != bestScore) {
+            return score > bestScore;
+        }
+        int preference = preferenceOf(node, child);
+        int bestPreference = preferenceOf(bestNode, bestChild);
+        if (preference != bestPreference) {
+            return preference > bestPreference;
+        }
+        if (bestNode == ContinuationTable.STOP) {
+            return false; // Ending here is a prefix of every longer route
+        }
+        ChainCursor candidate = new ChainCursor(node, table.slot(child));
+        ChainCursor best = new ChainCursor(bestNode, table.slot(bestChild));
+        int c;
+        int b;
+        do {
+            c = candidate.next();
+            b = best.next();
+        } while (c == b && c >= 0);
+        return c < b;
+    }
+
+    // The goal score of moving on to the node, solved in the given entry, or 0
+    // if the continuation ends here
+    private int scoreOf(int node, int child) {
+        return child == NO_ENTRY ? 0 : nodeUtilities[node] + table.score(child);
+    }
+
+    // The preference score of moving on to the node, solved in the given entry,
+    // or 0 if the continuation ends here
+    private int preferenceOf(int node, int child) {
+        return child == NO_ENTRY ? 0 : nodePreferences[node] + table.preference(child);
+    }
+
+    // Follows the memoised continuations and calculates the exact times of the
+    // route, returns null if the route is not feasible with the exact times
+    private Route buildRoute(int start, int firstNode, int firstSlot) {
+        int length = 1;
+        for (int node = firstNode, slot = firstSlot; node >= 0; length++) {
+            int entry = table.find(node, slot);
+            node = table.nextNode(entry);
+            slot = table.nextSlot(entry);
+        }
+
+        int[] nodes = new int[length];
+        int[] offsets = new int[length];
+        int[] scores = new int[length];
+        nodes[0] = start;
+        scores[0] = nodeUtilities[start];
+        long second = startSecond;
+        int node = firstNode;
+        int slot = firstSlot;
+        for (int i = 1; i < length; i++) {
+            second = timeTable.finishSecond(node, second);
+            if (second < 0 || second > endSecond) {
+                return null;
+            }
+            nodes[i] = node;
+            offsets[i] = (int) (second - startSecond);
+            scores[i] = scores[i - 1] + nodeUtilities[node];
+            int entry = table.find(node, slot);
+            node = table.nextNode(entry);
+            slot = table.nextSlot(entry);
+        }
+        return new Route(indexedGraph, nodes, offsets, scores, session.getRequest().startTime());
+    }
+
+    // Iterates over the characters of the route string of a memoised
+    // continuation, i.e. its node IDs separated by single spaces
+    private final class ChainCursor {
+        private static final int END = -1;
+        private static final char SEPARATOR = ' ';
+
+        private int node;
+        private int slot;
+        private String id;
+        private int position;
+
+        ChainCursor(int node, int slot) {
+            this.node = node;
+            this.slot = slot;
+            this.id = indexedGraph.nodeAt(node).getId();
+        }
+
+        int next() {
+            if (position < id.length()) {
+                return id.charAt(position++);
+            }
+            int entry = table.find(node, slot);
+            int nextNode = table.nextNode(entry);
+            if (nextNode < 0) {
+                return END;
+            }
+            this.slot = table.nextSlot(entry);
+            this.node = nextNode;
+            this.id = indexedGraph.nodeAt(nextNode).getId();
+            this.position = 0;
+            return SEPARATOR;
+        }
+    }
+}
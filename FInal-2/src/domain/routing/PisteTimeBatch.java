@@ -0,0 +1,127 @@
+package domain.routing;
+
+import java.util.List;
+
+import domain.graph.Piste;
+
+/**
+ * The PisteTimeBatch class computes the piste times of many skiers at once. The
+ * skill-independent factors of a fixed list of pistes are computed when the
+ * batch is created; each evaluation then only multiplies them with the skill
+ * modifiers and truncates the products to whole seconds.
+ *
+ * <p>
+ * If the incubating Vector API ({@code jdk.incubator.vector}) is available at
+ * runtime and the build included the {@link VectorPisteKernel} (Maven profile
+ * {@code vector}), the evaluation runs on SIMD lanes; otherwise a scalar loop
+ * is used. Both paths perform exactly the same double multiplication and
+ * truncating {@code (long)} cast as {@link TimeCalculator}, so their results
+ * are identical to the ones of the single-piste calculation.
+ * </p>
+ *
+ * @author udqch
+ */
+public final class PisteTimeBatch {
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL = "domain.routing.VectorPisteKernel";
+    private static final Kernel KERNEL = loadVectorKernel();
+
+    private final double[] pisteFactors;
+
+    /**
+     * The Kernel interface is implemented by the evaluation on SIMD lanes, which
+     * is only compiled with the Vector API.
+     */
+    interface Kernel {
+        /**
+         * Computes the times of the given (piste, skill modifier) pairs.
+         *
+         * @param pisteFactors   the skill-independent factors of the pistes
+         * @param pistes         the indexes of the pistes
+         * @param skillModifiers the skill modifiers of the skiers
+         * @param seconds        the array the times in seconds are written to
+         */
+        void computeSeconds(double[] pisteFactors, int[] pistes, double[] skillModifiers, long[] seconds);
+    }
+
+    /**
+     * Constructs a new PisteTimeBatch for the given pistes.
+     *
+     * @param pistes the pistes, referred to by their index in this list
+     */
+    public PisteTimeBatch(List<Piste> pistes) {
+        this.pisteFactors = new double[pistes.size()];
+        for (int i = 0; i < pisteFactors.length; i++) {
+            pisteFactors[i] = TimeCalculator.calculatePisteFactor(pistes.get(i));
+        }
+    }
+
+    /**
+     * Computes the times of the given (piste, skill modifier) pairs, using the
+     * Vector API if it is available.
+     *
+     * @param pistes         the indexes of the pistes in the list of this batch
+     * @param skillModifiers the skill modifiers of the skiers, in the same order
+     * @param seconds        the array the times in seconds are written to, at
+     *                       least as long as the pairs
+     */
+    public void computeSeconds(int[] pistes, double[] skillModifiers, long[] seconds) {
+        if (KERNEL != null) {
+            KERNEL.computeSeconds(pisteFactors, pistes, skillModifiers, seconds);
+        } else {
+            computeScalarSeconds(pistes, skillModifiers, seconds);
+        }
+    }
+
+    /**
+     * Computes the times of the given (piste, skill modifier) pairs with the
+     * scalar loop, regardless of the availability of the Vector API.
+     *
+     * @param pistes         the indexes of the pistes in the list of this batch
+     * @param skillModifiers the skill modifiers of the skiers, in the same order
+     * @param seconds        the array the times in seconds are written to, at
+     *                       least as long as the pairs
+     */
+    public void computeScalarSeconds(int[] pistes, double[] skillModifiers, long[] seconds) {
+        computeScalarSeconds(pisteFactors, pistes, skillModifiers, seconds, 0);
+    }
+
+    /**
+     * Returns whether {@link #computeSeconds} uses the Vector API.
+     *
+     * @return true if the Vector API and the kernel using it are available
+     */
+    public static boolean isVectorized() {
+        return KERNEL != null;
+    }
+
+    // Returns the vectorized kernel, or null if the module or the kernel is missing
+    private static Kernel loadVectorKernel() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return null;
+        }
+        try {
+            return (Kernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            return null; // Built without the vector profile
+        }
+    }
+
+    /**
+     * Computes the times of the pairs from the given index on with the scalar
+     * loop. Used for the whole batch or for the tail that does not fill a vector.
+     *
+     * @param pisteFactors   the skill-independent factors of the pistes
+     * @param pistes         the indexes of the pistes
+     * @param skillModifiers the skill modifiers of the skiers
+     * @param seconds        the array the times in seconds are written to
+     * @param from           the index of the first pair to compute
+     */
+    static void computeScalarSeconds(double[] pisteFactors, int[] pistes, double[] skillModifiers, long[] seconds,
+            int from) {
+        for (int i = from; i < pistes.length; i++) {
+            double timeInSeconds = pisteFactors[pistes[i]] * skillModifiers[i];
+            seconds[i] = (long) timeInSeconds;
+        }
+    }
+}
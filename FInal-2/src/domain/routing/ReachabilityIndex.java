@@ -0,0 +1,155 @@
+package domain.routing;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import domain.graph.IndexedGraph;
+
+/**
+ * The ReachabilityIndex class determines which nodes of a ski graph are
+ * relevant for a route request, i.e. which nodes the skier can reach from the
+ * start node within the time window and still return to the destination in
+ * time. Both directions are computed with a bitset-based frontier expansion
+ * over the int-indexed graph.
+ *
+ * @author udqch
+ */
+public class ReachabilityIndex {
+    private static final long UNREACHABLE = Long.MAX_VALUE;
+
+    private final TimeCalculator timeCalculator;
+
+    /**
+     * Constructs a new ReachabilityIndex with the given TimeCalculator.
+     *
+     * @param timeCalculator the TimeCalculator used to calculate the time spent
+     *                       on nodes
+     */
+    public ReachabilityIndex(TimeCalculator timeCalculator) {
+        this.timeCalculator = timeCalculator;
+    }
+
+    /**
+     * Computes the set of nodes that can be reached from the start node of the
+     * request and from which the destination can still be reached before the end
+     * time. Bits are indexed by the indexed view of the request's graph. The
+     * result is conservative: every node that is part of a valid route is
+     * contained, as waiting times are only ever underestimated.
+     *
+     * @param request the route request describing the start, destination and
+     *                time window
+     * @return a bitset of all relevant node indexes
+     */
+    public BitSet compute(RouteRequest request) {
+        IndexedGraph graph = request.graph().getIndexedGraph();
+        return compute(request, new TimeTable(graph, timeCalculator, request.skier()));
+    }
+
+    /**
+     * Computes the set of relevant nodes like {@link #compute(RouteRequest)},
+     * using an already compiled time table for the request's skier.
+     *
+     * @param request   the route request describing the start, destination and
+     *                  time window
+     * @param timeTable the time table of the request's skier on the request's
+     *                  graph
+     * @return a bitset of all relevant node indexes
+     */
+    public BitSet compute(RouteRequest request, TimeTable timeTable) {
+        IndexedGraph graph = request.graph().getIndexedGraph();
+        BitSet allNodes = new BitSet(graph.size());
+        allNodes.set(0, graph.size());
+        return compute(request, timeTable, allNodes);
+    }
+
+    /**
+     * Computes the set of relevant nodes like
+     * {@link #compute(RouteRequest, TimeTable)}, but only expands over the given
+     * allowed nodes. Nodes outside this set are never part of the result.
+     *
+     * @param request      the route request describing the start, destination
+     *                     and time window
+     * @param timeTable    the time table of the request's skier on the request's
+     *                     graph
+     * @param allowedNodes the node indexes the search may use
+     * @return a bitset of all relevant node indexes
+     */
+    public BitSet compute(RouteRequest request, TimeTable timeTable, BitSet allowedNodes) {
+        IndexedGraph graph = request.graph().getIndexedGraph();
+        long startSecond = request.startTime().toSecondOfDay();
+        long endSecond = request.endTime().toSecondOfDay();
+
+        long[] earliestFinish = computeEarliestFinish(graph, timeTable, allowedNodes,
+                graph.indexOf(request.startNode()), startSecond, endSecond);
+        long[] remaining = computeMinimumRemaining(graph, timeTable, allowedNodes, graph.indexOf(request.endNode()));
+
+        BitSet reachable = new BitSet(graph.size());
+        for (int i = 0; i < graph.size(); i++) {
+            if (earliestFinish[i] == UNREACHABLE || remaining[i] == UNREACHABLE) {
+                continue;
+            }
+            if (earliestFinish[i] + remaining[i] <= endSecond) {
+                reachable.set(i);
+            }
+        }
+        return reachable;
+    }
+
+    // Forward expansion: earliest second at which each node can be finished
+    private long[] computeEarliestFinish(IndexedGraph graph, TimeTable timeTable, BitSet allowedNodes,
+            int startIndex, long startSecond, long endSecond) {
+        long[] earliest = new long[graph.size()];
+        Arrays.fill(earliest, UNREACHABLE);
+        earliest[startIndex] = startSecond;
+
+        BitSet frontier = new BitSet(graph.size());
+        frontier.set(startIndex);
+        while (!frontier.isEmpty()) {
+            BitSet next = new BitSet(graph.size());
+            for (int v = frontier.nextSetBit(0); v >= 0; v = frontier.nextSetBit(v + 1)) {
+                for (int w : graph.successors(v)) {
+                    if (!allowedNodes.get(w)) {
+                        continue;
+                    }
+                    long finish = timeTable.finishSecond(w, earliest[v]);
+                    if (finish >= 0 && finish <= endSecond && finish < earliest[w]) {
+                        earliest[w] = finish;
+                        next.set(w);
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return earliest;
+    }
+
+    // Backward expansion: lower bound of the time needed after finishing a node
+    // until the route can end next to the destination
+    private long[] computeMinimumRemaining(IndexedGraph graph, TimeTable timeTable, BitSet allowedNodes,
+            int endIndex) {
+        long[] remaining = new long[graph.size()];
+        Arrays.fill(remaining, UNREACHABLE);
+        BitSet frontier = new BitSet(graph.size());
+        for (int u : graph.predecessors(endIndex)) {
+            if (allowedNodes.get(u)) {
+                remaining[u] = 0;
+                frontier.set(u);
+            }
+        }
+
+        while (!frontier.isEmpty()) {
+            BitSet next = new BitSet(graph.size());
+            for (int u = frontier.nextSetBit(0); u >= 0; u = frontier.nextSetBit(u + 1)) {
+                long candidate = remaining[u] + timeTable.minimumSeconds(u);
+                for (int p : graph.predecessors(u)) {
+                    if (allowedNodes.get(p) && candidate < remaining[p]) {
+                        remaining[p] = candidate;
+                        next.set(p);
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return remaining;
+    }
+}
@@ -0,0 +1,392 @@
+package domain.routing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+import domain.graph.IndexedGraph;
+import domain.graph.Piste;
+import domain.graph.Region;
+import domain.skier.Goal;
+import domain.skier.PathUtility;
+import domain.skier.SkierGroup;
+import domain.skier.SkierProfile;
+import domain.skier.Skill;
+import exceptions.RoutingException;
+
+/**
+ * The RegionPlanner class plans routes in a region of several linked ski areas
+ * hierarchically. For every area and skill level, the fastest crossings between
+ * the transfer lifts of the area, i.e. the boundary nodes it shares with other
+ * areas, are precomputed when the planner is created, together with the score
+ * of every crossing for each goal. A request is first answered on the overlay
+ * graph of these boundary nodes: a search over the crossings chooses the
+ * sequence of areas with the best score that leads back to the end node within
+ * the time window. The detailed route search of the {@link RoutePlanner} then only runs
+ * on the nodes of the areas of the start node, the end node and this sequence.
+ *
+ * <p>
+ * The overlay only knows the fastest crossing of an area, with times that
+ * ignore lift queues and operating hours. The detailed search finds the best
+ * route within the chosen areas, which can be worse than the best route of a
+ * search on the whole region if the overlay rated the areas of that route
+ * lower.
+ * </p>
+ *
+ * @author udqch
+ */
+public class RegionPlanner {
+    private static final long UNREACHABLE = Long.MAX_VALUE / 4;
+    private static final int NODE_BITS = 32;
+    private static final long NODE_MASK = (1L << NODE_BITS) - 1;
+
+    private final Region region;
+    private final IndexedGraph graph;
+    private final TimeCalculator timeCalculator;
+    private final RoutePlanner planner;
+    private final BitSet[] areaNodes;
+    private final int[][] boundaries;
+    private final int[][] goalGains;
+    private final Map<Skill, BoundaryTables> boundaryTables = new EnumMap<>(Skill.class);
+
+    /**
+     * Constructs a new RegionPlanner and precomputes the boundary tables of all
+     * areas for all skill levels.
+     *
+     * @param region         the region to plan in
+     * @param timeCalculator the TimeCalculator used to calculate time spent on
+     *                       nodes
+     * @param planner        the RoutePlanner running the detailed searches
+     */
+    public RegionPlanner(Region region, TimeCalculator timeCalculator, RoutePlanner planner) {
+        this.region = region;
+        this.graph = region.getGraph().getIndexedGraph();
+        this.timeCalculator = timeCalculator;
+        this.planner = planner;
+        this.areaNodes = new BitSet[region.getAreaCount()];
+        this.boundaries = new int[region.getAreaCount()][];
+        for (int a = 0; a < boundaries.length; a++) {
+            areaNodes[a] = region.getAreaNodes(a);
+            // Only transfer lifts lead to other areas, the start and end nodes are
+            // connected to them by searches inside their areas
+            boundaries[a] = Arrays.stream(region.getBoundaries(a)).filter(b -> region.areasOf(b).length > 1).toArray();
+        }
+        this.goalGains = new int[Goal.values().length][];
+        for (Goal goal : Goal.values()) {
+            goalGains[goal.ordinal()] = gainsOf(goal);
+        }
+
+        for (Skill skill : Skill.values()) {
+            SkierProfile profile = new SkierProfile();
+            profile.setSkill(skill);
+            boundaryTables.put(skill, computeBoundaryTables(new TimeTable(graph, timeCalculator, profile)));
+        }
+    }
+
+    /**
+     * Plans the best route for the given request on the region's graph, running
+     * the detailed search only on the areas chosen by the overlay search.
+     *
+     * @param request the RouteRequest on the region's graph
+     * @return an Optional containing the best Route if found, or an empty Optional
+     *         if no valid route exists
+     * @throws RoutingException if the input validation fails
+     */
+    public Optional<Route> planRoute(RouteRequest request) throws RoutingException {
+        SkierProfile skier = request.skier();
+        if (request.startTime() == null || request.endTime() == null || skier.getSkill() == null
+                || skier.getGoal() == null) {
+            return planner.planRoute(request); // Leaves the validation to the planner
+        }
+        TimeTable timeTable = new TimeTable(graph, timeCalculator, skier);
+        return planner.planRoute(request, timeTable, selectNodes(request, timeTable));
+    }
+
+    /**
+     * Plans the best route for a group of skiers on the region's graph, see
+     * {@link RoutePlanner#planRoute(RouteRequest, SkierGroup)}. The overlay uses
+     * the crossings of the slowest skill level in the group, whose times are the
+     * group's times, scored with the sum of the members' goals.
+     *
+     * @param request the RouteRequest on the region's graph
+     * @param group   the group of skiers, each with a skill level and a goal
+     * @return an Optional containing the best Route if found, or an empty Optional
+     *         if no valid route exists
+     * @throws RoutingException if the input validation fails
+     */
+    public Optional<Route> planRoute(RouteRequest request, SkierGroup group) throws RoutingException {
+        if (request.startTime() == null || request.endTime() == null) {
+            return planner.planRoute(request, group); // Leaves the validation to the planner
+        }
+        TimeTable timeTable = new TimeTable(graph, timeCalculator, group);
+        Skill slowest = Collections.max(group.getSkills(), Comparator.comparingDouble(Skill::getModifier));
+        List<Goal> goals = group.getMembers().stream().map(SkierProfile::getGoal).toList();
+        return planner.planRoute(request, group, timeTable, selectNodes(request, timeTable, slowest, group, goals));
+    }
+
+    /**
+     * Determines the nodes the detailed search of a request runs on. These are
+     * the nodes of the areas containing the start or the end node and of the
+     * areas crossed by the best path on the overlay graph.
+     *
+     * @param request   the route request, with a skill level and a goal
+     * @param timeTable the time table of the request's skier on the region's
+     *                  graph
+     * @return the node indexes of all selected areas
+     */
+    public BitSet selectNodes(RouteRequest request, TimeTable timeTable) {
+        Goal goal = request.skier().getGoal();
+        return selectNodes(request, timeTable, request.skier().getSkill(), goal, List.of(goal));
+    }
+
+    // Chooses the areas with the boundary tables of the given skill level, whose
+    // times must not exceed those of the time table, scored with the given goals
+    private BitSet selectNodes(RouteRequest request, TimeTable timeTable, Skill skill, PathUtility utility,
+            List<Goal> goals) {
+        int start = graph.indexOf(request.startNode());
+        int end = graph.indexOf(request.endNode());
+        long window = request.endTime().toSecondOfDay() - (long) request.startTime().toSecondOfDay();
+        BoundaryTables tables = boundaryTables.get(skill);
+        int[][][] scores = tables.scoresOf(goals);
+        int[][] gains = {gainsOf(utility)};
+
+        Crossings forward = new Crossings(graph.size());
+        Crossings backward = new Crossings(graph.size());
+        for (int a : region.areasOf(start)) {
+            forward.add(a, boundaries[a], searchArea(a, new int[] {start}, timeTable, false, gains));
+        }
+        for (int a : region.areasOf(end)) {
+            backward.add(a, boundaries[a], searchArea(a, graph.predecessors(end), timeTable, true, gains));
+        }
+        long[] bound = backward.seconds().clone();
+        searchOverlay(bound, tables.times());
+
+        BitSet selected = new BitSet(graph.size());
+        Arrays.stream(region.areasOf(start)).forEach(a -> selected.or(areaNodes[a]));
+        Arrays.stream(region.areasOf(end)).forEach(a -> selected.or(areaNodes[a]));
+        for (Label label = chooseAreas(forward, backward, bound, tables.times(), scores, window); label != null;
+                label = label.previous()) {
+            selected.or(areaNodes[label.area()]);
+        }
+        return selected;
+    }
+
+    // Label search on the overlay graph for the path of crossings with the best
+    // score, then the least time, from the start to the end within the window.
+    // Paths do not visit a boundary node twice, and labels that take longer
+    // than another label at the same node without scoring more are dropped.
+    private Label chooseAreas(Crossings forward, Crossings backward, long[] bound, long[][][] times,
+            int[][][] scores, long window) {
+        PriorityQueue<Label> queue = new PriorityQueue<>(Comparator.comparingLong(Label::seconds));
+        for (int b = forward.seconds().length - 1; b >= 0; b--) {
+            if (forward.seconds()[b] + bound[b] <= window) {
+                queue.add(new Label(b, forward.areas()[b], forward.seconds()[b], forward.scores()[b], null));
+            }
+        }
+
+        List<List<Label>> settled = new ArrayList<>(Collections.nCopies(graph.size(), null));
+        Label best = null;
+        long bestSeconds = UNREACHABLE;
+        int bestScore = -1;
+        while (!queue.isEmpty()) {
+            Label label = queue.poll();
+            int node = label.node();
+            if (settled.get(node) == null) {
+                settled.set(node, new ArrayList<>());
+            } else if (settled.get(node).stream().anyMatch(other -> other.score() >= label.score())) {
+                continue; // Dominated
+            }
+            settled.get(node).add(label);
+
+            long total = label.seconds() + backward.seconds()[node];
+            int score = label.score() + backward.scores()[node];
+            if (total <= window && (score > bestScore || score == bestScore && total < bestSeconds)) {
+                best = label;
+                bestSeconds = total;
+                bestScore = score;
+            }
+            for (int a : region.areasOf(node)) {
+                int i = Arrays.binarySearch(boundaries[a], node);
+                for (int j = 0; j < boundaries[a].length; j++) {
+                    int next = boundaries[a][j];
+                    long seconds = label.seconds() + times[a][i][j];
+                    if (next != node && seconds + bound[next] <= window && !label.visits(next)) {
+                        queue.add(new Label(next, a, seconds, label.score() + scores[a][i][j], label));
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    // For every area, the fastest crossings from finishing one boundary node to
+    // finishing another without leaving the area, and their scores per goal
+    private BoundaryTables computeBoundaryTables(TimeTable timeTable) {
+        long[][][] times = new long[boundaries.length][][];
+        int[][][][] scores = new int[goalGains.length][boundaries.length][][];
+        for (int a = 0; a < boundaries.length; a++) {
+            int[] areaBoundaries = boundaries[a];
+            times[a] = new long[areaBoundaries.length][];
+            for (int[][][] goalScores : scores) {
+                goalScores[a] = new int[areaBoundaries.length][];
+            }
+            for (int i = 0; i < areaBoundaries.length; i++) {
+                AreaSearch local = searchArea(a, new int[] {areaBoundaries[i]}, timeTable, false, goalGains);
+                times[a][i] = Arrays.stream(areaBoundaries).mapToLong(b -> local.seconds()[b]).toArray();
+                for (int g = 0; g < goalGains.length; g++) {
+                    int[] goalScores = local.scores()[g];
+                    scores[g][a][i] = Arrays.stream(areaBoundaries).map(b -> goalScores[b]).toArray();
+                }
+            }
+        }
+        return new BoundaryTables(times, scores);
+    }
+
+    // Dijkstra search inside one area. Forward, it computes the fastest time from
+    // finishing a source to finishing each node; backward, from finishing each
+    // node to finishing a source. The scores are summed up along these paths,
+    // one per array of gains.
+    private AreaSearch searchArea(int area, int[] sources, TimeTable timeTable, boolean backward, int[][] gains) {
+        BitSet nodes = areaNodes[area];
+        long[] distance = new long[graph.size()];
+        int[][] scores = new int[gains.length][graph.size()];
+        Arrays.fill(distance, UNREACHABLE);
+        PriorityQueue<Long> queue = new PriorityQueue<>();
+        for (int source : sources) {
+            if (nodes.get(source)) {
+                distance[source] = 0;
+                queue.add((long) source);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            long entry = queue.poll();
+            int node = (int) (entry & NODE_MASK);
+            if (entry >>> NODE_BITS != distance[node]) {
+                continue; // Outdated entry
+            }
+            for (int neighbor : backward ? graph.predecessors(node) : graph.successors(node)) {
+                int traveled = backward ? node : neighbor;
+                long candidate = distance[node] + timeTable.travelSeconds(traveled);
+                if (nodes.get(neighbor) && candidate < distance[neighbor]) {
+                    distance[neighbor] = candidate;
+                    for (int g = 0; g < gains.length; g++) {
+                        scores[g][neighbor] = scores[g][node] + gains[g][traveled];
+                    }
+                    queue.add(candidate << NODE_BITS | neighbor);
+                }
+            }
+        }
+        return new AreaSearch(distance, scores);
+    }
+
+    // Backward Dijkstra search on the overlay graph of boundary nodes, starting
+    // with the given initial distances, for lower bounds of the time to the end
+    private void searchOverlay(long[] distance, long[][][] times) {
+        PriorityQueue<Long> queue = new PriorityQueue<>();
+        for (int b = 0; b < distance.length; b++) {
+            if (distance[b] < UNREACHABLE) {
+                queue.add(distance[b] << NODE_BITS | b);
+            }
+        }
+        while (!queue.isEmpty()) {
+            long entry = queue.poll();
+            int current = (int) (entry & NODE_MASK);
+            if (entry >>> NODE_BITS != distance[current]) {
+                continue; // Outdated entry
+            }
+            for (int a : region.areasOf(current)) {
+                int i = Arrays.binarySearch(boundaries[a], current);
+                for (int j = 0; j < boundaries[a].length; j++) {
+                    int previous = boundaries[a][j];
+                    long candidate = distance[current] + times[a][j][i];
+                    if (times[a][j][i] < UNREACHABLE && candidate < distance[previous]) {
+                        distance[previous] = candidate;
+                        queue.add(candidate << NODE_BITS | previous);
+                    }
+                }
+            }
+        }
+    }
+
+    // The utility of every node for a skier or a group, 0 for lifts
+    private int[] gainsOf(PathUtility utility) {
+        int[] gains = new int[graph.size()];
+        for (int node = 0; node < gains.length; node++) {
+            if (graph.nodeAt(node) instanceof Piste piste) {
+                gains[node] = utility.calculateUtility(piste, false);
+            }
+        }
+        return gains;
+    }
+
+    // The times of the fastest crossings of all areas and their scores per goal
+    private record BoundaryTables(long[][][] times, int[][][][] scores) {
+
+        // The scores for the sum of the given goals
+        int[][][] scoresOf(List<Goal> goals) {
+            if (goals.size() == 1) {
+                return scores[goals.get(0).ordinal()];
+            }
+            int[][][] sum = new int[times.length][][];
+            for (int a = 0; a < times.length; a++) {
+                sum[a] = new int[times[a].length][times[a].length];
+                for (Goal goal : goals) {
+                    for (int i = 0; i < times[a].length; i++) {
+                        for (int j = 0; j < times[a].length; j++) {
+                            sum[a][i][j] += scores[goal.ordinal()][a][i][j];
+                        }
+                    }
+                }
+            }
+            return sum;
+        }
+    }
+
+    // The result of a search inside an area
+    private record AreaSearch(long[] seconds, int[][] scores) {
+    }
+
+    // The fastest crossings between the start or end node and the boundary
+    // nodes of the areas containing it, with the crossed area and its score
+    private record Crossings(long[] seconds, int[] areas, int[] scores) {
+
+        Crossings(int size) {
+            this(new long[size], new int[size], new int[size]);
+            Arrays.fill(seconds, UNREACHABLE);
+        }
+
+        // Keeps the faster crossings of the search inside the given area
+        void add(int area, int[] areaBoundaries, AreaSearch search) {
+            for (int b : areaBoundaries) {
+                if (search.seconds()[b] < seconds[b]) {
+                    seconds[b] = search.seconds()[b];
+                    areas[b] = area;
+                    scores[b] = search.scores()[0][b];
+                }
+            }
+        }
+    }
+
+    // A path on the overlay graph, ending at a boundary node reached by crossing
+    // an area
+    private record Label(int node, int area, long seconds, int score, Label previous) {
+
+        // Checks whether the path visits the given boundary node
+        boolean visits(int other) {
+            for (Label label = this; label != null; label = label.previous) {
+                if (label.node == other) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -1,50 +1,184 @@
 package domain.routing;
 
 import java.time.LocalTime;
-import java.util.Collections;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
+import java.util.RandomAccess;
 
+import domain.graph.IndexedGraph;
 import domain.graph.Node;
+import domain.graph.Piste;
+import domain.skier.PathUtility;
 
 /**
  * The Route class represents a planned route for a skier, consisting of a list
  * of nodes (pistes and lifts), the total duration of the route in minutes, and
  * a score that reflects how well the route matches the skier's preferences.
  *
+ * <p>
+ * The route is stored compactly by the indexes of its nodes in the indexed view
+ * of the graph, together with the cumulative time and score after each node.
+ * The duration and the score of every part of the route are therefore available
+ * in constant time, and the node list is a view that is not copied.
+ * </p>
+ *
  * @author udqch
  */
 public class Route {
-    private final List<Node> path;
+    private static final char SEPARATOR = ' ';
+
+    private final IndexedGraph graph;
+    private final int[] nodes;
+    private final int[] finishOffsets;
+    private final int[] scores;
     private final LocalTime startTime;
-    private final long duration;
-    private final int score;
 
     /**
-     * Constructs a new Route instance with the specified nodes, total duration, and
-     * score.
+     * Constructs a new Route from its encoding. The arrays are taken over without
+     * copying and must not be changed afterwards.
      *
-     * @param path      the list of nodes that make up the route
-     * @param startTime the start time of the route
-     * @param duration  the total duration of the route in seconds
-     * @param score     the score reflecting how well the route matches the
-     *                  skier's preferences
+     * @param graph         the indexed graph the node indexes refer to
+     * @param nodes         the indexes of the nodes of the route, at least one
+     * @param finishOffsets the seconds after the start time at which each node is
+     *                      finished, 0 for the first node
+     * @param scores        the score of the route up to and including each node
+     * @param startTime     the start time of the route
      */
-    public Route(List<Node> path, LocalTime startTime, long duration, int score) {
-        this.path = path;
+    Route(IndexedGraph graph, int[] nodes, int[] finishOffsets, int[] scores, LocalTime startTime) {
+        this.graph = graph;
+        this.nodes = nodes;
+        this.finishOffsets = finishOffsets;
+        this.scores = scores;
         this.startTime = startTime;
-        this.duration = duration;
-        this.score = score;
+    }
+
+    /**
+     * Creates a new Route from the indexes of its nodes and their finish times,
+     * calculating the scores according to the given utility.
+     *
+     * @param graph         the indexed graph the node indexes refer to
+     * @param nodes         the indexes of the nodes of the route, at least one
+     * @param finishOffsets the seconds after the start time at which each node is
+     *                      finished, 0 for the first node
+     * @param startTime     the start time of the route
+     * @param utility       the utility the route is scored by, i.e. the skier's
+     *                      goal or a group of skiers
+     * @return the new route
+     */
+    public static Route of(IndexedGraph graph, int[] nodes, int[] finishOffsets, LocalTime startTime,
+            PathUtility utility) {
+        return new Route(graph, nodes.clone(), finishOffsets.clone(), scoresOf(graph, nodes, utility), startTime);
+    }
+
+    /**
+     * Replaces the part of this route after the first nodes by a continuation,
+     * which starts at the last node kept. The times of the continuation are
+     * shifted by the time between both start times; the scores are calculated
+     * again, as the goal may have changed since this route was planned.
+     *
+     * @param keep         the number of nodes of this route before the start node
+     *                     of the continuation
+     * @param continuation the new rest of the route, on the same graph
+     * @param utility      the utility the route is scored by
+     * @return the stitched route
+     */
+    public Route stitch(int keep, Route continuation, PathUtility utility) {
+        int length = keep + continuation.nodes.length;
+        int[] stitchedNodes = Arrays.copyOf(nodes, length);
+        int[] stitchedOffsets = Arrays.copyOf(finishOffsets, length);
+        int shift = continuation.startTime.toSecondOfDay() - startTime.toSecondOfDay();
+        for (int i = 0; i < continuation.nodes.length; i++) {
+            stitchedNodes[keep + i] = continuation.nodes[i];
+            stitchedOffsets[keep + i] = shift + continuation.finishOffsets[i];
+        }
+        return new Route(graph, stitchedNodes, stitchedOffsets, scoresOf(graph, stitchedNodes, utility), startTime);
+    }
+
+    /**
+     * Returns this route scored by another utility, e.g. after the skier's goal
+     * has changed.
+     *
+     * @param utility the utility the route is scored by
+     * @return a route with the same nodes and times and the new scores
+     */
+    public Route rescore(PathUtility utility) {
+        return new Route(graph, nodes, finishOffsets, scoresOf(graph, nodes, utility), startTime);
+    }
+
+    // Calculates the score after each node; pistes visited before only count as
+    // far as the utility says
+    private static int[] scoresOf(IndexedGraph graph, int[] nodes, PathUtility utility) {
+        int[] scores = new int[nodes.length];
+        BitSet visited = new BitSet(graph.size());
+        int score = 0;
+        for (int i = 0; i < nodes.length; i++) {
+            if (graph.nodeAt(nodes[i]) instanceof Piste piste) {
+                score += utility.calculateUtility(piste, visited.get(nodes[i]));
+            }
+            visited.set(nodes[i]);
+            scores[i] = score;
+        }
+        return scores;
+    }
+
+    /**
+     * Appends the IDs of the nodes from the given position to the end of the
+     * route, separated by spaces, without building intermediate strings.
+     *
+     * @param from   the position of the first node to append
+     * @param output the builder to append to
+     * @return the given builder
+     */
+    public StringBuilder appendIds(int from, StringBuilder output) {
+        for (int i = from; i < nodes.length; i++) {
+            if (i > from) {
+                output.append(SEPARATOR);
+            }
+            output.append(graph.nodeAt(nodes[i]).getId());
+        }
+        return output;
     }
 
     // --- GETTERS ---
 
     /**
-     * Returns an unmodifiable list of nodes that make up the route.
+     * Returns an unmodifiable list of nodes that make up the route. The list is a
+     * view of the encoded route.
      *
      * @return an unmodifiable list of nodes in the route
      */
     public List<Node> getRoute() {
-        return Collections.unmodifiableList(path);
+        return new NodeView();
+    }
+
+    /**
+     * Returns the number of nodes of the route.
+     *
+     * @return the number of nodes
+     */
+    public int size() {
+        return nodes.length;
+    }
+
+    /**
+     * Returns the node at the given position of the route.
+     *
+     * @param position the position in the route
+     * @return the node at this position
+     */
+    public Node getNode(int position) {
+        return graph.nodeAt(nodes[position]);
+    }
+
+    /**
+     * Returns the indexes of the nodes of the route in the indexed graph.
+     *
+     * @return a copy of the node indexes in route order
+     */
+    public int[] getNodeIndexes() {
+        return nodes.clone();
     }
 
     /**
@@ -62,7 +196,18 @@ public class Route {
      * @return the total duration of the route in seconds
      */
     public long getDuration() {
-        return duration;
+        return finishOffsets[nodes.length - 1];
+    }
+
+    /**
+     * Returns the time from finishing the node at the given position until the
+     * end of the route.
+     *
+     * @param position the position in the route
+     * @return the remaining duration in seconds
+     */
+    public long getRemainingDuration(int position) {
+        return finishOffsets[nodes.length - 1] - (long) finishOffsets[position];
     }
 
     /**
@@ -72,6 +217,30 @@ public class Route {
      * @return the score of the route
      */
     public int getScore() {
-        return score;
+        return scores[nodes.length - 1];
+    }
+
+    /**
+     * Returns the score of the route up to and including the node at the given
+     * position.
+     *
+     * @param position the position in the route
+     * @return the score of this part of the route
+     */
+    public int getScoreUntil(int position) {
+        return scores[position];
+    }
+
+    // Read-only list view of the nodes, resolving the indexes on access
+    private final class NodeView extends AbstractList<Node> implements RandomAccess {
+        @Override
+        public Node get(int index) {
+            return graph.nodeAt(nodes[index]);
+        }
+
+        @Override
+        public int size() {
+            return nodes.length;
+        }
     }
 }
@@ -4,7 +4,7 @@ import java.util.Comparator;
 
 import domain.graph.Node;
 import domain.graph.Piste;
-import domain.skier.Preference;
+import domain.skier.SkierGroup;
 import domain.skier.SkierProfile;
 
 /**
@@ -15,7 +15,7 @@ import domain.skier.SkierProfile;
  * @author udqch
  */
 public class RouteComparator implements Comparator<Route> {
-    private final SkierProfile skier;
+    private final SkierGroup group;
 
     /**
      * Constructs a new RouteComparator with the given skier profile.
@@ -23,7 +23,17 @@ public class RouteComparator implements Comparator<Route> {
      * @param skier the skier profile used to evaluate route preferences
      */
     public RouteComparator(SkierProfile skier) {
-        this.skier = skier;
+        this(SkierGroup.of(skier));
+    }
+
+    /**
+     * Constructs a new RouteComparator for a group of skiers, whose preference
+     * scores are summed up.
+     *
+     * @param group the group whose preferences are used to evaluate routes
+     */
+    public RouteComparator(SkierGroup group) {
+        this.group = group;
     }
 
     @Override
@@ -50,25 +60,25 @@ public class RouteComparator implements Comparator<Route> {
     private int calculatePreferenceScore(Route route) {
         int score = 0;
         for (Node node : route.getRoute()) {
-            if (node instanceof Piste piste) {
-                // Increase score for liked attributes, decrease for disliked attributes
-                if (Preference.LIKE.equals(skier.getPreference(piste.getDifficulty()))) {
-                    score++;
-                }
-                if (Preference.DISLIKE.equals(skier.getPreference(piste.getDifficulty()))) {
-                    score--;
-                }
-                if (Preference.LIKE.equals(skier.getPreference(piste.getSurface()))) {
-                    score++;
-                }
-                if (Preference.DISLIKE.equals(skier.getPreference(piste.getSurface()))) {
-                    score--;
-                }
-            }
+            score += calculatePreferenceScore(node);
         }
         return score;
     }
 
+    /**
+     * Calculates the contribution of a single node to the preference score of a
+     * route.
+     *
+     * @param node the node
+     * @return the preference score of the node, 0 for lifts
+     */
+    int calculatePreferenceScore(Node node) {
+        if (node instanceof Piste piste) {
+            return group.getPreferenceScore(piste);
+        }
+        return 0;
+    }
+
     private String getRouteString(Route route) {
         StringBuilder sb = new StringBuilder();
         for (Node node : route.getRoute()) {
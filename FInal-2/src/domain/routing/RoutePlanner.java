@@ -1,34 +1,70 @@
 package domain.routing;
 
-import java.time.Duration;
 import java.time.LocalTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.BitSet;
 import java.util.Optional;
 
+import domain.graph.IndexedGraph;
 import domain.graph.Node;
+import domain.graph.SkiGraph;
+import domain.skier.SkierGroup;
+import domain.skier.SkierProfile;
 import exceptions.RoutingError;
 import exceptions.RoutingException;
+import metrics.PlannerMetrics;
+import metrics.SearchCounters;
 
 /**
  * The RoutePlaner class is responsible for planning the best route for a skier
  * based on their profile, starting node, and time constraints. It uses a
  * depth-first search (DFS) approach to explore all possible routes and utilizes
- * the TimeCalculator to determine the time spent on each node.
+ * the TimeCalculator to determine the time spent on each node. Each search runs
+ * in its own {@link RoutingSession}.
+ *
+ * <p>
+ * For goals whose utility is additive along the path, the best continuation
+ * from a node only depends on the time at which the node is finished. For these
+ * goals, the planner memoises the best continuation per node and time slot
+ * instead of enumerating all paths, see {@link MemoizedSearch}. With a time
+ * resolution of one second the result equals the one of the full search;
+ * coarser resolutions bound the memory by evaluating each slot at its latest
+ * second.
+ * </p>
  *
  * @author udqch
  */
 public class RoutePlanner {
+    /** The default time resolution of the memoised search in seconds. */
+    public static final int DEFAULT_TIME_RESOLUTION = 1;
+
     private final TimeCalculator timeCalculator;
+    private final ReachabilityIndex reachabilityIndex;
+    private final PlannerMetrics metrics;
+    private volatile int timeResolution = DEFAULT_TIME_RESOLUTION;
 
     /**
-     * Constructs a new RoutePlaner with the given TimeCalculator.
+     * Constructs a new RoutePlaner with the given TimeCalculator and disabled
+     * metrics.
      *
      * @param timeCalculator the TimeCalculator used to calculate time spent on
      *                       nodes during route planning
      */
     public RoutePlanner(TimeCalculator timeCalculator) {
+        this(timeCalculator, new PlannerMetrics());
+    }
+
+    /**
+     * Constructs a new RoutePlaner with the given TimeCalculator that records its
+     * searches in the given metrics.
+     *
+     * @param timeCalculator the TimeCalculator used to calculate time spent on
+     *                       nodes during route planning
+     * @param metrics        the metrics the searches are recorded in
+     */
+    public RoutePlanner(TimeCalculator timeCalculator, PlannerMetrics metrics) {
         this.timeCalculator = timeCalculator;
+        this.reachabilityIndex = new ReachabilityIndex(timeCalculator);
+        this.metrics = metrics;
     }
 
     /**
@@ -45,86 +81,150 @@ public class RoutePlanner {
      *                          during route planning
      */
     public Optional<Route> planRoute(RouteRequest request) throws RoutingException {
-        if (request.startTime() == null || request.endTime() == null
-                || request.endTime().isBefore(request.startTime())) {
-            throw new RoutingException(RoutingError.INVALID_TIME_CONSTRAINTS.getMessage());
-        }
-        RoutingSession session = new RoutingSession(request);
-        return session.findRoute(request.startNode(), request.startTime());
+        validateTimes(request);
+        TimeTable timeTable = new TimeTable(request.graph().getIndexedGraph(), timeCalculator, request.skier());
+        return planRoute(request, timeTable);
     }
 
-    // Inner class to manage the state of the routing session, including the current
-    // best route and the comparator for route evaluation
-    private class RoutingSession {
-        private final RouteRequest request;
-        private final RouteComparator comparator;
-        private Route bestRoute = null;
-
-        RoutingSession(RouteRequest request) {
-            this.request = request;
-            this.comparator = new RouteComparator(request.skier());
-        }
-
-        Optional<Route> findRoute(Node startNode, LocalTime startTime) {
-            List<Node> currentPath = new ArrayList<>();
-            currentPath.add(startNode);
-            dfs(startNode, startTime, currentPath);
-            return Optional.ofNullable(bestRoute);
-        }
-
-        private void dfs(Node currentNode, LocalTime currentTime, List<Node> currentPath) {
-            // Check if the current node is a goal node (talstation lift) and if the current
-            // path is valid
-            if (hasReachedDestination(currentNode) && currentPath.size() > 1) {
-                updateBestRoute(currentPath, currentTime);
-            }
+    /**
+     * Plans the best route like {@link #planRoute(RouteRequest)}, using an already
+     * compiled time table. This allows callers planning many requests to share
+     * the precomputation between requests of skiers with the same skill level.
+     *
+     * @param request   the RouteRequest containing the starting node, time
+     *                  constraints, skier profile, and graph information
+     * @param timeTable the time table of the request's skill level on the
+     *                  request's graph
+     * @return an Optional containing the best Route if found, or an empty Optional
+     *         if no valid route exists
+     * @throws RoutingException if the input validation fails
+     */
+    public Optional<Route> planRoute(RouteRequest request, TimeTable timeTable) throws RoutingException {
+        BitSet allNodes = new BitSet(timeTable.size());
+        allNodes.set(0, timeTable.size());
+        return planRoute(request, timeTable, allNodes);
+    }
 
-            for (Node neighbor : request.graph().getAdjacencyNodes(currentNode)) {
-                if (currentPath.size() == 1 && request.forbiddenNodes().contains(neighbor)) {
-                    continue; // Skip forbidden nodes
-                }
+    /**
+     * Plans the best route like {@link #planRoute(RouteRequest, TimeTable)}, but
+     * only considers routes that consist of the given allowed nodes. This is used
+     * to restrict the detailed search to a part of a larger graph.
+     *
+     * @param request      the RouteRequest containing the starting node, time
+     *                     constraints, skier profile, and graph information
+     * @param timeTable    the time table of the request's skill level on the
+     *                     request's graph
+     * @param allowedNodes the node indexes the route may consist of
+     * @return an Optional containing the best Route if found, or an empty Optional
+     *         if no valid route exists
+     * @throws RoutingException if the input validation fails
+     */
+    public Optional<Route> planRoute(RouteRequest request, TimeTable timeTable, BitSet allowedNodes)
+            throws RoutingException {
+        return planRoute(request, SkierGroup.of(request.skier()), timeTable, allowedNodes);
+    }
 
-                // Calculate the time spent on the neighbor node based on the skier's profile
-                // and the current time
-                Optional<Long> timeSpent = timeCalculator.calculateTimeSpent(neighbor, currentTime, request.skier());
+    /**
+     * Plans the best route for a group of skiers that meets at every lift. The
+     * group needs as long for a piste as its slowest member, and routes are
+     * rated by the sums of the goal and preference scores of all members. The
+     * skier of the request is not used.
+     *
+     * @param request the RouteRequest containing the starting node, time
+     *                constraints and graph information
+     * @param group   the group of skiers, each with a skill level and a goal
+     * @return an Optional containing the best Route if found, or an empty Optional
+     *         if no valid route exists
+     * @throws RoutingException if the input validation fails
+     */
+    public Optional<Route> planRoute(RouteRequest request, SkierGroup group) throws RoutingException {
+        validateTimes(request);
+        TimeTable timeTable = new TimeTable(request.graph().getIndexedGraph(), timeCalculator, group);
+        BitSet allNodes = new BitSet(timeTable.size());
+        allNodes.set(0, timeTable.size());
+        return planRoute(request, group, timeTable, allNodes);
+    }
 
-                if (timeSpent.isPresent()) {
-                    LocalTime nextTime = currentTime.plusSeconds(timeSpent.get());
+    /**
+     * Plans the best route for a group of skiers like
+     * {@link #planRoute(RouteRequest, SkierGroup)}, using an already compiled
+     * time table and only considering routes that consist of the given allowed
+     * nodes.
+     *
+     * @param request      the RouteRequest containing the starting node, time
+     *                     constraints and graph information
+     * @param group        the group of skiers, each with a skill level and a goal
+     * @param timeTable    the time table of the group on the request's graph
+     * @param allowedNodes the node indexes the route may consist of
+     * @return an Optional containing the best Route if found, or an empty Optional
+     *         if no valid route exists
+     * @throws RoutingException if the input validation fails
+     */
+    public Optional<Route> planRoute(RouteRequest request, SkierGroup group, TimeTable timeTable,
+            BitSet allowedNodes) throws RoutingException {
+        validateTimes(request);
+        // Restrict the search to nodes from which the destination is still reachable
+        BitSet relevantNodes = reachabilityIndex.compute(request, timeTable, allowedNodes);
+        SearchCounters counters = metrics.startSearch();
+        RoutingSession session = new RoutingSession(request, group, timeTable, relevantNodes, counters);
+        Optional<Route> route = session.findRoute(timeResolution);
+        IndexedGraph indexedGraph = request.graph().getIndexedGraph();
+        metrics.finishSearch(counters, request.startNode().getId(), indexedGraph.size(), indexedGraph.edgeCount(),
+                relevantNodes.cardinality(), route.isPresent());
+        return route;
+    }
 
-                    // Only continue DFS if the next time is before the end time
-                    if (!nextTime.isAfter(request.endTime())) {
-                        currentPath.add(neighbor);
-                        dfs(neighbor, nextTime, currentPath);
-                        currentPath.remove(currentPath.size() - 1);
-                    }
-                }
-            }
+    /**
+     * Creates the request for a new ski session starting at the given talstation.
+     * The skier takes the talstation lift before the search starts, so the
+     * returned request starts when the first lift ride is finished.
+     *
+     * @param graph     the ski graph
+     * @param skier     the skier's profile
+     * @param startNode the talstation at which the session starts and ends
+     * @param startTime the time at which the skier arrives at the talstation
+     * @param endTime   the time by which the skier must be back
+     * @return the request for the route search, or an empty Optional if the first
+     *         lift cannot be taken in time
+     */
+    public Optional<RouteRequest> createSessionRequest(SkiGraph graph, SkierProfile skier, Node startNode,
+            LocalTime startTime, LocalTime endTime) {
+        Optional<Long> firstNodeTime = timeCalculator.calculateTimeSpent(startNode, startTime, skier);
+        if (firstNodeTime.isEmpty()) {
+            return Optional.empty();
         }
-
-        private boolean hasReachedDestination(Node currentNode) {
-            for (Node neighbor : request.graph().getAdjacencyNodes(currentNode)) {
-                if (neighbor.getId().equals(request.endNode().getId())) {
-                    return true; // Reached the destination node
-                }
-            }
-            return false;
+        LocalTime searchStartTime = startTime.plusSeconds(firstNodeTime.get());
+        if (searchStartTime.isAfter(endTime)) {
+            return Optional.empty();
         }
+        return Optional.of(new RouteRequest(graph, skier, startNode, startNode, searchStartTime, endTime));
+    }
 
-        // Helper method to update the best route if the current route is better than
-        // the best route found so far
-        private void updateBestRoute(List<Node> currentPath, LocalTime currentTime) {
-            int currentScore = request.skier().getGoal().calculateUtility(currentPath);
-            long duration = Duration.between(request.startTime(), currentTime).getSeconds();
+    /**
+     * Sets the time resolution of the memoised search for additive goals. States
+     * whose times fall into the same slot of this many seconds share their best
+     * continuation. A resolution of 0 disables the memoised search, so that all
+     * goals use the full search.
+     *
+     * @param seconds the resolution in seconds, at least 0
+     */
+    public void setTimeResolution(int seconds) {
+        this.timeResolution = Math.max(0, seconds);
+    }
 
-            if (this.bestRoute != null && currentScore < this.bestRoute.getScore()) {
-                return; // Current route is worse than the best route, no need to compare further
-            }
+    /**
+     * Returns the time resolution of the memoised search.
+     *
+     * @return the resolution in seconds, or 0 if the memoised search is disabled
+     */
+    public int getTimeResolution() {
+        return timeResolution;
+    }
 
-            Route potentialRoute = new Route(
-                    new ArrayList<>(currentPath), request.startTime(), duration, currentScore);
-            if (this.bestRoute == null || comparator.compare(potentialRoute, this.bestRoute) > 0) {
-                this.bestRoute = potentialRoute; // Update best route if the potential route is better
-            }
+    private void validateTimes(RouteRequest request) throws RoutingException {
+        if (request.startTime() == null || request.endTime() == null
+                || request.endTime().isBefore(request.startTime())) {
+            throw new RoutingException(RoutingError.INVALID_TIME_CONSTRAINTS.getMessage());
         }
     }
 }
@@ -0,0 +1,35 @@
+package domain.routing;
+
+import java.util.Optional;
+
+import exceptions.RoutingException;
+
+/**
+ * The RouteSink interface receives the results of a batch route planning run.
+ * Results are delivered in the order in which they complete, together with the
+ * position of the request in the batch. Calls are never made concurrently, so
+ * implementations do not need to be thread-safe.
+ *
+ * @author udqch
+ */
+public interface RouteSink {
+
+    /**
+     * Receives the result of a request that was planned successfully.
+     *
+     * @param index   the position of the request in the batch
+     * @param request the planned request
+     * @param route   the best route, or an empty Optional if no valid route
+     *                exists
+     */
+    void accept(int index, RouteRequest request, Optional<Route> route);
+
+    /**
+     * Receives the error of a request that could not be planned.
+     *
+     * @param index   the position of the request in the batch
+     * @param request the failed request
+     * @param error   the error that occurred while planning
+     */
+    void fail(int index, RouteRequest request, RoutingException error);
+}
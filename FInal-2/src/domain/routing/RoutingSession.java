@@ -0,0 +1,294 @@
+package domain.routing;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Optional;
+
+import domain.graph.IndexedGraph;
+import domain.graph.Node;
+import domain.graph.Piste;
+import domain.skier.SkierGroup;
+import metrics.PruneReason;
+import metrics.SearchCounters;
+
+/**
+ * The RoutingSession class manages the state of a single route search of the
+ * {@link RoutePlanner}, including the current best route and the comparator for
+ * route evaluation. The search itself works on node indexes and seconds of the
+ * day using a precompiled time table. Routes for additive goals are found by a
+ * {@link MemoizedSearch}; all other routes by a depth-first search over all
+ * paths.
+ *
+ * @author udqch
+ */
+final class RoutingSession {
+    private static final int INITIAL_PATH_CAPACITY = 16;
+
+    private final RouteRequest request;
+    private final SkierGroup group;
+    private final RouteComparator comparator;
+    private final IndexedGraph indexedGraph;
+    private final TimeTable timeTable;
+    private final BitSet relevantNodes;
+    private final BitSet destinationNeighbors;
+    private final BitSet forbiddenNodes;
+    private final long startSecond;
+    private final long endSecond;
+    private final SearchCounters counters;
+    private Route bestRoute = null;
+    private int[] pathNodes;
+    private int[] pathOffsets;
+    private int[] pathScores;
+    private int[] visits;
+
+    /**
+     * Constructs a new RoutingSession for the given request.
+     *
+     * @param request       the request with valid time constraints
+     * @param group         the group of skiers the route is planned for
+     * @param timeTable     the time table of the group on the request's graph
+     * @param relevantNodes the node indexes from which the destination is still
+     *                      reachable in time
+     * @param counters      the counters the search is recorded in
+     */
+    RoutingSession(RouteRequest request, SkierGroup group, TimeTable timeTable, BitSet relevantNodes,
+            SearchCounters counters) {
+        this.request = request;
+        this.group = group;
+        this.comparator = new RouteComparator(group);
+        this.indexedGraph = request.graph().getIndexedGraph();
+        this.timeTable = timeTable;
+        this.relevantNodes = relevantNodes;
+        this.destinationNeighbors = new BitSet(indexedGraph.size());
+        for (int p : indexedGraph.predecessors(indexedGraph.indexOf(request.endNode()))) {
+            destinationNeighbors.set(p);
+        }
+        this.forbiddenNodes = new BitSet(indexedGraph.size());
+        for (Node node : request.forbiddenNodes()) {
+            int index = indexedGraph.indexOf(node);
+            if (index >= 0) {
+                forbiddenNodes.set(index);
+            }
+        }
+        this.startSecond = request.startTime().toSecondOfDay();
+        this.endSecond = request.endTime().toSecondOfDay();
+        this.counters = counters;
+    }
+
+    /**
+     * Finds the best route of the request.
+     *
+     * @param resolution the time resolution of the memoised search in seconds,
+     *                   or 0 to always search all paths
+     * @return an Optional containing the best Route if found, or an empty Optional
+     *         if no valid route exists
+     */
+    Optional<Route> findRoute(int resolution) {
+        int start = indexedGraph.indexOf(request.startNode());
+        if (resolution > 0 && group.isAdditive()) {
+            MemoizedSearch search = new MemoizedSearch(this, resolution);
+            if (search.search(start)) {
+                this.bestRoute = search.getBestRoute();
+                return Optional.ofNullable(bestRoute);
+            }
+            // Infeasible due to the time resolution, use the full search
+        }
+        this.pathNodes = new int[INITIAL_PATH_CAPACITY];
+        this.pathOffsets = new int[INITIAL_PATH_CAPACITY];
+        this.pathScores = new int[INITIAL_PATH_CAPACITY];
+        this.visits = new int[indexedGraph.size()];
+        pathNodes[0] = start;
+        pathScores[0] = utilityOf(start);
+        visits[start]++;
+        dfs(start, startSecond, 1);
+        return Optional.ofNullable(bestRoute);
+    }
+
+    /**
+     * Calculates when a node taken next is finished, counting the reason if it
+     * cannot be part of a route ending in time.
+     *
+     * @param node   the index of the node
+     * @param second the second of the day at which the previous node is finished
+     * @return the second of the day at which the node is finished, or -1 if the
+     *         node cannot be taken
+     */
+    long finishSecond(int node, long second) {
+        if (!relevantNodes.get(node)) {
+            counters.prune(PruneReason.UNREACHABLE);
+            return -1; // The destination cannot be reached in time from the node
+        }
+        long nextSecond = timeTable.finishSecond(node, second);
+        if (nextSecond < 0) {
+            counters.prune(PruneReason.LIFT_CLOSED);
+            return -1;
+        }
+        if (nextSecond > endSecond) {
+            counters.prune(PruneReason.TIME_EXCEEDED);
+            return -1;
+        }
+        return nextSecond;
+    }
+
+    /**
+     * Checks if a route may end after the given node, i.e. if it is next to the
+     * destination.
+     *
+     * @param node the index of the node
+     * @return true if the destination follows the node
+     */
+    boolean isDestinationNeighbor(int node) {
+        return destinationNeighbors.get(node);
+    }
+
+    /**
+     * Checks if the route must not start with the given node.
+     *
+     * @param node the index of the node
+     * @return true if the node is forbidden as the first step
+     */
+    boolean isForbidden(int node) {
+        return forbiddenNodes.get(node);
+    }
+
+    // The current path is kept on the path stacks: the node indexes, the
+    // seconds after the start at which each node is finished and the score
+    // after each node, so that a candidate route is encoded without
+    // recalculation
+    private void dfs(int currentNode, long currentSecond, int depth) {
+        counters.expand(depth);
+        // Check if the current node is next to the destination (talstation lift) and
+        // if the current path is valid
+        if (destinationNeighbors.get(currentNode) && depth > 1) {
+            updateBestRoute(depth);
+        }
+
+        for (int neighbor : indexedGraph.successors(currentNode)) {
+            if (depth == 1 && forbiddenNodes.get(neighbor)) {
+                counters.prune(PruneReason.FORBIDDEN);
+                continue; // Skip forbidden nodes
+            }
+            // Only continue DFS if the neighbor is open and finished before the end time
+            long nextSecond = finishSecond(neighbor, currentSecond);
+            if (nextSecond >= 0) {
+                push(depth, neighbor, nextSecond);
+                dfs(neighbor, nextSecond, depth + 1);
+                visits[neighbor]--;
+            }
+        }
+    }
+
+    // Puts a node on top of the path stacks, growing them if necessary
+    private void push(int depth, int node, long finishSecond) {
+        if (depth == pathNodes.length) {
+            this.pathNodes = Arrays.copyOf(pathNodes, depth * 2);
+            this.pathOffsets = Arrays.copyOf(pathOffsets, depth * 2);
+            this.pathScores = Arrays.copyOf(pathScores, depth * 2);
+        }
+        pathNodes[depth] = node;
+        pathOffsets[depth] = (int) (finishSecond - startSecond);
+        pathScores[depth] = pathScores[depth - 1] + utilityOf(node);
+        visits[node]++;
+    }
+
+    // The utility the node adds to the current path, which must not contain it yet
+    private int utilityOf(int node) {
+        if (indexedGraph.nodeAt(node) instanceof Piste piste) {
+            return group.calculateUtility(piste, visits[node] > 0);
+        }
+        return 0;
+    }
+
+    // Helper method to update the best route if the current route is better than
+    // the best route found so far
+    private void updateBestRoute(int depth) {
+        int currentScore = pathScores[depth - 1];
+        counters.candidate();
+
+        if (this.bestRoute != null && currentScore < this.bestRoute.getScore()) {
+            counters.prune(PruneReason.WORSE_SCORE);
+            return; // Current route is worse than the best route, no need to compare further
+        }
+
+        Route potentialRoute = new Route(indexedGraph, Arrays.copyOf(pathNodes, depth),
+                Arrays.copyOf(pathOffsets, depth), Arrays.copyOf(pathScores, depth), request.startTime());
+        if (this.bestRoute == null || comparator.compare(potentialRoute, this.bestRoute) > 0) {
+            this.bestRoute = potentialRoute; // Update best route if the potential route is better
+            counters.bestUpdate();
+        }
+    }
+
+    // --- GETTERS ---
+
+    /**
+     * Returns the request of this session.
+     *
+     * @return the route request
+     */
+    RouteRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * Returns the group of skiers the route is planned for.
+     *
+     * @return the group
+     */
+    SkierGroup getGroup() {
+        return group;
+    }
+
+    /**
+     * Returns the comparator rating the routes of this session.
+     *
+     * @return the route comparator
+     */
+    RouteComparator getComparator() {
+        return comparator;
+    }
+
+    /**
+     * Returns the indexed graph of the request.
+     *
+     * @return the indexed graph
+     */
+    IndexedGraph getIndexedGraph() {
+        return indexedGraph;
+    }
+
+    /**
+     * Returns the time table of the group on the request's graph.
+     *
+     * @return the time table
+     */
+    TimeTable getTimeTable() {
+        return timeTable;
+    }
+
+    /**
+     * Returns the counters the search is recorded in.
+     *
+     * @return the search counters
+     */
+    SearchCounters getCounters() {
+        return counters;
+    }
+
+    /**
+     * Returns the second of the day at which the search starts.
+     *
+     * @return the start second
+     */
+    long getStartSecond() {
+        return startSecond;
+    }
+
+    /**
+     * Returns the second of the day by which the route must end.
+     *
+     * @return the end second
+     */
+    long getEndSecond() {
+        return endSecond;
+    }
+}
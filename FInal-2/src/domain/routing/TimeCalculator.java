@@ -2,12 +2,16 @@ package domain.routing;
 
 import java.time.Duration;
 import java.time.LocalTime;
+import java.util.Map;
 import java.util.Optional;
 
 import domain.graph.Lift;
 import domain.graph.Node;
 import domain.graph.Piste;
+import domain.graph.QueueProfile;
+import domain.skier.SkierGroup;
 import domain.skier.SkierProfile;
+import domain.skier.Skill;
 
 /****
  * The TimeCalculator class provides methods to calculate the time spent on a
@@ -17,6 +21,26 @@ import domain.skier.SkierProfile;
  * @author udqch
  */
 public final class TimeCalculator {
+    private volatile Map<String, QueueProfile> queueProfiles = Map.of();
+
+    /**
+     * Overrides the queue times of lifts with time-varying queue profiles, e.g.
+     * the result of a resort simulation. Lifts without an override keep using the
+     * queue profile from the area file or their static queue time.
+     *
+     * @param profiles the queue profiles mapped by lift ID
+     */
+    public void setQueueProfiles(Map<String, QueueProfile> profiles) {
+        this.queueProfiles = Map.copyOf(profiles);
+    }
+
+    /**
+     * Removes all queue profile overrides, so that the queue times from the area
+     * file are used again.
+     */
+    public void clearQueueProfiles() {
+        this.queueProfiles = Map.of();
+    }
 
     /**
      * Calculates the time spent on a given node based on the skier's profile and
@@ -51,29 +75,101 @@ public final class TimeCalculator {
         }
     }
 
+    /**
+     * Calculates the time a group of skiers spends on a given node. The group
+     * meets at every lift, so it needs as long for a node as its slowest member,
+     * and it cannot take a lift that any member cannot take.
+     *
+     * @param node        the node (piste or lift) for which to calculate the time
+     *                    spent
+     * @param currentTime the current time when the group starts on the node
+     * @param group       the group of skiers
+     * @return an Optional containing the time spent in seconds, or an empty
+     *         Optional if the node is not valid or if the lift is closed
+     */
+    public Optional<Long> calculateTimeSpent(Node node, LocalTime currentTime, SkierGroup group) {
+        if (node instanceof Piste piste) {
+            long slowest = 0;
+            for (Skill skill : group.getSkills()) {
+                slowest = Math.max(slowest, calculatePisteSeconds(piste, skill));
+            }
+            return Optional.of(slowest);
+        }
+        long slowest = 0;
+        for (SkierProfile member : group.getMembers()) {
+            Optional<Long> timeSpent = calculateTimeSpent(node, currentTime, member);
+            if (timeSpent.isEmpty()) {
+                return Optional.empty();
+            }
+            slowest = Math.max(slowest, timeSpent.get());
+        }
+        return Optional.of(slowest);
+    }
+
+    /**
+     * Calculates a lower bound of the time spent on the given node, ignoring
+     * waiting times and operating hours of lifts.
+     *
+     * @param node  the node (piste or lift) for which to calculate the time
+     * @param skier the skier's profile containing their skill level
+     * @return the minimum time spent on the node in seconds
+     */
+    public long calculateMinimumTimeSpent(Node node, SkierProfile skier) {
+        switch (node) {
+            case Piste piste -> {
+                return calculatePisteTime(piste, skier);
+            }
+            case Lift lift -> {
+                QueueProfile profile = resolveQueueProfile(lift);
+                long queueSeconds = profile == null ? lift.getQueueTime() * 60L : profile.getMinimumQueueSeconds();
+                return queueSeconds + lift.getRideTime() * 60L;
+            }
+            default -> {
+                return 0;
+            }
+        }
+    }
+
     // Helper method to calculate time spent on a piste based on its attributes and
     // the skier's profile
     private long calculatePisteTime(Piste piste, SkierProfile skier) {
+        return calculatePisteSeconds(piste, skier.getSkill());
+    }
+
+    /**
+     * Returns the time in seconds a skier of the given skill level needs for the
+     * given piste.
+     *
+     * @param piste the piste to ski
+     * @param skill the skill level of the skier
+     * @return the time spent on the piste in seconds
+     */
+    long calculatePisteSeconds(Piste piste, Skill skill) {
+        double skillMod = skill.getModifier();
+        double timeInSeconds = calculatePisteFactor(piste) * skillMod;
+
+        return (long) timeInSeconds;
+    }
+
+    /**
+     * Returns the part of the piste time that does not depend on the skier. The
+     * time in seconds for a skier is this factor multiplied by the modifier of
+     * the skier's skill level, truncated to whole seconds.
+     *
+     * @param piste the piste
+     * @return the skill-independent time factor of the piste
+     */
+    static double calculatePisteFactor(Piste piste) {
         double lengthBase = piste.getLength() / 8.0;
         double difficultyMod = piste.getDifficulty().getModifier();
         double surfaceMod = piste.getSurface().getModifier();
         double r = (double) piste.getElevationDrop() / piste.getLength();
-        double skillMod = skier.getSkill().getModifier();
 
-        double timeInSeconds = lengthBase * difficultyMod * surfaceMod * (1 + 2 * r) * skillMod;
-
-        return (long) timeInSeconds;
+        return lengthBase * difficultyMod * surfaceMod * (1 + 2 * r);
     }
 
     private long calculateLiftTime(Lift lift, LocalTime currentTime) {
         long rideSeconds = lift.getRideTime() * 60L;
-        long queueSeconds = lift.getQueueTime() * 60L;
-
-        // Check if the skier can board the lift before it closes
-        LocalTime readyToBoard = currentTime.plusSeconds(queueSeconds);
-        if (!readyToBoard.isBefore(lift.getEndTime())) {
-            return -1; // Lift is closed by the time the skier is ready to board
-        }
 
         // Calculate waiting time if the skier arrives before the lift starts operating
         long waitSeconds = 0;
@@ -81,7 +177,40 @@ public final class TimeCalculator {
             waitSeconds = Duration.between(currentTime, lift.getStartTime()).getSeconds();
         }
 
+        // The skier joins the queue when boarding starts, at the earliest when the lift opens
+        LocalTime boardTime = currentTime.plusSeconds(waitSeconds);
+        long queueSeconds = getQueueSeconds(lift, boardTime.toSecondOfDay());
+
+        // Check if the skier can board the lift before it closes
+        LocalTime readyToBoard = boardTime.plusSeconds(queueSeconds);
+        if (!readyToBoard.isBefore(lift.getEndTime())) {
+            return -1; // Lift is closed by the time the skier is ready to board
+        }
+
         // Total time is the sum of waiting time, queue time, and ride time
         return waitSeconds + queueSeconds + rideSeconds;
     }
+
+    /**
+     * Returns the queue profile that applies to the given lift: an override set
+     * via {@link #setQueueProfiles(Map)}, otherwise the profile from the area file.
+     *
+     * @param lift the lift to look up
+     * @return the applicable queue profile, or null if the static queue time
+     *         applies
+     */
+    QueueProfile resolveQueueProfile(Lift lift) {
+        QueueProfile override = queueProfiles.get(lift.getId());
+        return override != null ? override : lift.getQueueProfile();
+    }
+
+    // Returns the queue time of a lift for a skier joining the queue at the given
+    // second of the day
+    private long getQueueSeconds(Lift lift, long secondOfDay) {
+        QueueProfile profile = resolveQueueProfile(lift);
+        if (profile == null) {
+            return lift.getQueueTime() * 60L;
+        }
+        return profile.getQueueSeconds(secondOfDay);
+    }
 }
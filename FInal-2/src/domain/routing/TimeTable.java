@@ -0,0 +1,148 @@
+package domain.routing;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import domain.graph.IndexedGraph;
+import domain.graph.Lift;
+import domain.graph.Node;
+import domain.graph.Piste;
+import domain.graph.QueueProfile;
+import domain.skier.SkierGroup;
+import domain.skier.SkierProfile;
+import domain.skier.Skill;
+
+/**
+ * The TimeTable class holds the time calculation for one skier or one group of
+ * skiers on one indexed graph in primitive arrays: piste times are precomputed
+ * for the skier's skill, or for the slowest member of the group, and lifts
+ * store their operating hours, ride times and the applicable queue profile.
+ * This keeps the innermost loop of the route search free of
+ * {@link java.time.LocalTime} arithmetic and repeated lookups.
+ *
+ * @author udqch
+ */
+public final class TimeTable {
+    private static final long CLOSED = -1;
+    private static final long SECONDS_PER_MINUTE = 60;
+
+    private final boolean[] isLift;
+    private final long[] fixedSeconds;
+    private final long[] staticQueueSeconds;
+    private final long[] openSecond;
+    private final long[] closeSecond;
+    private final QueueProfile[] queueProfiles;
+
+    /**
+     * Compiles the time table for the given skier on the given graph.
+     *
+     * @param graph          the indexed graph
+     * @param timeCalculator the TimeCalculator providing piste times and queue
+     *                       profiles
+     * @param skier          the skier's profile containing their skill level
+     */
+    public TimeTable(IndexedGraph graph, TimeCalculator timeCalculator, SkierProfile skier) {
+        this(graph, timeCalculator, EnumSet.of(skier.getSkill()));
+    }
+
+    /**
+     * Compiles the time table for the given group of skiers on the given graph.
+     * The time of a piste is the maximum of the piste times of all skill levels
+     * in the group, as the group waits for its slowest member at the next lift.
+     *
+     * @param graph          the indexed graph
+     * @param timeCalculator the TimeCalculator providing piste times and queue
+     *                       profiles
+     * @param group          the group of skiers
+     */
+    public TimeTable(IndexedGraph graph, TimeCalculator timeCalculator, SkierGroup group) {
+        this(graph, timeCalculator, group.getSkills());
+    }
+
+    private TimeTable(IndexedGraph graph, TimeCalculator timeCalculator, Set<Skill> skills) {
+        int size = graph.size();
+        this.isLift = new boolean[size];
+        this.fixedSeconds = new long[size];
+        this.staticQueueSeconds = new long[size];
+        this.openSecond = new long[size];
+        this.closeSecond = new long[size];
+        this.queueProfiles = new QueueProfile[size];
+
+        for (int i = 0; i < size; i++) {
+            Node node = graph.nodeAt(i);
+            if (node instanceof Piste piste) {
+                for (Skill skill : skills) {
+                    fixedSeconds[i] = Math.max(fixedSeconds[i], timeCalculator.calculatePisteSeconds(piste, skill));
+                }
+            } else if (node instanceof Lift lift) {
+                isLift[i] = true;
+                fixedSeconds[i] = lift.getRideTime() * SECONDS_PER_MINUTE;
+                staticQueueSeconds[i] = lift.getQueueTime() * SECONDS_PER_MINUTE;
+                openSecond[i] = lift.getStartTime().toSecondOfDay();
+                closeSecond[i] = lift.getEndTime().toSecondOfDay();
+                queueProfiles[i] = timeCalculator.resolveQueueProfile(lift);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of nodes covered by this time table.
+     *
+     * @return the number of nodes of the graph the table was compiled for
+     */
+    public int size() {
+        return isLift.length;
+    }
+
+    /**
+     * Calculates the second of the day at which the skier finishes the node with
+     * the given index when starting it at the given second of the day.
+     *
+     * @param node          the index of the node
+     * @param currentSecond the second of the day when the skier starts on the node
+     * @return the second of the day at which the node is finished, or -1 if the
+     *         node is a lift that is closed by the time the skier could board
+     */
+    public long finishSecond(int node, long currentSecond) {
+        if (!isLift[node]) {
+            return currentSecond + fixedSeconds[node];
+        }
+
+        // The skier joins the queue when boarding starts, at the earliest when the lift opens
+        long boardSecond = Math.max(currentSecond, openSecond[node]);
+        QueueProfile profile = queueProfiles[node];
+        long queueSeconds = profile == null ? staticQueueSeconds[node] : profile.getQueueSeconds(boardSecond);
+        if (boardSecond + queueSeconds >= closeSecond[node]) {
+            return CLOSED;
+        }
+        return boardSecond + queueSeconds + fixedSeconds[node];
+    }
+
+    /**
+     * Returns the time spent on the node with the given index without any
+     * queueing, i.e. the piste time for the skier or the ride time of a lift.
+     * Unlike {@link #minimumSeconds(int)}, this bound does not depend on the
+     * queue profiles and therefore stays valid when they change.
+     *
+     * @param node the index of the node
+     * @return the time spent on the node in seconds, excluding queues
+     */
+    public long travelSeconds(int node) {
+        return fixedSeconds[node];
+    }
+
+    /**
+     * Returns a lower bound of the time spent on the node with the given index,
+     * ignoring waiting times and operating hours of lifts.
+     *
+     * @param node the index of the node
+     * @return the minimum time spent on the node in seconds
+     */
+    public long minimumSeconds(int node) {
+        if (!isLift[node]) {
+            return fixedSeconds[node];
+        }
+        QueueProfile profile = queueProfiles[node];
+        return fixedSeconds[node] + (profile == null ? staticQueueSeconds[node] : profile.getMinimumQueueSeconds());
+    }
+}
@@ -0,0 +1,37 @@
+package domain.routing;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The VectorPisteKernel class evaluates piste times with the incubating Vector
+ * API. It is only compiled with the Maven profile {@code vector} and only
+ * loaded by {@link PisteTimeBatch} if the module {@code jdk.incubator.vector}
+ * is present, so that the rest of the application builds and runs without
+ * it.
+ *
+ * <p>
+ * Lane-wise multiplication is the same IEEE 754 operation as the scalar one,
+ * and the {@code D2L} conversion follows the rules of the Java {@code (long)}
+ * cast, so the results equal the scalar results bit for bit.
+ * </p>
+ *
+ * @author udqch
+ */
+final class VectorPisteKernel implements PisteTimeBatch.Kernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void computeSeconds(double[] pisteFactors, int[] pistes, double[] skillModifiers, long[] seconds) {
+        int bound = SPECIES.loopBound(pistes.length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector factors = DoubleVector.fromArray(SPECIES, pisteFactors, 0, pistes, i);
+            DoubleVector times = factors.mul(DoubleVector.fromArray(SPECIES, skillModifiers, i));
+            ((LongVector) times.convert(VectorOperators.D2L, 0)).intoArray(seconds, i);
+        }
+        PisteTimeBatch.computeScalarSeconds(pisteFactors, pistes, skillModifiers, seconds, i);
+    }
+}
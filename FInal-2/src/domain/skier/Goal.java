@@ -15,7 +15,7 @@ import domain.graph.Piste;
  * 
  * @author udqch
  */
-public enum Goal {
+public enum Goal implements PathUtility {
     /**
      * Goal representing the total altitude drop of the pistes.
      */
@@ -28,6 +28,11 @@ public enum Goal {
             }
             return sum;
         }
+
+        @Override
+        public int calculateUtility(Piste piste) {
+            return piste.getElevationDrop();
+        }
     },
     /**
      * Goal representing the total distance of the pistes.
@@ -41,6 +46,11 @@ public enum Goal {
             }
             return sum;
         }
+
+        @Override
+        public int calculateUtility(Piste piste) {
+            return (int) piste.getLength();
+        }
     },
     /**
      * Goal representing the number of pistes.
@@ -50,6 +60,11 @@ public enum Goal {
         public int calculate(List<Piste> pistes) {
             return pistes.size();
         }
+
+        @Override
+        public int calculateUtility(Piste piste) {
+            return 1;
+        }
     },
     /**
      * Goal representing the uniqueness of pistes.
@@ -60,6 +75,21 @@ public enum Goal {
             Set<Piste> uniquePistes = new HashSet<>(pistes);
             return uniquePistes.size();
         }
+
+        @Override
+        public int calculateUtility(Piste piste) {
+            return 1;
+        }
+
+        @Override
+        public boolean isAdditive() {
+            return false;
+        }
+
+        @Override
+        public int calculateUtility(Piste piste, boolean visited) {
+            return visited ? 0 : calculateUtility(piste);
+        }
     };
 
     /**
@@ -78,6 +108,39 @@ public enum Goal {
         return calculate(pistes);
     }
 
+    /**
+     * Returns whether the utility of a path is the sum of the utilities of its
+     * single pistes, i.e. whether it does not depend on the rest of the path.
+     *
+     * @return true if the utility is additive along the path
+     */
+    @Override
+    public boolean isAdditive() {
+        return true;
+    }
+
+    /**
+     * Calculates the utility of a single piste, which is its contribution to the
+     * utility of a path for additive goals.
+     *
+     * @param piste the piste
+     * @return the utility of the piste
+     */
+    public abstract int calculateUtility(Piste piste);
+
+    /**
+     * Calculates the utility a piste adds to a path, which also counts for pistes
+     * the path has visited before, unless the goal only counts distinct pistes.
+     *
+     * @param piste   the piste appended to the path
+     * @param visited whether the path already contains the piste
+     * @return the utility the piste adds
+     */
+    @Override
+    public int calculateUtility(Piste piste, boolean visited) {
+        return calculateUtility(piste);
+    }
+
     /**
      * Abstract method to calculate the utility of a list of pistes based on the
      * specific criteria of the goal. Each enum constant must implement this method
@@ -0,0 +1,30 @@
+package domain.skier;
+
+import domain.graph.Piste;
+
+/**
+ * Interface for the utility of a route that is built piste by piste. It is
+ * implemented by the goals of single skiers and by groups of skiers, whose
+ * utility combines the goals of all members.
+ *
+ * @author udqch
+ */
+public interface PathUtility {
+
+    /**
+     * Calculates the utility a piste adds to a path.
+     *
+     * @param piste   the piste appended to the path
+     * @param visited whether the path already contains the piste
+     * @return the utility the piste adds
+     */
+    int calculateUtility(Piste piste, boolean visited);
+
+    /**
+     * Returns whether the utility of a path is the sum of the utilities of its
+     * single pistes, i.e. whether it does not depend on the rest of the path.
+     *
+     * @return true if the utility is additive along the path
+     */
+    boolean isAdditive();
+}
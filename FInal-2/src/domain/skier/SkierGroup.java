@@ -0,0 +1,107 @@
+package domain.skier;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import domain.graph.Piste;
+
+/**
+ * The SkierGroup class represents a group of skiers that ski a route together,
+ * e.g. a family or a ski school class. The members may have different skill
+ * levels, goals and preferences. The group meets at every lift, so it needs as
+ * long for a piste as its slowest member. The utility and the preference score
+ * of a route for the group are the sums over all members.
+ *
+ * @author udqch
+ */
+public final class SkierGroup implements PathUtility {
+    private final List<SkierProfile> members;
+
+    /**
+     * Constructs a new SkierGroup with the given members. Each member must have a
+     * skill level and a goal.
+     *
+     * @param members the profiles of the members, at least one
+     */
+    public SkierGroup(List<SkierProfile> members) {
+        this.members = List.copyOf(members);
+    }
+
+    /**
+     * Creates the group consisting of a single skier.
+     *
+     * @param skier the profile of the skier
+     * @return the group of the skier
+     */
+    public static SkierGroup of(SkierProfile skier) {
+        return new SkierGroup(List.of(skier));
+    }
+
+    @Override
+    public int calculateUtility(Piste piste, boolean visited) {
+        int utility = 0;
+        for (SkierProfile member : members) {
+            utility += member.getGoal().calculateUtility(piste, visited);
+        }
+        return utility;
+    }
+
+    @Override
+    public boolean isAdditive() {
+        for (SkierProfile member : members) {
+            if (!member.getGoal().isAdditive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calculates the preference score of a piste for the group, i.e. the sum of
+     * the preference scores of all members.
+     *
+     * @param piste the piste
+     * @return the preference score of the piste
+     */
+    public int getPreferenceScore(Piste piste) {
+        int score = 0;
+        for (SkierProfile member : members) {
+            score += member.getPreferenceScore(piste);
+        }
+        return score;
+    }
+
+    // --- GETTERS ---
+
+    /**
+     * Returns the members of the group.
+     *
+     * @return an unmodifiable list of the members' profiles
+     */
+    public List<SkierProfile> getMembers() {
+        return members;
+    }
+
+    /**
+     * Returns the distinct skill levels of the members.
+     *
+     * @return the set of skill levels in the group
+     */
+    public Set<Skill> getSkills() {
+        Set<Skill> skills = EnumSet.noneOf(Skill.class);
+        for (SkierProfile member : members) {
+            skills.add(member.getSkill());
+        }
+        return skills;
+    }
+
+    /**
+     * Returns the number of members.
+     *
+     * @return the size of the group
+     */
+    public int size() {
+        return members.size();
+    }
+}
@@ -4,6 +4,7 @@ import java.util.EnumMap;
 import java.util.Map;
 
 import domain.graph.Difficulty;
+import domain.graph.Piste;
 import domain.graph.Surface;
 
 /****
@@ -117,4 +118,29 @@ public class SkierProfile {
     public Preference getPreference(Surface surface) {
         return this.surfacePrefs.get(surface);
     }
+
+    /**
+     * Calculates the preference score of a piste: each liked attribute of the
+     * piste adds one, each disliked attribute subtracts one.
+     *
+     * @param piste the piste to score
+     * @return the preference score of the piste
+     */
+    public int getPreferenceScore(Piste piste) {
+        int score = 0;
+        // Increase score for liked attributes, decrease for disliked attributes
+        if (Preference.LIKE.equals(getPreference(piste.getDifficulty()))) {
+            score++;
+        }
+        if (Preference.DISLIKE.equals(getPreference(piste.getDifficulty()))) {
+            score--;
+        }
+        if (Preference.LIKE.equals(getPreference(piste.getSurface()))) {
+            score++;
+        }
+        if (Preference.DISLIKE.equals(getPreference(piste.getSurface()))) {
+            score--;
+        }
+        return score;
+    }
 }
@@ -19,6 +19,8 @@ public enum ParseError {
     INVALID_FORMAT("Invalid %s format in %s."),
     /** Error indicating that a line in the input file is malformed. */
     INVALID_TIME_RANGE("Start time must be before end time in lift %s."),
+    /** Error indicating that the queue profile of a lift is malformed. */
+    INVALID_QUEUE_PROFILE("Invalid queue profile in lift %s. Expected ascending HH:mm=minutes entries."),
     /** Error indicating that a line in the input file is malformed. */
     UNRECOGNIZED_NODE("Unrecognized node in connection %s and %s."),
 
@@ -38,6 +40,11 @@ public enum ParseError {
      */
     INVALID_CONNECTION("Invalid connection between same node type: %s and %s."),
 
+    /** Error indicating that a lift shared by several areas is defined differently. */
+    TRANSFER_MISMATCH("Transfer lift %s is defined differently in areas %s and %s."),
+    /** Error indicating that a node other than a lift is shared by several areas. */
+    SHARED_NON_LIFT("Node %s is defined in areas %s and %s, but only lifts can be shared."),
+
     /** Error indicating that the graph cannot be empty. */
     EMPTY_GRAPH("The graph cannot be empty."),
     /** Error indicating that the graph must be fully connected. */
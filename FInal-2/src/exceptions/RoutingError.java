@@ -19,6 +19,8 @@ public enum RoutingError {
     NO_GRAPH_LOADED("No graph loaded. Please load a graph before planning a route."),
     /** Error indicating that the skier's profile is incomplete. */
     INCOMPLETE_PROFILE("Skier profile is incomplete. Please set skill level and goal before planning a route."),
+    /** Error indicating that the skier's skill level has not been set. */
+    MISSING_SKILL("Skill level is not set. Please set a skill level before querying reachable nodes."),
     /** Error indicating that an active route already exists. */
     EXISTING_ACTIVE_ROUTE("An active route already exists. Please abort or finish it first."),
     /** Error indicating that no valid route was found for the given constraints. */
@@ -32,6 +34,16 @@ public enum RoutingError {
      * next step.
      */
     ERROR_TIME_CALCULATING("An error occurred while calculating time for the next step."),
+    /** Error indicating that a batch planning run was interrupted. */
+    BATCH_INTERRUPTED("Batch route planning was interrupted before all requests were planned."),
+    /** Error indicating that planning a request of a batch failed unexpectedly. */
+    BATCH_REQUEST_FAILED("Planning the request failed: %s"),
+    /** Error indicating that the sink of a batch failed to receive a result. */
+    BATCH_SINK_FAILED("The batch result sink failed: %s"),
+    /** Error indicating that the session journal could not be read or written. */
+    JOURNAL_FAILED("Failed to access the session journal: %s"),
+    /** Error indicating that a restored session refers to an unknown node. */
+    UNKNOWN_SESSION_NODE("The restored session refers to node %s, which is not part of the loaded graph."),
     /** Error indicating that no next step is available. */
     NO_NEXT_STEP("No next step available. Place call \'next\' before taking a step.");
 
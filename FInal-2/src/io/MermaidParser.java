@@ -12,6 +12,7 @@ import domain.graph.Lift;
 import domain.graph.LiftType;
 import domain.graph.Node;
 import domain.graph.Piste;
+import domain.graph.QueueProfile;
 import domain.graph.SkiGraph;
 import domain.graph.Surface;
 import exceptions.ParseError;
@@ -32,13 +33,19 @@ public class MermaidParser {
 
     private static final String GRAPH_START = "graph";
     private static final Pattern TRANSIT_LIFT_PATTERN = Pattern.compile(
-            "^(\\w+)\\s*\\[\\[\\1<br\\s*/>([A-Z]+);\\s*(\\d{2}:\\d{2});\\s*(\\d{2}:\\d{2});\\s*(\\d+);\\s*(\\d+)\\]\\]$");
+            "^(\\w+)\\s*\\[\\[\\1<br\\s*/>([A-Z]+);\\s*(\\d{2}:\\d{2});\\s*(\\d{2}:\\d{2});\\s*(\\d+);\\s*(\\d+)"
+                    + "(?:;\\s*([0-9:=,\\s]+))?\\]\\]$");
     private static final Pattern REGULAR_LIFT_PATTERN = Pattern.compile(
-            "^(\\w+)\\s*\\[\\1<br\\s*/>([A-Z]+);\\s*(\\d{2}:\\d{2});\\s*(\\d{2}:\\d{2});\\s*(\\d+);\\s*(\\d+)\\]$");
+            "^(\\w+)\\s*\\[\\1<br\\s*/>([A-Z]+);\\s*(\\d{2}:\\d{2});\\s*(\\d{2}:\\d{2});\\s*(\\d+);\\s*(\\d+)"
+                    + "(?:;\\s*([0-9:=,\\s]+))?\\]$");
     private static final Pattern PISTE_PATTERN = Pattern.compile(
             "^(\\w+)\\s*\\(\\[\\1<br\\s*/>([A-Z]+);\\s*([A-Z]+);\\s*(\\d+);\\s*(\\d+)\\]\\)$");
     private static final Pattern EDGE_PATTERN = Pattern.compile(
             "^(\\w+)\\s*-->\\s*(\\w+)$");
+    private static final String PROFILE_ENTRY_SEPARATOR = ",";
+    private static final String PROFILE_VALUE_SEPARATOR = "=";
+    private static final int PROFILE_GROUP = 7;
+    private static final int SECONDS_PER_MINUTE = 60;
     private static final String EDGE_CONNECTION = "-->";
     private static final String CONNECTION = "Connection";
 
@@ -62,10 +69,6 @@ public class MermaidParser {
             throw new ParseException(ParseError.INVALID_FILE.getMessage());
         }
 
-        for (String line : contents) {
-            System.out.println(line);
-        }
-
         if (!contents.get(0).trim().equals(GRAPH_START)) {
             throw new ParseException(ParseError.INVALID_FILE.getMessage());
         }
@@ -139,7 +142,7 @@ public class MermaidParser {
                 throw new ParseException(ParseError.INVALID_TIME_RANGE.getMessage(matcher.group(1)));
             }
 
-            return new Lift(
+            Lift lift = new Lift(
                     matcher.group(1),
                     EnumParser.parseEnum(LiftType.class, matcher.group(2))
                             .orElseThrow(() -> new ParseException(
@@ -149,6 +152,10 @@ public class MermaidParser {
                     Integer.parseInt(matcher.group(5)),
                     Integer.parseInt(matcher.group(6)),
                     isTalstation);
+            if (matcher.group(PROFILE_GROUP) != null) {
+                lift = lift.withQueueProfile(parseQueueProfile(matcher.group(PROFILE_GROUP), matcher.group(1)));
+            }
+            return lift;
         } catch (DateTimeParseException e) {
             throw new ParseException(ParseError.INVALID_FORMAT.getMessage(LocalTime.class, matcher.group(1)));
         } catch (NumberFormatException e) {
@@ -156,6 +163,26 @@ public class MermaidParser {
         }
     }
 
+    // Parses a queue profile of the form "HH:mm=minutes,HH:mm=minutes,..." with
+    // strictly ascending times
+    private QueueProfile parseQueueProfile(String text, String liftId) throws ParseException {
+        String[] entries = text.split(PROFILE_ENTRY_SEPARATOR);
+        int[] breakpoints = new int[entries.length];
+        int[] queueSeconds = new int[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            String[] entry = entries[i].trim().split(PROFILE_VALUE_SEPARATOR);
+            if (entry.length != 2) {
+                throw new ParseException(ParseError.INVALID_QUEUE_PROFILE.getMessage(liftId));
+            }
+            breakpoints[i] = LocalTime.parse(entry[0].trim()).toSecondOfDay();
+            queueSeconds[i] = Integer.parseInt(entry[1].trim()) * SECONDS_PER_MINUTE;
+            if (i > 0 && breakpoints[i] <= breakpoints[i - 1]) {
+                throw new ParseException(ParseError.INVALID_QUEUE_PROFILE.getMessage(liftId));
+            }
+        }
+        return new QueueProfile(breakpoints, queueSeconds);
+    }
+
     private Piste createPiste(Matcher matcher) throws ParseException {
         try {
             return new Piste(
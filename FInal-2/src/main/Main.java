@@ -1,27 +1,58 @@
 package main;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 /**
  * Main class to start the Ski Route Management System.
  * 
  * @author udqch
  */
 public final class Main {
+    private static final String BATCH_ARGUMENT = "batch";
+    private static final String MSG_FAILED_BATCH = "Error, failed to read batch input: %s";
+    private static final int BUFFER_SIZE = 1 << 16;
 
     private Main() {
         // Private constructor to prevent instantiation
     }
 
     /**
-     * The main method to start the application.
+     * The main method to start the application. Without arguments, the
+     * application runs interactively. With the argument {@code batch}, commands
+     * are read from the file given as second argument or from the standard input
+     * and the output is written through a single buffer.
      *
-     * @param args command-line arguments (not used)
+     * @param args command-line arguments: none, or {@code batch [file]}
      */
     public static void main(String[] args) {
         try {
+            if (args.length > 0 && args[0].equals(BATCH_ARGUMENT)) {
+                runBatch(args.length > 1 ? Files.newInputStream(Path.of(args[1])) : System.in);
+                return;
+            }
             cli.SystemCLI systemCLI = new cli.SystemCLI();
             systemCLI.start();
         } catch (exceptions.SkiException e) {
             System.out.println(e.getMessage());
+        } catch (IOException e) {
+            System.out.println(MSG_FAILED_BATCH.formatted(e.getMessage()));
+        }
+    }
+
+    // Runs the CLI in batch mode with buffered input and output
+    private static void runBatch(InputStream in) throws exceptions.SkiException, IOException {
+        PrintWriter output = new PrintWriter(new BufferedWriter(
+                new OutputStreamWriter(System.out, System.out.charset()), BUFFER_SIZE));
+        try (BufferedReader input = new BufferedReader(new InputStreamReader(in), BUFFER_SIZE)) {
+            new cli.SystemCLI(output, Path.of("")).runBatch(input);
         }
     }
-}
\ No newline at end of file
+}
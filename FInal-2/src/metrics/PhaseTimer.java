@@ -0,0 +1,49 @@
+package metrics;
+
+/**
+ * The PhaseTimer class measures the wall time of one planning phase. It is
+ * created by {@link PlannerMetrics#startPhase(PlanningPhase)} and must be
+ * stopped in a finally block, so that the time is recorded no matter how the
+ * phase ends. While nothing is recorded, all phases share the timer
+ * {@link #NONE}, which measures nothing.
+ *
+ * @author udqch
+ */
+public final class PhaseTimer {
+    /** The timer of phases that are not recorded, doing nothing when stopped. */
+    static final PhaseTimer NONE = new PhaseTimer(null, null, null);
+
+    private final PlannerMetrics metrics;
+    private final PlanningPhase phase;
+    private final PlanningPhaseEvent event;
+    private final long startNanos;
+
+    /**
+     * Starts a new timer for the given phase.
+     *
+     * @param metrics the metrics receiving the elapsed time
+     * @param phase   the measured phase
+     * @param event   the flight recorder event of the phase, already begun, or
+     *                null if no event is recorded
+     */
+    PhaseTimer(PlannerMetrics metrics, PlanningPhase phase, PlanningPhaseEvent event) {
+        this.metrics = metrics;
+        this.phase = phase;
+        this.event = event;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Stops the timer and records the elapsed time of the phase.
+     */
+    public void stop() {
+        if (metrics == null) {
+            return;
+        }
+        metrics.recordPhase(phase, System.nanoTime() - startNanos);
+        if (event != null && event.shouldCommit()) {
+            event.phase = phase.getLabel();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The PlannerMetrics class aggregates the work done by route searches and the
+ * wall time of the planning phases of the ski engine. Collection is opt-in:
+ * searches count into their own {@link SearchCounters}, which are merged here
+ * while the metrics are enabled. Independently of that, every search and phase
+ * is emitted as a JDK Flight Recorder event whenever a recording with these
+ * events enabled is running. If neither is the case, searches and phases get
+ * shared counters and timers that record nothing, so nothing is allocated.
+ *
+ * @author udqch
+ */
+public final class PlannerMetrics {
+    private static final String SEARCHES_FORMAT = "searches: %d";
+    private static final String EXPANDED_FORMAT = "expanded: %d";
+    private static final String LEVEL_FORMAT = "level %d: %d";
+    private static final String CANDIDATES_FORMAT = "candidates: %d";
+    private static final String BEST_UPDATES_FORMAT = "best route updates: %d";
+    private static final String PRUNED_FORMAT = "pruned %s: %d";
+    private static final String PHASE_FORMAT = "%s: %d runs in %.3f ms (max %.3f ms)";
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    // Never committed, only asked whether a recording wants the events
+    private static final RouteSearchEvent SEARCH_EVENT_PROBE = new RouteSearchEvent();
+    private static final PlanningPhaseEvent PHASE_EVENT_PROBE = new PlanningPhaseEvent();
+
+    private volatile boolean enabled;
+
+    private long searches;
+    private long[] expandedPerLevel = new long[0];
+    private long candidates;
+    private long bestUpdates;
+    private final long[] pruned = new long[PruneReason.values().length];
+    private final long[] phaseRuns = new long[PlanningPhase.values().length];
+    private final long[] phaseNanos = new long[PlanningPhase.values().length];
+    private final long[] phaseMaxNanos = new long[PlanningPhase.values().length];
+
+    /**
+     * Starts counting a new route search.
+     *
+     * @return the counters the search records its work in
+     */
+    public SearchCounters startSearch() {
+        boolean recording = SEARCH_EVENT_PROBE.isEnabled();
+        if (!enabled && !recording) {
+            return SearchCounters.NONE;
+        }
+        RouteSearchEvent event = null;
+        if (recording) {
+            event = new RouteSearchEvent();
+            event.begin();
+        }
+        return new SearchCounters(event);
+    }
+
+    /**
+     * Finishes a route search. The counters are merged into the totals if the
+     * metrics are enabled, and the search is emitted as a flight recorder event.
+     *
+     * @param counters      the counters of the search
+     * @param startNode     the ID of the node the search started at
+     * @param graphNodes    the number of nodes of the searched graph
+     * @param graphEdges    the number of edges of the searched graph
+     * @param relevantNodes the number of nodes left after reachability pruning
+     * @param routeFound    whether the search found a route
+     */
+    public void finishSearch(SearchCounters counters, String startNode, int graphNodes, int graphEdges,
+            int relevantNodes, boolean routeFound) {
+        if (counters == SearchCounters.NONE) {
+            return;
+        }
+        RouteSearchEvent event = counters.getEvent();
+        if (event != null && event.shouldCommit()) {
+            event.startNode = startNode;
+            event.graphNodes = graphNodes;
+            event.graphEdges = graphEdges;
+            event.relevantNodes = relevantNodes;
+            event.expandedNodes = counters.getTotalExpanded();
+            event.maxLevel = counters.getMaxLevel();
+            event.candidates = counters.getCandidates();
+            event.bestUpdates = counters.getBestUpdates();
+            event.prunedBranches = counters.getTotalPruned();
+            event.routeFound = routeFound;
+            event.commit();
+        }
+        if (enabled) {
+            merge(counters);
+        }
+    }
+
+    /**
+     * Starts timing a planning phase.
+     *
+     * @param phase the phase to time
+     * @return the timer to stop once the phase has finished
+     */
+    public PhaseTimer startPhase(PlanningPhase phase) {
+        boolean recording = PHASE_EVENT_PROBE.isEnabled();
+        if (!enabled && !recording) {
+            return PhaseTimer.NONE;
+        }
+        PlanningPhaseEvent event = null;
+        if (recording) {
+            event = new PlanningPhaseEvent();
+            event.begin();
+        }
+        return new PhaseTimer(this, phase, event);
+    }
+
+    /**
+     * Records the wall time of a finished planning phase if the metrics are
+     * enabled.
+     *
+     * @param phase the finished phase
+     * @param nanos the wall time of the phase in nanoseconds
+     */
+    synchronized void recordPhase(PlanningPhase phase, long nanos) {
+        if (!enabled) {
+            return;
+        }
+        phaseRuns[phase.ordinal()]++;
+        phaseNanos[phase.ordinal()] += nanos;
+        phaseMaxNanos[phase.ordinal()] = Math.max(phaseMaxNanos[phase.ordinal()], nanos);
+    }
+
+    /**
+     * Resets all recorded values. Whether the metrics are enabled stays unchanged.
+     */
+    public synchronized void reset() {
+        searches = 0;
+        expandedPerLevel = new long[0];
+        candidates = 0;
+        bestUpdates = 0;
+        Arrays.fill(pruned, 0);
+        Arrays.fill(phaseRuns, 0);
+        Arrays.fill(phaseNanos, 0);
+        Arrays.fill(phaseMaxNanos, 0);
+    }
+
+    /**
+     * Formats the recorded values. Levels, prune reasons and phases without any
+     * recorded value are omitted.
+     *
+     * @return the lines of the statistics
+     */
+    public synchronized List<String> format() {
+        List<String> lines = new ArrayList<>();
+        lines.add(SEARCHES_FORMAT.formatted(searches));
+        lines.add(EXPANDED_FORMAT.formatted(Arrays.stream(expandedPerLevel).sum()));
+        for (int level = 0; level < expandedPerLevel.length; level++) {
+            if (expandedPerLevel[level] > 0) {
+                lines.add(LEVEL_FORMAT.formatted(level, expandedPerLevel[level]));
+            }
+        }
+        lines.add(CANDIDATES_FORMAT.formatted(candidates));
+        lines.add(BEST_UPDATES_FORMAT.formatted(bestUpdates));
+        for (PruneReason reason : PruneReason.values()) {
+            if (pruned[reason.ordinal()] > 0) {
+                lines.add(PRUNED_FORMAT.formatted(reason.getLabel(), pruned[reason.ordinal()]));
+            }
+        }
+        for (PlanningPhase phase : PlanningPhase.values()) {
+            if (phaseRuns[phase.ordinal()] > 0) {
+                lines.add(String.format(Locale.ROOT, PHASE_FORMAT, phase.getLabel(), phaseRuns[phase.ordinal()],
+                        phaseNanos[phase.ordinal()] / NANOS_PER_MILLI, phaseMaxNanos[phase.ordinal()] / NANOS_PER_MILLI));
+            }
+        }
+        return lines;
+    }
+
+    // Adds the counters of a finished search to the totals
+    private synchronized void merge(SearchCounters counters) {
+        searches++;
+        if (counters.getMaxLevel() >= expandedPerLevel.length) {
+            expandedPerLevel = Arrays.copyOf(expandedPerLevel, counters.getMaxLevel() + 1);
+        }
+        for (int level = 0; level <= counters.getMaxLevel(); level++) {
+            expandedPerLevel[level] += counters.getExpanded(level);
+        }
+        candidates += counters.getCandidates();
+        bestUpdates += counters.getBestUpdates();
+        for (PruneReason reason : PruneReason.values()) {
+            pruned[reason.ordinal()] += counters.getPruned(reason);
+        }
+    }
+
+    // --- GETTERS ---
+
+    /**
+     * Returns whether the metrics are currently collected.
+     *
+     * @return true if the metrics are enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // --- SETTERS ---
+
+    /**
+     * Enables or disables the collection of the metrics.
+     *
+     * @param enabled whether the metrics should be collected
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+}
@@ -0,0 +1,35 @@
+package metrics;
+
+/**
+ * Enum representing the phases of the ski engine that run a route search and
+ * whose wall time is recorded.
+ *
+ * @author udqch
+ */
+public enum PlanningPhase {
+    /** Planning a new route from a talstation. */
+    PLAN("plan"),
+    /** Planning an alternative route that avoids the pending step. */
+    ALTERNATIVE("alternative"),
+    /**
+     * Replanning the remaining route of a started route after the skier profile
+     * changed. A route that has not been started is planned anew, which is timed
+     * as {@link #PLAN} only.
+     */
+    REPLAN("replan");
+
+    private final String label;
+
+    PlanningPhase(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Returns the label used when printing statistics.
+     *
+     * @return the label of this phase
+     */
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,23 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JDK Flight Recorder event describing one planning phase of the ski engine.
+ * The route searches run during the phase are recorded as nested
+ * {@link RouteSearchEvent}s.
+ *
+ * @author udqch
+ */
+@Name("ski.PlanningPhase")
+@Label("Planning Phase")
+@Category({"Ski Resort", "Routing"})
+@Description("A plan, alternative or replan operation of the ski engine")
+final class PlanningPhaseEvent extends Event {
+    @Label("Phase")
+    String phase;
+}
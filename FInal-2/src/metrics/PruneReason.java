@@ -0,0 +1,35 @@
+package metrics;
+
+/**
+ * Enum representing the reasons for which the route search discards a branch
+ * without exploring it.
+ *
+ * @author udqch
+ */
+public enum PruneReason {
+    /** The neighbor must be avoided as the first step of an alternative route. */
+    FORBIDDEN("forbidden"),
+    /** The destination cannot be reached in time from the neighbor. */
+    UNREACHABLE("unreachable"),
+    /** The neighbor is a lift that is closed by the time the skier arrives. */
+    LIFT_CLOSED("lift closed"),
+    /** The neighbor cannot be finished before the end time. */
+    TIME_EXCEEDED("time exceeded"),
+    /** The candidate route scores worse than the best route found so far. */
+    WORSE_SCORE("worse score");
+
+    private final String label;
+
+    PruneReason(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Returns the label used when printing statistics.
+     *
+     * @return the label of this prune reason
+     */
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,51 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JDK Flight Recorder event describing a single route search together with the
+ * shape of the searched area, so that slow searches can be correlated with the
+ * graphs they ran on.
+ *
+ * @author udqch
+ */
+@Name("ski.RouteSearch")
+@Label("Route Search")
+@Category({"Ski Resort", "Routing"})
+@Description("A depth-first route search of the route planner")
+final class RouteSearchEvent extends Event {
+    @Label("Start Node")
+    String startNode;
+
+    @Label("Graph Nodes")
+    int graphNodes;
+
+    @Label("Graph Edges")
+    int graphEdges;
+
+    @Label("Relevant Nodes")
+    @Description("Nodes left after the reachability pruning")
+    int relevantNodes;
+
+    @Label("Expanded Nodes")
+    long expandedNodes;
+
+    @Label("Max Level")
+    int maxLevel;
+
+    @Label("Candidate Routes")
+    long candidates;
+
+    @Label("Best Route Updates")
+    long bestUpdates;
+
+    @Label("Pruned Branches")
+    long prunedBranches;
+
+    @Label("Route Found")
+    boolean routeFound;
+}
@@ -0,0 +1,165 @@
+package metrics;
+
+import java.util.Arrays;
+
+/**
+ * The SearchCounters class counts the work done by a single route search. It is
+ * owned by one search and therefore uses plain fields; the counts are merged
+ * into the shared {@link PlannerMetrics} once the search has finished. While
+ * nothing is recorded, all searches share the counters {@link #NONE}, which
+ * count nothing.
+ *
+ * @author udqch
+ */
+public final class SearchCounters {
+    /** The counters of searches that are not recorded, ignoring all counts. */
+    static final SearchCounters NONE = new SearchCounters(false, null);
+
+    private static final int INITIAL_LEVELS = 16;
+
+    private final boolean counting;
+    private long[] expandedPerLevel;
+    private final long[] pruned = new long[PruneReason.values().length];
+    private int maxLevel;
+    private long candidates;
+    private long bestUpdates;
+    private final RouteSearchEvent event;
+
+    /**
+     * Constructs new counters for a search that starts now.
+     *
+     * @param event the flight recorder event of the search, already begun, or
+     *              null if no event is recorded
+     */
+    SearchCounters(RouteSearchEvent event) {
+        this(true, event);
+    }
+
+    private SearchCounters(boolean counting, RouteSearchEvent event) {
+        this.counting = counting;
+        this.expandedPerLevel = new long[counting ? INITIAL_LEVELS : 0];
+        this.event = event;
+    }
+
+    /**
+     * Counts a node expanded at the given level of the search tree.
+     *
+     * @param level the length of the path ending at the expanded node
+     */
+    public void expand(int level) {
+        if (!counting) {
+            return;
+        }
+        if (level >= expandedPerLevel.length) {
+            expandedPerLevel = Arrays.copyOf(expandedPerLevel, Math.max(level + 1, expandedPerLevel.length * 2));
+        }
+        expandedPerLevel[level]++;
+        maxLevel = Math.max(maxLevel, level);
+    }
+
+    /**
+     * Counts a complete route that was evaluated against the best route.
+     */
+    public void candidate() {
+        if (counting) {
+            candidates++;
+        }
+    }
+
+    /**
+     * Counts an update of the best route.
+     */
+    public void bestUpdate() {
+        if (counting) {
+            bestUpdates++;
+        }
+    }
+
+    /**
+     * Counts a branch discarded for the given reason.
+     *
+     * @param reason the reason for discarding the branch
+     */
+    public void prune(PruneReason reason) {
+        if (counting) {
+            pruned[reason.ordinal()]++;
+        }
+    }
+
+    // --- GETTERS ---
+
+    /**
+     * Returns the flight recorder event of the search.
+     *
+     * @return the event started when the search started, or null if no event is
+     *         recorded
+     */
+    RouteSearchEvent getEvent() {
+        return event;
+    }
+
+    /**
+     * Returns the number of nodes expanded at the given level.
+     *
+     * @param level the level of the search tree
+     * @return the number of expanded nodes
+     */
+    public long getExpanded(int level) {
+        return level < expandedPerLevel.length ? expandedPerLevel[level] : 0;
+    }
+
+    /**
+     * Returns the total number of expanded nodes.
+     *
+     * @return the number of expanded nodes over all levels
+     */
+    public long getTotalExpanded() {
+        return Arrays.stream(expandedPerLevel).sum();
+    }
+
+    /**
+     * Returns the deepest level at which a node was expanded.
+     *
+     * @return the maximum level
+     */
+    public int getMaxLevel() {
+        return maxLevel;
+    }
+
+    /**
+     * Returns the number of evaluated candidate routes.
+     *
+     * @return the number of candidates
+     */
+    public long getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * Returns the number of best route updates.
+     *
+     * @return the number of best route updates
+     */
+    public long getBestUpdates() {
+        return bestUpdates;
+    }
+
+    /**
+     * Returns the number of branches discarded for the given reason.
+     *
+     * @param reason the prune reason
+     * @return the number of discarded branches
+     */
+    public long getPruned(PruneReason reason) {
+        return pruned[reason.ordinal()];
+    }
+
+    /**
+     * Returns the total number of discarded branches.
+     *
+     * @return the number of discarded branches over all reasons
+     */
+    public long getTotalPruned() {
+        return Arrays.stream(pruned).sum();
+    }
+}
@@ -0,0 +1,215 @@
+package persistence;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import domain.graph.Difficulty;
+import domain.graph.Surface;
+import domain.skier.Goal;
+import domain.skier.Preference;
+import domain.skier.Skill;
+
+/**
+ * The JournalCodec class converts session states and journal events to and from
+ * their compact binary form. Enum values are written as their ordinal in a
+ * single byte, with -1 for null, and times as seconds of the day.
+ *
+ * @author udqch
+ */
+final class JournalCodec {
+    private static final String MSG_UNKNOWN_EVENT = "Unknown journal event type %d";
+    private static final String MSG_INVALID_ORDINAL = "Invalid value %d in journal";
+    private static final byte PLAN = 1;
+    private static final byte TAKE = 2;
+    private static final byte REROUTE = 3;
+    private static final byte PROFILE = 4;
+    private static final byte END = 5;
+    private static final byte GROUP = 6;
+    private static final byte NONE = -1;
+
+    private JournalCodec() {
+    }
+
+    /**
+     * Writes a journal event.
+     *
+     * @param out   the output to write to
+     * @param event the event to write
+     * @throws IOException if writing fails
+     */
+    static void writeEvent(DataOutput out, JournalEvent event) throws IOException {
+        switch (event) {
+            case JournalEvent.Plan plan -> {
+                out.writeByte(PLAN);
+                writeRoute(out, plan.route());
+            }
+            case JournalEvent.Take take -> {
+                out.writeByte(TAKE);
+                out.writeInt(take.currentTime().toSecondOfDay());
+            }
+            case JournalEvent.Reroute reroute -> {
+                out.writeByte(REROUTE);
+                writeIds(out, reroute.nodeIds());
+                out.writeLong(reroute.duration());
+                out.writeInt(reroute.score());
+            }
+            case JournalEvent.Profile profile -> {
+                out.writeByte(PROFILE);
+                writeProfile(out, profile.profile());
+            }
+            case JournalEvent.Group group -> {
+                out.writeByte(GROUP);
+                writeProfiles(out, group.members());
+            }
+            case JournalEvent.End end -> out.writeByte(END);
+        }
+    }
+
+    /**
+     * Reads a journal event.
+     *
+     * @param in the input to read from
+     * @return the read event
+     * @throws IOException if reading fails or the event type is unknown
+     */
+    static JournalEvent readEvent(DataInput in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case PLAN -> new JournalEvent.Plan(readRoute(in));
+            case TAKE -> new JournalEvent.Take(LocalTime.ofSecondOfDay(in.readInt()));
+            case REROUTE -> new JournalEvent.Reroute(readIds(in), in.readLong(), in.readInt());
+            case PROFILE -> new JournalEvent.Profile(readProfile(in));
+            case GROUP -> new JournalEvent.Group(readProfiles(in));
+            case END -> new JournalEvent.End();
+            default -> throw new StreamCorruptedException(MSG_UNKNOWN_EVENT.formatted(type));
+        };
+    }
+
+    /**
+     * Writes a session state.
+     *
+     * @param out   the output to write to
+     * @param state the state to write
+     * @throws IOException if writing fails
+     */
+    static void writeState(DataOutput out, SessionState state) throws IOException {
+        writeProfile(out, state.profile());
+        writeProfiles(out, state.group());
+        out.writeBoolean(state.hasRoute());
+        if (state.hasRoute()) {
+            writeRoute(out, state.route());
+        }
+    }
+
+    /**
+     * Reads a session state.
+     *
+     * @param in the input to read from
+     * @return the read state
+     * @throws IOException if reading fails
+     */
+    static SessionState readState(DataInput in) throws IOException {
+        ProfileState profile = readProfile(in);
+        List<ProfileState> group = readProfiles(in);
+        RouteState route = in.readBoolean() ? readRoute(in) : null;
+        return new SessionState(profile, group, route);
+    }
+
+    private static void writeRoute(DataOutput out, RouteState route) throws IOException {
+        writeIds(out, route.nodeIds());
+        out.writeInt(route.startTime().toSecondOfDay());
+        out.writeLong(route.duration());
+        out.writeInt(route.score());
+        out.writeInt(route.stepIndex());
+        out.writeInt(route.currentTime().toSecondOfDay());
+        out.writeInt(route.sessionEndTime().toSecondOfDay());
+    }
+
+    private static RouteState readRoute(DataInput in) throws IOException {
+        List<String> nodeIds = readIds(in);
+        LocalTime startTime = LocalTime.ofSecondOfDay(in.readInt());
+        long duration = in.readLong();
+        int score = in.readInt();
+        int stepIndex = in.readInt();
+        LocalTime currentTime = LocalTime.ofSecondOfDay(in.readInt());
+        LocalTime sessionEndTime = LocalTime.ofSecondOfDay(in.readInt());
+        return new RouteState(nodeIds, startTime, duration, score, stepIndex, currentTime, sessionEndTime);
+    }
+
+    private static void writeIds(DataOutput out, List<String> ids) throws IOException {
+        out.writeInt(ids.size());
+        for (String id : ids) {
+            out.writeUTF(id);
+        }
+    }
+
+    private static List<String> readIds(DataInput in) throws IOException {
+        int size = in.readInt();
+        List<String> ids = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ids.add(in.readUTF());
+        }
+        return List.copyOf(ids);
+    }
+
+    private static void writeProfile(DataOutput out, ProfileState profile) throws IOException {
+        writeOrdinal(out, profile.skill());
+        writeOrdinal(out, profile.goal());
+        for (Preference preference : profile.difficultyPreferences()) {
+            writeOrdinal(out, preference);
+        }
+        for (Preference preference : profile.surfacePreferences()) {
+            writeOrdinal(out, preference);
+        }
+    }
+
+    private static ProfileState readProfile(DataInput in) throws IOException {
+        Skill skill = readOrdinal(in, Skill.values());
+        Goal goal = readOrdinal(in, Goal.values());
+        Preference[] difficulties = new Preference[Difficulty.values().length];
+        for (int i = 0; i < difficulties.length; i++) {
+            difficulties[i] = readOrdinal(in, Preference.values());
+        }
+        Preference[] surfaces = new Preference[Surface.values().length];
+        for (int i = 0; i < surfaces.length; i++) {
+            surfaces[i] = readOrdinal(in, Preference.values());
+        }
+        return new ProfileState(skill, goal, difficulties, surfaces);
+    }
+
+    private static void writeProfiles(DataOutput out, List<ProfileState> profiles) throws IOException {
+        out.writeInt(profiles.size());
+        for (ProfileState profile : profiles) {
+            writeProfile(out, profile);
+        }
+    }
+
+    private static List<ProfileState> readProfiles(DataInput in) throws IOException {
+        int size = in.readInt();
+        List<ProfileState> profiles = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            profiles.add(readProfile(in));
+        }
+        return List.copyOf(profiles);
+    }
+
+    private static void writeOrdinal(DataOutput out, Enum<?> value) throws IOException {
+        out.writeByte(value == null ? NONE : value.ordinal());
+    }
+
+    private static <T> T readOrdinal(DataInput in, T[] values) throws IOException {
+        byte ordinal = in.readByte();
+        if (ordinal == NONE) {
+            return null;
+        }
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new StreamCorruptedException(MSG_INVALID_ORDINAL.formatted(ordinal));
+        }
+        return values[ordinal];
+    }
+}
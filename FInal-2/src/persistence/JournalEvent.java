@@ -0,0 +1,97 @@
+package persistence;
+
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * The JournalEvent interface represents a change of a session as recorded in
+ * the session journal. Applying all events of a journal in order to the
+ * snapshot they follow yields the current session state.
+ *
+ * @author udqch
+ */
+public sealed interface JournalEvent {
+
+    /**
+     * Applies this event to the given state.
+     *
+     * @param state the state before the event
+     * @return the state after the event
+     */
+    SessionState applyTo(SessionState state);
+
+    /**
+     * A new route was planned.
+     *
+     * @param route the state of the new route
+     */
+    record Plan(RouteState route) implements JournalEvent {
+        @Override
+        public SessionState applyTo(SessionState state) {
+            return new SessionState(state.profile(), state.group(), route);
+        }
+    }
+
+    /**
+     * The skier took the next step of the route.
+     *
+     * @param currentTime the time after the step
+     */
+    record Take(LocalTime currentTime) implements JournalEvent {
+        @Override
+        public SessionState applyTo(SessionState state) {
+            return new SessionState(state.profile(), state.group(), state.route().withStepTaken(currentTime));
+        }
+    }
+
+    /**
+     * The rest of the route was replaced by an alternative or a replanned route.
+     *
+     * @param nodeIds  the IDs of the nodes of the whole new route
+     * @param duration the total duration of the new route in seconds
+     * @param score    the score of the new route
+     */
+    record Reroute(List<String> nodeIds, long duration, int score) implements JournalEvent {
+        @Override
+        public SessionState applyTo(SessionState state) {
+            return new SessionState(state.profile(), state.group(), state.route().withRoute(nodeIds, duration, score));
+        }
+    }
+
+    /**
+     * The skier profile was changed.
+     *
+     * @param profile the state of the changed profile
+     */
+    record Profile(ProfileState profile) implements JournalEvent {
+        @Override
+        public SessionState applyTo(SessionState state) {
+            return new SessionState(profile, state.group(), state.route());
+        }
+    }
+
+    /**
+     * The members of the group of skiers were changed. The event precedes the
+     * events of the replanning it causes, so that the route is replayed for the
+     * new group.
+     *
+     * @param members the states of the profiles of all members, empty if the
+     *                group was cleared
+     */
+    record Group(List<ProfileState> members) implements JournalEvent {
+        @Override
+        public SessionState applyTo(SessionState state) {
+            return new SessionState(state.profile(), members, state.route());
+        }
+    }
+
+    /**
+     * The route was finished, aborted or could not be replanned.
+     */
+    record End() implements JournalEvent {
+        @Override
+        public SessionState applyTo(SessionState state) {
+            return new SessionState(state.profile(), state.group(), null);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package persistence;
+
+import domain.graph.Difficulty;
+import domain.graph.Surface;
+import domain.skier.Goal;
+import domain.skier.Preference;
+import domain.skier.SkierProfile;
+import domain.skier.Skill;
+
+/**
+ * The ProfileState record is an immutable copy of a skier profile as stored in
+ * the session journal.
+ *
+ * @param skill                  the skill level, or null if not set
+ * @param goal                   the goal, or null if not set
+ * @param difficultyPreferences  the preferences indexed by the ordinal of the
+ *                               difficulty, null entries are not set
+ * @param surfacePreferences     the preferences indexed by the ordinal of the
+ *                               surface, null entries are not set
+ *
+ * @author udqch
+ */
+public record ProfileState(Skill skill, Goal goal, Preference[] difficultyPreferences,
+        Preference[] surfacePreferences) {
+
+    /**
+     * Copies the current state of the given profile.
+     *
+     * @param profile the profile to copy
+     * @return the state of the profile
+     */
+    public static ProfileState of(SkierProfile profile) {
+        Preference[] difficulties = new Preference[Difficulty.values().length];
+        for (Difficulty difficulty : Difficulty.values()) {
+            difficulties[difficulty.ordinal()] = profile.getPreference(difficulty);
+        }
+        Preference[] surfaces = new Preference[Surface.values().length];
+        for (Surface surface : Surface.values()) {
+            surfaces[surface.ordinal()] = profile.getPreference(surface);
+        }
+        return new ProfileState(profile.getSkill(), profile.getGoal(), difficulties, surfaces);
+    }
+
+    /**
+     * Writes this state into the given profile.
+     *
+     * @param profile the profile to overwrite
+     */
+    public void applyTo(SkierProfile profile) {
+        profile.setSkill(skill);
+        profile.setGoal(goal);
+        for (Difficulty difficulty : Difficulty.values()) {
+            profile.setDifficultyPreference(difficulty, difficultyPreferences[difficulty.ordinal()]);
+        }
+        for (Surface surface : Surface.values()) {
+            profile.setSurfacePreference(surface, surfacePreferences[surface.ordinal()]);
+        }
+    }
+}
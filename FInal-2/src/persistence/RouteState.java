@@ -0,0 +1,45 @@
+package persistence;
+
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * The RouteState record describes the active route of a session by the IDs of
+ * its nodes, so that it can be stored independently of a loaded graph.
+ *
+ * @param nodeIds        the IDs of the nodes of the route in order
+ * @param startTime      the start time of the route
+ * @param duration       the total duration of the route in seconds
+ * @param score          the score of the route
+ * @param stepIndex      the index of the next step of the route
+ * @param currentTime    the current time of the skier
+ * @param sessionEndTime the time by which the session ends
+ *
+ * @author udqch
+ */
+public record RouteState(List<String> nodeIds, LocalTime startTime, long duration, int score, int stepIndex,
+        LocalTime currentTime, LocalTime sessionEndTime) {
+
+    /**
+     * Returns the state after the skier took the next step.
+     *
+     * @param newTime the time after the step
+     * @return the new route state
+     */
+    public RouteState withStepTaken(LocalTime newTime) {
+        return new RouteState(nodeIds, startTime, duration, score, stepIndex + 1, newTime, sessionEndTime);
+    }
+
+    /**
+     * Returns the state after the route was replaced by a rerouted one, keeping
+     * the progress of the skier.
+     *
+     * @param newNodeIds  the IDs of the nodes of the new route
+     * @param newDuration the total duration of the new route in seconds
+     * @param newScore    the score of the new route
+     * @return the new route state
+     */
+    public RouteState withRoute(List<String> newNodeIds, long newDuration, int newScore) {
+        return new RouteState(newNodeIds, startTime, newDuration, newScore, stepIndex, currentTime, sessionEndTime);
+    }
+}
@@ -0,0 +1,240 @@
+package persistence;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import domain.skier.SkierProfile;
+
+/**
+ * The SessionJournal class persists a skiing session as a compact snapshot and
+ * an append-only journal of the events since that snapshot. Every appended
+ * event is flushed immediately; after a configurable number of events, a new
+ * snapshot is written and the journal starts over.
+ *
+ * <p>
+ * Both files consist of records of the form {@code length, payload, CRC32}.
+ * Every payload starts with a sequence number, so that journal events already
+ * contained in a newer snapshot are skipped if the process stopped between
+ * writing the snapshot and truncating the journal. A torn or corrupt record at
+ * the end of the journal marks the end of the valid events and is cut off when
+ * the journal is opened. Recovery therefore only decodes and applies events and
+ * never runs the route planner.
+ * </p>
+ *
+ * @author udqch
+ */
+public final class SessionJournal implements AutoCloseable {
+    private static final String SNAPSHOT_FILE = "snapshot.bin";
+    private static final String SNAPSHOT_TEMP_FILE = "snapshot.tmp";
+    private static final String JOURNAL_FILE = "journal.bin";
+    private static final String MSG_CORRUPT_SNAPSHOT = "Corrupt session snapshot %s";
+    private static final int RECORD_OVERHEAD = 2 * Integer.BYTES;
+
+    private final Path snapshotFile;
+    private final Path journalFile;
+    private final int snapshotInterval;
+    private boolean isNew = true;
+    private SessionState state;
+    private long sequence;
+    private int eventsSinceSnapshot;
+    private DataOutputStream journalOutput;
+
+    private SessionJournal(Path directory, int snapshotInterval) {
+        this.snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        this.journalFile = directory.resolve(JOURNAL_FILE);
+        this.snapshotInterval = snapshotInterval;
+        this.state = new SessionState(ProfileState.of(new SkierProfile()), List.of(), null);
+    }
+
+    /**
+     * Opens the journal in the given directory and recovers the session state
+     * stored in it. The directory is created if it does not exist.
+     *
+     * @param directory        the directory of the snapshot and journal files
+     * @param snapshotInterval the number of events after which a new snapshot is
+     *                         written
+     * @return the opened journal
+     * @throws IOException if the files cannot be read or the snapshot is corrupt
+     */
+    public static SessionJournal open(Path directory, int snapshotInterval) throws IOException {
+        Files.createDirectories(directory);
+        SessionJournal journal = new SessionJournal(directory, Math.max(1, snapshotInterval));
+        journal.recover();
+        return journal;
+    }
+
+    /**
+     * Appends an event to the journal and applies it to the recovered state.
+     * Writes a new snapshot if the snapshot interval is reached.
+     *
+     * @param event the event to append
+     * @throws IOException if writing fails
+     */
+    public void append(JournalEvent event) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream payload = new DataOutputStream(buffer);
+        payload.writeLong(sequence + 1);
+        JournalCodec.writeEvent(payload, event);
+        if (journalOutput == null) {
+            journalOutput = new DataOutputStream(new BufferedOutputStream(
+                    new FileOutputStream(journalFile.toFile(), true)));
+        }
+        writeRecord(journalOutput, buffer.toByteArray());
+        journalOutput.flush();
+
+        sequence++;
+        state = event.applyTo(state);
+        if (++eventsSinceSnapshot >= snapshotInterval) {
+            snapshot(state);
+        }
+    }
+
+    /**
+     * Replaces the stored session by the given state. The state is written as a
+     * new snapshot and the journal is emptied.
+     *
+     * @param newState the state to store
+     * @throws IOException if writing fails
+     */
+    public void snapshot(SessionState newState) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream payload = new DataOutputStream(buffer);
+        payload.writeLong(sequence);
+        JournalCodec.writeState(payload, newState);
+
+        Path tempFile = snapshotFile.resolveSibling(SNAPSHOT_TEMP_FILE);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+            writeRecord(out, buffer.toByteArray());
+        }
+        Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        closeOutput();
+        journalOutput = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(journalFile.toFile())));
+        state = newState;
+        eventsSinceSnapshot = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeOutput();
+    }
+
+    // --- GETTERS ---
+
+    /**
+     * Returns the current session state, i.e. the state of the snapshot with all
+     * events of the journal applied.
+     *
+     * @return the current session state
+     */
+    public SessionState getState() {
+        return state;
+    }
+
+    /**
+     * Returns whether the journal directory contained no session when the journal
+     * was opened.
+     *
+     * @return true if the journal was newly created
+     */
+    public boolean isNew() {
+        return isNew;
+    }
+
+    // --- HELPER METHODS ---
+
+    private void recover() throws IOException {
+        if (Files.exists(snapshotFile)) {
+            isNew = false;
+            byte[] bytes = Files.readAllBytes(snapshotFile);
+            int length = checkRecord(bytes, 0);
+            if (length < 0) {
+                throw new StreamCorruptedException(MSG_CORRUPT_SNAPSHOT.formatted(snapshotFile));
+            }
+            DataInputStream payload = openPayload(bytes, 0, length);
+            sequence = payload.readLong();
+            state = JournalCodec.readState(payload);
+        }
+
+        if (Files.exists(journalFile)) {
+            isNew = false;
+            byte[] bytes = Files.readAllBytes(journalFile);
+            int validLength = 0;
+            int length;
+            while ((length = checkRecord(bytes, validLength)) >= 0 && replay(openPayload(bytes, validLength, length))) {
+                validLength += length + RECORD_OVERHEAD;
+            }
+            if (validLength < bytes.length) {
+                try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+                    channel.truncate(validLength); // Cut off a torn last record
+                }
+            }
+        }
+    }
+
+    // Applies a journal record, returns false if it does not continue the
+    // sequence of the events read so far
+    private boolean replay(DataInputStream payload) throws IOException {
+        long recordSequence = payload.readLong();
+        if (recordSequence <= sequence) {
+            return true; // Already contained in the snapshot
+        }
+        if (recordSequence != sequence + 1) {
+            return false;
+        }
+        state = JournalCodec.readEvent(payload).applyTo(state);
+        sequence = recordSequence;
+        eventsSinceSnapshot++;
+        return true;
+    }
+
+    private static void writeRecord(DataOutputStream out, byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        out.writeInt(payload.length);
+        out.write(payload);
+        out.writeInt((int) crc.getValue());
+    }
+
+    // Checks the record at the given offset and returns the length of its
+    // payload, or -1 if the bytes end within the record or the checksum does
+    // not match
+    private static int checkRecord(byte[] bytes, int offset) {
+        ByteBuffer view = ByteBuffer.wrap(bytes);
+        if (bytes.length - offset < RECORD_OVERHEAD) {
+            return -1;
+        }
+        int length = view.getInt(offset);
+        if (length < 0 || length > bytes.length - offset - RECORD_OVERHEAD) {
+            return -1;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, offset + Integer.BYTES, length);
+        return view.getInt(offset + Integer.BYTES + length) == (int) crc.getValue() ? length : -1;
+    }
+
+    private static DataInputStream openPayload(byte[] bytes, int offset, int length) {
+        return new DataInputStream(new ByteArrayInputStream(bytes, offset + Integer.BYTES, length));
+    }
+
+    private void closeOutput() throws IOException {
+        if (journalOutput != null) {
+            journalOutput.close();
+            journalOutput = null;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package persistence;
+
+import java.util.List;
+
+/**
+ * The SessionState record is the complete persistent state of a skiing
+ * session, consisting of the skier profile, the members of the group of skiers
+ * and the active route. The pending
+ * step shown by {@code next} is not part of it; after a restore, the next step
+ * has to be shown again before it can be taken.
+ *
+ * @param profile the state of the skier profile
+ * @param group   the states of the profiles of the group members, empty if
+ *                routes are planned for the single skier
+ * @param route   the state of the active route, or null if no route is active
+ *
+ * @author udqch
+ */
+public record SessionState(ProfileState profile, List<ProfileState> group, RouteState route) {
+
+    /**
+     * Constructs a new SessionState, copying the list of group members.
+     *
+     * @param profile the state of the skier profile
+     * @param group   the states of the profiles of the group members
+     * @param route   the state of the active route, or null
+     */
+    public SessionState {
+        group = List.copyOf(group);
+    }
+
+    /**
+     * Returns whether the session has an active route.
+     *
+     * @return true if a route is active
+     */
+    public boolean hasRoute() {
+        return route != null;
+    }
+}
@@ -0,0 +1,87 @@
+package replay;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Entry point of the replay harness. It replays interaction files against the
+ * CLI, compares the output to the files and prints a {@link ReplayReport}.
+ * Arguments are {@code threads=<n>} and {@code repeat=<n>} followed by the
+ * interaction files or directories containing them. The exit status is 1 if
+ * any replay did not match its golden transcript.
+ *
+ * @author udqch
+ */
+public final class ReplayMain {
+    private static final String THREADS_ARGUMENT = "threads=";
+    private static final String REPEAT_ARGUMENT = "repeat=";
+    private static final String USAGE = "Error, usage: [threads=<n>] [repeat=<n>] <interaction file or directory>...";
+    private static final String ERROR_FORMAT = "Error, %s";
+
+    private ReplayMain() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Runs the replay harness.
+     *
+     * @param args the thread count, the repetition count and the scripts to
+     *             replay
+     */
+    public static void main(String[] args) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int repetitions = 1;
+        List<Path> paths = new ArrayList<>();
+        try {
+            for (String arg : args) {
+                if (arg.startsWith(THREADS_ARGUMENT)) {
+                    threads = Integer.parseInt(arg.substring(THREADS_ARGUMENT.length()));
+                } else if (arg.startsWith(REPEAT_ARGUMENT)) {
+                    repetitions = Integer.parseInt(arg.substring(REPEAT_ARGUMENT.length()));
+                } else {
+                    paths.add(Path.of(arg));
+                }
+            }
+        } catch (NumberFormatException e) {
+            System.out.println(USAGE);
+            return;
+        }
+        if (paths.isEmpty() || threads < 1 || repetitions < 1) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        try {
+            ReplayReport report = new ReplayRunner(threads).run(loadScripts(paths), repetitions);
+            report.format().forEach(System.out::println);
+            if (!report.allPassed()) {
+                System.exit(1);
+            }
+        } catch (IOException e) {
+            System.out.println(ERROR_FORMAT.formatted(e.getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Loads all given files and all files of the given directories
+    private static List<ReplayScript> loadScripts(List<Path> paths) throws IOException {
+        List<ReplayScript> scripts = new ArrayList<>();
+        for (Path path : paths) {
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> files = Files.list(path)) {
+                    for (Path file : files.filter(Files::isRegularFile).sorted().toList()) {
+                        scripts.add(ReplayScript.load(file));
+                    }
+                }
+            } else {
+                scripts.add(ReplayScript.load(path));
+            }
+        }
+        return scripts;
+    }
+}
@@ -0,0 +1,129 @@
+package replay;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The ReplayReport class summarizes a replay run: which scripts matched their
+ * golden transcripts, the overall throughput and the latency percentiles of
+ * every command.
+ *
+ * @author udqch
+ */
+public final class ReplayReport {
+    private static final String SUMMARY_FORMAT = "replayed %d scripts (%d passed, %d failed) with %d commands in %d ms";
+    private static final String THROUGHPUT_FORMAT = "throughput: %.1f scripts/s, %.1f commands/s";
+    private static final String LATENCY_FORMAT = "%s: %d calls, p50 %d us, p90 %d us, p99 %d us, max %d us";
+    private static final String MISMATCH_FORMAT = "failed %s at line %d: expected '%s' but was '%s'";
+    private static final String MISSING_LINE = "<end of output>";
+    private static final String COMMAND_SEPARATOR = " ";
+    private static final int[] PERCENTILES = {50, 90, 99};
+    private static final int PERCENT = 100;
+    private static final long NANOS_PER_MICRO = 1_000;
+    private static final long NANOS_PER_MILLI = 1_000_000;
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final List<ScriptResult> results;
+    private final long elapsedNanos;
+    private final Map<String, long[]> latencies;
+    private final long commandCount;
+
+    /**
+     * Constructs a new report from the results of a replay run.
+     *
+     * @param results      the results of all replays
+     * @param elapsedNanos the wall time of the run in nanoseconds
+     */
+    ReplayReport(List<ScriptResult> results, long elapsedNanos) {
+        this.results = List.copyOf(results);
+        this.elapsedNanos = elapsedNanos;
+        this.latencies = new TreeMap<>();
+
+        Map<String, Integer> counts = new TreeMap<>();
+        long commands = 0;
+        for (ScriptResult result : results) {
+            for (int i = 0; i < result.commandNanos().length; i++) {
+                counts.merge(keywordOf(result, i), 1, Integer::sum);
+            }
+            commands += result.commandNanos().length;
+        }
+        this.commandCount = commands;
+
+        Map<String, Integer> filled = new TreeMap<>();
+        counts.forEach((keyword, count) -> latencies.put(keyword, new long[count]));
+        for (ScriptResult result : results) {
+            for (int i = 0; i < result.commandNanos().length; i++) {
+                String keyword = keywordOf(result, i);
+                int index = filled.merge(keyword, 1, Integer::sum) - 1;
+                latencies.get(keyword)[index] = result.commandNanos()[i];
+            }
+        }
+        latencies.values().forEach(Arrays::sort);
+    }
+
+    /**
+     * Returns whether every replay matched its golden transcript.
+     *
+     * @return true if no replay failed
+     */
+    public boolean allPassed() {
+        return results.stream().allMatch(ScriptResult::passed);
+    }
+
+    /**
+     * Formats the report. Every distinct failing script is listed once with its
+     * first differing line, followed by the summary, the throughput and the
+     * latency percentiles per command.
+     *
+     * @return the lines of the report
+     */
+    public List<String> format() {
+        List<String> lines = new ArrayList<>();
+        List<String> reported = new ArrayList<>();
+        int failed = 0;
+        for (ScriptResult result : results) {
+            if (result.passed()) {
+                continue;
+            }
+            failed++;
+            if (!reported.contains(result.script().name())) {
+                reported.add(result.script().name());
+                lines.add(formatMismatch(result));
+            }
+        }
+
+        lines.add(SUMMARY_FORMAT.formatted(results.size(), results.size() - failed, failed, commandCount,
+                elapsedNanos / NANOS_PER_MILLI));
+        double seconds = Math.max(1, elapsedNanos) / NANOS_PER_SECOND;
+        lines.add(String.format(Locale.ROOT, THROUGHPUT_FORMAT, results.size() / seconds, commandCount / seconds));
+        latencies.forEach((keyword, sorted) -> lines.add(LATENCY_FORMAT.formatted(keyword, sorted.length,
+                percentile(sorted, PERCENTILES[0]), percentile(sorted, PERCENTILES[1]),
+                percentile(sorted, PERCENTILES[2]), sorted[sorted.length - 1] / NANOS_PER_MICRO)));
+        return lines;
+    }
+
+    private static String formatMismatch(ScriptResult result) {
+        int line = result.mismatchLine();
+        List<String> expected = result.script().golden();
+        List<String> actual = result.transcript();
+        return MISMATCH_FORMAT.formatted(result.script().name(), line + 1,
+                line < expected.size() ? expected.get(line) : MISSING_LINE,
+                line < actual.size() ? actual.get(line) : MISSING_LINE);
+    }
+
+    // Nearest-rank percentile of an ascending array, in microseconds
+    private static long percentile(long[] sorted, int percent) {
+        int rank = (int) Math.ceil(percent / (double) PERCENT * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / NANOS_PER_MICRO;
+    }
+
+    private static String keywordOf(ScriptResult result, int commandIndex) {
+        String command = result.script().commands().get(commandIndex).trim();
+        int end = command.indexOf(COMMAND_SEPARATOR);
+        return end < 0 ? command : command.substring(0, end);
+    }
+}
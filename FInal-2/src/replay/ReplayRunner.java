@@ -0,0 +1,110 @@
+package replay;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import cli.SystemCLI;
+import exceptions.CommandException;
+
+/**
+ * The ReplayRunner class replays interaction scripts headlessly against fresh
+ * {@link SystemCLI} instances. Every replay gets its own CLI and engine, whose
+ * output is captured in memory per command, so many scripts can be replayed
+ * concurrently on a thread pool.
+ *
+ * @author udqch
+ */
+public class ReplayRunner {
+    private final int threads;
+
+    /**
+     * Constructs a new ReplayRunner.
+     *
+     * @param threads the number of scripts replayed concurrently
+     */
+    public ReplayRunner(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Replays every script the given number of times and collects the results.
+     *
+     * @param scripts     the scripts to replay
+     * @param repetitions how often each script is replayed
+     * @return the report of all replays
+     * @throws InterruptedException if the calling thread is interrupted while
+     *                              waiting for the replays
+     */
+    public ReplayReport run(List<ReplayScript> scripts, int repetitions) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long startNanos = System.nanoTime();
+            List<Future<ScriptResult>> futures = new ArrayList<>();
+            for (int i = 0; i < repetitions; i++) {
+                for (ReplayScript script : scripts) {
+                    futures.add(executor.submit(() -> replay(script)));
+                }
+            }
+
+            List<ScriptResult> results = new ArrayList<>(futures.size());
+            for (Future<ScriptResult> future : futures) {
+                results.add(future.get());
+            }
+            return new ReplayReport(results, System.nanoTime() - startNanos);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Replays a single script on the calling thread.
+     *
+     * @param script the script to replay
+     * @return the result of the replay
+     * @throws CommandException if the CLI cannot be initialized
+     */
+    public ScriptResult replay(ReplayScript script) throws CommandException {
+        StringWriter buffer = new StringWriter();
+        PrintWriter output = new PrintWriter(buffer);
+        SystemCLI cli = new SystemCLI(output, script.directory());
+
+        List<String> transcript = new ArrayList<>(script.golden().size());
+        long[] commandNanos = new long[script.commands().size()];
+        int executed = 0;
+        for (String command : script.commands()) {
+            transcript.add(ReplayScript.COMMAND_PREFIX + command);
+            long start = System.nanoTime();
+            boolean running = cli.execute(command);
+            commandNanos[executed++] = System.nanoTime() - start;
+
+            output.flush();
+            buffer.toString().lines().forEach(transcript::add);
+            buffer.getBuffer().setLength(0);
+            if (!running) {
+                break;
+            }
+        }
+        return new ScriptResult(script, transcript, Arrays.copyOf(commandNanos, executed),
+                findMismatch(transcript, script.golden()));
+    }
+
+    // Returns the index of the first differing line, or -1 if both are equal
+    private static int findMismatch(List<String> actual, List<String> expected) {
+        int common = Math.min(actual.size(), expected.size());
+        for (int i = 0; i < common; i++) {
+            if (!actual.get(i).equals(expected.get(i))) {
+                return i;
+            }
+        }
+        return actual.size() == expected.size() ? -1 : common;
+    }
+}
@@ -0,0 +1,48 @@
+package replay;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The ReplayScript record represents an interaction file in the style of
+ * {@code example_interaktion.txt}. Lines starting with {@value #COMMAND_PREFIX}
+ * are commands, all other lines are the expected output of the preceding
+ * command. The whole file therefore is the golden transcript of the replay.
+ *
+ * @param name      the name of the script used in reports
+ * @param directory the directory relative area paths are resolved against
+ * @param commands  the commands of the script in order
+ * @param golden    the expected transcript, i.e. all lines of the file
+ *
+ * @author udqch
+ */
+public record ReplayScript(String name, Path directory, List<String> commands, List<String> golden) {
+    /** The prefix marking a command line in an interaction file. */
+    public static final String COMMAND_PREFIX = "> ";
+
+    /**
+     * Loads a script from an interaction file. Trailing empty lines are ignored.
+     *
+     * @param file the interaction file
+     * @return the loaded script
+     * @throws IOException if the file cannot be read
+     */
+    public static ReplayScript load(Path file) throws IOException {
+        List<String> lines = new ArrayList<>(Files.readAllLines(file));
+        while (!lines.isEmpty() && lines.get(lines.size() - 1).isEmpty()) {
+            lines.remove(lines.size() - 1);
+        }
+
+        List<String> commands = new ArrayList<>();
+        for (String line : lines) {
+            if (line.startsWith(COMMAND_PREFIX)) {
+                commands.add(line.substring(COMMAND_PREFIX.length()));
+            }
+        }
+        Path directory = file.toAbsolutePath().getParent();
+        return new ReplayScript(file.toString(), directory, List.copyOf(commands), List.copyOf(lines));
+    }
+}
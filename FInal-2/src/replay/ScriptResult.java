@@ -0,0 +1,28 @@
+package replay;
+
+import java.util.List;
+
+/**
+ * The ScriptResult record holds the outcome of one replay of a script.
+ *
+ * @param script       the replayed script
+ * @param transcript   the produced transcript in the format of the golden file
+ * @param commandNanos the execution time of each executed command in
+ *                     nanoseconds, in the order of the script's commands
+ * @param mismatchLine the zero-based index of the first line in which the
+ *                     transcript differs from the golden file, or -1 if they are
+ *                     equal
+ *
+ * @author udqch
+ */
+public record ScriptResult(ReplayScript script, List<String> transcript, long[] commandNanos, int mismatchLine) {
+
+    /**
+     * Returns whether the transcript matches the golden file.
+     *
+     * @return true if the replay produced the expected output
+     */
+    public boolean passed() {
+        return mismatchLine < 0;
+    }
+}
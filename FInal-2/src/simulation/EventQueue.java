@@ -0,0 +1,97 @@
+package simulation;
+
+import java.util.Arrays;
+
+/**
+ * Priority queue of simulation events ordered by their time. Each event is
+ * packed into a single {@code long} holding the second of the day in the upper
+ * and the ID of the affected entity in the lower 32 bits, so that the queue is
+ * a plain binary heap over a primitive array and scheduling allocates nothing.
+ *
+ * @author udqch
+ */
+final class EventQueue {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long ID_MASK = 0xFFFFFFFFL;
+
+    private long[] heap = new long[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Schedules an event for the given entity at the given second of the day.
+     * Events at the same second are processed in ascending order of their IDs.
+     *
+     * @param secondOfDay the time of the event
+     * @param id          the non-negative ID of the affected entity
+     */
+    void schedule(long secondOfDay, int id) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        long event = (secondOfDay << Integer.SIZE) | id;
+        int index = size++;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] <= event) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = event;
+    }
+
+    /**
+     * Removes and returns the earliest event.
+     *
+     * @return the packed earliest event
+     */
+    long poll() {
+        long first = heap[0];
+        long last = heap[--size];
+        int index = 0;
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (last <= heap[child]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = last;
+        return first;
+    }
+
+    /**
+     * Returns whether there are no more events scheduled.
+     *
+     * @return true if the queue is empty
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Extracts the time from a packed event.
+     *
+     * @param event the packed event
+     * @return the second of the day of the event
+     */
+    static long timeOf(long event) {
+        return event >>> Integer.SIZE;
+    }
+
+    /**
+     * Extracts the entity ID from a packed event.
+     *
+     * @param event the packed event
+     * @return the ID of the affected entity
+     */
+    static int idOf(long event) {
+        return (int) (event & ID_MASK);
+    }
+}
@@ -0,0 +1,116 @@
+package simulation;
+
+import java.util.Arrays;
+
+/**
+ * First-in-first-out queue of simulated skiers waiting in front of a lift,
+ * backed by a growing ring buffer of skier indexes and the seconds at which
+ * they joined.
+ *
+ * @author udqch
+ */
+final class LiftQueue {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int[] skiers = new int[INITIAL_CAPACITY];
+    private long[] joinSeconds = new long[INITIAL_CAPACITY];
+    private int head;
+    private int size;
+    private boolean boardingScheduled;
+    private long nextBoardingSecond;
+
+    /**
+     * Adds a skier to the end of the queue.
+     *
+     * @param skier      the index of the skier
+     * @param joinSecond the second of the day at which the skier joined
+     */
+    void add(int skier, long joinSecond) {
+        if (size == skiers.length) {
+            grow();
+        }
+        int tail = (head + size) % skiers.length;
+        skiers[tail] = skier;
+        joinSeconds[tail] = joinSecond;
+        size++;
+    }
+
+    /**
+     * Returns the join second of the first skier in the queue.
+     *
+     * @return the second of the day at which the first skier joined
+     */
+    long peekJoinSecond() {
+        return joinSeconds[head];
+    }
+
+    /**
+     * Removes the first skier from the queue.
+     *
+     * @return the index of the removed skier
+     */
+    int poll() {
+        int skier = skiers[head];
+        head = (head + 1) % skiers.length;
+        size--;
+        return skier;
+    }
+
+    /**
+     * Returns the number of waiting skiers.
+     *
+     * @return the queue length
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether a boarding event is already scheduled for this lift.
+     *
+     * @return true if the next boarding is scheduled
+     */
+    boolean isBoardingScheduled() {
+        return boardingScheduled;
+    }
+
+    /**
+     * Sets whether a boarding event is scheduled for this lift.
+     *
+     * @param scheduled true if the next boarding is scheduled
+     */
+    void setBoardingScheduled(boolean scheduled) {
+        this.boardingScheduled = scheduled;
+    }
+
+    /**
+     * Returns the earliest second of the day at which the lift can board again.
+     *
+     * @return the earliest next boarding time
+     */
+    long getNextBoardingSecond() {
+        return nextBoardingSecond;
+    }
+
+    /**
+     * Sets the earliest second of the day at which the lift can board again.
+     *
+     * @param secondOfDay the earliest next boarding time
+     */
+    void setNextBoardingSecond(long secondOfDay) {
+        this.nextBoardingSecond = secondOfDay;
+    }
+
+    private void grow() {
+        int[] newSkiers = Arrays.copyOf(skiers, skiers.length * 2);
+        long[] newJoinSeconds = Arrays.copyOf(joinSeconds, joinSeconds.length * 2);
+        // Unwrap the ring so that the queue starts at index 0 again
+        for (int i = 0; i < size; i++) {
+            newSkiers[i] = skiers[(head + i) % skiers.length];
+            newJoinSeconds[i] = joinSeconds[(head + i) % skiers.length];
+        }
+        skiers = newSkiers;
+        joinSeconds = newJoinSeconds;
+        head = 0;
+    }
+}
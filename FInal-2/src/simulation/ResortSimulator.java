@@ -0,0 +1,299 @@
+package simulation;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import domain.graph.Difficulty;
+import domain.graph.IndexedGraph;
+import domain.graph.Lift;
+import domain.graph.Piste;
+import domain.graph.SkiGraph;
+import domain.routing.PisteTimeBatch;
+import domain.routing.Route;
+import domain.routing.RoutePlanner;
+import domain.routing.RouteRequest;
+import domain.routing.TimeCalculator;
+import domain.skier.Goal;
+import domain.skier.Preference;
+import domain.skier.SkierProfile;
+import domain.skier.Skill;
+import exceptions.RoutingException;
+
+/**
+ * The ResortSimulator class runs a discrete-event simulation of a ski day. A
+ * number of skiers with random profiles, start talstations and time windows
+ * follow the routes planned for them by the {@link RoutePlanner}. Lifts board
+ * their queues once per minute up to the capacity of their lift type, which
+ * results in time-varying queue lengths and waiting times per lift.
+ *
+ * <p>
+ * Routes are planned once per distinct combination of profile, start and time
+ * window and shared by all skiers with that combination. The event loop itself
+ * works on primitive arrays only, so that a day with 100,000 skiers is
+ * simulated in a few seconds.
+ * </p>
+ *
+ * @author udqch
+ */
+public class ResortSimulator {
+    private static final int BUCKET_SECONDS = 15 * 60;
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final int SECONDS_PER_HOUR = 3600;
+    private static final int START_SLOT_SECONDS = 15 * 60;
+    private static final int START_SLOTS = 16;
+    private static final int MAX_SESSION_HOURS = 4;
+    private static final int[] NO_ROUTE = new int[0];
+
+    private final SkiGraph graph;
+    private final IndexedGraph indexedGraph;
+    private final RoutePlanner planner;
+    private final List<SkierProfile> profiles;
+    private final List<Lift> talstations;
+
+    /**
+     * Constructs a new ResortSimulator for the given ski graph.
+     *
+     * @param graph          the validated ski graph to simulate
+     * @param timeCalculator the TimeCalculator used to plan routes
+     */
+    public ResortSimulator(SkiGraph graph, TimeCalculator timeCalculator) {
+        this.graph = graph;
+        this.indexedGraph = graph.getIndexedGraph();
+        this.planner = new RoutePlanner(timeCalculator);
+        this.profiles = createProfiles();
+        this.talstations = graph.getTalstations();
+    }
+
+    /**
+     * Simulates a ski day with the given number of skiers.
+     *
+     * @param skierCount the number of skiers to simulate
+     * @param seed       the seed for the random choice of profiles, starts and
+     *                   time windows
+     * @return the report with the resulting queue statistics
+     * @throws RoutingException if planning the route of a skier fails
+     */
+    public SimulationReport simulate(int skierCount, long seed) throws RoutingException {
+        long startNanos = System.nanoTime();
+        Random random = new Random(seed);
+        SimulationReport report = createReport();
+
+        int[][] planCache = new int[profiles.size() * talstations.size() * START_SLOTS * MAX_SESSION_HOURS][];
+        int[][] skierRoutes = new int[skierCount][];
+        int[] skierSkills = new int[skierCount];
+        EventQueue events = new EventQueue();
+        int unplanned = 0;
+
+        for (int s = 0; s < skierCount; s++) {
+            int profile = random.nextInt(profiles.size());
+            int talstation = random.nextInt(talstations.size());
+            int slot = random.nextInt(START_SLOTS);
+            int hours = 1 + random.nextInt(MAX_SESSION_HOURS);
+
+            int key = ((profile * talstations.size() + talstation) * START_SLOTS + slot) * MAX_SESSION_HOURS + hours - 1;
+            if (planCache[key] == null) {
+                planCache[key] = planRoute(profiles.get(profile), talstations.get(talstation), slot, hours);
+            }
+            if (planCache[key] == NO_ROUTE) {
+                unplanned++;
+                continue;
+            }
+            skierRoutes[s] = planCache[key];
+            skierSkills[s] = profiles.get(profile).getSkill().ordinal();
+            events.schedule(startSecond(talstations.get(talstation), slot), s);
+        }
+
+        EventLoop loop = new EventLoop(events, skierRoutes, skierSkills, report);
+        long eventCount = loop.run();
+        report.recordTotals(skierCount, unplanned, loop.strandedCount, eventCount, System.nanoTime() - startNanos);
+        return report;
+    }
+
+    private int[] planRoute(SkierProfile profile, Lift start, int slot, int hours) throws RoutingException {
+        int startSecond = startSecond(start, slot);
+        int closingSecond = start.getEndTime().toSecondOfDay();
+        if (startSecond >= closingSecond) {
+            return NO_ROUTE; // The slot starts after the lift closed, possibly after midnight
+        }
+        LocalTime startTime = LocalTime.ofSecondOfDay(startSecond);
+        int endSecond = Math.min(startSecond + hours * SECONDS_PER_HOUR, closingSecond);
+        LocalTime endTime = LocalTime.ofSecondOfDay(endSecond);
+
+        Optional<RouteRequest> request = planner.createSessionRequest(graph, profile, start, startTime, endTime);
+        if (request.isEmpty()) {
+            return NO_ROUTE;
+        }
+
+        Optional<Route> route = planner.planRoute(request.get());
+        if (route.isEmpty()) {
+            return NO_ROUTE;
+        }
+
+        return route.get().getNodeIndexes();
+    }
+
+    private int startSecond(Lift start, int slot) {
+        return start.getStartTime().toSecondOfDay() + slot * START_SLOT_SECONDS;
+    }
+
+    private SimulationReport createReport() {
+        int firstSecond = Integer.MAX_VALUE;
+        int lastSecond = 0;
+        for (Lift lift : graph.getAllLifts()) {
+            firstSecond = Math.min(firstSecond, lift.getStartTime().toSecondOfDay());
+            lastSecond = Math.max(lastSecond, lift.getEndTime().toSecondOfDay());
+        }
+        return new SimulationReport(indexedGraph, firstSecond, lastSecond, BUCKET_SECONDS);
+    }
+
+    // One profile per combination of skill, goal and liked difficulty (or none)
+    private static List<SkierProfile> createProfiles() {
+        List<SkierProfile> result = new ArrayList<>();
+        for (Skill skill : Skill.values()) {
+            for (Goal goal : Goal.values()) {
+                for (int liked = -1; liked < Difficulty.values().length; liked++) {
+                    SkierProfile profile = new SkierProfile();
+                    profile.resetPreferences();
+                    profile.setSkill(skill);
+                    profile.setGoal(goal);
+                    if (liked >= 0) {
+                        profile.setDifficultyPreference(Difficulty.values()[liked], Preference.LIKE);
+                    }
+                    result.add(profile);
+                }
+            }
+        }
+        return result;
+    }
+
+    // The event loop works on primitive state only. Event IDs below the number
+    // of skiers denote a skier arriving at the next node of their route, all
+    // other IDs denote a boarding at the lift with index (ID - number of skiers).
+    private final class EventLoop {
+        private final EventQueue events;
+        private final int[][] skierRoutes;
+        private final int[] skierSkills;
+        private final int[] skierSteps;
+        private final SimulationReport report;
+        private final long[][] pisteSeconds;
+        private final LiftQueue[] liftQueues;
+        private int strandedCount;
+
+        EventLoop(EventQueue events, int[][] skierRoutes, int[] skierSkills, SimulationReport report) {
+            this.events = events;
+            this.skierRoutes = skierRoutes;
+            this.skierSkills = skierSkills;
+            this.skierSteps = new int[skierRoutes.length];
+            this.report = report;
+            this.pisteSeconds = new long[Skill.values().length][indexedGraph.size()];
+            this.liftQueues = new LiftQueue[indexedGraph.size()];
+            for (int i = 0; i < indexedGraph.size(); i++) {
+                if (indexedGraph.nodeAt(i) instanceof Lift) {
+                    liftQueues[i] = new LiftQueue();
+                }
+            }
+            precomputePisteSeconds();
+        }
+
+        long run() {
+            long eventCount = 0;
+            while (!events.isEmpty()) {
+                long event = events.poll();
+                int id = EventQueue.idOf(event);
+                if (id < skierRoutes.length) {
+                    arrive(id, EventQueue.timeOf(event));
+                } else {
+                    board(id - skierRoutes.length, EventQueue.timeOf(event));
+                }
+                eventCount++;
+            }
+            return eventCount;
+        }
+
+        private void arrive(int skier, long second) {
+            int[] route = skierRoutes[skier];
+            if (skierSteps[skier] >= route.length) {
+                return; // Route finished
+            }
+
+            int node = route[skierSteps[skier]];
+            LiftQueue queue = liftQueues[node];
+            if (queue == null) {
+                skierSteps[skier]++;
+                events.schedule(second + pisteSeconds[skierSkills[skier]][node], skier);
+                return;
+            }
+
+            queue.add(skier, second);
+            if (!queue.isBoardingScheduled()) {
+                Lift lift = (Lift) indexedGraph.nodeAt(node);
+                queue.setBoardingScheduled(true);
+                long boardingSecond = Math.max(second, queue.getNextBoardingSecond());
+                events.schedule(Math.max(boardingSecond, lift.getStartTime().toSecondOfDay()), skierRoutes.length + node);
+            }
+        }
+
+        private void board(int liftIndex, long second) {
+            Lift lift = (Lift) indexedGraph.nodeAt(liftIndex);
+            LiftQueue queue = liftQueues[liftIndex];
+            if (second >= lift.getEndTime().toSecondOfDay()) {
+                // Lift closed, everybody still waiting is stranded
+                strandedCount += queue.size();
+                while (queue.size() > 0) {
+                    queue.poll();
+                }
+                queue.setBoardingScheduled(false);
+                return;
+            }
+
+            report.recordQueueLength(liftIndex, second, queue.size());
+            queue.setNextBoardingSecond(second + SECONDS_PER_MINUTE);
+            long openSecond = lift.getStartTime().toSecondOfDay();
+            long rideSeconds = lift.getRideTime() * (long) SECONDS_PER_MINUTE;
+            int boarding = Math.min(queue.size(), lift.getType().getCapacityPerMinute());
+            for (int i = 0; i < boarding; i++) {
+                // Skiers joining before the lift opens start queuing when it opens
+                long queueSecond = Math.max(queue.peekJoinSecond(), openSecond);
+                int skier = queue.poll();
+                report.recordBoarding(liftIndex, queueSecond, second - queueSecond);
+                skierSteps[skier]++;
+                events.schedule(second + rideSeconds, skier);
+            }
+
+            if (queue.size() > 0) {
+                events.schedule(second + SECONDS_PER_MINUTE, skierRoutes.length + liftIndex);
+            } else {
+                queue.setBoardingScheduled(false);
+            }
+        }
+
+        // All pistes are evaluated for all skill levels in one batch
+        private void precomputePisteSeconds() {
+            List<Piste> pistes = new ArrayList<>();
+            List<Integer> pisteNodes = new ArrayList<>();
+            for (int i = 0; i < indexedGraph.size(); i++) {
+                if (indexedGraph.nodeAt(i) instanceof Piste piste) {
+                    pistes.add(piste);
+                    pisteNodes.add(i);
+                }
+            }
+
+            Skill[] skills = Skill.values();
+            int[] pairPistes = new int[skills.length * pistes.size()];
+            double[] pairModifiers = new double[pairPistes.length];
+            for (int pair = 0; pair < pairPistes.length; pair++) {
+                pairPistes[pair] = pair % pistes.size();
+                pairModifiers[pair] = skills[pair / pistes.size()].getModifier();
+            }
+            long[] seconds = new long[pairPistes.length];
+            new PisteTimeBatch(pistes).computeSeconds(pairPistes, pairModifiers, seconds);
+
+            for (int pair = 0; pair < pairPistes.length; pair++) {
+                pisteSeconds[pair / pistes.size()][pisteNodes.get(pairPistes[pair])] = seconds[pair];
+            }
+        }
+    }
+}
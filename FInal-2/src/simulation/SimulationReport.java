@@ -0,0 +1,191 @@
+package simulation;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import domain.graph.IndexedGraph;
+import domain.graph.Lift;
+import domain.graph.QueueProfile;
+
+/**
+ * The SimulationReport class collects the time-varying queue statistics of a
+ * resort simulation. For every lift and every time bucket it records the
+ * average and maximum queue length as well as the average time skiers joining
+ * the queue during that bucket had to wait.
+ *
+ * @author udqch
+ */
+public final class SimulationReport {
+    private static final String BUCKET_FORMAT = "%s %s %d %d %d";
+    private static final String SUMMARY_FORMAT = "simulated %d skiers (%d without route, %d stranded) with %d events in %d ms";
+    private static final int SECONDS_PER_MINUTE = 60;
+
+    private final IndexedGraph graph;
+    private final int firstSecond;
+    private final int bucketSeconds;
+    private final int bucketCount;
+    private final long[][] queueLengthSum;
+    private final int[][] maxQueueLength;
+    private final long[][] waitSum;
+    private final int[][] boarded;
+
+    private int skierCount;
+    private int unplannedCount;
+    private int strandedCount;
+    private long eventCount;
+    private long elapsedNanos;
+
+    /**
+     * Constructs an empty report for the lifts of the given graph.
+     *
+     * @param graph         the indexed graph the simulation runs on
+     * @param firstSecond   the second of the day at which the first bucket starts
+     * @param lastSecond    the second of the day at which the last bucket ends
+     * @param bucketSeconds the length of each bucket in seconds
+     */
+    SimulationReport(IndexedGraph graph, int firstSecond, int lastSecond, int bucketSeconds) {
+        this.graph = graph;
+        this.firstSecond = firstSecond;
+        this.bucketSeconds = bucketSeconds;
+        this.bucketCount = Math.max(1, (lastSecond - firstSecond + bucketSeconds - 1) / bucketSeconds);
+        this.queueLengthSum = new long[graph.size()][];
+        this.maxQueueLength = new int[graph.size()][];
+        this.waitSum = new long[graph.size()][];
+        this.boarded = new int[graph.size()][];
+        for (int i = 0; i < graph.size(); i++) {
+            if (graph.nodeAt(i) instanceof Lift) {
+                queueLengthSum[i] = new long[bucketCount];
+                maxQueueLength[i] = new int[bucketCount];
+                waitSum[i] = new long[bucketCount];
+                boarded[i] = new int[bucketCount];
+            }
+        }
+    }
+
+    /**
+     * Records the length of a lift queue observed at a boarding.
+     *
+     * @param lift        the index of the lift
+     * @param secondOfDay the time of the observation
+     * @param length      the number of waiting skiers
+     */
+    void recordQueueLength(int lift, long secondOfDay, int length) {
+        int bucket = bucketOf(secondOfDay);
+        queueLengthSum[lift][bucket] += length;
+        maxQueueLength[lift][bucket] = Math.max(maxQueueLength[lift][bucket], length);
+    }
+
+    /**
+     * Records a skier boarding a lift.
+     *
+     * @param lift        the index of the lift
+     * @param queueSecond the second of the day at which the skier started
+     *                    queuing, at the earliest when the lift opened
+     * @param waitSeconds the time the skier spent in the queue
+     */
+    void recordBoarding(int lift, long queueSecond, long waitSeconds) {
+        int bucket = bucketOf(queueSecond);
+        waitSum[lift][bucket] += waitSeconds;
+        boarded[lift][bucket]++;
+    }
+
+    /**
+     * Records the overall counters of the simulation run.
+     *
+     * @param skiers    the number of simulated skiers
+     * @param unplanned the number of skiers for whom no route was found
+     * @param stranded  the number of skiers still queuing when a lift closed
+     * @param events    the number of processed events
+     * @param nanos     the wall time of the simulation in nanoseconds
+     */
+    void recordTotals(int skiers, int unplanned, int stranded, long events, long nanos) {
+        this.skierCount = skiers;
+        this.unplannedCount = unplanned;
+        this.strandedCount = stranded;
+        this.eventCount = events;
+        this.elapsedNanos = nanos;
+    }
+
+    /**
+     * Returns the average queue length of a lift for every time bucket.
+     *
+     * @param liftIndex the index of the lift in the indexed graph
+     * @return the average number of waiting skiers per bucket
+     */
+    public int[] getAverageQueueLengths(int liftIndex) {
+        int[] result = new int[queueLengthSum[liftIndex].length];
+        int samplesPerBucket = bucketSeconds / SECONDS_PER_MINUTE;
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (int) (queueLengthSum[liftIndex][i] / samplesPerBucket);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the average waiting time of a lift for every time bucket.
+     *
+     * @param liftIndex the index of the lift in the indexed graph
+     * @return the average waiting time in seconds per bucket
+     */
+    public int[] getAverageWaitSeconds(int liftIndex) {
+        int[] result = new int[waitSum[liftIndex].length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = boarded[liftIndex][i] == 0 ? 0 : (int) (waitSum[liftIndex][i] / boarded[liftIndex][i]);
+        }
+        return result;
+    }
+
+    /**
+     * Converts the simulated waiting times into queue profiles that can be fed
+     * back into the time calculation of the route planner.
+     *
+     * @return the queue profiles mapped by lift ID
+     */
+    public Map<String, QueueProfile> toQueueProfiles() {
+        Map<String, QueueProfile> profiles = new HashMap<>();
+        for (int i = 0; i < graph.size(); i++) {
+            if (waitSum[i] != null) {
+                profiles.put(graph.nodeAt(i).getId(),
+                        QueueProfile.ofBuckets(firstSecond, bucketSeconds, getAverageWaitSeconds(i)));
+            }
+        }
+        return profiles;
+    }
+
+    /**
+     * Formats the report. Every bucket in which a lift had a queue is printed as
+     * one line with the lift ID, the bucket start, the average and maximum queue
+     * length and the average waiting time in minutes, followed by a summary line.
+     *
+     * @return the lines of the report
+     */
+    public List<String> format() {
+        List<String> lines = new ArrayList<>();
+        // Indexes are assigned in ascending ID order, so lifts are already sorted
+        for (int i = 0; i < graph.size(); i++) {
+            if (waitSum[i] == null) {
+                continue;
+            }
+            int[] averageLengths = getAverageQueueLengths(i);
+            int[] averageWaits = getAverageWaitSeconds(i);
+            for (int b = 0; b < averageLengths.length; b++) {
+                if (maxQueueLength[i][b] > 0) {
+                    LocalTime bucketStart = LocalTime.ofSecondOfDay(firstSecond + (long) b * bucketSeconds);
+                    lines.add(BUCKET_FORMAT.formatted(graph.nodeAt(i).getId(), bucketStart, averageLengths[b],
+                            maxQueueLength[i][b], averageWaits[b] / SECONDS_PER_MINUTE));
+                }
+            }
+        }
+        lines.add(SUMMARY_FORMAT.formatted(skierCount, unplannedCount, strandedCount, eventCount,
+                elapsedNanos / 1_000_000));
+        return lines;
+    }
+
+    private int bucketOf(long secondOfDay) {
+        long bucket = (secondOfDay - firstSecond) / bucketSeconds;
+        return (int) Math.max(0, Math.min(bucketCount - 1, bucket));
+    }
+}
@@ -1,7 +1,9 @@
 package utils;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import domain.graph.Lift;
 import domain.graph.Piste;
@@ -13,18 +15,24 @@ import exceptions.RoutingException;
  * The CommandList class provides methods for listing various elements of the
  * ski graph, such as lifts and pistes. It formats the output according to the
  * specified requirements and handles cases where there are no elements to list.
+ * The formatted lists are cached per graph version, so repeated listings of an
+ * unchanged graph cost no formatting.
  *
  * @author udqch
  */
 public final class GraphFormatter {
-    private static final String LIFTS_FORMAT = "%s %s %s %s %d %d";
+    private static final String SEPARATOR = " ";
     private static final String TALSTATION_TYPE = "TRANSIT";
-    private static final String PISTES_FORMAT = "%s %s %s %d %d";
+    private static final Map<SkiGraph, RenderedLists> RENDERED = Collections.synchronizedMap(new WeakHashMap<>());
 
     private GraphFormatter() {
         // Private constructor to prevent instantiation
     }
 
+    // The formatted lists of one version of a graph
+    private record RenderedLists(int version, String lifts, String pistes) {
+    }
+
     /**
      * Lists all lifts in the ski graph.
      *
@@ -36,28 +44,7 @@ public final class GraphFormatter {
         if (graph == null || graph.getAllLifts().isEmpty()) {
             throw new RoutingException(RoutingError.NO_GRAPH_LOADED.getMessage());
         }
-
-        List<Lift> lifts = new ArrayList<>(graph.getAllLifts());
-        lifts.sort((l1, l2) -> l1.getId().compareTo(l2.getId()));
-
-        StringBuilder result = new StringBuilder();
-        for (int i = 0; i < lifts.size(); i++) {
-            Lift lift = lifts.get(i);
-
-            String line = String.format(LIFTS_FORMAT,
-                    lift.getId(), lift.getType().name(), lift.getStartTime().toString(), lift.getEndTime().toString(),
-                    lift.getRideTime(), lift.getQueueTime());
-            if (lift.isTalstation()) {
-                line += " " + TALSTATION_TYPE;
-            }
-
-            result.append(line);
-            if (i < lifts.size() - 1) {
-                result.append(System.lineSeparator());
-            }
-        }
-
-        return result.toString();
+        return render(graph).lifts();
     }
 
     /**
@@ -71,24 +58,58 @@ public final class GraphFormatter {
         if (graph == null || graph.getAllPistes().isEmpty()) {
             throw new RoutingException(RoutingError.NO_GRAPH_LOADED.getMessage());
         }
+        return render(graph).pistes();
+    }
 
-        List<Piste> pistes = new ArrayList<>(graph.getAllPistes());
-        pistes.sort((p1, p2) -> p1.getId().compareTo(p2.getId()));
+    // Returns the cached lists of the graph, formatting them again if the graph
+    // has changed since
+    private static RenderedLists render(SkiGraph graph) {
+        RenderedLists rendered = RENDERED.get(graph);
+        if (rendered == null || rendered.version() != graph.getVersion()) {
+            rendered = new RenderedLists(graph.getVersion(),
+                    formatLifts(graph.getAllLifts()), formatPistes(graph.getAllPistes()));
+            RENDERED.put(graph, rendered);
+        }
+        return rendered;
+    }
 
+    // Format per line: <id> <type> <start> <end> <ride> <queue> [TRANSIT]
+    private static String formatLifts(List<Lift> lifts) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < lifts.size(); i++) {
+            Lift lift = lifts.get(i);
+            result.append(lift.getId()).append(SEPARATOR)
+                    .append(lift.getType().name()).append(SEPARATOR)
+                    .append(lift.getStartTime()).append(SEPARATOR)
+                    .append(lift.getEndTime()).append(SEPARATOR)
+                    .append(lift.getRideTime()).append(SEPARATOR)
+                    .append(lift.getQueueTime());
+            if (lift.isTalstation()) {
+                result.append(SEPARATOR).append(TALSTATION_TYPE);
+            }
+
+            if (i < lifts.size() - 1) {
+                result.append(System.lineSeparator());
+            }
+        }
+        return result.toString();
+    }
+
+    // Format per line: <id> <difficulty> <surface> <length> <elevation drop>
+    private static String formatPistes(List<Piste> pistes) {
         StringBuilder result = new StringBuilder();
         for (int i = 0; i < pistes.size(); i++) {
             Piste piste = pistes.get(i);
-            String line = String.format(PISTES_FORMAT,
-                    piste.getId(), piste.getDifficulty().name(), piste.getSurface().name(),
-                    (int) piste.getLength(), (int) piste.getElevationDrop());
+            result.append(piste.getId()).append(SEPARATOR)
+                    .append(piste.getDifficulty().name()).append(SEPARATOR)
+                    .append(piste.getSurface().name()).append(SEPARATOR)
+                    .append((int) piste.getLength()).append(SEPARATOR)
+                    .append((int) piste.getElevationDrop());
 
-            result.append(line);
             if (i < pistes.size() - 1) {
                 result.append(System.lineSeparator());
             }
         }
-
         return result.toString();
     }
-
 }
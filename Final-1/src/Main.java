@@ -1,4 +1,5 @@
 import ai.AIPlayer;
+import ai.AIVariant;
 import cli.GameCLI;
 import exceptions.FatalSetupException;
 import exceptions.GameConfigurationException;
@@ -10,6 +11,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import logic.combination.UnitCombiner;
 import message.FatalError;
 import model.Game;
 import model.Team;
@@ -39,9 +41,10 @@ public final class Main {
     private static final String KEY_TEAM1 = "team1";
     private static final String KEY_TEAM2 = "team2";
     private static final String KEY_VERBOSITY = "verbosity";
+    private static final String KEY_AI = "ai";
     private static final Set<String> ALLOWED_KEYS = Set.of(
             KEY_SEED, KEY_BOARD, KEY_UNITS, KEY_DECK, KEY_DECK1,
-            KEY_DECK2, KEY_TEAM1, KEY_TEAM2, KEY_VERBOSITY);
+            KEY_DECK2, KEY_TEAM1, KEY_TEAM2, KEY_VERBOSITY, KEY_AI);
 
     private static final String VERBOSITY_ALL = "all";
     private static final String VERBOSITY_COMPACT = "compact";
@@ -113,6 +116,7 @@ public final class Main {
 
             char[] customSymbols = loadCustomSymbols(argsMap);
             List<UnitTemplate> templates = loadUnitTemplates(argsMap);
+            UnitCombiner.precompute(templates);
             List<List<UnitTemplate>> decks = loadDecks(argsMap, templates);
 
             Collections.shuffle(decks.get(0), random);
@@ -120,12 +124,13 @@ public final class Main {
 
             String[] teamNames = loadTeamName(argsMap);
             boolean isCompact = loadVerbosity(argsMap);
+            AIVariant aiVariant = loadAIVariant(argsMap);
 
             Team team1 = new Team(teamNames[0], decks.get(0));
             Team team2 = new Team(teamNames[1], decks.get(1));
 
             Game game = new Game(team1, team2);
-            AIPlayer aiPlayer = new AIPlayer(game, team2, random);
+            AIPlayer aiPlayer = aiVariant.create(game, team2, random);
             GameCLI parser = new GameCLI(game, aiPlayer, isCompact, customSymbols);
 
             parser.start();
@@ -204,4 +209,12 @@ public final class Main {
         }
         return VERBOSITY_COMPACT.equals(argsMap.get(KEY_VERBOSITY));
     }
+
+    private static AIVariant loadAIVariant(Map<String, String> argsMap) throws FatalSetupException {
+        AIVariant variant = AIVariant.fromString(argsMap.getOrDefault(KEY_AI, AIVariant.GREEDY.getKeyword()));
+        if (variant == null) {
+            throw new FatalSetupException(FatalError.INVALID_AI_MODE.get());
+        }
+        return variant;
+    }
 }
@@ -61,6 +61,7 @@ public class AIPlayer {
     private final Team aiTeam;
     private final Team enemyTeam;
     private final Random random;
+    private final UnitMoveEvaluator unitMoveEvaluator;
 
     /**
      * Constructor for the Controller class.
@@ -76,6 +77,8 @@ public class AIPlayer {
         this.aiTeam = aiTeam;
         this.enemyTeam = (aiTeam.equals(game.getTeam1()) ? game.getTeam2() : game.getTeam1());
         this.random = random;
+        // Kept for the whole game, so its threat map only follows the changes
+        this.unitMoveEvaluator = new UnitMoveEvaluator(board, aiTeam, enemyTeam);
     }
 
     /**
@@ -152,15 +155,7 @@ public class AIPlayer {
         if (chosenUnitIndex != -1) {
             int oneBasedIndex = chosenUnitIndex + 1; // Convert to 1-based index
             List<String> logs = game.executePlace(aiTeam, List.of(oneBasedIndex), chosenField);
-
-            boolean isPlacementFailed = false;
-            for (String log : logs) {
-                if (log.contains(EventLog.COMBINE_FAIL.getTemplate())) {
-                    isPlacementFailed = true;
-                    break;
-                }
-            }
-            if (isPlacementFailed) {
+            if (isPlacementFailed(logs)) {
                 listener.onStepExecuted(logs, kingPos);
             } else {
                 listener.onStepExecuted(logs, chosenField);
@@ -175,8 +170,6 @@ public class AIPlayer {
      * @throws GameLogicException If there is an error during move execution.
      */
     private void moveUnitPhase(AIStepListener listener) throws GameLogicException {
-        UnitMoveEvaluator unitMoveEvaluator = new UnitMoveEvaluator(board, aiTeam, enemyTeam);
-
         while (true) {
             List<EvaluatedUnit> allUnits = unitMoveEvaluator.evaluateAllUnits();
             if (allUnits.isEmpty() || game.isGameOver()) {
@@ -240,6 +233,22 @@ public class AIPlayer {
 
     // --- HELPER METHODS ---
 
+    /**
+     * Checks whether a placement failed to combine the placed unit, in which case
+     * the board is shown around the King instead of the target field.
+     *
+     * @param logs The event log messages of the placement.
+     * @return True if a combination failed during the placement.
+     */
+    static boolean isPlacementFailed(List<String> logs) {
+        for (String log : logs) {
+            if (log.contains(EventLog.COMBINE_FAIL.getTemplate())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Chooses a unit from the player's hand to place on the board based on a
      * weighted random selection, where the weights are determined by the attack
@@ -0,0 +1,98 @@
+package ai;
+
+import java.util.Random;
+import model.Game;
+import model.Team;
+
+/**
+ * The AIVariant enum represents the kinds of AI players that can control a
+ * team. Each variant is selected by a keyword and creates its player with a
+ * wall-clock budget, which the greedy player does not need.
+ *
+ * @author udqch
+ */
+public enum AIVariant {
+    /** The greedy {@link AIPlayer}. */
+    GREEDY("greedy", 0),
+    /** The look-ahead {@link SearchPlayer}. */
+    SEARCH("search", SearchPlayer.DEFAULT_TIME_BUDGET_MILLIS),
+    /** The Monte Carlo {@link MonteCarloPlayer}. */
+    MCTS("mcts", MonteCarloPlayer.DEFAULT_TIME_BUDGET_MILLIS);
+
+    private final String keyword;
+    private final long defaultBudgetMillis;
+
+    AIVariant(String keyword, long defaultBudgetMillis) {
+        this.keyword = keyword;
+        this.defaultBudgetMillis = defaultBudgetMillis;
+    }
+
+    /**
+     * Converts a keyword into the corresponding variant.
+     *
+     * @param text The keyword.
+     * @return The corresponding variant, or null if the keyword does not match
+     *         any variant.
+     */
+    public static AIVariant fromString(String text) {
+        for (AIVariant variant : AIVariant.values()) {
+            if (variant.keyword.equals(text)) {
+                return variant;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Creates an AI player of this variant with the default budget, searching on
+     * all available processors.
+     *
+     * @param game   The game instance to control.
+     * @param aiTeam The team that the AI player belongs to.
+     * @param random A Random instance initialized with a specific seed.
+     * @return The new AI player.
+     */
+    public AIPlayer create(Game game, Team aiTeam, Random random) {
+        return create(game, aiTeam, random, defaultBudgetMillis, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an AI player of this variant.
+     *
+     * @param game         The game instance to control.
+     * @param aiTeam       The team that the AI player belongs to.
+     * @param random       A Random instance initialized with a specific seed.
+     * @param budgetMillis The wall-clock budget of a turn or action in
+     *                     milliseconds.
+     * @param threadCount  The number of threads the player may search on, at
+     *                     least 1.
+     * @return The new AI player.
+     */
+    public AIPlayer create(Game game, Team aiTeam, Random random, long budgetMillis, int threadCount) {
+        if (this == SEARCH) {
+            return new SearchPlayer(game, aiTeam, random, budgetMillis);
+        }
+        if (this == MCTS) {
+            return new MonteCarloPlayer(game, aiTeam, random, budgetMillis, 0, threadCount);
+        }
+        return new AIPlayer(game, aiTeam, random);
+    }
+
+    /**
+     * Returns the keyword selecting this variant.
+     *
+     * @return The keyword.
+     */
+    public String getKeyword() {
+        return keyword;
+    }
+
+    /**
+     * Returns the wall-clock budget the player of this variant gets by default.
+     *
+     * @return The budget in milliseconds, 0 for the greedy player.
+     */
+    public long getDefaultBudgetMillis() {
+        return defaultBudgetMillis;
+    }
+}
@@ -0,0 +1,60 @@
+package ai;
+
+import exceptions.GameLogicException;
+import java.util.ArrayList;
+import java.util.List;
+import model.ActionGenerator;
+import model.Game;
+import model.Position;
+import model.Team;
+import model.Unit;
+
+/**
+ * Helper class executing the packed actions of an {@link ActionGenerator} on a
+ * {@link Game}. Every step is reported to the listener with the position to
+ * show, chosen the same way as {@link AIPlayer} does.
+ *
+ * @author udqch
+ */
+final class ActionHelper {
+
+    private ActionHelper() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Executes a packed action of a team on the game and reports it.
+     *
+     * @param game     The game to execute the action on.
+     * @param team     The acting team.
+     * @param action   The packed action.
+     * @param listener The listener receiving the logs of the step.
+     * @throws GameLogicException If the action is invalid in the game.
+     */
+    static void execute(Game game, Team team, int action, AIStepListener listener) throws GameLogicException {
+        Position pos = Position.fromIndex(ActionGenerator.fieldOf(action));
+        int type = ActionGenerator.typeOf(action);
+        if (type == ActionGenerator.MOVE) {
+            Position targetPos = Position.fromIndex(ActionGenerator.targetOf(action));
+            List<String> logs = game.executeMove(team, pos, targetPos);
+            boolean isOver = game.isGameOver() && game.getCurrentTurn().equals(team);
+            listener.onStepExecuted(logs, isOver ? pos : targetPos);
+        } else if (type == ActionGenerator.PLACE) {
+            Position kingPos = team.getKing().getPosition();
+            List<Integer> indices = new ArrayList<>();
+            for (int i = 0; i < ActionGenerator.cardCountOf(action); i++) {
+                indices.add(ActionGenerator.handIndexOf(action, i) + 1); // Convert to 1-based index
+            }
+            List<String> logs = game.executePlace(team, indices, pos);
+            listener.onStepExecuted(logs, AIPlayer.isPlacementFailed(logs) ? kingPos : pos);
+        } else if (type == ActionGenerator.FLIP) {
+            listener.onStepExecuted(game.executeFlip(team, pos), pos);
+        } else if (type == ActionGenerator.BLOCK) {
+            listener.onStepExecuted(game.executeBlock(team, pos), pos);
+        } else {
+            int discardIndex = ActionGenerator.discardIndexOf(action);
+            Unit discardedUnit = (discardIndex < 0) ? null : team.getHand().get(discardIndex);
+            listener.onStepExecuted(game.endTurn(team, discardedUnit), null);
+        }
+    }
+}
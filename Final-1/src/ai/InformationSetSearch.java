@@ -0,0 +1,294 @@
+package ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import model.ActionGenerator;
+import model.Determinizer;
+import model.GameState;
+
+/**
+ * The InformationSetSearch class chooses an action with single-observer
+ * information set Monte Carlo tree search. Every iteration deals the cards the
+ * acting team cannot see anew with a {@link Determinizer}, walks down the tree
+ * with UCB over the actions that are legal in this determinization, adds one
+ * node, finishes the game with a {@link PlayoutPolicy} and backs the result up
+ * the path. As the legal actions differ between determinizations, the
+ * exploration term counts how often an action was available instead of how
+ * often its parent was visited.
+ *
+ * <p>
+ * The iterations run in parallel: every thread builds its own tree from its own
+ * random stream, split from the stream of the caller, and the visit counts of
+ * the actions at the root are added up over all trees. The search stops when
+ * the playouts or the wall-clock time of its budget are used up. A budget in
+ * playouts is divided among the threads in advance, so that the result is
+ * reproducible from the random stream.
+ * </p>
+ *
+ * <p>
+ * All searches share one pool of threads, one less than there are processors.
+ * Workers beyond the pool wait for a thread, so with a wall-clock budget more
+ * workers than processors do not add playouts.
+ * </p>
+ *
+ * @author udqch
+ */
+final class InformationSetSearch {
+    // Placements of more cards are left to the playouts
+    private static final int MAX_CARDS = 1;
+    private static final int NODE_CAPACITY = 1 << 16;
+    private static final int PLAYOUT_TURNS = 20;
+    private static final double EXPLORATION = 0.7;
+    // The score at which a cut-off playout counts as three quarters of a win
+    private static final double EVALUATION_SCALE = 2000;
+    private static final int ROOT = 0;
+
+    // The threads of all searches, the calling thread runs the first worker itself
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() - 1), InformationSetSearch::newThread);
+
+    private final Worker[] workers;
+    private final int[] rootActions = new int[ActionGenerator.MAX_ACTIONS];
+    private final long[] rootVisits = new long[ActionGenerator.MAX_ACTIONS];
+    private int rootCount;
+    private long playoutCount;
+
+    /**
+     * Constructor for the InformationSetSearch class.
+     *
+     * @param threadCount The number of workers running iterations, at least 1.
+     */
+    InformationSetSearch(int threadCount) {
+        workers = new Worker[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            workers[i] = new Worker();
+        }
+    }
+
+    private static Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable);
+        thread.setDaemon(true); // The search never keeps the program alive
+        return thread;
+    }
+
+    /**
+     * Searches the best action of the team whose turn it is.
+     *
+     * @param root          The state of the game, which is not changed.
+     * @param budgetMillis  The wall-clock budget in milliseconds, unlimited if 0
+     *                      or less.
+     * @param playoutBudget The total number of playouts, unlimited if 0 or less.
+     * @param random        The random stream to split the streams of the threads
+     *                      from.
+     * @return The packed action with the most visits, or {@link GameState#NONE}
+     *         if the team has no legal action.
+     */
+    int findBestAction(GameState root, long budgetMillis, int playoutBudget, SplittableRandom random) {
+        long deadline = (budgetMillis > 0) ? System.nanoTime() + budgetMillis * 1_000_000L : Long.MAX_VALUE;
+        int team = root.getCurrentTeam();
+        rootCount = ActionGenerator.generate(root, team, rootActions, MAX_CARDS);
+        Arrays.sort(rootActions, 0, rootCount);
+        Arrays.fill(rootVisits, 0, rootCount, 0);
+        playoutCount = 0;
+        if (rootCount <= 1) {
+            return (rootCount == 0) ? GameState.NONE : rootActions[0];
+        }
+
+        // The combinations of the playouts are registered in a catalog of the search
+        GameState searchRoot = root.copy(root.getCatalog().copy());
+        for (int i = 0; i < workers.length; i++) {
+            int quota = Integer.MAX_VALUE;
+            if (playoutBudget > 0) {
+                quota = playoutBudget / workers.length + ((i < playoutBudget % workers.length) ? 1 : 0);
+            }
+            workers[i].prepare(searchRoot, deadline, quota, random.split());
+        }
+        runWorkers();
+
+        int best = 0;
+        for (Worker worker : workers) {
+            playoutCount += worker.addRootVisits();
+        }
+        for (int i = 1; i < rootCount; i++) {
+            if (rootVisits[i] > rootVisits[best]) {
+                best = i;
+            }
+        }
+        return rootActions[best];
+    }
+
+    private void runWorkers() {
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 1; i < workers.length; i++) {
+            futures.add(EXECUTOR.submit(workers[i]));
+        }
+        workers[0].call();
+        try {
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // The visits counted so far still choose an action
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // The result of a state for the first team, between 0 for a loss and 1 for a
+    // win
+    private static double resultOf(GameState state) {
+        if (state.isGameOver()) {
+            return (state.getWinner() == 0) ? 1 : 0;
+        }
+        return 0.5 + 0.5 * Math.tanh(TurnSearch.evaluate(state, 0) / EVALUATION_SCALE);
+    }
+
+    // --- GETTERS ---
+
+    /**
+     * Returns the number of playouts of the last search.
+     *
+     * @return The number of playouts.
+     */
+    long getPlayoutCount() {
+        return playoutCount;
+    }
+
+    // The tree and scratch space of one thread
+    private final class Worker implements Callable<Void> {
+        private final int[] actions = new int[NODE_CAPACITY];
+        private final int[] teams = new int[NODE_CAPACITY];
+        private final int[] parents = new int[NODE_CAPACITY];
+        private final int[] firstChildren = new int[NODE_CAPACITY];
+        private final int[] nextSiblings = new int[NODE_CAPACITY];
+        private final int[] visits = new int[NODE_CAPACITY];
+        private final int[] availabilities = new int[NODE_CAPACITY];
+        private final double[] rewards = new double[NODE_CAPACITY];
+        private int nodeCount;
+
+        private final int[] legalActions = new int[ActionGenerator.MAX_ACTIONS];
+        private final boolean[] isTried = new boolean[ActionGenerator.MAX_ACTIONS];
+        private final PlayoutPolicy policy = new PlayoutPolicy();
+        private final Determinizer determinizer = new Determinizer();
+        private GameState state;
+        private GameState root;
+        private long deadline;
+        private int quota;
+        private SplittableRandom random;
+
+        void prepare(GameState root, long deadline, int quota, SplittableRandom random) {
+            this.root = root;
+            this.deadline = deadline;
+            this.quota = quota;
+            this.random = random;
+            if (state == null) {
+                state = root.copy();
+            }
+            nodeCount = 0;
+            addNode(GameState.NONE, 0, GameState.NONE);
+        }
+
+        @Override
+        public Void call() {
+            for (int i = 0; i < quota && System.nanoTime() < deadline; i++) {
+                iterate();
+            }
+            return null;
+        }
+
+        private void iterate() {
+            int team = root.getCurrentTeam();
+            root.copyInto(state);
+            determinizer.determinize(state, team, random);
+
+            int node = ROOT;
+            boolean isExpanded = false;
+            while (!isExpanded && !state.isGameOver()) {
+                int actingTeam = state.getCurrentTeam();
+                int count = ActionGenerator.generate(state, actingTeam, legalActions, MAX_CARDS);
+                Arrays.sort(legalActions, 0, count);
+                Arrays.fill(isTried, 0, count, false);
+
+                int selected = GameState.NONE;
+                double bestValue = Double.NEGATIVE_INFINITY;
+                int available = 0;
+                for (int child = firstChildren[node]; child != GameState.NONE; child = nextSiblings[child]) {
+                    int index = Arrays.binarySearch(legalActions, 0, count, actions[child]);
+                    if (index < 0) {
+                        continue; // Not legal in this determinization
+                    }
+                    isTried[index] = true;
+                    available++;
+                    availabilities[child]++;
+                    double value = rewards[child] / visits[child]
+                            + EXPLORATION * Math.sqrt(Math.log(availabilities[child]) / visits[child]);
+                    if (value > bestValue) {
+                        bestValue = value;
+                        selected = child;
+                    }
+                }
+
+                if (available < count && nodeCount < NODE_CAPACITY) {
+                    // Expands a random action without a node
+                    int index = GameState.NONE;
+                    for (int skip = random.nextInt(count - available); skip >= 0; skip--) {
+                        index++;
+                        while (isTried[index]) {
+                            index++;
+                        }
+                    }
+                    selected = addNode(legalActions[index], actingTeam, node);
+                    isExpanded = true;
+                } else if (selected == GameState.NONE) {
+                    break;
+                }
+                if (!state.apply(actingTeam, actions[selected])) {
+                    break; // Cannot happen with generated actions
+                }
+                node = selected;
+            }
+
+            policy.play(state, PLAYOUT_TURNS, random);
+            double result = resultOf(state);
+            for (int n = node; n != GameState.NONE; n = parents[n]) {
+                visits[n]++;
+                rewards[n] += (teams[n] == 0) ? result : 1 - result;
+            }
+        }
+
+        private int addNode(int action, int team, int parent) {
+            int node = nodeCount++;
+            actions[node] = action;
+            teams[node] = team;
+            parents[node] = parent;
+            firstChildren[node] = GameState.NONE;
+            visits[node] = 0;
+            availabilities[node] = 1;
+            rewards[node] = 0;
+            if (parent != GameState.NONE) {
+                nextSiblings[node] = firstChildren[parent];
+                firstChildren[parent] = node;
+            }
+            return node;
+        }
+
+        // Adds the visits of the children of the root to the totals and returns
+        // the number of playouts of this worker
+        long addRootVisits() {
+            for (int child = firstChildren[ROOT]; child != GameState.NONE; child = nextSiblings[child]) {
+                int index = Arrays.binarySearch(rootActions, 0, rootCount, actions[child]);
+                if (index >= 0) {
+                    rootVisits[index] += visits[child];
+                }
+            }
+            return visits[ROOT];
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package ai;
+
+import exceptions.GameLogicException;
+import java.util.Random;
+import java.util.SplittableRandom;
+import model.Determinizer;
+import model.Game;
+import model.GameState;
+import model.StateConverter;
+import model.Team;
+import model.UnitCatalog;
+
+/**
+ * The MonteCarloPlayer class is an AI player that decides every action with an
+ * {@link InformationSetSearch}. Unlike the {@link SearchPlayer}, it hardly
+ * reads hidden information: the hidden units, hand and deck of the enemy as
+ * well as the order of its own deck are guessed anew for every playout, so its
+ * decisions hold up against every arrangement the enemy could have. Only the
+ * stats of hidden combined enemy units are read as they are, as the
+ * {@link Determinizer} cannot deal them anew.
+ *
+ * <p>
+ * Before each action the game is encoded as a {@link GameState} and searched on
+ * all available processors. The search is limited by a number of playouts, a
+ * wall-clock time or both. With a budget in playouts only, the decisions are
+ * reproducible from the seed.
+ * </p>
+ *
+ * @author udqch
+ */
+public class MonteCarloPlayer extends AIPlayer {
+    /** The default wall-clock budget of an action in milliseconds. */
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 250;
+
+    private final Game game;
+    private final Team aiTeam;
+    private final long budgetMillis;
+    private final int playoutBudget;
+    private final SplittableRandom random;
+    private final UnitCatalog catalog = new UnitCatalog();
+    private final InformationSetSearch search;
+
+    /**
+     * Constructor for the MonteCarloPlayer class, searching on all available
+     * processors. At least one budget must be positive.
+     *
+     * @param game          The game instance to control.
+     * @param aiTeam        The team that the AI player belongs to.
+     * @param random        A Random instance initialized with a specific seed.
+     * @param budgetMillis  The wall-clock budget of each action in milliseconds,
+     *                      unlimited if 0 or less.
+     * @param playoutBudget The number of playouts of each action, unlimited if 0
+     *                      or less.
+     */
+    public MonteCarloPlayer(Game game, Team aiTeam, Random random, long budgetMillis, int playoutBudget) {
+        this(game, aiTeam, random, budgetMillis, playoutBudget, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor for the MonteCarloPlayer class. At least one budget must be
+     * positive.
+     *
+     * @param game          The game instance to control.
+     * @param aiTeam        The team that the AI player belongs to.
+     * @param random        A Random instance initialized with a specific seed.
+     * @param budgetMillis  The wall-clock budget of each action in milliseconds,
+     *                      unlimited if 0 or less.
+     * @param playoutBudget The number of playouts of each action, unlimited if 0
+     *                      or less.
+     * @param threadCount   The number of threads searching each action, at least
+     *                      1.
+     */
+    public MonteCarloPlayer(Game game, Team aiTeam, Random random, long budgetMillis, int playoutBudget,
+            int threadCount) {
+        super(game, aiTeam, random);
+        this.game = game;
+        this.aiTeam = aiTeam;
+        this.budgetMillis = budgetMillis;
+        this.playoutBudget = playoutBudget;
+        this.random = new SplittableRandom(random.nextLong());
+        this.search = new InformationSetSearch(threadCount);
+    }
+
+    /**
+     * Searches and executes one action after the other until the turn has ended.
+     *
+     * @param aiStepCallback A callback interface to receive updates after each step
+     *                       of the AI's turn.
+     * @throws GameLogicException If there is an error during move execution.
+     */
+    @Override
+    public void playTurn(AIStepListener aiStepCallback) throws GameLogicException {
+        while (!game.isGameOver() && game.getCurrentTurn().equals(aiTeam)) {
+            int action = search.findBestAction(StateConverter.toState(game, catalog), budgetMillis, playoutBudget, random);
+            if (action == GameState.NONE) {
+                return;
+            }
+            ActionHelper.execute(game, aiTeam, action, aiStepCallback);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package ai;
+
+import java.util.SplittableRandom;
+import model.ActionGenerator;
+import model.GameState;
+import model.TeamTable;
+import model.UnitTable;
+import utils.GameConstants;
+
+/**
+ * The PlayoutPolicy class plays a {@link GameState} forward with cheap
+ * randomized choices, as needed for the playouts of a Monte Carlo search. The
+ * King mostly stays in place, a random card is placed next to it, units attack
+ * neighbours they beat and otherwise advance on the enemy King or block, and
+ * the turn ends with a random discard if the hand is full.
+ *
+ * <p>
+ * The policy only calls the actions of the state and never generates all legal
+ * actions, so a playout allocates nothing. An instance keeps scratch space and
+ * must not be shared between threads.
+ * </p>
+ *
+ * @author udqch
+ */
+final class PlayoutPolicy {
+    private static final int COLS = GameConstants.BOARD_COLS;
+    private static final int ROWS = GameConstants.BOARD_ROWS;
+    private static final int NONE = GameState.NONE;
+    private static final int[][] STEPS = { { 0, 1 }, { 1, 0 }, { 0, -1 }, { -1, 0 } };
+    // The King moves in one of this many turns
+    private static final int KING_MOVE_RATE = 2;
+    // Units without a duel to win advance in one of this many turns
+    private static final int ADVANCE_RATE = 2;
+    private static final int PLACEMENT_TRIES = 3;
+
+    private final int[] activeUnits = new int[GameConstants.MAX_ACTIVE_UNITS];
+    private final int[] handIndex = new int[1];
+
+    /**
+     * Plays a state until the game is over or the given number of turns has been
+     * ended. An unfinished turn of the current team counts as a turn.
+     *
+     * @param state    The state to play, which is changed.
+     * @param maxTurns The maximum number of turns to play.
+     * @param random   The source of randomness.
+     */
+    void play(GameState state, int maxTurns, SplittableRandom random) {
+        for (int turn = 0; turn < maxTurns && !state.isGameOver(); turn++) {
+            playTurn(state, state.getCurrentTeam(), random);
+        }
+    }
+
+    private void playTurn(GameState state, int team, SplittableRandom random) {
+        UnitTable units = state.getUnits();
+        TeamTable teams = state.getTeams();
+        int king = state.getKing(team);
+        if (random.nextInt(KING_MOVE_RATE) == 0) {
+            int[] step = STEPS[random.nextInt(STEPS.length)];
+            moveBy(state, team, units.getField(king), step[0], step[1]);
+        }
+        if (!state.isGameOver()) {
+            placeCard(state, team, random);
+        }
+
+        int count = teams.getActiveCount(team);
+        for (int i = 0; i < count; i++) {
+            activeUnits[i] = teams.getActiveUnit(team, i);
+        }
+        for (int i = 0; i < count && !state.isGameOver(); i++) {
+            int unit = activeUnits[i];
+            int field = units.getField(unit);
+            // The slot may have been freed or reused by an earlier action
+            if (field != NONE && state.getUnitAt(field) == unit && units.getOwner(unit) == team) {
+                playUnit(state, team, unit, random);
+            }
+        }
+
+        if (!state.isGameOver()) {
+            boolean isHandFull = teams.getHandSize(team) == GameConstants.MAX_HAND_SIZE;
+            state.apply(team, ActionGenerator.encodeEndTurn(isHandFull ? random.nextInt(teams.getHandSize(team)) : NONE));
+        }
+    }
+
+    private void placeCard(GameState state, int team, SplittableRandom random) {
+        TeamTable teams = state.getTeams();
+        if (state.hasPlacedUnitInTurn() || teams.getHandSize(team) == 0) {
+            return;
+        }
+        handIndex[0] = random.nextInt(teams.getHandSize(team));
+        int kingField = state.getUnits().getField(state.getKing(team));
+        for (int i = 0; i < PLACEMENT_TRIES; i++) {
+            int col = kingField % COLS + random.nextInt(3) - 1;
+            int row = kingField / COLS + random.nextInt(3) - 1;
+            if (isOnBoard(col, row) && state.apply(team, ActionGenerator.encodePlace(row * COLS + col, handIndex, 1))) {
+                return;
+            }
+        }
+    }
+
+    private static void playUnit(GameState state, int team, int unit, SplittableRandom random) {
+        UnitTable units = state.getUnits();
+        if (units.hasMoved(unit)) {
+            return;
+        }
+        int field = units.getField(unit);
+        int bestTarget = NONE;
+        for (int[] step : STEPS) {
+            int col = field % COLS + step[0];
+            int row = field / COLS + step[1];
+            if (!isOnBoard(col, row)) {
+                continue;
+            }
+            int target = state.getUnitAt(row * COLS + col);
+            if (target != NONE && units.getOwner(target) != team && beats(state, unit, target)) {
+                bestTarget = row * COLS + col;
+                if (units.isKing(target)) {
+                    break; // Attacking the King deals the most damage
+                }
+            }
+        }
+        if (bestTarget != NONE) {
+            state.apply(team, ActionGenerator.encodeMove(field, bestTarget));
+        } else if (random.nextInt(ADVANCE_RATE) != 0 || !advance(state, team, unit)) {
+            state.apply(team, ActionGenerator.encodeBlock(field));
+        }
+    }
+
+    // Takes a step towards the enemy King if the field on the way is empty
+    private static boolean advance(GameState state, int team, int unit) {
+        UnitTable units = state.getUnits();
+        int field = units.getField(unit);
+        int enemyKing = units.getField(state.getKing(1 - team));
+        int colDistance = enemyKing % COLS - field % COLS;
+        int rowDistance = enemyKing / COLS - field / COLS;
+        int to;
+        if (Math.abs(colDistance) >= Math.abs(rowDistance)) {
+            to = field + Integer.signum(colDistance);
+        } else {
+            to = field + Integer.signum(rowDistance) * COLS;
+        }
+        return to != field && state.getUnitAt(to) == NONE && state.apply(team, ActionGenerator.encodeMove(field, to));
+    }
+
+    // Checks whether an attack wins the duel, with the rules of StateRules
+    private static boolean beats(GameState state, int attacker, int defender) {
+        UnitTable units = state.getUnits();
+        if (units.isKing(defender)) {
+            return true;
+        }
+        int atk = units.getAtk(attacker);
+        return units.isBlocking(defender) ? atk > units.getDef(defender) : atk > units.getAtk(defender);
+    }
+
+    // Moves the King to an empty field only, as it would eliminate an own unit
+    private static void moveBy(GameState state, int team, int from, int colStep, int rowStep) {
+        int col = from % COLS + colStep;
+        int row = from / COLS + rowStep;
+        if (isOnBoard(col, row) && state.getUnitAt(row * COLS + col) == NONE) {
+            state.apply(team, ActionGenerator.encodeMove(from, row * COLS + col));
+        }
+    }
+
+    private static boolean isOnBoard(int col, int row) {
+        return col >= 0 && col < COLS && row >= 0 && row < ROWS;
+    }
+}
@@ -0,0 +1,72 @@
+package ai;
+
+import exceptions.GameLogicException;
+import java.util.Random;
+import model.Game;
+import model.GameState;
+import model.StateConverter;
+import model.Team;
+import model.UnitCatalog;
+
+/**
+ * The SearchPlayer class is an AI player that looks ahead several turns
+ * instead of choosing each action greedily. At the start of its turn it encodes
+ * the game as a {@link GameState}, lets a {@link TurnSearch} find the best
+ * complete turn within a wall-clock budget and executes the actions of that
+ * turn on the game, reporting every step like {@link AIPlayer}.
+ *
+ * <p>
+ * The depth reached depends on the speed of the machine, so unlike the greedy
+ * player its decisions are not reproducible from the seed alone. Like the
+ * threat scores of the greedy player, the search reads the stats of hidden
+ * units.
+ * </p>
+ *
+ * @author udqch
+ */
+public class SearchPlayer extends AIPlayer {
+    /** The default wall-clock budget of a turn in milliseconds. */
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 1000;
+
+    private final Game game;
+    private final Team aiTeam;
+    private final long budgetMillis;
+    private final UnitCatalog catalog = new UnitCatalog();
+    private final TurnSearch search = new TurnSearch();
+
+    /**
+     * Constructor for the SearchPlayer class.
+     *
+     * @param game         The game instance to control.
+     * @param aiTeam       The team that the AI player belongs to.
+     * @param random       A Random instance initialized with a specific seed.
+     * @param budgetMillis The wall-clock budget of the search of each turn in
+     *                     milliseconds.
+     */
+    public SearchPlayer(Game game, Team aiTeam, Random random, long budgetMillis) {
+        super(game, aiTeam, random);
+        this.game = game;
+        this.aiTeam = aiTeam;
+        this.budgetMillis = budgetMillis;
+    }
+
+    /**
+     * Searches the best turn and executes its actions.
+     *
+     * @param aiStepCallback A callback interface to receive updates after each step
+     *                       of the AI's turn.
+     * @throws GameLogicException If there is an error during move execution.
+     */
+    @Override
+    public void playTurn(AIStepListener aiStepCallback) throws GameLogicException {
+        int turn = search.findBestTurn(StateConverter.toState(game, catalog), budgetMillis);
+        if (turn < 0) {
+            return;
+        }
+
+        TurnPlanner planner = search.getRootPlanner();
+        for (int i = 0; i < planner.getTurnLength(turn) && !game.isGameOver(); i++) {
+            ActionHelper.execute(game, aiTeam, planner.getTurnAction(turn, i), aiStepCallback);
+        }
+    }
+}
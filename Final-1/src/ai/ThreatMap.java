@@ -0,0 +1,125 @@
+package ai;
+
+import model.Board;
+import model.Position;
+import model.Team;
+import model.Unit;
+import utils.GameConstants;
+
+/**
+ * The ThreatMap class stores, for every field of the board, the maximum attack
+ * value of the enemy units in line of sight along the four orthogonal rays. A
+ * ray ends at the first unit it hits, and only enemy units other than the King
+ * count.
+ *
+ * <p>
+ * The map remembers the unit on every field at the time of its last update.
+ * Each update compares these units with the board and sweeps again only the
+ * rows and columns containing a changed field, so all lookups in between are
+ * answered in constant time.
+ * </p>
+ *
+ * @author udqch
+ */
+final class ThreatMap {
+    private static final int COLS = GameConstants.BOARD_COLS;
+    private static final int ROWS = GameConstants.BOARD_ROWS;
+
+    private final Board board;
+    private final Team enemy;
+    private final Unit[] fields = new Unit[ROWS * COLS];
+    // Maximum attack seen along the horizontal and the vertical rays of each field
+    private final int[] rowThreats = new int[ROWS * COLS];
+    private final int[] colThreats = new int[ROWS * COLS];
+
+    /**
+     * Constructor for the ThreatMap class, which computes the map of the current
+     * board.
+     *
+     * @param board The game board to compute the threats on.
+     * @param enemy The team whose units threaten the fields.
+     */
+    ThreatMap(Board board, Team enemy) {
+        this.board = board;
+        this.enemy = enemy;
+        update();
+    }
+
+    /**
+     * Brings the map up to date with the board, recomputing the rows and columns
+     * whose units have changed since the last update.
+     *
+     * @return The mask of the fields whose unit has changed, see
+     *         {@link Position#toIndex()}.
+     */
+    long update() {
+        long changed = 0L;
+        int dirtyRows = 0;
+        int dirtyCols = 0;
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLS; col++) {
+                Unit unit = board.getUnitAt(col, row);
+                int index = row * COLS + col;
+                if (unit != fields[index]) {
+                    fields[index] = unit;
+                    changed |= 1L << index;
+                    dirtyRows |= 1 << row;
+                    dirtyCols |= 1 << col;
+                }
+            }
+        }
+
+        for (int row = 0; row < ROWS; row++) {
+            if ((dirtyRows & (1 << row)) != 0) {
+                sweep(rowThreats, row * COLS, 1, COLS);
+            }
+        }
+        for (int col = 0; col < COLS; col++) {
+            if ((dirtyCols & (1 << col)) != 0) {
+                sweep(colThreats, col, COLS, ROWS);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Returns the maximum attack value of the enemy units in line of sight from
+     * the specified position, as of the last update.
+     *
+     * @param pos The position to check.
+     * @return The maximum attack value of enemy units, or 0 if there are none.
+     */
+    int getMaxAtk(Position pos) {
+        int index = pos.toIndex();
+        return Math.max(rowThreats[index], colThreats[index]);
+    }
+
+    // Sweeps one line of fields in both directions, storing for each field the
+    // attack of the first unit hit before it
+    private void sweep(int[] threats, int start, int step, int length) {
+        int seen = 0;
+        for (int i = 0; i < length; i++) {
+            int index = start + i * step;
+            threats[index] = seen;
+            if (fields[index] != null) {
+                seen = threatOf(fields[index]);
+            }
+        }
+
+        seen = 0;
+        for (int i = length - 1; i >= 0; i--) {
+            int index = start + i * step;
+            threats[index] = Math.max(threats[index], seen);
+            if (fields[index] != null) {
+                seen = threatOf(fields[index]);
+            }
+        }
+    }
+
+    private int threatOf(Unit unit) {
+        if (unit.getOwner() != enemy || unit.isKing()) {
+            return 0; // The unit blocks the line of sight without threatening
+        }
+        return Math.max(0, unit.getAtk());
+    }
+}
@@ -0,0 +1,169 @@
+package ai;
+
+import java.util.Arrays;
+
+/**
+ * The TranspositionTable class remembers the results of searched positions by
+ * their {@link model.GameState#getHash() hash}, so that a search reaching a
+ * position again, for example after units moved back and forth, can reuse the
+ * result instead of searching it again.
+ *
+ * <p>
+ * The table has a fixed size and is kept in a single {@code long[]}. Each
+ * bucket holds two entries of key and data: the first is replaced only by
+ * results of at least the same depth or of a newer search, the second always.
+ * </p>
+ *
+ * <p>
+ * A table belongs to a single search. Each search starts a new generation,
+ * which hides the entries of the searches before, and the keys are only
+ * comparable within a search, as they depend on the IDs of its catalog of
+ * combinations.
+ * </p>
+ *
+ * @author udqch
+ */
+final class TranspositionTable {
+    /** The result of {@link #probe(long)} if the position is not stored. */
+    static final long MISS = 0;
+    /** The bound of a score that is exact. */
+    static final int EXACT = 0;
+    /** The bound of a score that is at least the true value. */
+    static final int LOWER = 1;
+    /** The bound of a score that is at most the true value. */
+    static final int UPPER = 2;
+
+    // Layout of the data of an entry, from the lowest bit
+    private static final int DEPTH_SHIFT = Integer.SIZE;
+    private static final int DEPTH_BITS = 7;
+    private static final int BOUND_SHIFT = DEPTH_SHIFT + DEPTH_BITS;
+    private static final int BOUND_BITS = 2;
+    private static final int GENERATION_SHIFT = BOUND_SHIFT + BOUND_BITS;
+    private static final int GENERATION_BITS = 6;
+    private static final int MOVE_SHIFT = GENERATION_SHIFT + GENERATION_BITS;
+    private static final int MOVE_BITS = 16;
+    private static final long VALID = 1L << (Long.SIZE - 1);
+    // Two entries of two longs per bucket
+    private static final int LONGS_PER_BUCKET = 4;
+
+    private final long[] entries;
+    private final long bucketMask;
+    private int generation;
+
+    /**
+     * Constructor for the TranspositionTable class.
+     *
+     * @param bucketBits The binary logarithm of the number of buckets.
+     */
+    TranspositionTable(int bucketBits) {
+        this.entries = new long[LONGS_PER_BUCKET << bucketBits];
+        this.bucketMask = (1L << bucketBits) - 1;
+    }
+
+    /**
+     * Starts a new search. The entries of earlier searches are no longer returned
+     * and are replaced first.
+     */
+    void newSearch() {
+        generation = (generation + 1) & ((1 << GENERATION_BITS) - 1);
+        if (generation == 0) {
+            Arrays.fill(entries, MISS); // Entries of the previous use of the generation would be returned again
+        }
+    }
+
+    /**
+     * Looks up the entry of a position.
+     *
+     * @param key The hash of the position.
+     * @return The data of the entry of the current search, read with the
+     *         decoding methods, or {@link #MISS}.
+     */
+    long probe(long key) {
+        int bucket = bucketOf(key);
+        for (int i = bucket; i < bucket + LONGS_PER_BUCKET; i += 2) {
+            long data = entries[i + 1];
+            if (data != MISS && entries[i] == key && generationOf(data) == generation) {
+                return data;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Stores the result of a searched position.
+     *
+     * @param key   The hash of the position.
+     * @param score The score of the position.
+     * @param depth The remaining depth the position was searched to.
+     * @param bound The bound of the score: {@link #EXACT}, {@link #LOWER} or
+     *              {@link #UPPER}.
+     * @param move  The index of the best move among the moves of the position,
+     *              below 2<sup>16</sup>.
+     */
+    void store(long key, int score, int depth, int bound, int move) {
+        long data = VALID | (score & 0xFFFFFFFFL) | (long) Math.min(depth, (1 << DEPTH_BITS) - 1) << DEPTH_SHIFT
+                | (long) bound << BOUND_SHIFT | (long) generation << GENERATION_SHIFT
+                | (long) move << MOVE_SHIFT;
+
+        int bucket = bucketOf(key);
+        long stored = entries[bucket + 1];
+        boolean isSamePosition = stored != MISS && entries[bucket] == key;
+        int slot = bucket + 2;
+        if (stored == MISS || isSamePosition || generationOf(stored) != generation
+                || depthOf(stored) <= depth) {
+            slot = bucket;
+        }
+        entries[slot] = key;
+        entries[slot + 1] = data;
+    }
+
+    private int bucketOf(long key) {
+        return (int) (key & bucketMask) * LONGS_PER_BUCKET;
+    }
+
+    // --- DECODING ---
+
+    /**
+     * Returns the score of an entry.
+     *
+     * @param data The data of the entry.
+     * @return The score.
+     */
+    static int scoreOf(long data) {
+        return (int) data;
+    }
+
+    /**
+     * Returns the remaining depth of an entry.
+     *
+     * @param data The data of the entry.
+     * @return The depth.
+     */
+    static int depthOf(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & ((1 << DEPTH_BITS) - 1);
+    }
+
+    /**
+     * Returns the bound of the score of an entry.
+     *
+     * @param data The data of the entry.
+     * @return {@link #EXACT}, {@link #LOWER} or {@link #UPPER}.
+     */
+    static int boundOf(long data) {
+        return (int) (data >>> BOUND_SHIFT) & ((1 << BOUND_BITS) - 1);
+    }
+
+    /**
+     * Returns the index of the best move of an entry.
+     *
+     * @param data The data of the entry.
+     * @return The index of the move.
+     */
+    static int moveOf(long data) {
+        return (int) (data >>> MOVE_SHIFT) & ((1 << MOVE_BITS) - 1);
+    }
+
+    private static int generationOf(long data) {
+        return (int) (data >>> GENERATION_SHIFT) & ((1 << GENERATION_BITS) - 1);
+    }
+}
@@ -0,0 +1,206 @@
+package ai;
+
+import logic.combination.UnitCombiner;
+import model.GameState;
+import model.UnitTable;
+import utils.GameConstants;
+
+/**
+ * Helper class scoring the phases of a turn on a {@link GameState} for the
+ * {@link TurnPlanner}, with the formulas of {@link KingEvaluator},
+ * {@link FieldsEvaluator} and {@link UnitMoveEvaluator}. Higher scores are
+ * better in all phases.
+ *
+ * @author udqch
+ */
+final class TurnEvaluator {
+    /** The orthogonal directions in the order of {@link UnitMoveEvaluator}. */
+    static final int[][] ORTHOGONAL = { { 0, 1 }, { 1, 0 }, { 0, -1 }, { -1, 0 } };
+    /** The eight surrounding directions. */
+    static final int[][] SURROUNDING = {
+            { 0, 1 }, { 1, 1 }, { 1, 0 }, { 1, -1 }, { 0, -1 }, { -1, -1 }, { -1, 0 }, { -1, 1 } };
+    /** The index of blocking among the unit actions, after the four directions. */
+    static final int BLOCK_ACTION = ORTHOGONAL.length;
+    /** The index of staying in place among the unit actions. */
+    static final int STAY_ACTION = BLOCK_ACTION + 1;
+    /** The number of unit actions scored by {@link #scoreUnit}. */
+    static final int ACTION_COUNT = STAY_ACTION + 1;
+
+    private static final int COLS = GameConstants.BOARD_COLS;
+    private static final int ROWS = GameConstants.BOARD_ROWS;
+    private static final int NONE = GameState.NONE;
+    // Scores of UnitMoveEvaluator
+    private static final int KING_TARGET_SCORE = -9999;
+    private static final int HIDDEN_TARGET_PENALTY = 500;
+    private static final int STAT_SCALE = 100;
+    private static final int STEP_WEIGHT = 10;
+
+    private TurnEvaluator() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Scores a move of the King like {@link KingEvaluator}.
+     *
+     * @param state  The state before the move.
+     * @param team   The index of the King's team.
+     * @param target The target field, not owned by the enemy.
+     * @return The score of the move.
+     */
+    static int scoreKingMove(GameState state, int team, int target) {
+        int king = state.getKing(team);
+        int kingField = state.getUnits().getField(king);
+        int fellows = countUnitsAround(state, target, SURROUNDING, team, king);
+        int enemies = countUnitsAround(state, target, SURROUNDING, 1 - team, NONE);
+        int distance = (target == kingField) ? 0 : 1;
+        int fellowPresent = (isOwnedBy(state, target, team) && target != kingField) ? 1 : 0;
+        return fellows - 2 * enemies - distance - 3 * fellowPresent;
+    }
+
+    /**
+     * Scores a placement field like {@link FieldsEvaluator}.
+     *
+     * @param state The state before the placement.
+     * @param team  The index of the placing team.
+     * @param field The field next to the King, not owned by the enemy.
+     * @return The score of the field.
+     */
+    static int scorePlacement(GameState state, int team, int field) {
+        int steps = distance(field, state.getUnits().getField(state.getKing(1 - team)));
+        int fellows = countUnitsAround(state, field, ORTHOGONAL, team, NONE);
+        int enemies = countUnitsAround(state, field, ORTHOGONAL, 1 - team, NONE);
+        return -steps + 2 * enemies - fellows;
+    }
+
+    /**
+     * Scores the actions of a unit like {@link UnitMoveEvaluator}: the four
+     * directions of {@link #ORTHOGONAL}, then blocking and staying in place.
+     * Actions leaving the board score 0 and do not count towards the total.
+     *
+     * @param state       The current state.
+     * @param team        The index of the unit's team.
+     * @param unit        The slot of the unit.
+     * @param isAdvancing Whether empty fields are scored by how much closer they
+     *                    are to the enemy King instead.
+     * @param scores      The array receiving the {@link #ACTION_COUNT} scores.
+     * @return The total of the scores.
+     */
+    static int scoreUnit(GameState state, int team, int unit, boolean isAdvancing, int[] scores) {
+        UnitTable units = state.getUnits();
+        int from = units.getField(unit);
+        int total = 0;
+        for (int i = 0; i < ORTHOGONAL.length; i++) {
+            int to = neighbor(from, ORTHOGONAL[i]);
+            scores[i] = (to == NONE) ? 0 : scoreMove(state, team, unit, to, isAdvancing);
+            total += scores[i];
+        }
+        int threat = maxThreat(state, from, 1 - team);
+        scores[BLOCK_ACTION] = Math.max(1, (units.getDef(unit) - threat) / STAT_SCALE);
+        scores[STAY_ACTION] = Math.max(0, (units.getAtk(unit) - threat) / STAT_SCALE);
+        return total + scores[BLOCK_ACTION] + scores[STAY_ACTION];
+    }
+
+    /**
+     * Checks if the unit on a field belongs to a team.
+     *
+     * @param state The current state.
+     * @param field The field.
+     * @param team  The index of the team.
+     * @return True if the field holds a unit of the team.
+     */
+    static boolean isOwnedBy(GameState state, int field, int team) {
+        int unit = state.getUnitAt(field);
+        return unit != NONE && state.getUnits().getOwner(unit) == team;
+    }
+
+    /**
+     * Returns the field next to a field in a direction.
+     *
+     * @param field     The field.
+     * @param direction The column and row step.
+     * @return The neighboring field, or {@link GameState#NONE} if it is off the
+     *         board.
+     */
+    static int neighbor(int field, int[] direction) {
+        int col = field % COLS + direction[0];
+        int row = field / COLS + direction[1];
+        if (col < 0 || col >= COLS || row < 0 || row >= ROWS) {
+            return NONE;
+        }
+        return row * COLS + col;
+    }
+
+    // The move score of UnitMoveEvaluator
+    private static int scoreMove(GameState state, int team, int unit, int to, boolean isAdvancing) {
+        UnitTable units = state.getUnits();
+        int target = state.getUnitAt(to);
+        int atk = units.getAtk(unit);
+        if (target == NONE) {
+            int enemyKingField = units.getField(state.getKing(1 - team));
+            int steps = distance(to, enemyKingField);
+            if (isAdvancing) {
+                steps -= distance(units.getField(unit), enemyKingField);
+                steps = -steps;
+            }
+            return STEP_WEIGHT * steps - countUnitsAround(state, to, ORTHOGONAL, 1 - team, NONE);
+        }
+
+        if (units.getOwner(target) == team) {
+            if (units.isKing(target)) {
+                return KING_TARGET_SCORE;
+            }
+            long combined = (units.getName(unit) == units.getName(target)) ? UnitCombiner.NO_COMBINATION
+                    : UnitCombiner.combineStats(atk, units.getDef(unit), units.getAtk(target), units.getDef(target));
+            if (combined != UnitCombiner.NO_COMBINATION) {
+                return UnitCombiner.atkOf(combined) + UnitCombiner.defOf(combined) - atk - units.getDef(unit);
+            }
+            return -units.getAtk(target) - units.getDef(target);
+        }
+
+        if (units.isKing(target)) {
+            return atk;
+        } else if (units.isHidden(target)) {
+            return atk - HIDDEN_TARGET_PENALTY;
+        } else if (units.isBlocking(target)) {
+            return atk - units.getDef(target);
+        }
+        return 2 * (atk - units.getAtk(target));
+    }
+
+    // The highest attack of the enemy units in line of sight, like ThreatMap
+    private static int maxThreat(GameState state, int field, int enemy) {
+        UnitTable units = state.getUnits();
+        int threat = 0;
+        for (int[] direction : ORTHOGONAL) {
+            int current = neighbor(field, direction);
+            while (current != NONE && state.getUnitAt(current) == NONE) {
+                current = neighbor(current, direction);
+            }
+            if (current != NONE) {
+                int unit = state.getUnitAt(current);
+                if (units.getOwner(unit) == enemy && !units.isKing(unit)) {
+                    threat = Math.max(threat, units.getAtk(unit));
+                }
+            }
+        }
+        return threat;
+    }
+
+    private static int countUnitsAround(GameState state, int field, int[][] directions, int team, int excludedUnit) {
+        int count = 0;
+        for (int[] direction : directions) {
+            int other = neighbor(field, direction);
+            if (other != NONE) {
+                int unit = state.getUnitAt(other);
+                if (unit != NONE && unit != excludedUnit && state.getUnits().getOwner(unit) == team) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static int distance(int from, int to) {
+        return Math.abs(from % COLS - to % COLS) + Math.abs(from / COLS - to / COLS);
+    }
+}
@@ -0,0 +1,349 @@
+package ai;
+
+import model.ActionGenerator;
+import model.GameState;
+import model.TeamTable;
+import model.UnitTable;
+import utils.GameConstants;
+
+/**
+ * The TurnPlanner class builds a small set of promising complete turns for the
+ * team whose turn it is in a {@link GameState}. A turn follows the phases of
+ * {@link AIPlayer}: the King moves, a card is placed next to the King, the
+ * active units act and the turn ends. Each phase is scored by the
+ * {@link TurnEvaluator} with the formulas of the evaluators of the AI player,
+ * and the planner branches on the best King moves, the best placement fields
+ * and the strategy of the units.
+ *
+ * <p>
+ * The resulting states and the actions of each turn are kept in buffers that
+ * are reused by every call to {@link #plan(GameState)}, so a planner serves one
+ * ply of a search and planning allocates nothing.
+ * </p>
+ *
+ * @author udqch
+ */
+final class TurnPlanner {
+    private static final int KING_BRANCHES = 2;
+    private static final int PLACEMENT_BRANCHES = 2;
+    // A unit may act again after it combined, so allow every unit two actions
+    private static final int MAX_UNIT_ACTIONS = 2 * GameConstants.MAX_ACTIVE_UNITS;
+    private static final int MAX_TURN_ACTIONS = MAX_UNIT_ACTIONS + 3;
+
+    // How the active units act
+    private static final int STRATEGY_EVALUATOR = 0;
+    private static final int STRATEGY_ADVANCE = 1;
+    private static final int STRATEGY_HOLD = 2;
+    private static final int STRATEGY_COUNT = 3;
+
+    /** The maximum number of turns returned by {@link #plan(GameState)}. */
+    static final int MAX_TURNS = KING_BRANCHES * PLACEMENT_BRANCHES * STRATEGY_COUNT;
+
+    private static final int NONE = GameState.NONE;
+    // Directions in the order of KingEvaluator, ending with staying in place
+    private static final int[][] KING_DIRECTIONS = { { 0, 1 }, { 1, 0 }, { 0, -1 }, { -1, 0 }, { 0, 0 } };
+
+    private final GameState[] turns = new GameState[MAX_TURNS];
+    private final int[][] turnActions = new int[MAX_TURNS][MAX_TURN_ACTIONS];
+    private final int[] turnLengths = new int[MAX_TURNS];
+    private int turnCount;
+
+    private GameState afterKing;
+    private GameState afterPlacement;
+    private final int[] prefix = new int[2];
+    private final int[] kingTargets = new int[KING_BRANCHES];
+    private final int[] kingScores = new int[KING_BRANCHES];
+    private final int[] placementFields = new int[PLACEMENT_BRANCHES];
+    private final int[] placementScores = new int[PLACEMENT_BRANCHES];
+    private final int[] unitScores = new int[TurnEvaluator.ACTION_COUNT];
+    private final int[] bestScores = new int[TurnEvaluator.ACTION_COUNT];
+    private final int[] placedIndex = new int[1];
+
+    // --- PLANNING ---
+
+    /**
+     * Builds the candidate turns of the team whose turn it is. The state itself
+     * is not changed.
+     *
+     * @param state The state at the start of the turn.
+     * @return The number of distinct turns built.
+     */
+    int plan(GameState state) {
+        ensureBuffers(state);
+        turnCount = 0;
+        int team = state.getCurrentTeam();
+        int kingCount = chooseKingMoves(state, team);
+        for (int k = 0; k < kingCount; k++) {
+            state.copyInto(afterKing);
+            int prefixLength = 0;
+            if (kingTargets[k] != NONE) {
+                int kingField = afterKing.getUnits().getField(afterKing.getKing(team));
+                prefixLength = record(afterKing, team, ActionGenerator.encodeMove(kingField, kingTargets[k]), prefix, 0);
+            }
+
+            int card = chooseCard(afterKing, team);
+            int fieldCount = (card == NONE) ? 0 : choosePlacementFields(afterKing, team);
+            for (int p = 0; p < Math.max(1, fieldCount); p++) {
+                afterKing.copyInto(afterPlacement);
+                int length = prefixLength;
+                if (p < fieldCount) {
+                    placedIndex[0] = card;
+                    int placement = ActionGenerator.encodePlace(placementFields[p], placedIndex, 1);
+                    length = record(afterPlacement, team, placement, prefix, length);
+                }
+                for (int strategy = 0; strategy < STRATEGY_COUNT; strategy++) {
+                    buildTurn(afterPlacement, team, length, strategy);
+                }
+            }
+        }
+        return turnCount;
+    }
+
+    // Finishes a turn from the state after the King and placement phases and
+    // keeps it unless an identical turn was built before
+    private void buildTurn(GameState start, int team, int prefixLength, int strategy) {
+        GameState turn = turns[turnCount];
+        int[] actions = turnActions[turnCount];
+        start.copyInto(turn);
+        System.arraycopy(prefix, 0, actions, 0, prefixLength);
+        int length = prefixLength;
+
+        for (int i = 0; i < MAX_UNIT_ACTIONS && !turn.isGameOver(); i++) {
+            int action = chooseUnitAction(turn, team, strategy);
+            if (action == NONE) {
+                break;
+            }
+            int newLength = record(turn, team, action, actions, length);
+            if (newLength == length) {
+                // Fall back to blocking, which only fails if the unit cannot act
+                newLength = record(turn, team, ActionGenerator.encodeBlock(ActionGenerator.fieldOf(action)), actions,
+                        length);
+                if (newLength == length) {
+                    break;
+                }
+            }
+            length = newLength;
+        }
+        if (!turn.isGameOver()) {
+            length = record(turn, team, ActionGenerator.encodeEndTurn(chooseDiscard(turn, team)), actions, length);
+        }
+
+        for (int other = 0; other < turnCount; other++) {
+            if (isSameTurn(actions, length, turnActions[other], turnLengths[other])) {
+                return;
+            }
+        }
+        turnLengths[turnCount++] = length;
+    }
+
+    // Applies an action and appends it to the actions if it is legal, returning
+    // the new number of actions
+    private static int record(GameState state, int team, int action, int[] actions, int length) {
+        if (!state.apply(team, action)) {
+            return length;
+        }
+        actions[length] = action;
+        return length + 1;
+    }
+
+    private void ensureBuffers(GameState state) {
+        if (afterKing == null) {
+            afterKing = state.copy();
+            afterPlacement = state.copy();
+            for (int i = 0; i < MAX_TURNS; i++) {
+                turns[i] = state.copy();
+            }
+        }
+    }
+
+    // --- PHASES ---
+
+    // Keeps the best King moves by the score of KingEvaluator, or a single
+    // empty move if the King cannot move
+    private int chooseKingMoves(GameState state, int team) {
+        UnitTable units = state.getUnits();
+        int king = state.getKing(team);
+        int kingField = units.getField(king);
+        if (state.getUnitAt(kingField) != king || units.hasMoved(king)) {
+            kingTargets[0] = NONE;
+            return 1;
+        }
+
+        int count = 0;
+        for (int[] direction : KING_DIRECTIONS) {
+            int target = TurnEvaluator.neighbor(kingField, direction);
+            if (target == NONE || TurnEvaluator.isOwnedBy(state, target, 1 - team)) {
+                continue;
+            }
+            int score = TurnEvaluator.scoreKingMove(state, team, target);
+            count = insertBest(kingTargets, kingScores, count, target, score);
+        }
+        return count;
+    }
+
+    // Keeps the best placement fields by the score of FieldsEvaluator
+    private int choosePlacementFields(GameState state, int team) {
+        if (state.hasPlacedUnitInTurn()) {
+            return 0;
+        }
+        int kingField = state.getUnits().getField(state.getKing(team));
+        int count = 0;
+        for (int[] direction : TurnEvaluator.SURROUNDING) {
+            int field = TurnEvaluator.neighbor(kingField, direction);
+            if (field == NONE || TurnEvaluator.isOwnedBy(state, field, 1 - team)) {
+                continue;
+            }
+            int score = TurnEvaluator.scorePlacement(state, team, field);
+            count = insertBest(placementFields, placementScores, count, field, score);
+        }
+        return count;
+    }
+
+    // Chooses the card with the highest attack, the most likely choice of
+    // AIPlayer
+    private int chooseCard(GameState state, int team) {
+        TeamTable teams = state.getTeams();
+        int best = NONE;
+        int bestAtk = Integer.MIN_VALUE;
+        for (int i = 0; i < teams.getHandSize(team); i++) {
+            int atk = state.getCatalog().getTemplate(teams.getHandCard(team, i)).getAtk();
+            if (atk > bestAtk) {
+                bestAtk = atk;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    // Chooses the next unit action of a strategy, or NONE if all units have
+    // acted
+    private int chooseUnitAction(GameState state, int team, int strategy) {
+        UnitTable units = state.getUnits();
+        TeamTable teams = state.getTeams();
+        int bestUnit = NONE;
+        int bestTotal = Integer.MIN_VALUE;
+        for (int i = 0; i < teams.getActiveCount(team); i++) {
+            int unit = teams.getActiveUnit(team, i);
+            if (units.hasMoved(unit)) {
+                continue;
+            }
+            if (strategy == STRATEGY_HOLD) {
+                return ActionGenerator.encodeBlock(units.getField(unit));
+            }
+            int total = TurnEvaluator.scoreUnit(state, team, unit, strategy == STRATEGY_ADVANCE, unitScores);
+            if (total > bestTotal) {
+                bestTotal = total;
+                bestUnit = unit;
+                System.arraycopy(unitScores, 0, bestScores, 0, unitScores.length);
+            }
+        }
+        if (bestUnit == NONE) {
+            return NONE;
+        }
+
+        // The action with the highest positive score, blocking if there is none
+        int from = units.getField(bestUnit);
+        int bestAction = NONE;
+        for (int action = 0; action < bestScores.length; action++) {
+            if (bestScores[action] > 0 && (bestAction == NONE || bestScores[action] > bestScores[bestAction])) {
+                bestAction = action;
+            }
+        }
+        if (bestAction == NONE || bestAction == TurnEvaluator.BLOCK_ACTION) {
+            return ActionGenerator.encodeBlock(from);
+        }
+        int to = (bestAction == TurnEvaluator.STAY_ACTION) ? from
+                : TurnEvaluator.neighbor(from, TurnEvaluator.ORTHOGONAL[bestAction]);
+        return ActionGenerator.encodeMove(from, to);
+    }
+
+    // Discards the weakest card if the hand is full, the most likely choice of
+    // AIPlayer
+    private int chooseDiscard(GameState state, int team) {
+        TeamTable teams = state.getTeams();
+        if (teams.getHandSize(team) < GameConstants.MAX_HAND_SIZE) {
+            return NONE;
+        }
+        int weakest = 0;
+        int weakestValue = Integer.MAX_VALUE;
+        for (int i = 0; i < teams.getHandSize(team); i++) {
+            int card = teams.getHandCard(team, i);
+            int value = state.getCatalog().getTemplate(card).getAtk() + state.getCatalog().getTemplate(card).getDef();
+            if (value < weakestValue) {
+                weakestValue = value;
+                weakest = i;
+            }
+        }
+        return weakest;
+    }
+
+    // --- HELPER METHODS ---
+
+    // Inserts a value into a list of at most values.length best values, kept in
+    // descending order of score with earlier values first among equal scores
+    private static int insertBest(int[] values, int[] scores, int count, int value, int score) {
+        int position = count;
+        while (position > 0 && scores[position - 1] < score) {
+            position--;
+        }
+        if (position >= values.length) {
+            return count;
+        }
+        int newCount = Math.min(count + 1, values.length);
+        for (int i = newCount - 1; i > position; i--) {
+            values[i] = values[i - 1];
+            scores[i] = scores[i - 1];
+        }
+        values[position] = value;
+        scores[position] = score;
+        return newCount;
+    }
+
+    private static boolean isSameTurn(int[] actions, int length, int[] otherActions, int otherLength) {
+        if (length != otherLength) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (actions[i] != otherActions[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // --- GETTERS ---
+
+    /**
+     * Returns the state after a turn built by the last call to
+     * {@link #plan(GameState)}.
+     *
+     * @param index The index of the turn.
+     * @return The state after the turn.
+     */
+    GameState getTurnState(int index) {
+        return turns[index];
+    }
+
+    /**
+     * Returns the number of actions of a turn built by the last call to
+     * {@link #plan(GameState)}.
+     *
+     * @param index The index of the turn.
+     * @return The number of actions.
+     */
+    int getTurnLength(int index) {
+        return turnLengths[index];
+    }
+
+    /**
+     * Returns an action of a turn built by the last call to
+     * {@link #plan(GameState)}, packed by {@link ActionGenerator}.
+     *
+     * @param index  The index of the turn.
+     * @param action The index of the action within the turn.
+     * @return The packed action.
+     */
+    int getTurnAction(int index, int action) {
+        return turnActions[index][action];
+    }
+}
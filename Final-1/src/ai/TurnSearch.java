@@ -0,0 +1,286 @@
+package ai;
+
+import model.GameState;
+import model.TeamTable;
+import model.UnitTable;
+
+/**
+ * The TurnSearch class looks ahead over complete turns with alpha-beta search
+ * and iterative deepening. The turns of each ply are built by a
+ * {@link TurnPlanner} and searched in the order of the static evaluation of the
+ * states they lead to, with the best turn of the previous iteration first at
+ * the root. The search stops when its wall-clock budget is used up and returns
+ * the best turn of the deepest completed iteration.
+ *
+ * <p>
+ * Every ply owns a planner whose states are overwritten by copying, so after
+ * the first search the look-ahead allocates nothing.
+ * </p>
+ *
+ * <p>
+ * Positions reached again, for example after the Kings and units moved back and
+ * forth, are looked up in a {@link TranspositionTable}. Its bounds cut the
+ * search short, and the best turn it remembers is searched first. As the
+ * planner builds the same turns for the same position, the turn is stored by
+ * its index. The search registers the combinations it plays in a copy of the
+ * catalog, whose IDs are only valid within the search, so the table only
+ * returns the positions of the current search.
+ * </p>
+ *
+ * @author udqch
+ */
+final class TurnSearch {
+    private static final int MAX_DEPTH = 16;
+    private static final int WIN_SCORE = 1_000_000;
+    // Scores beyond this are wins or losses within the horizon
+    private static final int WIN_THRESHOLD = WIN_SCORE - 2 * MAX_DEPTH;
+    private static final int INFINITY = Integer.MAX_VALUE;
+    // The clock is read once per this many nodes
+    private static final int CLOCK_CHECK_MASK = (1 << 6) - 1;
+    private static final int TABLE_BUCKET_BITS = 16;
+
+    private final TurnPlanner[] planners = new TurnPlanner[MAX_DEPTH + 1];
+    private final int[][] orders = new int[MAX_DEPTH + 1][TurnPlanner.MAX_TURNS];
+    private final int[][] orderScores = new int[MAX_DEPTH + 1][TurnPlanner.MAX_TURNS];
+    private final TranspositionTable table;
+    private long deadline;
+    private boolean isTimeUp;
+    private long nodeCount;
+    private int completedDepth;
+
+    /**
+     * Constructor for the TurnSearch class with a transposition table of its own.
+     */
+    TurnSearch() {
+        this.table = new TranspositionTable(TABLE_BUCKET_BITS);
+        for (int ply = 0; ply < planners.length; ply++) {
+            planners[ply] = new TurnPlanner();
+        }
+    }
+
+    /**
+     * Searches the best turn of the team whose turn it is. The turn can be read
+     * from {@link #getRootPlanner()} at the returned index.
+     *
+     * @param root         The state at the start of the turn.
+     * @param budgetMillis The wall-clock budget of the search in milliseconds.
+     * @return The index of the best turn, or -1 if the team has no turn to play.
+     */
+    int findBestTurn(GameState root, long budgetMillis) {
+        deadline = System.nanoTime() + budgetMillis * 1_000_000L;
+        isTimeUp = false;
+        nodeCount = 0;
+        completedDepth = 0;
+        table.newSearch();
+
+        // The combinations of the look-ahead are registered in a catalog of the search
+        GameState searchRoot = root.copy(root.getCatalog().copy());
+        int team = root.getCurrentTeam();
+        int count = planners[0].plan(searchRoot);
+        if (count == 0) {
+            return -1;
+        }
+        orderTurns(0, count, team);
+        int best = orders[0][0];
+
+        for (int depth = 1; depth <= MAX_DEPTH && count > 1; depth++) {
+            int alpha = -INFINITY;
+            int iterationBest = best;
+            moveToFront(orders[0], count, best);
+            for (int i = 0; i < count; i++) {
+                int turn = orders[0][i];
+                int score = -search(planners[0].getTurnState(turn), 1 - team, depth - 1, -INFINITY, -alpha, 1);
+                if (isTimeUp) {
+                    break;
+                }
+                if (score > alpha) {
+                    alpha = score;
+                    iterationBest = turn;
+                }
+            }
+            if (isTimeUp) {
+                break; // The unfinished iteration is discarded
+            }
+            best = iterationBest;
+            completedDepth = depth;
+            if (Math.abs(alpha) >= WIN_SCORE - MAX_DEPTH) {
+                break; // The outcome is decided within the horizon
+            }
+        }
+        return best;
+    }
+
+    // Returns the value of a state for a team, from the point of view of that
+    // team
+    private int search(GameState state, int team, int depth, int alpha, int beta, int ply) {
+        if (state.isGameOver()) {
+            return terminalScore(state, team, ply);
+        }
+        if (depth == 0 || ply > MAX_DEPTH) {
+            return evaluate(state, team);
+        }
+        if ((++nodeCount & CLOCK_CHECK_MASK) == 0 && System.nanoTime() > deadline) {
+            isTimeUp = true;
+        }
+        if (isTimeUp) {
+            return 0;
+        }
+
+        long key = state.getHash();
+        long entry = table.probe(key);
+        if (entry != TranspositionTable.MISS && TranspositionTable.depthOf(entry) >= depth) {
+            int score = fromTable(TranspositionTable.scoreOf(entry), ply);
+            int bound = TranspositionTable.boundOf(entry);
+            if (bound == TranspositionTable.EXACT || (bound == TranspositionTable.LOWER && score >= beta)
+                    || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                return score;
+            }
+        }
+
+        TurnPlanner planner = planners[ply];
+        int count = planner.plan(state);
+        orderTurns(ply, count, team);
+        if (entry != TranspositionTable.MISS) {
+            moveToFront(orders[ply], count, TranspositionTable.moveOf(entry));
+        }
+        int best = -INFINITY;
+        int bestTurn = orders[ply][0];
+        int currentAlpha = alpha;
+        for (int i = 0; i < count; i++) {
+            int turn = orders[ply][i];
+            int score = -search(planner.getTurnState(turn), 1 - team, depth - 1, -beta, -currentAlpha, ply + 1);
+            if (isTimeUp) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                bestTurn = turn;
+            }
+            currentAlpha = Math.max(currentAlpha, score);
+            if (currentAlpha >= beta) {
+                break;
+            }
+        }
+
+        if (count == 0) {
+            return best; // No turn to remember
+        }
+        int bound = TranspositionTable.EXACT;
+        if (best <= alpha) {
+            bound = TranspositionTable.UPPER;
+        } else if (best >= beta) {
+            bound = TranspositionTable.LOWER;
+        }
+        table.store(key, toTable(best, ply), depth, bound, bestTurn);
+        return best;
+    }
+
+    // Win scores are stored relative to the position instead of the root, so
+    // that they stay valid when the position is reached at another ply
+    private static int toTable(int score, int ply) {
+        if (score >= WIN_THRESHOLD) {
+            return score + ply;
+        }
+        return (score <= -WIN_THRESHOLD) ? score - ply : score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= WIN_THRESHOLD) {
+            return score - ply;
+        }
+        return (score <= -WIN_THRESHOLD) ? score + ply : score;
+    }
+
+    // Sorts the turns of a ply by the evaluation of their states for the acting
+    // team, best first
+    private void orderTurns(int ply, int count, int team) {
+        int[] order = orders[ply];
+        int[] scores = orderScores[ply];
+        for (int i = 0; i < count; i++) {
+            GameState next = planners[ply].getTurnState(i);
+            int score = next.isGameOver() ? terminalScore(next, team, ply) : evaluate(next, team);
+            int position = i;
+            while (position > 0 && scores[position - 1] < score) {
+                order[position] = order[position - 1];
+                scores[position] = scores[position - 1];
+                position--;
+            }
+            order[position] = i;
+            scores[position] = score;
+        }
+    }
+
+    private static void moveToFront(int[] order, int count, int turn) {
+        for (int i = 0; i < count; i++) {
+            if (order[i] == turn) {
+                System.arraycopy(order, 0, order, 1, i);
+                order[0] = turn;
+                return;
+            }
+        }
+    }
+
+    // --- EVALUATION ---
+
+    // Winning sooner and losing later is better
+    private static int terminalScore(GameState state, int team, int ply) {
+        return (state.getWinner() == team) ? WIN_SCORE - ply : -(WIN_SCORE - ply);
+    }
+
+    /**
+     * Evaluates a state statically as the difference in life points and in half
+     * the stats of the active units.
+     *
+     * @param state The state to evaluate.
+     * @param team  The index of the team whose point of view is taken.
+     * @return The score of the state, positive if the team is ahead.
+     */
+    static int evaluate(GameState state, int team) {
+        TeamTable teams = state.getTeams();
+        int enemy = 1 - team;
+        int score = teams.getLp(team) - teams.getLp(enemy);
+        return score + (material(state, team) - material(state, enemy)) / 2;
+    }
+
+    private static int material(GameState state, int team) {
+        UnitTable units = state.getUnits();
+        TeamTable teams = state.getTeams();
+        int material = 0;
+        for (int i = 0; i < teams.getActiveCount(team); i++) {
+            int unit = teams.getActiveUnit(team, i);
+            material += Math.max(0, units.getAtk(unit)) + Math.max(0, units.getDef(unit));
+        }
+        return material;
+    }
+
+    // --- GETTERS ---
+
+    /**
+     * Returns the planner holding the turns of the root of the last search.
+     *
+     * @return The planner of the root.
+     */
+    TurnPlanner getRootPlanner() {
+        return planners[0];
+    }
+
+    /**
+     * Returns the depth in turns of the last completed iteration of the last
+     * search.
+     *
+     * @return The completed depth, 0 if only the turns of the root were
+     *         evaluated.
+     */
+    int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * Returns the number of nodes visited by the last search.
+     *
+     * @return The number of nodes.
+     */
+    long getNodeCount() {
+        return nodeCount;
+    }
+}
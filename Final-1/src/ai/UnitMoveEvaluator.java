@@ -2,7 +2,10 @@ package ai;
 
 import exceptions.GameLogicException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import logic.combination.UnitCombiner;
 import model.Board;
 import model.Position;
@@ -17,6 +20,14 @@ import utils.GameConstants;
  * place, based on the current state of the board and the positions of enemy
  * units.
  * 
+ * <p>
+ * The evaluations are cached per unit. Before each pass, the evaluator
+ * determines the fields whose unit, hidden or blocking status has changed and
+ * drops only the evaluations that depend on one of them, i.e. those of units
+ * within two steps of a changed field or in line of sight of it. All
+ * evaluations are dropped when the enemy King has moved.
+ * </p>
+ * 
  * @author udqch
  */
 public class UnitMoveEvaluator {
@@ -25,10 +36,23 @@ public class UnitMoveEvaluator {
     private static final ActionType[] DIRECTION_TYPES = {
             ActionType.MOVE_UP, ActionType.MOVE_RIGHT,
             ActionType.MOVE_DOWN, ActionType.MOVE_LEFT };
+    // Fields whose state the evaluation of a unit on each field depends on: its
+    // row and column for the threats and the fields up to two steps away for the
+    // moves
+    private static final long[] DEPENDENCIES = computeDependencies();
 
     private final Board board;
     private final Team fellow;
     private final Team enemy;
+    private final ThreatMap threatMap;
+    private final Map<Unit, CachedEvaluation> cache = new HashMap<>();
+    private long hiddenMask;
+    private long blockingMask;
+    private Position enemyKingPos;
+
+    // An evaluation and the position of the unit it was computed for
+    private record CachedEvaluation(Position position, EvaluatedUnit evaluation) {
+    }
 
     /**
      * Constructor for the UnitMoveEvaluator class.
@@ -41,6 +65,7 @@ public class UnitMoveEvaluator {
         this.board = board;
         this.fellow = fellow;
         this.enemy = enemy;
+        this.threatMap = new ThreatMap(board, enemy);
     }
 
     // --- EVALUATION METHODS ---
@@ -54,13 +79,14 @@ public class UnitMoveEvaluator {
      */
     public List<EvaluatedUnit> evaluateAllUnits() throws GameLogicException {
         List<EvaluatedUnit> allEvaluated = new ArrayList<>();
+        refresh(); // Once per pass, the board does not change while evaluating
 
         List<Unit> activeUnits = fellow.getActiveUnits();
         for (Unit unit : activeUnits) {
             if (unit.isKing() || unit.hasMoved()) {
                 continue; // Skip evaluating the King for movement
             }
-            allEvaluated.add(evaluateSingleUnit(unit));
+            allEvaluated.add(getEvaluation(unit));
         }
 
         return allEvaluated;
@@ -75,6 +101,47 @@ public class UnitMoveEvaluator {
      * @throws GameLogicException If there is an error accessing the board state.
      */
     public EvaluatedUnit evaluateSingleUnit(Unit unit) throws GameLogicException {
+        refresh();
+        return getEvaluation(unit);
+    }
+
+    // Brings the threat map up to date and drops the cached evaluations that
+    // depend on a changed field
+    private void refresh() {
+        long changed = threatMap.update();
+        changed |= (board.getHiddenMask() ^ hiddenMask) | (board.getBlockingMask() ^ blockingMask);
+        hiddenMask = board.getHiddenMask();
+        blockingMask = board.getBlockingMask();
+
+        Position currentEnemyKingPos = enemy.getKing().getPosition();
+        if (!Objects.equals(currentEnemyKingPos, enemyKingPos)) {
+            enemyKingPos = currentEnemyKingPos;
+            cache.clear(); // Every move score depends on the distance to the enemy King
+            return;
+        }
+        if (changed != 0L) {
+            final long changedFields = changed;
+            cache.values().removeIf(cached -> (DEPENDENCIES[cached.position().toIndex()] & changedFields) != 0L);
+        }
+    }
+
+    // Returns the cached evaluation of a unit, evaluating it again if it has
+    // moved or its evaluation was dropped
+    private EvaluatedUnit getEvaluation(Unit unit) throws GameLogicException {
+        Position currentPos = unit.getPosition();
+        CachedEvaluation cached = cache.get(unit);
+        if (cached != null && cached.position().equals(currentPos)) {
+            return cached.evaluation();
+        }
+        EvaluatedUnit evaluation = evaluateUnit(unit);
+        if (currentPos != null) {
+            cache.put(unit, new CachedEvaluation(currentPos, evaluation));
+        }
+        return evaluation;
+    }
+
+    // Evaluates a unit against the threat map as of its last update
+    private EvaluatedUnit evaluateUnit(Unit unit) throws GameLogicException {
         List<ScoredActions<ActionType>> actions = new ArrayList<>();
         int totalScore = 0;
         Position currentPos = unit.getPosition();
@@ -137,11 +204,12 @@ public class UnitMoveEvaluator {
             if (targetUnit.isKing()) {
                 return -9999;
             }
-            Unit combinedUnit = UnitCombiner.combine(unit, targetUnit);
-            if (combinedUnit != null) {
+            long combinedStats = UnitCombiner.combineStats(unit, targetUnit);
+            if (combinedStats != UnitCombiner.NO_COMBINATION) {
                 // If a combination is possible, calculate the score based on the combined
                 // unit's stats
-                return combinedUnit.getAtk() + combinedUnit.getDef() - unit.getAtk() - unit.getDef();
+                return UnitCombiner.atkOf(combinedStats) + UnitCombiner.defOf(combinedStats)
+                        - unit.getAtk() - unit.getDef();
             } else {
                 // If no combination is possible, penalize for blocking an ally
                 return -targetUnit.getAtk() - targetUnit.getDef();
@@ -174,7 +242,7 @@ public class UnitMoveEvaluator {
      * @throws GameLogicException If there is an error accessing the board state.
      */
     private int calculateBlockScore(Unit unit, Position currentPos) {
-        int atkStar = getAtkStar(currentPos, enemy);
+        int atkStar = threatMap.getMaxAtk(currentPos);
         return Math.max(1, (unit.getDef() - atkStar) / 100);
     }
 
@@ -189,41 +257,25 @@ public class UnitMoveEvaluator {
      * @throws GameLogicException If there is an error accessing the board state.
      */
     private int calculateEnplaceScore(Unit unit, Position currentPos) {
-        int atkStar = getAtkStar(currentPos, enemy);
+        int atkStar = threatMap.getMaxAtk(currentPos);
         return Math.max(0, (unit.getAtk() - atkStar) / 100);
     }
 
     // --- HELPER METHODS ---
 
-    /**
-     * Gets the maximum attack value of enemy units in line of sight from the
-     * specified position by Raycasting Algorithm.
-     *
-     * @param pos   The position to check.
-     * @param enemy The enemy team.
-     * @return The maximum attack value of enemy units.
-     */
-    private int getAtkStar(Position pos, Team enemy) {
-        int maxAtk = 0;
-
-        for (int[] dir : POSSIBLE_DIRECTIONS) {
-            int currentCol = pos.col() + dir[0];
-            int currentRow = pos.row() + dir[1];
-
-            while (currentCol >= 0 && currentCol < GameConstants.BOARD_COLS
-                    && currentRow >= 0 && currentRow < GameConstants.BOARD_ROWS) {
-                Position checkPos = new Position(currentCol, currentRow);
-                Unit hitUnit = board.getUnitAt(checkPos);
-                if (hitUnit != null) {
-                    if (hitUnit.getOwner().equals(enemy) && !hitUnit.isKing()) {
-                        maxAtk = Math.max(maxAtk, hitUnit.getAtk());
-                    }
-                    break; // Stop checking in this direction after hitting any unit
+    // Collects the fields in the same row or column or up to two steps away of
+    // each field
+    private static long[] computeDependencies() {
+        long[] dependencies = new long[GameConstants.BOARD_ROWS * GameConstants.BOARD_COLS];
+        for (int index = 0; index < dependencies.length; index++) {
+            Position pos = Position.fromIndex(index);
+            for (int other = 0; other < dependencies.length; other++) {
+                Position otherPos = Position.fromIndex(other);
+                if (pos.col() == otherPos.col() || pos.row() == otherPos.row() || pos.distanceTo(otherPos) <= 2) {
+                    dependencies[index] |= 1L << other;
                 }
-                currentCol += dir[0];
-                currentRow += dir[1];
             }
         }
-        return maxAtk;
+        return dependencies;
     }
-}
\ No newline at end of file
+}
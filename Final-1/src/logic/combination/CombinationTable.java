@@ -0,0 +1,253 @@
+package logic.combination;
+
+import java.util.List;
+
+/**
+ * A table of the combination results of pairs of unit stats. Every distinct
+ * pair of attack and defense gets an ID when it is first seen, and the result
+ * of combining two stats is stored under the pair of their IDs once it has been
+ * calculated by the combination rules. Both indexes use open addressing on
+ * primitive arrays, so looking up a known pair allocates nothing.
+ *
+ * <p>
+ * The table is thread-safe without locking. The results of the precomputed
+ * stats are kept in an index that is never changed after it has been
+ * published, so all threads share it. Stats of combined units, which are not
+ * known in advance, get their IDs on demand in an overflow index of the calling
+ * thread, which is cleared when it reaches its limit so that long simulations
+ * do not keep every stats pair they ever met.
+ * </p>
+ *
+ * <p>
+ * Stats and results are encoded in a long holding the attack in the upper and
+ * the defense in the lower half, see {@link #pack(int, int)}.
+ * </p>
+ *
+ * @author udqch
+ */
+final class CombinationTable {
+    /** The result of two stats that cannot be combined. */
+    static final long NO_COMBINATION = Long.MIN_VALUE;
+
+    private static final int HALF_BITS = 32;
+    private static final long LOWER_MASK = (1L << HALF_BITS) - 1;
+    // Number of results after which the overflow of a thread is cleared
+    private static final int OVERFLOW_LIMIT = 1 << 16;
+
+    private final List<CombineRule> rules;
+    private final ThreadLocal<PairIndex> overflows;
+    private volatile PairIndex precomputed = new PairIndex();
+
+    /**
+     * Constructs a new empty table that calculates missing results with the given
+     * rules, applying the first one that matches.
+     *
+     * @param rules the combination rules in the order they are checked
+     */
+    CombinationTable(List<CombineRule> rules) {
+        this.rules = rules;
+        this.overflows = ThreadLocal.withInitial(PairIndex::new);
+    }
+
+    /**
+     * Calculates the results of all pairs of the given stats in advance,
+     * replacing those of an earlier call. Threads looking up results at the same
+     * time see either the old or the new results.
+     *
+     * @param packedStats the stats to combine, each encoded by
+     *                    {@link #pack(int, int)}
+     */
+    void precompute(long[] packedStats) {
+        PairIndex index = new PairIndex();
+        for (long a : packedStats) {
+            for (long b : packedStats) {
+                index.lookup(atkOf(a), defOf(a), atkOf(b), defOf(b), rules);
+            }
+        }
+        precomputed = index; // Published complete, never changed afterwards
+    }
+
+    /**
+     * Returns the stats of the unit resulting from combining two units with the
+     * given stats, calculating the result if it is not known yet.
+     *
+     * @param atkA the attack of the first unit
+     * @param defA the defense of the first unit
+     * @param atkB the attack of the second unit
+     * @param defB the defense of the second unit
+     * @return the combined stats encoded by {@link #pack(int, int)}, or
+     *         {@link #NO_COMBINATION} if no rule applies
+     */
+    long lookup(int atkA, int defA, int atkB, int defB) {
+        int slot = precomputed.find(pack(atkA, defA), pack(atkB, defB));
+        if (slot >= 0) {
+            return precomputed.resultAt(slot);
+        }
+
+        PairIndex overflow = overflows.get();
+        if (overflow.size() >= OVERFLOW_LIMIT) {
+            overflow = new PairIndex();
+            overflows.set(overflow);
+        }
+        return overflow.lookup(atkA, defA, atkB, defB, rules);
+    }
+
+    // Applies the first matching rule
+    private static long calculate(int atkA, int defA, int atkB, int defB, List<CombineRule> rules) {
+        for (CombineRule rule : rules) {
+            CombineStats combined = rule.check(atkA, defA, atkB, defB);
+            if (combined != null) {
+                return pack(combined.newAtk(), combined.newDef());
+            }
+        }
+        return NO_COMBINATION;
+    }
+
+    // --- ENCODING ---
+
+    /**
+     * Encodes a pair of attack and defense in a long.
+     *
+     * @param atk the attack
+     * @param def the defense
+     * @return the encoded stats
+     */
+    static long pack(int atk, int def) {
+        return (long) atk << HALF_BITS | (def & LOWER_MASK);
+    }
+
+    /**
+     * Returns the attack of encoded stats.
+     *
+     * @param packed the encoded stats
+     * @return the attack
+     */
+    static int atkOf(long packed) {
+        return (int) (packed >> HALF_BITS);
+    }
+
+    /**
+     * Returns the defense of encoded stats.
+     *
+     * @param packed the encoded stats
+     * @return the defense
+     */
+    static int defOf(long packed) {
+        return (int) packed;
+    }
+
+    // Results of pairs of stats, numbering the stats by their first appearance.
+    // Not thread-safe
+    private static final class PairIndex {
+        private final LongIndex statIds = new LongIndex();
+        private final LongIndex results = new LongIndex();
+
+        // Returns the slot of the result of both stats, or -1 if it is unknown
+        int find(long packedA, long packedB) {
+            int slotA = statIds.find(packedA);
+            int slotB = statIds.find(packedB);
+            if (slotA < 0 || slotB < 0) {
+                return -1;
+            }
+            return results.find(statIds.valueAt(slotA) << HALF_BITS | statIds.valueAt(slotB));
+        }
+
+        long resultAt(int slot) {
+            return results.valueAt(slot);
+        }
+
+        int size() {
+            return results.size();
+        }
+
+        // Returns the result of both stats, calculating and storing it if it is
+        // unknown
+        long lookup(int atkA, int defA, int atkB, int defB, List<CombineRule> rules) {
+            long pair = (long) idOf(pack(atkA, defA)) << HALF_BITS | idOf(pack(atkB, defB));
+            int slot = results.find(pair);
+            if (slot >= 0) {
+                return results.valueAt(slot);
+            }
+            long result = calculate(atkA, defA, atkB, defB, rules);
+            results.put(pair, result);
+            return result;
+        }
+
+        // Returns the ID of the given stats, numbering new stats consecutively
+        private int idOf(long packed) {
+            int slot = statIds.find(packed);
+            if (slot >= 0) {
+                return (int) statIds.valueAt(slot);
+            }
+            int id = statIds.size();
+            statIds.put(packed, id);
+            return id;
+        }
+    }
+
+    // Open-addressing map from long keys to long values that only grows
+    private static final class LongIndex {
+        private static final int INITIAL_CAPACITY = 1 << 8;
+        private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+        private long[] keys = new long[INITIAL_CAPACITY];
+        private long[] values = new long[INITIAL_CAPACITY];
+        private boolean[] used = new boolean[INITIAL_CAPACITY];
+        private int size;
+
+        // Returns the slot of the key, or -1 if the key is not stored
+        int find(long key) {
+            int mask = keys.length - 1;
+            for (int i = hash(key, mask); used[i]; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        long valueAt(int slot) {
+            return values[slot];
+        }
+
+        int size() {
+            return size;
+        }
+
+        // Stores a key that is not stored yet, keeping the load factor at most
+        // one half
+        void put(long key, long value) {
+            if (2 * (size + 1) > keys.length) {
+                grow();
+            }
+            int mask = keys.length - 1;
+            int i = hash(key, mask);
+            while (used[i]) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+            used[i] = true;
+            size++;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            boolean[] oldUsed = used;
+            keys = new long[2 * oldKeys.length];
+            values = new long[2 * oldKeys.length];
+            used = new boolean[2 * oldKeys.length];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int hash(long key, int mask) {
+            return (int) ((key * HASH_MULTIPLIER) >>> HALF_BITS) & mask;
+        }
+    }
+}
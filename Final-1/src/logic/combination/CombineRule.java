@@ -1,7 +1,5 @@
 package logic.combination;
 
-import model.Unit;
-
 /**
  * An interface representing a rule for combining two units. Implementations of
  * this interface will define specific rules for how units can be combined and
@@ -12,11 +10,15 @@ import model.Unit;
 public interface CombineRule {
 
     /**
-     * Checks if the two units can be combined according to this rule.
+     * Checks if two units with the given stats can be combined according to this
+     * rule. Only the stats of the units are considered.
      * 
-     * @param a The first unit.
-     * @param b The second unit.
-     * @return A CombineStats object containing the result of the check.
+     * @param atkA The attack of the first unit.
+     * @param defA The defense of the first unit.
+     * @param atkB The attack of the second unit.
+     * @param defB The defense of the second unit.
+     * @return A CombineStats object containing the stats of the combined unit, or
+     *         null if the rule does not apply.
      */
-    CombineStats check(Unit a, Unit b);
+    CombineStats check(int atkA, int defA, int atkB, int defB);
 }
@@ -1,6 +1,5 @@
 package logic.combination;
 
-import model.Unit;
 import utils.MathUtils;
 
 /**
@@ -17,13 +16,13 @@ import utils.MathUtils;
 public class LikeMindedRule implements CombineRule {
 
     @Override
-    public CombineStats check(Unit a, Unit b) {
-        int gcdAtk = MathUtils.gcd(a.getAtk(), b.getAtk());
-        int gcdDef = MathUtils.gcd(a.getDef(), b.getDef());
+    public CombineStats check(int atkA, int defA, int atkB, int defB) {
+        int gcdAtk = MathUtils.gcd(atkA, atkB);
+        int gcdDef = MathUtils.gcd(defA, defB);
         int g3T = Math.max(gcdAtk, gcdDef);
         if (g3T > 100) {
-            int newAtk = a.getAtk() + b.getAtk() - g3T;
-            int newDef = a.getDef() + b.getDef() - g3T;
+            int newAtk = atkA + atkB - g3T;
+            int newDef = defA + defB - g3T;
             return new CombineStats(newAtk, newDef);
         }
         return null;
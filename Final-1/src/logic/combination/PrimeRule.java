@@ -1,6 +1,5 @@
 package logic.combination;
 
-import model.Unit;
 import utils.MathUtils;
 
 /**
@@ -18,15 +17,15 @@ import utils.MathUtils;
 public class PrimeRule implements CombineRule {
 
     @Override
-    public CombineStats check(Unit a, Unit b) {
-        int gcdAtk = MathUtils.gcd(a.getAtk(), b.getAtk());
-        int gcdDef = MathUtils.gcd(a.getDef(), b.getDef());
+    public CombineStats check(int atkA, int defA, int atkB, int defB) {
+        int gcdAtk = MathUtils.gcd(atkA, atkB);
+        int gcdDef = MathUtils.gcd(defA, defB);
         int g3T = Math.max(gcdAtk, gcdDef);
         if (g3T == 100
-                && ((MathUtils.isPrime(a.getAtk() / 100) && MathUtils.isPrime(b.getAtk() / 100))
-                        || (MathUtils.isPrime(a.getDef() / 100) && MathUtils.isPrime(b.getDef() / 100)))) {
-            int newAtk = a.getAtk() + b.getAtk();
-            int newDef = a.getDef() + b.getDef();
+                && ((MathUtils.isPrime(atkA / 100) && MathUtils.isPrime(atkB / 100))
+                        || (MathUtils.isPrime(defA / 100) && MathUtils.isPrime(defB / 100)))) {
+            int newAtk = atkA + atkB;
+            int newDef = defA + defB;
             return new CombineStats(newAtk, newDef);
         }
         return null;
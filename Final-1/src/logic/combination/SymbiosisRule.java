@@ -1,7 +1,5 @@
 package logic.combination;
 
-import model.Unit;
-
 /**
  * A class representing the symbiosis combination rule. This rule allows two
  * units to combine if one unit's attack is greater than the other's attack, and
@@ -15,13 +13,16 @@ import model.Unit;
 public class SymbiosisRule implements CombineRule {
 
     @Override
-    public CombineStats check(Unit a, Unit b) {
-        Unit stronger = (a.getAtk() > b.getAtk()) ? a : b;
-        Unit weaker = (stronger == a) ? b : a;
-        if (stronger.getAtk() > weaker.getAtk()
-                && stronger.getAtk() == weaker.getDef()
-                && stronger.getDef() == weaker.getAtk()) {
-            return new CombineStats(stronger.getAtk(), weaker.getDef());
+    public CombineStats check(int atkA, int defA, int atkB, int defB) {
+        boolean aIsStronger = atkA > atkB;
+        int strongerAtk = aIsStronger ? atkA : atkB;
+        int strongerDef = aIsStronger ? defA : defB;
+        int weakerAtk = aIsStronger ? atkB : atkA;
+        int weakerDef = aIsStronger ? defB : defA;
+        if (strongerAtk > weakerAtk
+                && strongerAtk == weakerDef
+                && strongerDef == weakerAtk) {
+            return new CombineStats(strongerAtk, weakerDef);
         }
         return null;
     }
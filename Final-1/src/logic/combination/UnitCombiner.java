@@ -10,19 +10,50 @@ import model.UnitTemplate;
  * rules. The combination process checks each rule in a defined order and
  * applies the first valid rule it finds. If no rules are applicable, the
  * combination fails and returns null.
- * 
+ *
+ * <p>
+ * The results of the rules only depend on the stats of both units and are kept
+ * in a combination table, which is filled with all pairs of unit templates at
+ * game set-up and with the stats of combined units on demand. Scoring a
+ * combination with {@link #combineStats(Unit, Unit)} allocates nothing; only
+ * {@link #combine(Unit, Unit)} creates the combined unit.
+ * </p>
+ *
+ * <p>
+ * The table is shared by all threads and thread-safe without locking, so
+ * simulations can run in parallel.
+ * </p>
+ *
  * @author udqch
  */
 public final class UnitCombiner {
+    /** The result of {@link #combineStats(Unit, Unit)} if the units cannot be combined. */
+    public static final long NO_COMBINATION = CombinationTable.NO_COMBINATION;
+
     private static final List<CombineRule> RULES = List.of(
             new SymbiosisRule(),
             new LikeMindedRule(),
             new PrimeRule());
+    private static final CombinationTable TABLE = new CombinationTable(RULES);
 
     private UnitCombiner() {
         // Private constructor to prevent instantiation
     }
 
+    /**
+     * Calculates the combination results of all pairs of the given unit templates
+     * in advance, so that later combinations of these units are table lookups.
+     *
+     * @param templates the unit templates loaded for the game
+     */
+    public static void precompute(List<UnitTemplate> templates) {
+        long[] packedStats = new long[templates.size()];
+        for (int i = 0; i < packedStats.length; i++) {
+            packedStats[i] = CombinationTable.pack(templates.get(i).getAtk(), templates.get(i).getDef());
+        }
+        TABLE.precompute(packedStats);
+    }
+
     /**
      * Combines two units according to the defined combination rules. If the units
      * cannot be combined, this method returns null.
@@ -33,18 +64,8 @@ public final class UnitCombiner {
      *         they cannot be combined
      */
     public static Unit combine(Unit a, Unit b) {
-        if (a.getName().equals(b.getName())) {
-            return null; // Cannot combine units with the same name
-        }
-
-        CombineStats finalStats = null;
-        for (CombineRule rule : RULES) {
-            finalStats = rule.check(a, b);
-            if (finalStats != null) {
-                break; // Stop checking further rules if a valid combination is found
-            }
-        }
-        if (finalStats == null) {
+        long finalStats = combineStats(a, b);
+        if (finalStats == NO_COMBINATION) {
             return null; // No valid combination found
         }
 
@@ -52,11 +73,90 @@ public final class UnitCombiner {
         String newRole = b.getRole();
 
         // Create a new UnitTemplate for the combined unit
-        UnitTemplate newTemplate = new UnitTemplate(newQualifier, newRole, finalStats.newAtk(), finalStats.newDef());
+        UnitTemplate newTemplate = new UnitTemplate(newQualifier, newRole,
+                CombinationTable.atkOf(finalStats), CombinationTable.defOf(finalStats));
         Unit combinedUnit = new Unit(newTemplate, a.getOwner());
         combinedUnit.setHidden(a.isHidden() || b.isHidden());
         // The combined unit is hidden if either of the original units is hidden
+        combinedUnit.setCombined(true);
 
         return combinedUnit;
     }
+
+    /**
+     * Returns the stats of the unit resulting from combining two units, without
+     * creating it. The stats are encoded in a long and can be read with
+     * {@link #atkOf(long)} and {@link #defOf(long)}.
+     *
+     * @param a the first unit to combine
+     * @param b the second unit to combine
+     * @return the encoded stats of the combined unit, or {@link #NO_COMBINATION}
+     *         if they cannot be combined
+     */
+    public static long combineStats(Unit a, Unit b) {
+        if (haveSameName(a, b)) {
+            return NO_COMBINATION; // Cannot combine units with the same name
+        }
+        return TABLE.lookup(a.getAtk(), a.getDef(), b.getAtk(), b.getDef());
+    }
+
+    /**
+     * Returns the stats of the unit resulting from combining two units with the
+     * given stats. Unlike {@link #combineStats(Unit, Unit)}, this does not check
+     * the names of the units, which is left to the caller.
+     *
+     * @param atkA the attack of the first unit
+     * @param defA the defense of the first unit
+     * @param atkB the attack of the second unit
+     * @param defB the defense of the second unit
+     * @return the encoded stats of the combined unit, or {@link #NO_COMBINATION}
+     *         if no rule applies
+     */
+    public static long combineStats(int atkA, int defA, int atkB, int defB) {
+        return TABLE.lookup(atkA, defA, atkB, defB);
+    }
+
+    /**
+     * Returns the attack of stats returned by {@link #combineStats(Unit, Unit)}.
+     *
+     * @param stats the encoded stats
+     * @return the attack of the combined unit
+     */
+    public static int atkOf(long stats) {
+        return CombinationTable.atkOf(stats);
+    }
+
+    /**
+     * Returns the defense of stats returned by {@link #combineStats(Unit, Unit)}.
+     *
+     * @param stats the encoded stats
+     * @return the defense of the combined unit
+     */
+    public static int defOf(long stats) {
+        return CombinationTable.defOf(stats);
+    }
+
+    // Compares the names of both units, i.e. qualifier and role separated by a
+    // space, without building them
+    private static boolean haveSameName(Unit a, Unit b) {
+        String qualifierA = a.getQualifier();
+        String qualifierB = b.getQualifier();
+        int length = qualifierA.length() + 1 + a.getRole().length();
+        if (length != qualifierB.length() + 1 + b.getRole().length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (nameCharAt(qualifierA, a.getRole(), i) != nameCharAt(qualifierB, b.getRole(), i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char nameCharAt(String qualifier, String role, int index) {
+        if (index < qualifier.length()) {
+            return qualifier.charAt(index);
+        }
+        return (index == qualifier.length()) ? ' ' : role.charAt(index - qualifier.length() - 1);
+    }
 }
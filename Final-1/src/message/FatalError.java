@@ -29,7 +29,10 @@ public enum FatalError {
     INVALID_DECK_CONFIGURATION("Invalid deck configuration. Provide either 'deck' OR both 'deck1' and 'deck2'."),
 
     /** Error message for invalid verbosity level. */
-    INVALID_VERBOSITY_LEVEL("Verbosity must be either 'all' or 'compact'.");
+    INVALID_VERBOSITY_LEVEL("Verbosity must be either 'all' or 'compact'."),
+
+    /** Error message for an invalid AI mode. */
+    INVALID_AI_MODE("AI must be 'greedy', 'search' or 'mcts'.");
 
     private final String text;
 
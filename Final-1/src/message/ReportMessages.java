@@ -0,0 +1,42 @@
+package message;
+
+/**
+ * The ReportMessages enum defines the lines of the report printed after a
+ * self-play tournament. Each enum constant holds a template whose placeholders
+ * are filled with the statistics of the tournament.
+ *
+ * @author udqch
+ */
+public enum ReportMessages {
+
+    /** Number of games, wall-clock time and throughput. */
+    GAMES("Games: %d in %.2f s (%.1f games/s)"),
+    /** Wins of one AI variant. */
+    VARIANT_WINS("%s (ai%d): %d wins (%.1f %%)"),
+    /** Wins of the team moving first. */
+    FIRST_TEAM_WINS("First team: %d wins (%.1f %%)"),
+    /** Games that ended without a winner. */
+    NO_WINNER("No winner: %d"),
+    /** Length of the games in turns. */
+    TURNS("Turns: avg %.1f, min %d, max %d"),
+    /** Header of the table of the life point curves. */
+    LP_CURVE_HEADER("Turn  LP ai1  LP ai2  Games"),
+    /** Row of the table of the life point curves. */
+    LP_CURVE_ROW("%4d  %6d  %6d  %5d");
+
+    private final String template;
+
+    ReportMessages(String template) {
+        this.template = template;
+    }
+
+    /**
+     * Formats the report line using the provided arguments.
+     *
+     * @param args The arguments to be formatted into the template.
+     * @return The formatted report line.
+     */
+    public String format(Object... args) {
+        return String.format(this.template, args);
+    }
+}
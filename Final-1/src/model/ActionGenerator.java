@@ -0,0 +1,341 @@
+package model;
+
+import utils.GameConstants;
+
+/**
+ * The ActionGenerator class enumerates the legal actions of a team in a
+ * {@link GameState}. Each action is packed into an int and written to a buffer
+ * provided by the caller, so that generating actions neither allocates nor
+ * throws. A packed action is applied with {@link GameState#apply(int, int)} and
+ * taken apart with the decoding methods of this class.
+ *
+ * <p>
+ * The actions are generated in a fixed order: King moves, placements, unit
+ * moves, blocks, flips and finally the end of the turn. Placements cover every
+ * field next to the King and every ordered selection of distinct hand cards,
+ * as the order decides how the cards combine. Staying in place counts as a
+ * move. The end of the turn is only legal for the team whose turn it is and
+ * comes with one action per card that can be discarded if the hand is full.
+ * </p>
+ *
+ * @author udqch
+ */
+public final class ActionGenerator {
+    /** The type of an action moving a unit or the King. */
+    public static final int MOVE = 1;
+    /** The type of an action placing cards from the hand. */
+    public static final int PLACE = 2;
+    /** The type of an action flipping a hidden unit. */
+    public static final int FLIP = 3;
+    /** The type of an action letting a unit block. */
+    public static final int BLOCK = 4;
+    /** The type of an action ending the turn. */
+    public static final int END_TURN = 5;
+
+    // Layout of a packed action, from the lowest bit
+    private static final int TYPE_BITS = 3;
+    private static final int FIELD_BITS = 6;
+    private static final int INDEX_BITS = 3;
+    private static final int TYPE_MASK = (1 << TYPE_BITS) - 1;
+    private static final int FIELD_MASK = (1 << FIELD_BITS) - 1;
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+    private static final int FIELD_SHIFT = TYPE_BITS;
+    private static final int TARGET_SHIFT = FIELD_SHIFT + FIELD_BITS;
+    private static final int COUNT_SHIFT = TARGET_SHIFT;
+    private static final int INDICES_SHIFT = COUNT_SHIFT + INDEX_BITS;
+
+    private static final int COLS = GameConstants.BOARD_COLS;
+    private static final int ROWS = GameConstants.BOARD_ROWS;
+    private static final int NONE = GameState.NONE;
+    // Staying in place followed by the four orthogonal steps
+    private static final int[][] MOVE_STEPS = { { 0, 0 }, { 0, 1 }, { 1, 0 }, { 0, -1 }, { -1, 0 } };
+
+    /** A buffer of this length holds the actions of any state. */
+    public static final int MAX_ACTIONS = maxActions();
+
+    private ActionGenerator() {
+        // Private constructor to prevent instantiation
+    }
+
+    // --- GENERATION ---
+
+    /**
+     * Writes all legal actions of a team to a buffer. A finished game has no
+     * legal actions.
+     *
+     * @param state  The state to generate the actions for.
+     * @param team   The index of the acting team.
+     * @param buffer The buffer receiving the packed actions, at least
+     *               {@link #MAX_ACTIONS} long.
+     * @return The number of actions written.
+     */
+    public static int generate(GameState state, int team, int[] buffer) {
+        return generate(state, team, buffer, GameConstants.MAX_HAND_SIZE);
+    }
+
+    /**
+     * Writes the legal actions of a team to a buffer, leaving out placements of
+     * more than the given number of cards. Search methods that cannot afford
+     * every ordered selection of the hand use this to keep the branching small.
+     *
+     * @param state    The state to generate the actions for.
+     * @param team     The index of the acting team.
+     * @param buffer   The buffer receiving the packed actions, at least
+     *                 {@link #MAX_ACTIONS} long.
+     * @param maxCards The maximum number of cards of a placement.
+     * @return The number of actions written.
+     */
+    public static int generate(GameState state, int team, int[] buffer, int maxCards) {
+        UnitTable units = state.getUnits();
+        TeamTable teams = state.getTeams();
+        if (state.isGameOver()) {
+            return 0;
+        }
+        int count = generateMoves(state, team, state.getKing(team), buffer, 0);
+        count = generatePlacements(state, team, maxCards, buffer, count);
+        for (int i = 0; i < teams.getActiveCount(team); i++) {
+            count = generateMoves(state, team, teams.getActiveUnit(team, i), buffer, count);
+        }
+        for (int i = 0; i < teams.getActiveCount(team); i++) {
+            int unit = teams.getActiveUnit(team, i);
+            if (!units.hasMoved(unit)) {
+                buffer[count++] = encodeBlock(units.getField(unit));
+            }
+        }
+        for (int i = 0; i < teams.getActiveCount(team); i++) {
+            int unit = teams.getActiveUnit(team, i);
+            if (!units.hasMoved(unit) && units.isHidden(unit)) {
+                buffer[count++] = encodeFlip(units.getField(unit));
+            }
+        }
+        return generateEndTurn(state, team, buffer, count);
+    }
+
+    private static int generateMoves(GameState state, int team, int unit, int[] buffer, int count) {
+        UnitTable units = state.getUnits();
+        int from = units.getField(unit);
+        if (state.getUnitAt(from) != unit || units.hasMoved(unit)) {
+            return count; // A replaced King keeps its field but is no longer on the board
+        }
+        int col = from % COLS;
+        int row = from / COLS;
+        for (int[] step : MOVE_STEPS) {
+            int targetCol = col + step[0];
+            int targetRow = row + step[1];
+            if (targetCol < 0 || targetCol >= COLS || targetRow < 0 || targetRow >= ROWS) {
+                continue;
+            }
+            int to = targetRow * COLS + targetCol;
+            int target = state.getUnitAt(to);
+            if (units.isKing(unit) && to != from && target != NONE && units.getOwner(target) != team) {
+                continue; // The King cannot duel
+            }
+            buffer[count++] = encodeMove(from, to);
+        }
+        return count;
+    }
+
+    private static int generatePlacements(GameState state, int team, int maxCards, int[] buffer, int count) {
+        UnitTable units = state.getUnits();
+        TeamTable teams = state.getTeams();
+        if (state.hasPlacedUnitInTurn() || teams.getHandSize(team) == 0) {
+            return count;
+        }
+        int kingField = units.getField(state.getKing(team));
+        int kingCol = kingField % COLS;
+        int kingRow = kingField / COLS;
+        int result = count;
+        for (int row = Math.max(0, kingRow - 1); row <= Math.min(ROWS - 1, kingRow + 1); row++) {
+            for (int col = Math.max(0, kingCol - 1); col <= Math.min(COLS - 1, kingCol + 1); col++) {
+                int field = row * COLS + col;
+                int existing = state.getUnitAt(field);
+                if (existing == NONE || units.getOwner(existing) == team) {
+                    int handSize = teams.getHandSize(team);
+                    result = generateSelections(handSize, maxCards, encode(PLACE, field, 0), 0, 0, buffer, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    // Appends every ordered selection of at most maxCards unused hand indices to
+    // the given placement, which already holds the given number of indices but
+    // no count
+    private static int generateSelections(int handSize, int maxCards, int placement, int selected, int used,
+            int[] buffer, int count) {
+        int result = count;
+        for (int index = 0; index < handSize; index++) {
+            if ((used & (1 << index)) != 0) {
+                continue;
+            }
+            int withIndex = placement | index << (INDICES_SHIFT + selected * INDEX_BITS);
+            buffer[result++] = withIndex | (selected + 1) << COUNT_SHIFT;
+            if (selected + 1 < maxCards) {
+                result = generateSelections(handSize, maxCards, withIndex, selected + 1, used | 1 << index, buffer,
+                        result);
+            }
+        }
+        return result;
+    }
+
+    private static int generateEndTurn(GameState state, int team, int[] buffer, int count) {
+        TeamTable teams = state.getTeams();
+        if (team != state.getCurrentTeam()) {
+            return count;
+        }
+        int result = count;
+        if (teams.getHandSize(team) == GameConstants.MAX_HAND_SIZE) {
+            for (int index = 0; index < teams.getHandSize(team); index++) {
+                buffer[result++] = encodeEndTurn(index);
+            }
+        } else {
+            buffer[result++] = encodeEndTurn(NONE);
+        }
+        return result;
+    }
+
+
+    private static int maxActions() {
+        // Ordered selections of distinct cards from a full hand
+        int selections = 0;
+        int permutations = 1;
+        for (int k = 0; k < GameConstants.MAX_HAND_SIZE; k++) {
+            permutations *= GameConstants.MAX_HAND_SIZE - k;
+            selections += permutations;
+        }
+        int placementFields = 3 * 3;
+        int units = GameConstants.MAX_ACTIVE_UNITS + 1;
+        return placementFields * selections + units * MOVE_STEPS.length + 2 * GameConstants.MAX_ACTIVE_UNITS
+                + GameConstants.MAX_HAND_SIZE;
+    }
+
+    // --- ENCODING ---
+
+    /**
+     * Packs a move of the unit on a field.
+     *
+     * @param from The field of the unit.
+     * @param to   The target field, equal to the field to stay in place.
+     * @return The packed move.
+     */
+    public static int encodeMove(int from, int to) {
+        return encode(MOVE, from, to << TARGET_SHIFT);
+    }
+
+    /**
+     * Packs a placement of cards from the hand.
+     *
+     * @param field       The target field.
+     * @param handIndices The 0-based hand indices in the order they are placed.
+     * @param count       The number of indices used.
+     * @return The packed placement.
+     */
+    public static int encodePlace(int field, int[] handIndices, int count) {
+        int action = encode(PLACE, field, count << COUNT_SHIFT);
+        for (int i = 0; i < count; i++) {
+            action |= handIndices[i] << (INDICES_SHIFT + i * INDEX_BITS);
+        }
+        return action;
+    }
+
+    /**
+     * Packs a flip of the unit on a field.
+     *
+     * @param field The field of the unit.
+     * @return The packed flip.
+     */
+    public static int encodeFlip(int field) {
+        return encode(FLIP, field, 0);
+    }
+
+    /**
+     * Packs a block of the unit on a field.
+     *
+     * @param field The field of the unit.
+     * @return The packed block.
+     */
+    public static int encodeBlock(int field) {
+        return encode(BLOCK, field, 0);
+    }
+
+    /**
+     * Packs the end of a turn.
+     *
+     * @param discardIndex The 0-based hand index of the card to discard, or
+     *                     {@link GameState#NONE}.
+     * @return The packed end of turn.
+     */
+    public static int encodeEndTurn(int discardIndex) {
+        return encode(END_TURN, discardIndex + 1, 0);
+    }
+
+    private static int encode(int type, int field, int payload) {
+        return type | field << FIELD_SHIFT | payload;
+    }
+
+    // --- DECODING ---
+
+    /**
+     * Returns the type of a packed action.
+     *
+     * @param action The packed action.
+     * @return One of {@link #MOVE}, {@link #PLACE}, {@link #FLIP},
+     *         {@link #BLOCK} and {@link #END_TURN}.
+     */
+    public static int typeOf(int action) {
+        return action & TYPE_MASK;
+    }
+
+    /**
+     * Returns the field of a packed action: the field of the moving, flipping or
+     * blocking unit, or the target field of a placement.
+     *
+     * @param action The packed action.
+     * @return The field of the action.
+     */
+    public static int fieldOf(int action) {
+        return action >>> FIELD_SHIFT & FIELD_MASK;
+    }
+
+    /**
+     * Returns the target field of a packed move.
+     *
+     * @param action The packed move.
+     * @return The target field.
+     */
+    public static int targetOf(int action) {
+        return action >>> TARGET_SHIFT & FIELD_MASK;
+    }
+
+    /**
+     * Returns the number of cards of a packed placement.
+     *
+     * @param action The packed placement.
+     * @return The number of cards placed.
+     */
+    public static int cardCountOf(int action) {
+        return action >>> COUNT_SHIFT & INDEX_MASK;
+    }
+
+    /**
+     * Returns a hand index of a packed placement.
+     *
+     * @param action The packed placement.
+     * @param i      The 0-based position of the card in the placement order.
+     * @return The 0-based hand index of the card.
+     */
+    public static int handIndexOf(int action, int i) {
+        return action >>> (INDICES_SHIFT + i * INDEX_BITS) & INDEX_MASK;
+    }
+
+    /**
+     * Returns the hand index discarded by a packed end of turn.
+     *
+     * @param action The packed end of turn.
+     * @return The 0-based hand index, or {@link GameState#NONE} if no card is
+     *         discarded.
+     */
+    public static int discardIndexOf(int action) {
+        return fieldOf(action) - 1;
+    }
+}
@@ -10,6 +10,15 @@ import utils.GameConstants;
  * It provides methods to parse coordinates, get and place units, and check if
  * positions are occupied.
  * 
+ * <p>
+ * Besides the grid of units, the board keeps bitboards of the fields: one
+ * 49-bit mask per team and masks of the hidden, blocking and king units, with
+ * bit {@link Position#toIndex()} standing for a field. The masks are updated
+ * whenever a unit is placed, removed or moved; a change of a unit's hidden or
+ * blocking status on the board must be reported by
+ * {@link #refreshStatusAt(Position)}.
+ * </p>
+ * 
  * @author udqch
  */
 public class Board {
@@ -19,13 +28,43 @@ public class Board {
     // Direction vectors for counting units in orthogonal directions only
     private static final int[][] FOUR_DIRECTIONS = { { 0, 1 }, { 1, 0 }, { 0, -1 }, { -1, 0 } };
 
+    private static final int FIELD_COUNT = GameConstants.BOARD_ROWS * GameConstants.BOARD_COLS;
+    // Masks of the neighboring fields of each field, indexed by field
+    private static final long[] EIGHT_NEIGHBORS = computeNeighborMasks(EIGHT_DIRECTIONS);
+    private static final long[] FOUR_NEIGHBORS = computeNeighborMasks(FOUR_DIRECTIONS);
+
     private final Unit[][] board;
+    private final Team team1;
+    private final Team team2;
+
+    private long team1Mask;
+    private long team2Mask;
+    private long hiddenMask;
+    private long blockingMask;
+    private long kingMask;
 
     /**
-     * Constructor for the Board class, which initializes an empty 7x7 grid.
+     * Constructor for the Board class, which initializes an empty 7x7 grid for the
+     * units of the two given teams.
+     * 
+     * @param team1 The first team playing on this board.
+     * @param team2 The second team playing on this board.
      */
-    public Board() {
+    public Board(Team team1, Team team2) {
         this.board = new Unit[GameConstants.BOARD_ROWS][GameConstants.BOARD_COLS];
+        this.team1 = team1;
+        this.team2 = team2;
+    }
+
+    // Computes the mask of the neighboring fields in the given directions for each field
+    private static long[] computeNeighborMasks(int[][] directions) {
+        long[] masks = new long[FIELD_COUNT];
+        for (int index = 0; index < FIELD_COUNT; index++) {
+            for (Position neighbor : Position.fromIndex(index).getNeighbors(directions)) {
+                masks[index] |= 1L << neighbor.toIndex();
+            }
+        }
+        return masks;
     }
 
     // --- BOARD OPERATIONS ---
@@ -40,6 +79,17 @@ public class Board {
         return this.board[pos.col()][pos.row()];
     }
 
+    /**
+     * Get the unit at the specified coordinates on the board.
+     * 
+     * @param col The column index of the field.
+     * @param row The row index of the field.
+     * @return The unit at the specified field, or null if the field is empty.
+     */
+    public Unit getUnitAt(int col, int row) {
+        return this.board[col][row];
+    }
+
     /**
      * Place a unit at the specified position on the board.
      * 
@@ -47,8 +97,20 @@ public class Board {
      * @param pos  The position in string format (e.g., "A1", "B2").
      */
     public void placeUnitAt(Unit unit, Position pos) {
+        long bit = 1L << pos.toIndex();
+        clearMasks(bit); // The unit replaces any unit on this field
         this.board[pos.col()][pos.row()] = unit;
         unit.setPosition(pos); // Update the unit's position
+
+        if (unit.getOwner() == team1) {
+            team1Mask |= bit;
+        } else if (unit.getOwner() == team2) {
+            team2Mask |= bit;
+        }
+        if (unit.isKing()) {
+            kingMask |= bit;
+        }
+        refreshStatusAt(pos);
     }
 
     /**
@@ -58,6 +120,30 @@ public class Board {
      */
     public void removeUnitAt(Position pos) {
         this.board[pos.col()][pos.row()] = null;
+        clearMasks(1L << pos.toIndex());
+    }
+
+    /**
+     * Updates the hidden and blocking masks for the unit at the specified
+     * position. This must be called whenever the hidden or blocking status of a
+     * unit on the board changes.
+     * 
+     * @param pos The position of the unit whose status has changed.
+     */
+    public void refreshStatusAt(Position pos) {
+        long bit = 1L << pos.toIndex();
+        Unit unit = getUnitAt(pos);
+        hiddenMask = (unit != null && unit.isHidden()) ? hiddenMask | bit : hiddenMask & ~bit;
+        blockingMask = (unit != null && unit.isBlocking()) ? blockingMask | bit : blockingMask & ~bit;
+    }
+
+    // Clears the given fields in all masks
+    private void clearMasks(long bits) {
+        team1Mask &= ~bits;
+        team2Mask &= ~bits;
+        hiddenMask &= ~bits;
+        blockingMask &= ~bits;
+        kingMask &= ~bits;
     }
 
     /**
@@ -89,7 +175,7 @@ public class Board {
      * @return True if the position is occupied, false otherwise.
      */
     public boolean isOccupied(Position pos) {
-        return getUnitAt(pos) != null;
+        return ((team1Mask | team2Mask) & (1L << pos.toIndex())) != 0;
     }
 
     /**
@@ -102,8 +188,7 @@ public class Board {
      *         false otherwise.
      */
     public boolean isOwnedBy(Position pos, Team team) {
-        Unit unit = getUnitAt(pos);
-        return unit != null && unit.getOwner() == team;
+        return (getTeamMask(team) & (1L << pos.toIndex())) != 0;
     }
 
     /**
@@ -149,22 +234,80 @@ public class Board {
      *         criteria.
      */
     public int countUnitsAround(Position pos, boolean eightDirections, Team targetTeam, Unit excludedUnit) {
-        int count = 0;
-
-        // Define the directions to check based on the eightDirections flag
-        int[][] directions = eightDirections ? EIGHT_DIRECTIONS : FOUR_DIRECTIONS;
-
-        for (int[] dir : directions) {
-            int newCol = pos.col() + dir[0];
-            int newRow = pos.row() + dir[1];
-            if (newCol >= 0 && newCol < GameConstants.BOARD_COLS && newRow >= 0 && newRow < GameConstants.BOARD_ROWS) {
-                Unit adjacentUnit = board[newCol][newRow];
-                if (adjacentUnit != null && adjacentUnit.getOwner() == targetTeam
-                        && adjacentUnit != excludedUnit) {
-                    count++;
-                }
-            }
+        long[] neighborMasks = eightDirections ? EIGHT_NEIGHBORS : FOUR_NEIGHBORS;
+        long units = neighborMasks[pos.toIndex()] & getTeamMask(targetTeam);
+        int count = Long.bitCount(units);
+
+        // The excluded unit only counts if it is actually standing on one of these fields
+        Position excludedPos = (excludedUnit == null) ? null : excludedUnit.getPosition();
+        if (excludedPos != null && (units & (1L << excludedPos.toIndex())) != 0
+                && getUnitAt(excludedPos) == excludedUnit) {
+            count--;
         }
         return count;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the mask of the neighboring fields of a position.
+     * 
+     * @param pos             The position whose neighbors are returned.
+     * @param eightDirections If true, includes the diagonal neighbors; if false,
+     *                        only the orthogonal ones.
+     * @return The mask with one bit set per neighboring field.
+     */
+    public static long getNeighborMask(Position pos, boolean eightDirections) {
+        return (eightDirections ? EIGHT_NEIGHBORS : FOUR_NEIGHBORS)[pos.toIndex()];
+    }
+
+    // --- BITBOARDS ---
+
+    /**
+     * Returns the mask of the fields occupied by units of the given team.
+     * 
+     * @param team The team whose units are returned.
+     * @return The mask of the team's fields, or 0 if the team does not play on
+     *         this board.
+     */
+    public long getTeamMask(Team team) {
+        if (team == team1) {
+            return team1Mask;
+        }
+        return (team == team2) ? team2Mask : 0L;
+    }
+
+    /**
+     * Returns the mask of all occupied fields.
+     * 
+     * @return The mask of the fields occupied by units of either team.
+     */
+    public long getOccupiedMask() {
+        return team1Mask | team2Mask;
+    }
+
+    /**
+     * Returns the mask of the fields occupied by hidden units.
+     * 
+     * @return The mask of the hidden units' fields.
+     */
+    public long getHiddenMask() {
+        return hiddenMask;
+    }
+
+    /**
+     * Returns the mask of the fields occupied by blocking units.
+     * 
+     * @return The mask of the blocking units' fields.
+     */
+    public long getBlockingMask() {
+        return blockingMask;
+    }
+
+    /**
+     * Returns the mask of the fields occupied by Kings.
+     * 
+     * @return The mask of the Kings' fields.
+     */
+    public long getKingMask() {
+        return kingMask;
+    }
+}
@@ -0,0 +1,105 @@
+package model;
+
+import java.util.random.RandomGenerator;
+import utils.GameConstants;
+
+/**
+ * The Determinizer class replaces what a team cannot see in a
+ * {@link GameState} with a random guess that agrees with what it can see, so
+ * that searches of that team read as little hidden information as possible.
+ * The cards of the other team's hidden units, hand and remaining deck are dealt
+ * anew from the same cards in random order, and the observer's remaining deck
+ * is shuffled.
+ *
+ * <p>
+ * Combined units are the one exception: they have no card, and the cards they
+ * were combined from are no longer known, so hidden combined units of the other
+ * team keep their true stats.
+ * </p>
+ *
+ * <p>
+ * The shuffled decks belong to the determinizer. States determinized by it, and
+ * the states copied from them, share the decks until it determinizes again, so
+ * every searching thread uses its own determinizer.
+ * </p>
+ *
+ * @author udqch
+ */
+public final class Determinizer {
+    // Scratch space for the cards dealt anew, grown on demand
+    private int[] unknownCards = new int[0];
+    private final int[][] decks = new int[GameState.TEAM_COUNT][];
+
+    /**
+     * Determinizes a state from the view of a team.
+     *
+     * @param state    The state to change.
+     * @param observer The index of the team whose view is kept.
+     * @param random   The source of randomness.
+     */
+    public void determinize(GameState state, int observer, RandomGenerator random) {
+        UnitTable units = state.getUnits();
+        TeamTable teams = state.getTeams();
+        int other = 1 - observer;
+        int capacity = GameConstants.MAX_ACTIVE_UNITS + TeamTable.HAND_CAPACITY
+                + Math.max(teams.getDeckSize(0), teams.getDeckSize(1));
+        if (unknownCards.length < capacity) {
+            unknownCards = new int[capacity];
+        }
+
+        int count = 0;
+        for (int i = 0; i < teams.getActiveCount(other); i++) {
+            int unit = teams.getActiveUnit(other, i);
+            if (units.isHidden(unit) && units.getCard(unit) != GameState.NONE) {
+                unknownCards[count++] = units.getCard(unit);
+            }
+        }
+        for (int i = 0; i < teams.getHandSize(other); i++) {
+            unknownCards[count++] = teams.getHandCard(other, i);
+        }
+        for (int i = 0; i < teams.getDeckSize(other); i++) {
+            unknownCards[count++] = teams.getDeckCard(other, i);
+        }
+        shuffle(unknownCards, count, random);
+
+        int dealt = 0;
+        for (int i = 0; i < teams.getActiveCount(other); i++) {
+            int unit = teams.getActiveUnit(other, i);
+            if (units.isHidden(unit) && units.getCard(unit) != GameState.NONE) {
+                state.setCard(unit, unknownCards[dealt++]);
+            }
+        }
+        for (int i = 0; i < teams.getHandSize(other); i++) {
+            teams.setHandCard(other, i, unknownCards[dealt++]);
+        }
+        replaceDeck(teams, other, dealt, count - dealt);
+
+        int ownDeckSize = teams.getDeckSize(observer);
+        for (int i = 0; i < ownDeckSize; i++) {
+            unknownCards[i] = teams.getDeckCard(observer, i);
+        }
+        shuffle(unknownCards, ownDeckSize, random);
+        replaceDeck(teams, observer, 0, ownDeckSize);
+    }
+
+    // Fisher-Yates shuffle of the first count elements
+    private static void shuffle(int[] cards, int count, RandomGenerator random) {
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int card = cards[i];
+            cards[i] = cards[j];
+            cards[j] = card;
+        }
+    }
+
+    // Makes the given unknown cards the remaining deck of a team, stored at the
+    // end of a deck owned by this determinizer
+    private void replaceDeck(TeamTable teams, int team, int from, int count) {
+        if (decks[team] == null || decks[team].length < count) {
+            decks[team] = new int[count];
+        }
+        int head = decks[team].length - count;
+        System.arraycopy(unknownCards, from, decks[team], head, count);
+        teams.setDeck(team, decks[team], head);
+    }
+}
@@ -1,8 +1,8 @@
 package model;
 
 import exceptions.GameLogicException;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 import message.ErrorMessage;
 import message.EventLog;
 
@@ -25,6 +25,7 @@ public class Game {
 
     private boolean hasPlaceUnitInTurn;
     private boolean isGameOver;
+    private boolean isEventLogEnabled = true;
 
     /**
      * Constructor for the Game class, which initializes the game state with the
@@ -41,13 +42,26 @@ public class Game {
     public Game(Team team1, Team team2)
             throws GameLogicException {
 
-        this.board = new Board();
+        this(team1, team2, team1);
+        initializeGame();
+    }
+
+    /**
+     * Constructor for a game that continues from a given state, used by
+     * {@link StateConverter#toGame(GameState)}. Unlike the public constructor, it neither draws
+     * the initial hands nor places the Kings, which is left to the caller.
+     * 
+     * @param team1       The team representing the first team.
+     * @param team2       The team representing the second team.
+     * @param currentTurn The team whose turn it is.
+     */
+    Game(Team team1, Team team2, Team currentTurn) {
+        this.board = new Board(team1, team2);
         this.team1 = team1;
         this.team2 = team2;
+        this.currentTurn = currentTurn;
 
         this.isGameOver = false;
-
-        initializeGame();
     }
 
     private void initializeGame() throws GameLogicException {
@@ -76,15 +90,29 @@ public class Game {
 
         if (team1.isDefeated() || team2.isDefeated()) {
             if (team1.isDefeated()) {
-                logs.add(EventLog.LP_DROPPED_TO_ZERO.format(team1.getName()));
+                log(logs, () -> EventLog.LP_DROPPED_TO_ZERO.format(team1.getName()));
             }
             if (team2.isDefeated()) {
-                logs.add(EventLog.LP_DROPPED_TO_ZERO.format(team2.getName()));
+                log(logs, () -> EventLog.LP_DROPPED_TO_ZERO.format(team2.getName()));
             }
 
             winner = team1.isDefeated() ? team2 : team1;
             isGameOver = true;
-            logs.add(EventLog.WINS.format(winner.getName()));
+            log(logs, () -> EventLog.WINS.format(winner.getName()));
+        }
+    }
+
+    /**
+     * Adds an event log message to a list of messages if the event log is enabled.
+     * The message is only built if it is added, so a disabled event log costs no
+     * string formatting.
+     * 
+     * @param logs    The list of logs to which the message will be added.
+     * @param message The supplier building the message.
+     */
+    void log(List<String> logs, Supplier<String> message) {
+        if (isEventLogEnabled) {
+            logs.add(message.get());
         }
     }
 
@@ -152,21 +180,7 @@ public class Game {
      *                            rules.
      */
     public List<String> executeFlip(Team team, Position pos) throws GameLogicException {
-        List<String> logs = new ArrayList<>();
-        Unit unit = board.getUnitAt(pos);
-
-        validateUnit(team, pos);
-        if (unit.isKing()) {
-            throw new GameLogicException(ErrorMessage.KING_CANNOT_FLIP.format());
-        }
-        if (!unit.isHidden()) {
-            throw new GameLogicException(ErrorMessage.UNIT_ALREADY_FLIPPED.format(unit.getName()));
-        }
-
-        unit.setHidden(!unit.isHidden());
-        unit.setHasMoved(false); // Flipping does not consume the move action
-        logs.add(EventLog.FLIP.format(unit.getName(), unit.getAtk(), unit.getDef(), pos.toString()));
-        return logs;
+        return UnitActionHelper.executeFlip(this, team, pos);
     }
 
     /**
@@ -181,18 +195,7 @@ public class Game {
      *                            rules.
      */
     public List<String> executeBlock(Team team, Position pos) throws GameLogicException {
-        List<String> logs = new ArrayList<>();
-        Unit unit = board.getUnitAt(pos);
-
-        validateUnit(team, pos);
-        if (unit.isKing()) {
-            throw new GameLogicException(ErrorMessage.KING_CANNOT_BLOCK.format());
-        }
-
-        unit.setBlocking(true);
-        unit.setHasMoved(true);
-        logs.add(EventLog.BLOCKS.format(unit.getName(), unit.getPosition().toString()));
-        return logs;
+        return UnitActionHelper.executeBlock(this, team, pos);
     }
 
     /**
@@ -357,4 +360,25 @@ public class Game {
     void setGameOver(boolean isGameOver) {
         this.isGameOver = isGameOver;
     }
+
+    /**
+     * Returns whether the actions of the game report their events.
+     * 
+     * @return True if event log messages are built, false otherwise.
+     */
+    public boolean isEventLogEnabled() {
+        return this.isEventLogEnabled;
+    }
+
+    /**
+     * Enables or disables the event log. While it is disabled, the actions of the
+     * game return empty lists of messages, which saves the cost of building them
+     * when nobody reads them, for example in games between AI players.
+     * 
+     * @param isEventLogEnabled True to build event log messages, false to suppress
+     *                          them.
+     */
+    public void setEventLogEnabled(boolean isEventLogEnabled) {
+        this.isEventLogEnabled = isEventLogEnabled;
+    }
 }
@@ -0,0 +1,397 @@
+package model;
+
+import java.util.Arrays;
+import utils.GameConstants;
+
+/**
+ * The GameState class is a compact encoding of the state of a game in
+ * primitive arrays, meant for simulations such as lookahead or Monte Carlo
+ * search. It holds the board, the units with their stats and flags in a
+ * {@link UnitTable}, the hands, decks and life points of both teams in a
+ * {@link TeamTable}, the team whose turn it is and whether a unit has been
+ * placed in this turn. A state can be copied in time linear in its size and is
+ * converted from and to the object model by the {@link StateConverter}. Every
+ * state keeps a Zobrist hash of its position, see {@link #getHash()}, which
+ * its operations and those of the team table update incrementally.
+ *
+ * <p>
+ * Teams are identified by their index, 0 for the first and 1 for the second
+ * team. Fields are identified by {@link Position#toIndex()}. Cards in hands and
+ * decks as well as the names of units are IDs of the {@link UnitCatalog}
+ * shared by the copies of a state.
+ * </p>
+ *
+ * <p>
+ * The rules are implemented by {@link #apply(int, int)} with the same results
+ * as the corresponding methods of {@link Game}. Instead of throwing an
+ * exception, an invalid action returns false and leaves the state unchanged. As
+ * units are placed face down and decks are shuffled, a team does not know the
+ * whole state; a {@link Determinizer} replaces what it cannot see, apart from
+ * hidden combined units, with a random guess.
+ * </p>
+ *
+ * @author udqch
+ */
+public final class GameState {
+    /** The number of teams in a game. */
+    public static final int TEAM_COUNT = 2;
+    /** The number of fields on the board. */
+    public static final int FIELD_COUNT = GameConstants.BOARD_ROWS * GameConstants.BOARD_COLS;
+    /** The value of an empty field, a missing unit or a missing team. */
+    public static final int NONE = -1;
+
+    private UnitCatalog catalog;
+    private String[] teamNames;
+
+    private final int[] board = new int[FIELD_COUNT];
+    private final UnitTable units = new UnitTable();
+    private final TeamTable teams = new TeamTable();
+
+    private int currentTeam;
+    private boolean placedUnitInTurn;
+    private boolean gameOver;
+    private int winner;
+    // The part of the hash not held by the team table
+    private long hash;
+
+    // Scratch space for the hand indices of a placement, not part of the state
+    private final int[] placedIndices = new int[TeamTable.HAND_CAPACITY];
+
+    /**
+     * Constructor for the GameState class, with an empty board and no units.
+     *
+     * @param catalog   The catalog of the card and name IDs.
+     * @param teamNames The names of both teams.
+     */
+    GameState(UnitCatalog catalog, String[] teamNames) {
+        this.catalog = catalog;
+        this.teamNames = teamNames;
+        Arrays.fill(board, NONE);
+        this.winner = NONE;
+        this.hash = ZobristKeys.teamKey(0);
+    }
+
+    /**
+     * Returns a copy of this state sharing its catalog.
+     *
+     * @return The copy.
+     */
+    public GameState copy() {
+        return copy(catalog);
+    }
+
+    /**
+     * Returns a copy of this state with another catalog assigning the same IDs,
+     * such as a {@link UnitCatalog#copy() copy} of its catalog.
+     *
+     * @param catalog The catalog of the copy.
+     * @return The copy.
+     */
+    public GameState copy(UnitCatalog catalog) {
+        GameState copy = new GameState(catalog, teamNames);
+        copyInto(copy);
+        copy.catalog = catalog;
+        return copy;
+    }
+
+    /**
+     * Overwrites another state with this state without allocating.
+     *
+     * @param target The state to overwrite.
+     */
+    public void copyInto(GameState target) {
+        target.catalog = catalog;
+        target.teamNames = teamNames;
+        System.arraycopy(board, 0, target.board, 0, FIELD_COUNT);
+        units.copyInto(target.units);
+        teams.copyInto(target.teams);
+        target.currentTeam = currentTeam;
+        target.placedUnitInTurn = placedUnitInTurn;
+        target.gameOver = gameOver;
+        target.winner = winner;
+        target.hash = hash;
+    }
+
+    // --- GAME LOGIC ---
+
+    /**
+     * Executes an action packed by the {@link ActionGenerator}, see
+     * {@link Game#executeMove(Team, Position, Position)},
+     * {@link Game#executePlace(Team, java.util.List, Position)},
+     * {@link Game#executeFlip(Team, Position)},
+     * {@link Game#executeBlock(Team, Position)} and
+     * {@link Game#endTurn(Team, Unit)}.
+     *
+     * @param team   The index of the acting team.
+     * @param action The packed action.
+     * @return True if the action was executed, false if it is invalid.
+     */
+    public boolean apply(int team, int action) {
+        int field = ActionGenerator.fieldOf(action);
+        switch (ActionGenerator.typeOf(action)) {
+            case ActionGenerator.MOVE:
+                return StateRules.move(this, team, field, ActionGenerator.targetOf(action));
+            case ActionGenerator.PLACE:
+                int count = ActionGenerator.cardCountOf(action);
+                for (int i = 0; i < count; i++) {
+                    placedIndices[i] = ActionGenerator.handIndexOf(action, i);
+                }
+                return StateRules.place(this, team, field, placedIndices, count);
+            case ActionGenerator.FLIP:
+                return StateRules.flip(this, team, field);
+            case ActionGenerator.BLOCK:
+                return StateRules.block(this, team, field);
+            case ActionGenerator.END_TURN:
+                return StateRules.endTurn(this, team, ActionGenerator.discardIndexOf(action));
+            default:
+                return false;
+        }
+    }
+
+    // --- STATE OPERATIONS ---
+
+    /**
+     * Creates a unit in a free slot, see {@link UnitTable}. The unit is neither
+     * on the board nor active.
+     *
+     * @param team      The index of the owning team.
+     * @param qualifier The ID of the qualifier.
+     * @param role      The ID of the role.
+     * @param atk       The attack value.
+     * @param def       The defense value.
+     * @param flags     The flags of the unit.
+     * @return The slot of the new unit.
+     */
+    int createUnit(int team, int qualifier, int role, int atk, int def, int flags) {
+        return units.create(team, qualifier, role, catalog.nameOf(qualifier, role), atk, def, flags);
+    }
+
+    /**
+     * Gives a unit the card it was created from, together with the name and stats
+     * of that card.
+     *
+     * @param unit The slot of the unit.
+     * @param card The ID of the card.
+     */
+    void setCard(int unit, int card) {
+        toggleUnit(unit);
+        units.setCard(unit, card, catalog);
+        toggleUnit(unit);
+    }
+
+    /**
+     * Puts a unit on a field, replacing any unit there, see
+     * {@link Board#placeUnitAt(Unit, Position)}.
+     *
+     * @param unit  The slot of the unit.
+     * @param field The field.
+     */
+    void placeUnit(int unit, int field) {
+        if (board[field] != NONE) {
+            toggleUnit(board[field]);
+        }
+        board[field] = unit;
+        units.setField(unit, field);
+        toggleUnit(unit);
+    }
+
+    /**
+     * Moves the unit on a field to another field, see
+     * {@link Board#moveUnit(Position, Position)}.
+     *
+     * @param from The field of the unit.
+     * @param to   The target field.
+     */
+    void moveUnit(int from, int to) {
+        if (from == to) {
+            return;
+        }
+        int unit = board[from];
+        toggleUnit(unit);
+        board[from] = NONE;
+        placeUnit(unit, to);
+    }
+
+    /**
+     * Removes a unit from the board and from the active units of its team, see
+     * {@link Game#eliminateUnit(Unit)}. The slot is freed unless the unit is a
+     * King.
+     *
+     * @param unit The slot of the unit.
+     */
+    void eliminateUnit(int unit) {
+        teams.removeActiveUnit(units.getOwner(unit), unit);
+        int field = units.getField(unit);
+        if (board[field] != NONE) {
+            toggleUnit(board[field]);
+        }
+        board[field] = NONE;
+        if (!units.isKing(unit)) {
+            units.free(unit);
+        }
+    }
+
+    /**
+     * Sets or clears a flag of a unit.
+     *
+     * @param unit  The slot of the unit.
+     * @param flag  The flag, one of those of the {@link UnitTable}.
+     * @param value True to set the flag, false to clear it.
+     */
+    void setFlag(int unit, int flag, boolean value) {
+        if (units.hasFlag(unit, flag) == value) {
+            return;
+        }
+        toggleUnit(unit);
+        units.setFlag(unit, flag, value);
+        toggleUnit(unit);
+    }
+
+    /**
+     * Sets the team whose turn it is.
+     *
+     * @param team The index of the team.
+     */
+    void setCurrentTeam(int team) {
+        hash ^= ZobristKeys.teamKey(currentTeam) ^ ZobristKeys.teamKey(team);
+        this.currentTeam = team;
+    }
+
+    /**
+     * Sets whether a unit has been placed in the current turn.
+     *
+     * @param placed The new status.
+     */
+    void setPlacedUnitInTurn(boolean placed) {
+        if (placedUnitInTurn != placed) {
+            hash ^= ZobristKeys.placedKey();
+        }
+        this.placedUnitInTurn = placed;
+    }
+
+    /**
+     * Ends the game with the given winner.
+     *
+     * @param team The index of the winning team, or {@link #NONE}.
+     */
+    void setWinner(int team) {
+        this.winner = team;
+        this.gameOver = true;
+    }
+
+    // Adds a unit on the board to the hash or removes it
+    private void toggleUnit(int unit) {
+        int field = units.getField(unit);
+        if (field != NONE && board[field] == unit) {
+            hash ^= units.keyOf(unit);
+        }
+    }
+
+    // --- GETTERS ---
+
+    /**
+     * Returns the catalog of the card and name IDs of this state.
+     *
+     * @return The catalog.
+     */
+    public UnitCatalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Returns the Zobrist hash of the position: the units on the board with their
+     * owners, names, stats and flags, the cards in both hands and decks in their
+     * order, the life points and first round status of both teams, the team whose
+     * turn it is and whether a unit has been placed in this turn. Equal positions
+     * have equal hashes if their states share a catalog.
+     *
+     * @return The hash of the position.
+     */
+    public long getHash() {
+        return hash ^ teams.getHash();
+    }
+
+    /**
+     * Returns the name of a team.
+     *
+     * @param team The index of the team.
+     * @return The name of the team.
+     */
+    public String getTeamName(int team) {
+        return teamNames[team];
+    }
+
+    /**
+     * Returns the units of this state.
+     *
+     * @return The unit table.
+     */
+    public UnitTable getUnits() {
+        return units;
+    }
+
+    /**
+     * Returns the active units, hands, decks and life points of both teams.
+     *
+     * @return The team table.
+     */
+    public TeamTable getTeams() {
+        return teams;
+    }
+
+    /**
+     * Returns the unit on a field.
+     *
+     * @param field The field.
+     * @return The slot of the unit, or {@link #NONE} if the field is empty.
+     */
+    public int getUnitAt(int field) {
+        return board[field];
+    }
+
+    /**
+     * Returns the King of a team.
+     *
+     * @param team The index of the team.
+     * @return The slot of the King.
+     */
+    public int getKing(int team) {
+        return team;
+    }
+
+    /**
+     * Returns the team whose turn it is.
+     *
+     * @return The index of the current team.
+     */
+    public int getCurrentTeam() {
+        return currentTeam;
+    }
+
+    /**
+     * Checks if a unit has been placed in the current turn.
+     *
+     * @return True if a unit has been placed.
+     */
+    public boolean hasPlacedUnitInTurn() {
+        return placedUnitInTurn;
+    }
+
+    /**
+     * Checks if the game is over.
+     *
+     * @return True if the game is over.
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * Returns the winner of the game.
+     *
+     * @return The index of the winning team, or {@link #NONE}.
+     */
+    public int getWinner() {
+        return winner;
+    }
+}
@@ -53,14 +53,15 @@ final class MoveHelper {
 
         if (unit.isBlocking()) {
             unit.setBlocking(false);
-            logs.add(EventLog.NO_LONGER_BLOCKS.format(unit.getName()));
+            board.refreshStatusAt(fromPos);
+            game.log(logs, () -> EventLog.NO_LONGER_BLOCKS.format(unit.getName()));
         }
 
         Unit targetUnit = board.getUnitAt(toPos);
         if (targetUnit == null || fromPos.equals(toPos)) {
             // Situation 1: Target position is empty or the unit stays in place
             board.moveUnit(fromPos, toPos);
-            logs.add(EventLog.MOVES_TO.format(unit.getName(), toPos.toString()));
+            game.log(logs, () -> EventLog.MOVES_TO.format(unit.getName(), toPos.toString()));
         } else if (targetUnit.getOwner().equals(team)) {
             // If the target position has a friendly unit, combine them.
             combineUnits(game, unit, targetUnit, logs);
@@ -79,7 +80,7 @@ final class MoveHelper {
         Board board = game.getBoard();
         Unit king = board.getUnitAt(fromPos);
         if (fromPos.equals(toPos)) { // King chooses to stay in place
-            logs.add(EventLog.MOVES_TO.format(king.getName(), toPos.toString()));
+            game.log(logs, () -> EventLog.MOVES_TO.format(king.getName(), toPos.toString()));
             return;
         }
 
@@ -91,18 +92,18 @@ final class MoveHelper {
             } else {
                 // If the target is a friendly unit, eliminate it and move the King.
                 game.eliminateUnit(targetUnit);
-                logs.add(EventLog.ELIMINATED.format(targetUnit.getName()));
+                game.log(logs, () -> EventLog.ELIMINATED.format(targetUnit.getName()));
             }
         }
         board.moveUnit(fromPos, toPos);
-        logs.add(EventLog.MOVES_TO.format(king.getName(), toPos.toString()));
+        game.log(logs, () -> EventLog.MOVES_TO.format(king.getName(), toPos.toString()));
     }
 
     private static void combineUnits(Game game, Unit unitA, Unit unitB, List<String> logs) throws GameLogicException {
         Position posA = unitA.getPosition();
         Position posB = unitB.getPosition();
-        logs.add(EventLog.MOVES_TO.format(unitA.getName(), posB.toString()));
-        logs.add(EventLog.JOIN_FORCES.format(unitA.getName(), unitB.getName(), posB.toString()));
+        game.log(logs, () -> EventLog.MOVES_TO.format(unitA.getName(), posB.toString()));
+        game.log(logs, () -> EventLog.JOIN_FORCES.format(unitA.getName(), unitB.getName(), posB.toString()));
 
         Board board = game.getBoard();
         Unit combinedUnit = UnitCombiner.combine(unitA, unitB);
@@ -110,7 +111,7 @@ final class MoveHelper {
             // Combination failed, eliminate unitB and move unitA to unitB's position.
             game.eliminateUnit(unitB);
             board.moveUnit(posA, posB);
-            logs.add(EventLog.COMBINE_FAIL.format(unitB.getName()));
+            game.log(logs, () -> EventLog.COMBINE_FAIL.format(unitB.getName()));
         } else {
             // Combination succeeded, eliminate both units and place the combined unit at
             // unitB's position.
@@ -121,7 +122,7 @@ final class MoveHelper {
             combinedUnit.setHasMoved(false); // The combined unit can move again this turn
             combinedUnit.getOwner().addActiveUnit(combinedUnit);
 
-            logs.add(EventLog.COMBINE_SUCCESS.format());
+            game.log(logs, () -> EventLog.COMBINE_SUCCESS.format());
         }
     }
 
@@ -129,24 +130,25 @@ final class MoveHelper {
             throws GameLogicException {
         Position fromPos = attacker.getPosition();
         Position toPos = defender.getPosition();
-        String defName = defender.isHidden() ? "???" : defender.getName();
         if (defender.isKing() || defender.isHidden()) {
-            logs.add(EventLog.ATTACK.format(
-                    attacker.getName(), attacker.getAtk(), attacker.getDef(), defName, toPos.toString()));
+            game.log(logs, () -> EventLog.ATTACK.format(attacker.getName(), attacker.getAtk(), attacker.getDef(),
+                    defender.isHidden() ? "???" : defender.getName(), toPos.toString()));
         } else {
-            logs.add(EventLog.ATTACK_WITH_DEF_STATS.format(
+            game.log(logs, () -> EventLog.ATTACK_WITH_DEF_STATS.format(
                     attacker.getName(), attacker.getAtk(), attacker.getDef(), defender.getName(), defender.getAtk(),
                     defender.getDef(), toPos.toString()));
         }
 
         if (attacker.isHidden()) {
             attacker.faceUp();
-            logs.add(
+            game.getBoard().refreshStatusAt(fromPos);
+            game.log(logs, () -> 
                     EventLog.FLIP.format(attacker.getName(), attacker.getAtk(), attacker.getDef(), fromPos.toString()));
         }
         if (defender.isHidden()) {
             defender.faceUp();
-            logs.add(EventLog.FLIP.format(defender.getName(), defender.getAtk(), defender.getDef(), toPos.toString()));
+            game.getBoard().refreshStatusAt(toPos);
+            game.log(logs, () -> EventLog.FLIP.format(defender.getName(), defender.getAtk(), defender.getDef(), toPos.toString()));
         }
 
         Team atkTeam = attacker.getOwner();
@@ -155,28 +157,28 @@ final class MoveHelper {
 
         // Eliminate unit based on the duel result
         if (result.defenderDies()) {
-            logs.add(EventLog.ELIMINATED.format(defender.getName()));
+            game.log(logs, () -> EventLog.ELIMINATED.format(defender.getName()));
             game.eliminateUnit(defender);
         }
         if (result.attackerDies()) {
-            logs.add(EventLog.ELIMINATED.format(attacker.getName()));
+            game.log(logs, () -> EventLog.ELIMINATED.format(attacker.getName()));
             game.eliminateUnit(attacker);
         }
 
         // Apply damage to both teams based on the duel result
         if (result.attackerDamageTaken() > 0) {
             atkTeam.decreaseLp(result.attackerDamageTaken());
-            logs.add(EventLog.DAMAGE.format(atkTeam.getName(), result.attackerDamageTaken()));
+            game.log(logs, () -> EventLog.DAMAGE.format(atkTeam.getName(), result.attackerDamageTaken()));
         }
         if (result.defenderDamageTaken() > 0) {
             defTeam.decreaseLp(result.defenderDamageTaken());
-            logs.add(EventLog.DAMAGE.format(defTeam.getName(), result.defenderDamageTaken()));
+            game.log(logs, () -> EventLog.DAMAGE.format(defTeam.getName(), result.defenderDamageTaken()));
         }
 
         // Move the attacker to the defender's position
         if (result.defenderDies() && !result.attackerDies() && !defender.isKing()) {
             game.getBoard().moveUnit(fromPos, toPos);
-            logs.add(EventLog.MOVES_TO.format(attacker.getName(), toPos.toString()));
+            game.log(logs, () -> EventLog.MOVES_TO.format(attacker.getName(), toPos.toString()));
         }
     }
 }
\ No newline at end of file
@@ -56,10 +56,10 @@ final class PlaceUnitHelper {
         }
 
         for (Unit unit : unitsToPlace) {
-            logs.add(EventLog.PLACES.format(team.getName(), unit.getName(), targetPos.toString()));
+            game.log(logs, () -> EventLog.PLACES.format(team.getName(), unit.getName(), targetPos.toString()));
 
             if (team.getActiveUnits().size() >= GameConstants.MAX_ACTIVE_UNITS) {
-                logs.add(EventLog.ELIMINATED.format(unit.getName()));
+                game.log(logs, () -> EventLog.ELIMINATED.format(unit.getName()));
                 continue;
             }
 
@@ -117,7 +117,7 @@ final class PlaceUnitHelper {
     private static void combineUnits(Game game, Unit newUnit, Unit targetUnit, List<String> logs) {
         Team team = newUnit.getOwner();
         Position pos = targetUnit.getPosition();
-        logs.add(EventLog.JOIN_FORCES.format(newUnit.getName(), targetUnit.getName(), pos.toString()));
+        game.log(logs, () -> EventLog.JOIN_FORCES.format(newUnit.getName(), targetUnit.getName(), pos.toString()));
 
         Unit combinedUnit = UnitCombiner.combine(newUnit, targetUnit);
         game.eliminateUnit(targetUnit);
@@ -127,14 +127,14 @@ final class PlaceUnitHelper {
             game.getBoard().placeUnitAt(combinedUnit, pos);
             team.addActiveUnit(combinedUnit);
             combinedUnit.setHasMoved(false); // The combined unit can still move this turn
-            logs.add(EventLog.COMBINE_SUCCESS.format());
+            game.log(logs, () -> EventLog.COMBINE_SUCCESS.format());
         } else {
             // If the combination fails, eliminate the target unit and replace with the new
             // unit
             game.getBoard().placeUnitAt(newUnit, pos);
             team.addActiveUnit(newUnit);
             newUnit.setHasMoved(false);
-            logs.add(EventLog.COMBINE_FAIL.format(targetUnit.getName()));
+            game.log(logs, () -> EventLog.COMBINE_FAIL.format(targetUnit.getName()));
         }
     }
 }
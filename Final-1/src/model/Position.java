@@ -61,6 +61,28 @@ public record Position(int col, int row) {
         return "" + colChar + rowChar;
     }
 
+    // --- BOARD INDEX ---
+
+    /**
+     * Returns the index of this position in the bitboards of the board, counting
+     * the fields row by row from A1 (index 0) to G7 (index 48).
+     * 
+     * @return The index of this position.
+     */
+    public int toIndex() {
+        return row * GameConstants.BOARD_COLS + col;
+    }
+
+    /**
+     * Returns the position with the given bitboard index, see {@link #toIndex()}.
+     * 
+     * @param index The index of the position.
+     * @return The position with this index.
+     */
+    public static Position fromIndex(int index) {
+        return new Position(index % GameConstants.BOARD_COLS, index / GameConstants.BOARD_COLS);
+    }
+
     // --- NEIGHBORS ---
 
     /**
@@ -0,0 +1,154 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import utils.GameConstants;
+
+/**
+ * Helper class converting between a {@link Game} and a {@link GameState}.
+ * Converting a game to a state and back yields a game in the same state, with
+ * new teams and units.
+ *
+ * @author udqch
+ */
+public final class StateConverter {
+
+    private StateConverter() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Encodes the current state of a game.
+     *
+     * @param game    The game to encode.
+     * @param catalog The catalog assigning the IDs of cards and names.
+     * @return The state of the game.
+     */
+    public static GameState toState(Game game, UnitCatalog catalog) {
+        Team[] teams = { game.getTeam1(), game.getTeam2() };
+        GameState state = new GameState(catalog, new String[] { teams[0].getName(), teams[1].getName() });
+        TeamTable teamTable = state.getTeams();
+        Board board = game.getBoard();
+
+        for (Team team : teams) {
+            Unit king = team.getKing();
+            int slot = createUnit(state, teamOf(teams, team), king);
+            int field = king.getPosition().toIndex();
+            if (board.getUnitAt(king.getPosition()) == king) {
+                state.placeUnit(slot, field);
+            } else {
+                state.getUnits().setField(slot, field); // The King was replaced but keeps its position
+            }
+        }
+        for (int t = 0; t < GameState.TEAM_COUNT; t++) {
+            for (Unit unit : teams[t].getActiveUnits()) {
+                int slot = createUnit(state, t, unit);
+                state.placeUnit(slot, unit.getPosition().toIndex());
+                teamTable.addActiveUnit(t, slot);
+            }
+            for (Unit card : teams[t].getHand()) {
+                teamTable.addHandCard(t, catalog.cardOf(
+                        new UnitTemplate(card.getQualifier(), card.getRole(), card.getAtk(), card.getDef())));
+            }
+            List<UnitTemplate> deck = teams[t].getDeck();
+            int[] cards = new int[deck.size()];
+            for (int i = 0; i < deck.size(); i++) {
+                cards[i] = catalog.cardOf(deck.get(i));
+            }
+            teamTable.setDeck(t, cards, 0);
+            teamTable.setLp(t, teams[t].getLp());
+            teamTable.setFirstRound(t, teams[t].isFirstRound());
+        }
+
+        state.setCurrentTeam(teamOf(teams, game.getCurrentTurn()));
+        state.setPlacedUnitInTurn(game.hasPlaceUnitInTurn());
+        if (game.isGameOver()) {
+            state.setWinner(teamOf(teams, game.getWinner()));
+        }
+        return state;
+    }
+
+    /**
+     * Creates a game in the given state, with new teams and units.
+     *
+     * @param state The state of the game.
+     * @return The game in this state.
+     */
+    public static Game toGame(GameState state) {
+        UnitCatalog catalog = state.getCatalog();
+        UnitTable units = state.getUnits();
+        TeamTable teamTable = state.getTeams();
+        Team[] teams = new Team[GameState.TEAM_COUNT];
+        for (int t = 0; t < GameState.TEAM_COUNT; t++) {
+            List<UnitTemplate> cards = new ArrayList<>();
+            for (int i = 0; i < teamTable.getHandSize(t); i++) {
+                cards.add(catalog.getTemplate(teamTable.getHandCard(t, i)));
+            }
+            for (int i = 0; i < teamTable.getDeckSize(t); i++) {
+                cards.add(catalog.getTemplate(teamTable.getDeckCard(t, i)));
+            }
+            teams[t] = new Team(state.getTeamName(t), cards);
+            for (int i = 0; i < teamTable.getHandSize(t); i++) {
+                teams[t].drawCard();
+            }
+            teams[t].decreaseLp(GameConstants.INITIAL_LIFE_POINTS - teamTable.getLp(t));
+            teams[t].setFirstRound(teamTable.isFirstRound(t));
+        }
+
+        Game game = new Game(teams[0], teams[1], teams[state.getCurrentTeam()]);
+        Board gameBoard = game.getBoard();
+        for (int t = 0; t < GameState.TEAM_COUNT; t++) {
+            int kingSlot = state.getKing(t);
+            Unit king = teams[t].getKing();
+            copyFlags(units, kingSlot, king);
+            Position kingPos = Position.fromIndex(units.getField(kingSlot));
+            if (state.getUnitAt(units.getField(kingSlot)) == kingSlot) {
+                gameBoard.placeUnitAt(king, kingPos);
+            } else {
+                king.setPosition(kingPos); // The King was replaced but keeps its position
+            }
+            for (int i = 0; i < teamTable.getActiveCount(t); i++) {
+                int slot = teamTable.getActiveUnit(t, i);
+                Unit unit = new Unit(new UnitTemplate(catalog.getQualifierText(units.getQualifier(slot)),
+                        catalog.getRoleText(units.getRole(slot)), units.getAtk(slot), units.getDef(slot)), teams[t]);
+                copyFlags(units, slot, unit);
+                unit.setCombined(units.getCard(slot) == GameState.NONE);
+                gameBoard.placeUnitAt(unit, Position.fromIndex(units.getField(slot)));
+                teams[t].addActiveUnit(unit);
+            }
+        }
+        game.setHasPlaceUnitInTurn(state.hasPlacedUnitInTurn());
+        game.setGameOver(state.isGameOver());
+        game.setWinner((state.getWinner() == GameState.NONE) ? null : teams[state.getWinner()]);
+        return game;
+    }
+
+    private static int teamOf(Team[] teams, Team team) {
+        if (team == null) {
+            return GameState.NONE;
+        }
+        return (team == teams[0]) ? 0 : 1;
+    }
+
+    // Creates the slot of a unit of the game; only a unit drawn from a card gets
+    // the card, as the parts of a combined unit are unknown
+    private static int createUnit(GameState state, int team, Unit unit) {
+        UnitCatalog catalog = state.getCatalog();
+        int qualifier = catalog.qualifierOf(unit.getQualifier());
+        int role = catalog.roleOf(unit.getRole());
+        int flags = (unit.isHidden() ? UnitTable.HIDDEN : 0) | (unit.isBlocking() ? UnitTable.BLOCKING : 0)
+                | (unit.hasMoved() ? UnitTable.MOVED : 0) | (unit.isKing() ? UnitTable.KING : 0);
+        int slot = state.createUnit(team, qualifier, role, unit.getAtk(), unit.getDef(), flags);
+        if (!unit.isKing() && !unit.isCombined()) {
+            state.setCard(slot, catalog.cardOf(
+                    new UnitTemplate(unit.getQualifier(), unit.getRole(), unit.getAtk(), unit.getDef())));
+        }
+        return slot;
+    }
+
+    private static void copyFlags(UnitTable units, int slot, Unit unit) {
+        unit.setHidden(units.isHidden(slot));
+        unit.setBlocking(units.isBlocking(slot));
+        unit.setHasMoved(units.hasMoved(slot));
+    }
+}
@@ -0,0 +1,357 @@
+package model;
+
+import logic.combination.UnitCombiner;
+import utils.GameConstants;
+
+/**
+ * Helper class implementing the game rules on a {@link GameState}. Each action
+ * follows the corresponding method of {@link MoveHelper},
+ * {@link PlaceUnitHelper}, {@link TurnHelper} or {@link Game} step by step, but
+ * reports an invalid action by returning false instead of throwing an
+ * exception. All checks are done before the state is changed.
+ *
+ * @author udqch
+ */
+final class StateRules {
+    private static final int COLS = GameConstants.BOARD_COLS;
+    private static final int NONE = GameState.NONE;
+
+    private StateRules() {
+        // Private constructor to prevent instantiation
+    }
+
+    // --- TURN MANAGEMENT ---
+
+    static void startTurn(GameState state, int team) {
+        TeamTable teams = state.getTeams();
+        state.setPlacedUnitInTurn(false);
+        for (int i = 0; i < teams.getActiveCount(team); i++) {
+            state.setFlag(teams.getActiveUnit(team, i), UnitTable.MOVED, false);
+        }
+        state.setFlag(state.getKing(team), UnitTable.MOVED, false);
+
+        if (teams.getDeckSize(team) == 0) {
+            state.setWinner(otherTeam(team)); // A team that cannot draw loses immediately
+            return;
+        }
+
+        if (teams.isFirstRound(team)) {
+            teams.setFirstRound(team, false);
+        } else {
+            teams.drawCard(team);
+        }
+        checkWinCondition(state);
+    }
+
+    static boolean endTurn(GameState state, int team, int discardIndex) {
+        TeamTable teams = state.getTeams();
+        if (team != state.getCurrentTeam()) {
+            return false;
+        }
+
+        if (teams.getHandSize(team) == GameConstants.MAX_HAND_SIZE) {
+            if (discardIndex < 0 || discardIndex >= teams.getHandSize(team)) {
+                return false;
+            }
+            teams.discardCard(team, discardIndex);
+        } else if (discardIndex != NONE) {
+            return false;
+        }
+
+        int nextTeam = otherTeam(team);
+        state.setCurrentTeam(nextTeam);
+        startTurn(state, nextTeam);
+        return true;
+    }
+
+    // --- GAME LOGIC ---
+
+    static boolean move(GameState state, int team, int from, int to) {
+        UnitTable units = state.getUnits();
+        if (!isField(from) || !isField(to) || !isValidUnit(state, team, from) || distance(from, to) > 1) {
+            return false;
+        }
+
+        int unit = state.getUnitAt(from);
+        if (units.isKing(unit)) {
+            if (!moveKing(state, from, to)) {
+                return false;
+            }
+            state.setFlag(unit, UnitTable.MOVED, true);
+            return true;
+        }
+
+        state.setFlag(unit, UnitTable.BLOCKING, false);
+        int target = state.getUnitAt(to);
+        boolean survives;
+        if (target == NONE || from == to) {
+            state.moveUnit(from, to);
+            survives = true;
+        } else if (units.getOwner(target) == team) {
+            survives = combineOnMove(state, unit, target);
+        } else {
+            survives = handleDuel(state, unit, target);
+        }
+
+        if (survives) {
+            state.setFlag(unit, UnitTable.MOVED, true);
+        }
+        checkWinCondition(state);
+        return true;
+    }
+
+    static boolean flip(GameState state, int team, int field) {
+        UnitTable units = state.getUnits();
+        if (!isField(field) || !isValidUnit(state, team, field)) {
+            return false;
+        }
+        int unit = state.getUnitAt(field);
+        if (units.isKing(unit) || !units.isHidden(unit)) {
+            return false;
+        }
+        state.setFlag(unit, UnitTable.HIDDEN, false);
+        state.setFlag(unit, UnitTable.MOVED, false); // Flipping does not consume the move action
+        return true;
+    }
+
+    static boolean block(GameState state, int team, int field) {
+        if (!isField(field) || !isValidUnit(state, team, field)) {
+            return false;
+        }
+        int unit = state.getUnitAt(field);
+        if (state.getUnits().isKing(unit)) {
+            return false;
+        }
+        state.setFlag(unit, UnitTable.BLOCKING, true);
+        state.setFlag(unit, UnitTable.MOVED, true);
+        return true;
+    }
+
+    static boolean place(GameState state, int team, int field, int[] handIndices, int count) {
+        TeamTable teams = state.getTeams();
+        if (!isField(field) || !isValidPlacement(state, team, field, handIndices, count)) {
+            return false;
+        }
+
+        int[] cards = teams.takeHandCards(team, handIndices, count);
+        for (int i = 0; i < count; i++) {
+            if (teams.getActiveCount(team) >= GameConstants.MAX_ACTIVE_UNITS) {
+                continue; // The card is eliminated
+            }
+
+            int target = state.getUnitAt(field);
+            if (target == NONE) {
+                int unit = createFromCard(state, team, cards[i]);
+                state.placeUnit(unit, field);
+                teams.addActiveUnit(team, unit);
+            } else {
+                combineOnPlace(state, team, cards[i], target);
+            }
+        }
+
+        state.setPlacedUnitInTurn(true);
+        checkWinCondition(state);
+        return true;
+    }
+
+    // --- HELPER METHODS ---
+
+    private static void checkWinCondition(GameState state) {
+        TeamTable teams = state.getTeams();
+        if (state.isGameOver()) {
+            return;
+        }
+        if (teams.getLp(0) <= 0 || teams.getLp(1) <= 0) {
+            state.setWinner((teams.getLp(0) <= 0) ? 1 : 0);
+        }
+    }
+
+    // Same checks as Game.validateUnit
+    private static boolean isValidUnit(GameState state, int team, int field) {
+        UnitTable units = state.getUnits();
+        int unit = state.getUnitAt(field);
+        return unit != NONE && units.getOwner(unit) == team && !units.hasMoved(unit);
+    }
+
+    // Same checks as PlaceUnitHelper.validateInput, with 0-based indices
+    private static boolean isValidPlacement(GameState state, int team, int field, int[] handIndices, int count) {
+        UnitTable units = state.getUnits();
+        if (state.hasPlacedUnitInTurn()) {
+            return false;
+        }
+
+        int kingField = units.getField(state.getKing(team));
+        if (Math.abs(kingField / COLS - field / COLS) > 1 || Math.abs(kingField % COLS - field % COLS) > 1) {
+            return false;
+        }
+
+        int existing = state.getUnitAt(field);
+        if (existing != NONE && units.getOwner(existing) != team) {
+            return false;
+        }
+
+        int seen = 0;
+        for (int i = 0; i < count; i++) {
+            int index = handIndices[i];
+            if (index < 0 || index >= state.getTeams().getHandSize(team) || (seen & (1 << index)) != 0) {
+                return false;
+            }
+            seen |= 1 << index;
+        }
+        return true;
+    }
+
+    private static boolean moveKing(GameState state, int from, int to) {
+        UnitTable units = state.getUnits();
+        if (from == to) {
+            return true; // The King chooses to stay in place
+        }
+
+        int king = state.getUnitAt(from);
+        int target = state.getUnitAt(to);
+        if (target != NONE) {
+            if (units.getOwner(target) != units.getOwner(king)) {
+                return false; // The King cannot duel
+            }
+            state.eliminateUnit(target);
+        }
+        state.moveUnit(from, to);
+        return true;
+    }
+
+    // Returns whether the moving unit is still on the board
+    private static boolean combineOnMove(GameState state, int unitA, int unitB) {
+        UnitTable units = state.getUnits();
+        int posA = units.getField(unitA);
+        int posB = units.getField(unitB);
+        long stats = combineStats(state, units.getName(unitA), units.getAtk(unitA), units.getDef(unitA), unitB);
+        if (stats == UnitCombiner.NO_COMBINATION) {
+            state.eliminateUnit(unitB);
+            state.moveUnit(posA, posB);
+            return true;
+        }
+
+        int qualifier = state.getCatalog().combinedQualifierOf(units.getQualifier(unitB), units.getQualifier(unitA));
+        int role = units.getRole(unitB);
+        boolean hidden = units.isHidden(unitA) || units.isHidden(unitB);
+        int team = units.getOwner(unitA);
+        state.eliminateUnit(unitA);
+        state.eliminateUnit(unitB);
+
+        int combined = state.createUnit(team, qualifier, role, UnitCombiner.atkOf(stats), UnitCombiner.defOf(stats),
+                hidden ? UnitTable.HIDDEN : 0);
+        state.placeUnit(combined, posB);
+        state.getTeams().addActiveUnit(team, combined);
+        return false;
+    }
+
+    private static void combineOnPlace(GameState state, int team, int card, int target) {
+        UnitTable units = state.getUnits();
+        UnitCatalog catalog = state.getCatalog();
+        UnitTemplate template = catalog.getTemplate(card);
+        int pos = units.getField(target);
+        long stats = combineStats(state, catalog.getName(card), template.getAtk(), template.getDef(), target);
+        int qualifier = catalog.combinedQualifierOf(units.getQualifier(target), catalog.getQualifier(card));
+        int role = units.getRole(target);
+        state.eliminateUnit(target);
+
+        int unit;
+        if (stats != UnitCombiner.NO_COMBINATION) {
+            // Cards in the hand are hidden, and so is the combined unit
+            unit = state.createUnit(team, qualifier, role, UnitCombiner.atkOf(stats), UnitCombiner.defOf(stats),
+                    UnitTable.HIDDEN);
+        } else {
+            unit = createFromCard(state, team, card);
+        }
+        state.placeUnit(unit, pos);
+        state.getTeams().addActiveUnit(team, unit);
+    }
+
+    // Mirrors UnitCombiner.combineStats for a joining unit given by its name and
+    // stats, which need not be on the board yet
+    private static long combineStats(GameState state, int nameA, int atkA, int defA, int unitB) {
+        UnitTable units = state.getUnits();
+        if (nameA == units.getName(unitB)) {
+            return UnitCombiner.NO_COMBINATION;
+        }
+        return UnitCombiner.combineStats(atkA, defA, units.getAtk(unitB), units.getDef(unitB));
+    }
+
+    private static int createFromCard(GameState state, int team, int card) {
+        UnitCatalog catalog = state.getCatalog();
+        UnitTemplate template = catalog.getTemplate(card);
+        int unit = state.createUnit(team, catalog.getQualifier(card), catalog.getRole(card), template.getAtk(),
+                template.getDef(), UnitTable.HIDDEN);
+        state.setCard(unit, card);
+        return unit;
+    }
+
+    private static boolean isField(int field) {
+        return field >= 0 && field < GameState.FIELD_COUNT;
+    }
+
+    private static int distance(int from, int to) {
+        return Math.abs(from % COLS - to % COLS) + Math.abs(from / COLS - to / COLS);
+    }
+
+    private static int otherTeam(int team) {
+        return 1 - team;
+    }
+
+    private static void decreaseLp(TeamTable teams, int team, int damage) {
+        teams.setLp(team, teams.getLp(team) - damage);
+    }
+
+    private static boolean handleDuel(GameState state, int attacker, int defender) {
+        TeamTable teams = state.getTeams();
+        UnitTable units = state.getUnits();
+        int fromPos = units.getField(attacker);
+        int toPos = units.getField(defender);
+        state.setFlag(attacker, UnitTable.HIDDEN, false);
+        state.setFlag(defender, UnitTable.HIDDEN, false);
+
+        int atkTeam = units.getOwner(attacker);
+        int defTeam = units.getOwner(defender);
+        int atk = units.getAtk(attacker);
+        int attackerDamage = 0;
+        int defenderDamage = 0;
+        boolean attackerDies = false;
+        boolean defenderDies = false;
+        boolean defenderIsKing = units.isKing(defender);
+        // Same outcomes as Duel.resolveDuel
+        if (defenderIsKing) {
+            defenderDamage = atk;
+        } else if (units.isBlocking(defender)) {
+            int def = units.getDef(defender);
+            defenderDies = atk > def;
+            attackerDamage = (atk < def) ? def - atk : 0;
+        } else {
+            int defenderAtk = units.getAtk(defender);
+            attackerDies = atk <= defenderAtk;
+            defenderDies = atk >= defenderAtk;
+            if (atk > defenderAtk) {
+                defenderDamage = atk - defenderAtk;
+            } else {
+                attackerDamage = defenderAtk - atk;
+            }
+        }
+
+        if (defenderDies) {
+            state.eliminateUnit(defender);
+        }
+        if (attackerDies) {
+            state.eliminateUnit(attacker);
+        }
+        if (attackerDamage > 0) {
+            decreaseLp(teams, atkTeam, attackerDamage);
+        }
+        if (defenderDamage > 0) {
+            decreaseLp(teams, defTeam, defenderDamage);
+        }
+
+        if (defenderDies && !attackerDies && !defenderIsKing) {
+            state.moveUnit(fromPos, toPos);
+        }
+        return !attackerDies;
+    }
+}
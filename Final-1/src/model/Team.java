@@ -162,6 +162,16 @@ public class Team {
         return deck.size();
     }
 
+    /**
+     * Gets an unmodifiable view of the cards remaining in the team's deck, in the
+     * order they are drawn.
+     * 
+     * @return An unmodifiable list of the unit templates in the team's deck.
+     */
+    public List<UnitTemplate> getDeck() {
+        return Collections.unmodifiableList(deck);
+    }
+
     /**
      * Checks if the team is defeated by verifying if their life points (LP) have
      * dropped to zero or below.
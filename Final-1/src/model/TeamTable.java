@@ -0,0 +1,329 @@
+package model;
+
+import utils.GameConstants;
+
+/**
+ * The TeamTable class holds what belongs to the teams of a {@link GameState}:
+ * their active units, hands, decks, life points and first round status. Cards
+ * are IDs of the {@link UnitCatalog} of the state, active units are slots of
+ * its {@link UnitTable}.
+ *
+ * <p>
+ * The table keeps the part of the Zobrist hash of the position it holds up to
+ * date with every change, so the state does not have to track the changes of
+ * the teams. Changes are only possible from within the package.
+ * </p>
+ *
+ * @author udqch
+ */
+public final class TeamTable {
+    // The hand may briefly hold one card more than allowed
+    static final int HAND_CAPACITY = GameConstants.MAX_HAND_SIZE + 1;
+
+    private final int[] activeUnits = new int[GameState.TEAM_COUNT * GameConstants.MAX_ACTIVE_UNITS];
+    private final int[] activeCounts = new int[GameState.TEAM_COUNT];
+    private final int[] hands = new int[GameState.TEAM_COUNT * HAND_CAPACITY];
+    private final int[] handSizes = new int[GameState.TEAM_COUNT];
+    // The decks are never changed, drawing only advances the head
+    private final int[][] decks = { new int[0], new int[0] };
+    private final int[] deckHeads = new int[GameState.TEAM_COUNT];
+    private final int[] lifePoints = new int[GameState.TEAM_COUNT];
+    private final boolean[] firstRounds = new boolean[GameState.TEAM_COUNT];
+    private long hash;
+    // The part of the hash held by each deck, as a deck array may be reused
+    // once it is replaced
+    private final long[] deckHashes = new long[GameState.TEAM_COUNT];
+
+    // Scratch space for the cards of a placement, not part of the state
+    private final int[] takenCards = new int[HAND_CAPACITY];
+
+    /**
+     * Constructor for the TeamTable class, with empty hands and decks and no
+     * life points.
+     */
+    TeamTable() {
+        for (int t = 0; t < GameState.TEAM_COUNT; t++) {
+            hash ^= ZobristKeys.lpKey(t, 0);
+        }
+    }
+
+    /**
+     * Adds a unit to the active units of a team if it is not active yet.
+     *
+     * @param team The index of the team.
+     * @param unit The slot of the unit.
+     */
+    void addActiveUnit(int team, int unit) {
+        int offset = team * GameConstants.MAX_ACTIVE_UNITS;
+        for (int i = 0; i < activeCounts[team]; i++) {
+            if (activeUnits[offset + i] == unit) {
+                return;
+            }
+        }
+        activeUnits[offset + activeCounts[team]++] = unit;
+    }
+
+    /**
+     * Removes a unit from the active units of a team, keeping the order of the
+     * others.
+     *
+     * @param team The index of the team.
+     * @param unit The slot of the unit.
+     */
+    void removeActiveUnit(int team, int unit) {
+        int offset = team * GameConstants.MAX_ACTIVE_UNITS;
+        for (int i = 0; i < activeCounts[team]; i++) {
+            if (activeUnits[offset + i] == unit) {
+                System.arraycopy(activeUnits, offset + i + 1, activeUnits, offset + i, activeCounts[team] - i - 1);
+                activeCounts[team]--;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Adds a card to the end of the hand of a team.
+     *
+     * @param team The index of the team.
+     * @param card The ID of the card.
+     */
+    void addHandCard(int team, int card) {
+        hash ^= ZobristKeys.handKey(team, handSizes[team], card);
+        hands[team * HAND_CAPACITY + handSizes[team]++] = card;
+    }
+
+    /**
+     * Replaces a card in the hand of a team.
+     *
+     * @param team  The index of the team.
+     * @param index The 0-based hand index.
+     * @param card  The ID of the new card.
+     */
+    void setHandCard(int team, int index, int card) {
+        int offset = team * HAND_CAPACITY;
+        hash ^= ZobristKeys.handKey(team, index, hands[offset + index]) ^ ZobristKeys.handKey(team, index, card);
+        hands[offset + index] = card;
+    }
+
+    /**
+     * Copies the cards at the given hand indices to the placement scratch space
+     * and removes them from the hand, keeping the order of the other cards.
+     *
+     * @param team        The index of the team.
+     * @param handIndices The 0-based hand indices, valid and distinct.
+     * @param count       The number of indices used.
+     * @return The cards in the order of the indices.
+     */
+    int[] takeHandCards(int team, int[] handIndices, int count) {
+        int offset = team * HAND_CAPACITY;
+        hash ^= handHash(team);
+        int taken = 0;
+        for (int i = 0; i < count; i++) {
+            takenCards[i] = hands[offset + handIndices[i]];
+            taken |= 1 << handIndices[i];
+        }
+        int size = 0;
+        for (int i = 0; i < handSizes[team]; i++) {
+            if ((taken & (1 << i)) == 0) {
+                hands[offset + size++] = hands[offset + i];
+            }
+        }
+        handSizes[team] = size;
+        hash ^= handHash(team);
+        return takenCards;
+    }
+
+    /**
+     * Removes the card at a hand index, keeping the order of the other cards.
+     *
+     * @param team  The index of the team.
+     * @param index The 0-based hand index.
+     */
+    void discardCard(int team, int index) {
+        int offset = team * HAND_CAPACITY;
+        hash ^= handHash(team);
+        System.arraycopy(hands, offset + index + 1, hands, offset + index, handSizes[team] - index - 1);
+        handSizes[team]--;
+        hash ^= handHash(team);
+    }
+
+    /**
+     * Moves the top card of a team's deck to its hand.
+     *
+     * @param team The index of the team.
+     */
+    void drawCard(int team) {
+        int head = deckHeads[team]++;
+        int card = decks[team][head];
+        long key = ZobristKeys.deckKey(team, decks[team].length - 1 - head, card);
+        deckHashes[team] ^= key;
+        hash ^= key;
+        addHandCard(team, card);
+    }
+
+    /**
+     * Makes the cards from a position of an array to its end the deck of a team.
+     * The array is not copied and must not be changed while the deck is in use.
+     *
+     * @param team  The index of the team.
+     * @param cards The cards, the top card at the head.
+     * @param head  The index of the top card.
+     */
+    void setDeck(int team, int[] cards, int head) {
+        decks[team] = cards;
+        deckHeads[team] = head;
+        hash ^= deckHashes[team];
+        deckHashes[team] = 0;
+        for (int i = head; i < cards.length; i++) {
+            deckHashes[team] ^= ZobristKeys.deckKey(team, cards.length - 1 - i, cards[i]);
+        }
+        hash ^= deckHashes[team];
+    }
+
+    /**
+     * Sets the life points of a team.
+     *
+     * @param team The index of the team.
+     * @param lp   The new life points.
+     */
+    void setLp(int team, int lp) {
+        hash ^= ZobristKeys.lpKey(team, lifePoints[team]) ^ ZobristKeys.lpKey(team, lp);
+        lifePoints[team] = lp;
+    }
+
+    /**
+     * Sets the first round status of a team.
+     *
+     * @param team       The index of the team.
+     * @param firstRound The new first round status.
+     */
+    void setFirstRound(int team, boolean firstRound) {
+        if (firstRounds[team] != firstRound) {
+            hash ^= ZobristKeys.firstRoundKey(team);
+        }
+        firstRounds[team] = firstRound;
+    }
+
+    /**
+     * Overwrites another table with this table without allocating. The decks are
+     * shared.
+     *
+     * @param target The table to overwrite.
+     */
+    void copyInto(TeamTable target) {
+        System.arraycopy(activeUnits, 0, target.activeUnits, 0, activeUnits.length);
+        System.arraycopy(hands, 0, target.hands, 0, hands.length);
+        for (int t = 0; t < GameState.TEAM_COUNT; t++) {
+            target.activeCounts[t] = activeCounts[t];
+            target.handSizes[t] = handSizes[t];
+            target.decks[t] = decks[t];
+            target.deckHeads[t] = deckHeads[t];
+            target.lifePoints[t] = lifePoints[t];
+            target.firstRounds[t] = firstRounds[t];
+            target.deckHashes[t] = deckHashes[t];
+        }
+        target.hash = hash;
+    }
+
+    private long handHash(int team) {
+        long result = 0;
+        for (int i = 0; i < handSizes[team]; i++) {
+            result ^= ZobristKeys.handKey(team, i, hands[team * HAND_CAPACITY + i]);
+        }
+        return result;
+    }
+
+    // --- GETTERS ---
+
+    /**
+     * Returns the part of the Zobrist hash of the position held by the teams.
+     *
+     * @return The hash of the teams.
+     */
+    long getHash() {
+        return hash;
+    }
+
+    /**
+     * Returns the number of active units of a team, not counting the King.
+     *
+     * @param team The index of the team.
+     * @return The number of active units.
+     */
+    public int getActiveCount(int team) {
+        return activeCounts[team];
+    }
+
+    /**
+     * Returns an active unit of a team, in the order the units became active.
+     *
+     * @param team  The index of the team.
+     * @param index The 0-based index among the active units.
+     * @return The slot of the unit.
+     */
+    public int getActiveUnit(int team, int index) {
+        return activeUnits[team * GameConstants.MAX_ACTIVE_UNITS + index];
+    }
+
+    /**
+     * Returns the number of cards in the hand of a team.
+     *
+     * @param team The index of the team.
+     * @return The hand size.
+     */
+    public int getHandSize(int team) {
+        return handSizes[team];
+    }
+
+    /**
+     * Returns a card in the hand of a team.
+     *
+     * @param team  The index of the team.
+     * @param index The 0-based hand index.
+     * @return The ID of the card.
+     */
+    public int getHandCard(int team, int index) {
+        return hands[team * HAND_CAPACITY + index];
+    }
+
+    /**
+     * Returns the number of cards left in the deck of a team.
+     *
+     * @param team The index of the team.
+     * @return The deck size.
+     */
+    public int getDeckSize(int team) {
+        return decks[team].length - deckHeads[team];
+    }
+
+    /**
+     * Returns a card in the deck of a team, counted from the top.
+     *
+     * @param team  The index of the team.
+     * @param index The 0-based index from the top of the deck.
+     * @return The ID of the card.
+     */
+    public int getDeckCard(int team, int index) {
+        return decks[team][deckHeads[team] + index];
+    }
+
+    /**
+     * Returns the life points of a team.
+     *
+     * @param team The index of the team.
+     * @return The life points.
+     */
+    public int getLp(int team) {
+        return lifePoints[team];
+    }
+
+    /**
+     * Checks if a team is in its first round.
+     *
+     * @param team The index of the team.
+     * @return True if the team has not drawn a card at the start of a turn yet.
+     */
+    public boolean isFirstRound(int team) {
+        return firstRounds[team];
+    }
+}
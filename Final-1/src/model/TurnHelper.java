@@ -38,8 +38,8 @@ final class TurnHelper {
             Team winner = (team == game.getTeam1()) ? game.getTeam2() : game.getTeam1();
             game.setWinner(winner);
             game.setGameOver(true);
-            logs.add(EventLog.DECK_EMPTY.format(team.getName()));
-            logs.add(EventLog.WINS.format(winner.getName()));
+            game.log(logs, () -> EventLog.DECK_EMPTY.format(team.getName()));
+            game.log(logs, () -> EventLog.WINS.format(winner.getName()));
             return logs;
         }
 
@@ -81,7 +81,7 @@ final class TurnHelper {
                 throw new GameLogicException(ErrorMessage.HAND_FULL.format(team.getName()));
             }
             team.discardCard(unitToDiscard);
-            logs.add(EventLog.DISCARDED.format(
+            game.log(logs, () -> EventLog.DISCARDED.format(
                     team.getName(), unitToDiscard.getName(), unitToDiscard.getAtk(), unitToDiscard.getDef()));
         } else {
             if (unitToDiscard != null) {
@@ -91,7 +91,7 @@ final class TurnHelper {
 
         Team nextTeam = (currentTeam == game.getTeam1()) ? game.getTeam2() : game.getTeam1();
         game.setCurrentTurn(nextTeam);
-        logs.add(EventLog.SWITCH_TURNS.format(nextTeam.getName()));
+        game.log(logs, () -> EventLog.SWITCH_TURNS.format(nextTeam.getName()));
         logs.addAll(startTurn(game, nextTeam));
 
         return logs;
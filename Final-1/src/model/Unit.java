@@ -22,6 +22,7 @@ public class Unit {
     private boolean isHidden;
     private boolean isBlocking;
     private boolean hasMoved;
+    private boolean isCombined;
 
     /**
      * Constructor for the Unit class, which initializes a unit based on a given
@@ -250,4 +251,23 @@ public class Unit {
     public void setHasMoved(boolean hasMoved) {
         this.hasMoved = hasMoved;
     }
+
+    /**
+     * Checks if the unit was created by combining two units rather than from a
+     * card.
+     * 
+     * @return true if the unit is a combined unit, false otherwise
+     */
+    public boolean isCombined() {
+        return this.isCombined;
+    }
+
+    /**
+     * Sets whether the unit was created by combining two units.
+     * 
+     * @param combined the new combined status to assign to the unit
+     */
+    public void setCombined(boolean combined) {
+        this.isCombined = combined;
+    }
 }
@@ -0,0 +1,81 @@
+package model;
+
+import exceptions.GameLogicException;
+import java.util.ArrayList;
+import java.util.List;
+import message.ErrorMessage;
+import message.EventLog;
+
+/**
+ * The UnitActionHelper class provides the actions a unit can take instead of
+ * moving: flipping face up and blocking. Both validate the unit according to
+ * the game rules before changing its status.
+ * 
+ * @author udqch
+ */
+final class UnitActionHelper {
+    private UnitActionHelper() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Executes a flip action for the specified team at the given position. This
+     * method validates the flip action according to game rules and updates the
+     * unit's hidden status if the action is valid.
+     * 
+     * @param game The game instance to operate on.
+     * @param team The team performing the flip action.
+     * @param pos  The position of the unit that will be flipped.
+     * @return A list of event log messages generated during progress.
+     * @throws GameLogicException If the flip action is invalid according to game
+     *                            rules.
+     */
+    static List<String> executeFlip(Game game, Team team, Position pos) throws GameLogicException {
+        List<String> logs = new ArrayList<>();
+        Board board = game.getBoard();
+        Unit unit = board.getUnitAt(pos);
+
+        game.validateUnit(team, pos);
+        if (unit.isKing()) {
+            throw new GameLogicException(ErrorMessage.KING_CANNOT_FLIP.format());
+        }
+        if (!unit.isHidden()) {
+            throw new GameLogicException(ErrorMessage.UNIT_ALREADY_FLIPPED.format(unit.getName()));
+        }
+
+        unit.setHidden(!unit.isHidden());
+        board.refreshStatusAt(pos);
+        unit.setHasMoved(false); // Flipping does not consume the move action
+        game.log(logs, () -> EventLog.FLIP.format(unit.getName(), unit.getAtk(), unit.getDef(), pos.toString()));
+        return logs;
+    }
+
+    /**
+     * Executes a block action for the specified team at the given position. This
+     * method validates the block action according to game rules and updates the
+     * unit's status to blocking if the action is valid.
+     * 
+     * @param game The game instance to operate on.
+     * @param team The team performing the block action.
+     * @param pos  The position of the unit that will block.
+     * @return A list of event log messages generated during progress.
+     * @throws GameLogicException If the block action is invalid according to game
+     *                            rules.
+     */
+    static List<String> executeBlock(Game game, Team team, Position pos) throws GameLogicException {
+        List<String> logs = new ArrayList<>();
+        Board board = game.getBoard();
+        Unit unit = board.getUnitAt(pos);
+
+        game.validateUnit(team, pos);
+        if (unit.isKing()) {
+            throw new GameLogicException(ErrorMessage.KING_CANNOT_BLOCK.format());
+        }
+
+        unit.setBlocking(true);
+        board.refreshStatusAt(pos);
+        unit.setHasMoved(true);
+        game.log(logs, () -> EventLog.BLOCKS.format(unit.getName(), unit.getPosition().toString()));
+        return logs;
+    }
+}
@@ -0,0 +1,245 @@
+package model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The UnitCatalog class assigns IDs to the names and cards used by a
+ * {@link GameState}, so that the state can be kept in primitive arrays. Cards
+ * are the unit templates in the decks and hands; qualifiers, roles and full
+ * names are interned separately, because the combination rules compare full
+ * names and build the names of combined units from qualifiers and roles.
+ *
+ * <p>
+ * One catalog is shared by all states copied from each other and may be used
+ * by several threads. Registering a new ID is synchronized, while looking up
+ * known IDs and reading them does not lock, as simulations running in
+ * parallel do that for every unit they create.
+ * </p>
+ *
+ * <p>
+ * Simulations combine units into names that never occur in the game. A search
+ * therefore runs on a {@link #copy()} of the catalog, which it discards
+ * afterwards, so that the catalog of the game only grows by the units of the
+ * game itself.
+ * </p>
+ *
+ * @author udqch
+ */
+public final class UnitCatalog {
+    private static final String NAME_SEPARATOR = " ";
+    // Indexes into the parts of a card
+    private static final int QUALIFIER = 0;
+    private static final int ROLE = 1;
+    private static final int NAME = 2;
+
+    private final Map<String, Integer> qualifierIds = new HashMap<>();
+    private final Map<String, Integer> roleIds = new HashMap<>();
+    private final Map<String, Integer> nameIds = new HashMap<>();
+    private final Map<Long, Integer> namesOfParts = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> combinedQualifiers = new ConcurrentHashMap<>();
+    private final Map<CardKey, Integer> cardIds = new HashMap<>();
+    private final List<String> qualifiers = new CopyOnWriteArrayList<>();
+    private final List<String> roles = new CopyOnWriteArrayList<>();
+    private final List<UnitTemplate> cards = new CopyOnWriteArrayList<>();
+    private final List<int[]> cardParts = new CopyOnWriteArrayList<>();
+
+    // The identity of a card, as unit templates do not define equality
+    private record CardKey(String qualifier, String role, int atk, int def) {
+    }
+
+    /**
+     * Returns a copy of this catalog with the same IDs. IDs registered in the copy
+     * afterwards are not known to this catalog and vice versa.
+     *
+     * @return The copy.
+     */
+    public synchronized UnitCatalog copy() {
+        UnitCatalog copy = new UnitCatalog();
+        copy.qualifierIds.putAll(qualifierIds);
+        copy.roleIds.putAll(roleIds);
+        copy.nameIds.putAll(nameIds);
+        copy.namesOfParts.putAll(namesOfParts);
+        copy.combinedQualifiers.putAll(combinedQualifiers);
+        copy.cardIds.putAll(cardIds);
+        copy.qualifiers.addAll(qualifiers);
+        copy.roles.addAll(roles);
+        copy.cards.addAll(cards);
+        copy.cardParts.addAll(cardParts);
+        return copy;
+    }
+
+    // --- REGISTRATION ---
+
+    /**
+     * Returns the ID of the card with the given template, registering it if it is
+     * new. Templates with the same qualifier, role and stats share one card.
+     *
+     * @param template The unit template of the card.
+     * @return The ID of the card.
+     */
+    public synchronized int cardOf(UnitTemplate template) {
+        CardKey key = new CardKey(template.getQualifier(), template.getRole(), template.getAtk(), template.getDef());
+        Integer id = cardIds.get(key);
+        if (id == null) {
+            id = cards.size();
+            int qualifier = qualifierOf(key.qualifier());
+            int role = roleOf(key.role());
+            cardParts.add(new int[] { qualifier, role, nameOf(qualifier, role) });
+            cards.add(template);
+            cardIds.put(key, id);
+        }
+        return id;
+    }
+
+    /**
+     * Returns the ID of a qualifier, registering it if it is new.
+     *
+     * @param qualifier The qualifier.
+     * @return The ID of the qualifier.
+     */
+    public synchronized int qualifierOf(String qualifier) {
+        return intern(qualifierIds, qualifiers, qualifier);
+    }
+
+    /**
+     * Returns the ID of a role, registering it if it is new.
+     *
+     * @param role The role.
+     * @return The ID of the role.
+     */
+    public synchronized int roleOf(String role) {
+        return intern(roleIds, roles, role);
+    }
+
+    /**
+     * Returns the ID of the full name of a unit with the given qualifier and role.
+     * Different qualifiers and roles that form the same name share one ID.
+     *
+     * @param qualifier The ID of the qualifier.
+     * @param role      The ID of the role.
+     * @return The ID of the name.
+     */
+    public int nameOf(int qualifier, int role) {
+        long key = (long) qualifier << Integer.SIZE | role;
+        Integer id = namesOfParts.get(key);
+        return (id != null) ? id : registerName(key, qualifier, role);
+    }
+
+    /**
+     * Returns the ID of the qualifier of a unit combined from two units, which is
+     * the qualifier of the target unit followed by that of the joining unit.
+     *
+     * @param targetQualifier  The ID of the qualifier of the target unit.
+     * @param joiningQualifier The ID of the qualifier of the joining unit.
+     * @return The ID of the combined qualifier.
+     */
+    public int combinedQualifierOf(int targetQualifier, int joiningQualifier) {
+        long key = (long) targetQualifier << Integer.SIZE | joiningQualifier;
+        Integer id = combinedQualifiers.get(key);
+        return (id != null) ? id : registerCombinedQualifier(key, targetQualifier, joiningQualifier);
+    }
+
+    private synchronized int registerName(long key, int qualifier, int role) {
+        Integer id = namesOfParts.get(key);
+        if (id == null) {
+            String name = qualifiers.get(qualifier) + NAME_SEPARATOR + roles.get(role);
+            id = nameIds.computeIfAbsent(name, n -> nameIds.size());
+            namesOfParts.put(key, id);
+        }
+        return id;
+    }
+
+    private synchronized int registerCombinedQualifier(long key, int targetQualifier, int joiningQualifier) {
+        Integer id = combinedQualifiers.get(key);
+        if (id == null) {
+            id = qualifierOf(qualifiers.get(targetQualifier) + NAME_SEPARATOR + qualifiers.get(joiningQualifier));
+            combinedQualifiers.put(key, id);
+        }
+        return id;
+    }
+
+    private static int intern(Map<String, Integer> ids, List<String> values, String value) {
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = values.size();
+            values.add(value);
+            ids.put(value, id);
+        }
+        return id;
+    }
+
+    // --- GETTERS ---
+
+    /**
+     * Returns the template of a card.
+     *
+     * @param card The ID of the card.
+     * @return The unit template of the card.
+     */
+    public UnitTemplate getTemplate(int card) {
+        return cards.get(card);
+    }
+
+    /**
+     * Returns the ID of the qualifier of a card.
+     *
+     * @param card The ID of the card.
+     * @return The ID of the card's qualifier.
+     */
+    public int getQualifier(int card) {
+        return cardParts.get(card)[QUALIFIER];
+    }
+
+    /**
+     * Returns the ID of the role of a card.
+     *
+     * @param card The ID of the card.
+     * @return The ID of the card's role.
+     */
+    public int getRole(int card) {
+        return cardParts.get(card)[ROLE];
+    }
+
+    /**
+     * Returns the ID of the full name of a card.
+     *
+     * @param card The ID of the card.
+     * @return The ID of the card's name.
+     */
+    public int getName(int card) {
+        return cardParts.get(card)[NAME];
+    }
+
+    /**
+     * Returns the qualifier with the given ID.
+     *
+     * @param qualifier The ID of the qualifier.
+     * @return The qualifier.
+     */
+    public String getQualifierText(int qualifier) {
+        return qualifiers.get(qualifier);
+    }
+
+    /**
+     * Returns the role with the given ID.
+     *
+     * @param role The ID of the role.
+     * @return The role.
+     */
+    public String getRoleText(int role) {
+        return roles.get(role);
+    }
+
+    /**
+     * Returns the number of registered cards.
+     *
+     * @return The number of cards.
+     */
+    public int getCardCount() {
+        return cards.size();
+    }
+}
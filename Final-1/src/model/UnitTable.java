@@ -0,0 +1,279 @@
+package model;
+
+import utils.GameConstants;
+
+/**
+ * The UnitTable class holds the units of a {@link GameState} in primitive
+ * arrays. Units are identified by slots, which are reused after a unit has been
+ * eliminated; the King of each team always occupies the slot with the team's
+ * index. Names, qualifiers, roles and cards are IDs of the {@link UnitCatalog}
+ * of the state.
+ *
+ * <p>
+ * Changes go through the state, which keeps its hash up to date, so the table
+ * itself only offers read access outside of its package.
+ * </p>
+ *
+ * @author udqch
+ */
+public final class UnitTable {
+    // The Kings and the active units of both teams, plus room for a unit being
+    // created while another one is eliminated
+    static final int CAPACITY = GameState.TEAM_COUNT * (GameConstants.MAX_ACTIVE_UNITS + 1) + 2;
+
+    // Flags of a unit slot
+    static final int ALIVE = 1;
+    static final int HIDDEN = 2;
+    static final int BLOCKING = 4;
+    static final int MOVED = 8;
+    static final int KING = 16;
+
+    private final int[] flags = new int[CAPACITY];
+    private final int[] owners = new int[CAPACITY];
+    private final int[] fields = new int[CAPACITY];
+    private final int[] atks = new int[CAPACITY];
+    private final int[] defs = new int[CAPACITY];
+    private final int[] qualifiers = new int[CAPACITY];
+    private final int[] roles = new int[CAPACITY];
+    private final int[] names = new int[CAPACITY];
+    // The card a unit was created from, NONE for Kings and combined units
+    private final int[] cards = new int[CAPACITY];
+
+    /**
+     * Creates a unit in a free slot, without a field and without a card.
+     *
+     * @param team      The index of the owning team.
+     * @param qualifier The ID of the qualifier.
+     * @param role      The ID of the role.
+     * @param name      The ID of the full name.
+     * @param atk       The attack value.
+     * @param def       The defense value.
+     * @param unitFlags The flags of the unit, without {@link #ALIVE}.
+     * @return The slot of the new unit.
+     */
+    int create(int team, int qualifier, int role, int name, int atk, int def, int unitFlags) {
+        int slot = 0;
+        while ((flags[slot] & ALIVE) != 0) {
+            slot++;
+        }
+        flags[slot] = unitFlags | ALIVE;
+        owners[slot] = team;
+        fields[slot] = GameState.NONE;
+        atks[slot] = atk;
+        defs[slot] = def;
+        qualifiers[slot] = qualifier;
+        roles[slot] = role;
+        names[slot] = name;
+        cards[slot] = GameState.NONE;
+        return slot;
+    }
+
+    /**
+     * Gives a unit a card together with the name and stats of that card.
+     *
+     * @param unit    The slot of the unit.
+     * @param card    The ID of the card.
+     * @param catalog The catalog of the card.
+     */
+    void setCard(int unit, int card, UnitCatalog catalog) {
+        UnitTemplate template = catalog.getTemplate(card);
+        cards[unit] = card;
+        atks[unit] = template.getAtk();
+        defs[unit] = template.getDef();
+        qualifiers[unit] = catalog.getQualifier(card);
+        roles[unit] = catalog.getRole(card);
+        names[unit] = catalog.getName(card);
+    }
+
+    /**
+     * Sets the field of a unit.
+     *
+     * @param unit  The slot of the unit.
+     * @param field The field.
+     */
+    void setField(int unit, int field) {
+        fields[unit] = field;
+    }
+
+    /**
+     * Sets or clears a flag of a unit.
+     *
+     * @param unit  The slot of the unit.
+     * @param flag  The flag.
+     * @param value True to set the flag, false to clear it.
+     */
+    void setFlag(int unit, int flag, boolean value) {
+        flags[unit] = value ? flags[unit] | flag : flags[unit] & ~flag;
+    }
+
+    /**
+     * Checks a flag of a unit.
+     *
+     * @param unit The slot of the unit.
+     * @param flag The flag.
+     * @return True if the flag is set.
+     */
+    boolean hasFlag(int unit, int flag) {
+        return (flags[unit] & flag) != 0;
+    }
+
+    /**
+     * Frees the slot of a unit for reuse.
+     *
+     * @param unit The slot of the unit.
+     */
+    void free(int unit) {
+        flags[unit] = 0;
+    }
+
+    /**
+     * Returns the Zobrist key of a unit on its field.
+     *
+     * @param unit The slot of the unit.
+     * @return The key of the unit.
+     */
+    long keyOf(int unit) {
+        return ZobristKeys.unitKey(fields[unit], owners[unit], names[unit], atks[unit], defs[unit], flags[unit] & ~ALIVE);
+    }
+
+    /**
+     * Overwrites another table with this table without allocating.
+     *
+     * @param target The table to overwrite.
+     */
+    void copyInto(UnitTable target) {
+        System.arraycopy(flags, 0, target.flags, 0, CAPACITY);
+        System.arraycopy(owners, 0, target.owners, 0, CAPACITY);
+        System.arraycopy(fields, 0, target.fields, 0, CAPACITY);
+        System.arraycopy(atks, 0, target.atks, 0, CAPACITY);
+        System.arraycopy(defs, 0, target.defs, 0, CAPACITY);
+        System.arraycopy(qualifiers, 0, target.qualifiers, 0, CAPACITY);
+        System.arraycopy(roles, 0, target.roles, 0, CAPACITY);
+        System.arraycopy(names, 0, target.names, 0, CAPACITY);
+        System.arraycopy(cards, 0, target.cards, 0, CAPACITY);
+    }
+
+    // --- GETTERS ---
+
+    /**
+     * Returns the card a unit was created from.
+     *
+     * @param unit The slot of the unit.
+     * @return The ID of the card, or {@link GameState#NONE} for Kings and
+     *         combined units.
+     */
+    int getCard(int unit) {
+        return cards[unit];
+    }
+
+    /**
+     * Returns the field of a unit. A King replaced on the board keeps its last
+     * field.
+     *
+     * @param unit The slot of the unit.
+     * @return The field of the unit.
+     */
+    public int getField(int unit) {
+        return fields[unit];
+    }
+
+    /**
+     * Returns the index of the team owning a unit.
+     *
+     * @param unit The slot of the unit.
+     * @return The index of the owning team.
+     */
+    public int getOwner(int unit) {
+        return owners[unit];
+    }
+
+    /**
+     * Returns the attack value of a unit.
+     *
+     * @param unit The slot of the unit.
+     * @return The attack value.
+     */
+    public int getAtk(int unit) {
+        return atks[unit];
+    }
+
+    /**
+     * Returns the defense value of a unit.
+     *
+     * @param unit The slot of the unit.
+     * @return The defense value.
+     */
+    public int getDef(int unit) {
+        return defs[unit];
+    }
+
+    /**
+     * Returns the ID of the qualifier of a unit.
+     *
+     * @param unit The slot of the unit.
+     * @return The ID of the qualifier.
+     */
+    public int getQualifier(int unit) {
+        return qualifiers[unit];
+    }
+
+    /**
+     * Returns the ID of the role of a unit.
+     *
+     * @param unit The slot of the unit.
+     * @return The ID of the role.
+     */
+    public int getRole(int unit) {
+        return roles[unit];
+    }
+
+    /**
+     * Returns the ID of the full name of a unit.
+     *
+     * @param unit The slot of the unit.
+     * @return The ID of the name.
+     */
+    public int getName(int unit) {
+        return names[unit];
+    }
+
+    /**
+     * Checks if a unit is hidden.
+     *
+     * @param unit The slot of the unit.
+     * @return True if the unit is hidden.
+     */
+    public boolean isHidden(int unit) {
+        return hasFlag(unit, HIDDEN);
+    }
+
+    /**
+     * Checks if a unit is blocking.
+     *
+     * @param unit The slot of the unit.
+     * @return True if the unit is blocking.
+     */
+    public boolean isBlocking(int unit) {
+        return hasFlag(unit, BLOCKING);
+    }
+
+    /**
+     * Checks if a unit has moved in this turn.
+     *
+     * @param unit The slot of the unit.
+     * @return True if the unit has moved.
+     */
+    public boolean hasMoved(int unit) {
+        return hasFlag(unit, MOVED);
+    }
+
+    /**
+     * Checks if a unit is a King.
+     *
+     * @param unit The slot of the unit.
+     * @return True if the unit is a King.
+     */
+    public boolean isKing(int unit) {
+        return hasFlag(unit, KING);
+    }
+}
@@ -0,0 +1,140 @@
+package model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Helper class providing the keys of the Zobrist hash of a {@link GameState}.
+ * The hash of a state is the exclusive or of one key per unit on the board,
+ * per card in a hand or deck, for the life points of each team, for each team
+ * in its first round, for the team whose turn it is and for whether a unit has
+ * been placed in this turn, so that a change of one feature updates the hash
+ * with two operations.
+ *
+ * <p>
+ * The keys of the teams, the first rounds and the placement come from tables
+ * filled with a fixed seed. Units, cards and life points have too many values
+ * for tables, so their keys are calculated by mixing the features with the
+ * finalizer of SplitMix64, which behaves like a random table. Names and cards
+ * are IDs of a {@link UnitCatalog}, so only hashes of states sharing a catalog
+ * are comparable.
+ * </p>
+ *
+ * @author udqch
+ */
+final class ZobristKeys {
+    private static final long SEED = 0x2545F4914F6CDD1DL;
+    // Separate the inputs of the mixed keys
+    private static final long UNIT_TAG = 1L << 62;
+    private static final long HAND_TAG = 2L << 62;
+    private static final long DECK_TAG = 3L << 62;
+    private static final long LP_TAG = 1L << 61;
+
+    private static final long[] TEAM_KEYS = new long[GameState.TEAM_COUNT];
+    private static final long[] FIRST_ROUND_KEYS = new long[GameState.TEAM_COUNT];
+    private static final long PLACED_KEY;
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < TEAM_KEYS.length; i++) {
+            TEAM_KEYS[i] = random.nextLong();
+        }
+        PLACED_KEY = random.nextLong();
+        for (int i = 0; i < FIRST_ROUND_KEYS.length; i++) {
+            FIRST_ROUND_KEYS[i] = random.nextLong();
+        }
+    }
+
+    private ZobristKeys() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Returns the key of a unit on a field.
+     *
+     * @param field The field of the unit.
+     * @param owner The index of the owning team.
+     * @param name  The ID of the name of the unit.
+     * @param atk   The attack value.
+     * @param def   The defense value.
+     * @param flags The flags of the unit that are part of the position.
+     * @return The key of the unit.
+     */
+    static long unitKey(int field, int owner, int name, int atk, int def, int flags) {
+        long stats = mix((long) atk << Integer.SIZE | (def & 0xFFFFFFFFL));
+        return mix(stats ^ (UNIT_TAG | (long) name << 16 | (long) flags << 8 | owner << 7 | field));
+    }
+
+    /**
+     * Returns the key of a card in a hand.
+     *
+     * @param team  The index of the team holding the card.
+     * @param index The 0-based hand index.
+     * @param card  The ID of the card.
+     * @return The key of the card.
+     */
+    static long handKey(int team, int index, int card) {
+        return mix(HAND_TAG | (long) card << 8 | index << 1 | team);
+    }
+
+    /**
+     * Returns the key of a card in a deck. Cards are counted from the bottom of
+     * the deck, so that drawing from the top does not change the keys of the
+     * other cards.
+     *
+     * @param team     The index of the team owning the deck.
+     * @param position The 0-based position from the bottom of the deck.
+     * @param card     The ID of the card.
+     * @return The key of the card.
+     */
+    static long deckKey(int team, int position, int card) {
+        return mix(DECK_TAG | (long) card << 24 | position << 1 | team);
+    }
+
+    /**
+     * Returns the key of the life points of a team.
+     *
+     * @param team The index of the team.
+     * @param lp   The life points.
+     * @return The key of the life points.
+     */
+    static long lpKey(int team, int lp) {
+        return mix(LP_TAG | (lp & 0xFFFFFFFFL) << 1 | team);
+    }
+
+    /**
+     * Returns the key included while a team is in its first round.
+     *
+     * @param team The index of the team.
+     * @return The key of the first round.
+     */
+    static long firstRoundKey(int team) {
+        return FIRST_ROUND_KEYS[team];
+    }
+
+    /**
+     * Returns the key of the team whose turn it is.
+     *
+     * @param team The index of the team.
+     * @return The key of the team.
+     */
+    static long teamKey(int team) {
+        return TEAM_KEYS[team];
+    }
+
+    /**
+     * Returns the key included while a unit has been placed in the current turn.
+     *
+     * @return The key of the placement.
+     */
+    static long placedKey() {
+        return PLACED_KEY;
+    }
+
+    // The finalizer of SplitMix64
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
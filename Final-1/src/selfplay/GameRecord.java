@@ -0,0 +1,31 @@
+package selfplay;
+
+/**
+ * The GameRecord record holds the outcome of one self-play game. The AI
+ * variants are identified by their index in the tournament, 0 for the first and
+ * 1 for the second, independent of the team they played.
+ *
+ * @param winner            The index of the winning variant, or
+ *                          {@link #NO_WINNER}.
+ * @param isFirstTeamWinner Whether the team moving first won.
+ * @param turns             The number of turns played.
+ * @param lifePoints        The life points of both variants after each turn,
+ *                          those of variant {@code v} after turn {@code t} at
+ *                          index {@code 2 * t + v}.
+ * @author udqch
+ */
+record GameRecord(int winner, boolean isFirstTeamWinner, int turns, int[] lifePoints) {
+    /** The winner of a game that ended without one. */
+    static final int NO_WINNER = -1;
+
+    /**
+     * Returns the life points of a variant after a turn.
+     *
+     * @param turn    The 0-based turn, below {@link #turns()}.
+     * @param variant The index of the variant.
+     * @return The life points.
+     */
+    int lifePointsAfter(int turn, int variant) {
+        return lifePoints[2 * turn + variant];
+    }
+}
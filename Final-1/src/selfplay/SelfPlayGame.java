@@ -0,0 +1,117 @@
+package selfplay;
+
+import ai.AIPlayer;
+import ai.AIStepListener;
+import ai.AIVariant;
+import exceptions.GameLogicException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import model.Game;
+import model.Team;
+import model.UnitTemplate;
+
+/**
+ * The SelfPlayGame class plays one game between two AI players without any
+ * output. The event log of the game is disabled, so that no messages are built
+ * at all, and the steps of the players are ignored.
+ *
+ * <p>
+ * Everything random in the game, from the order of the decks to the choices of
+ * the players, comes from one seed. A game between greedy players is thus
+ * reproducible from its seed, no matter on which thread it runs.
+ * </p>
+ *
+ * @author udqch
+ */
+final class SelfPlayGame implements Callable<GameRecord> {
+    private static final String TEAM1_NAME = "Player";
+    private static final String TEAM2_NAME = "Enemy";
+    private static final int INITIAL_TURN_CAPACITY = 64;
+    private static final AIStepListener IGNORED_STEPS = (logs, targetPos) -> { };
+
+    private final long seed;
+    private final List<List<UnitTemplate>> decks;
+    private final AIVariant[] variants;
+    private final boolean isSwapped;
+    private final long budgetMillis;
+
+    /**
+     * Constructor for the SelfPlayGame class.
+     *
+     * @param seed         The seed of the game.
+     * @param decks        The unshuffled decks of the first and the second team.
+     * @param variants     The AI variants of the tournament.
+     * @param isSwapped    Whether the second variant plays the first team.
+     * @param budgetMillis The wall-clock budget of the players, or 0 for the
+     *                     default budget of each variant.
+     */
+    SelfPlayGame(long seed, List<List<UnitTemplate>> decks, AIVariant[] variants, boolean isSwapped,
+            long budgetMillis) {
+        this.seed = seed;
+        this.decks = decks;
+        this.variants = variants;
+        this.isSwapped = isSwapped;
+        this.budgetMillis = budgetMillis;
+    }
+
+    /**
+     * Plays the game until it is over or a player does not end its turn.
+     *
+     * @return The record of the game.
+     * @throws GameLogicException If a player executes an invalid action.
+     */
+    @Override
+    public GameRecord call() throws GameLogicException {
+        Random random = new Random(seed);
+        List<UnitTemplate> deck1 = new ArrayList<>(decks.get(0));
+        List<UnitTemplate> deck2 = new ArrayList<>(decks.get(1));
+        Collections.shuffle(deck1, random);
+        Collections.shuffle(deck2, random);
+
+        Team team1 = new Team(TEAM1_NAME, deck1);
+        Team team2 = new Team(TEAM2_NAME, deck2);
+        Game game = new Game(team1, team2);
+        game.setEventLogEnabled(false);
+
+        // The teams in the order of the variants
+        Team[] teams = isSwapped ? new Team[] { team2, team1 } : new Team[] { team1, team2 };
+        AIPlayer[] players = new AIPlayer[variants.length];
+        for (int i = 0; i < variants.length; i++) {
+            players[i] = createPlayer(variants[i], game, teams[i], random);
+        }
+
+        int[] lifePoints = new int[2 * INITIAL_TURN_CAPACITY];
+        int turns = 0;
+        game.startTurn(team1);
+        while (!game.isGameOver()) {
+            Team current = game.getCurrentTurn();
+            players[(current == teams[0]) ? 0 : 1].playTurn(IGNORED_STEPS);
+
+            if (2 * turns + 2 > lifePoints.length) {
+                lifePoints = Arrays.copyOf(lifePoints, 2 * lifePoints.length);
+            }
+            lifePoints[2 * turns] = teams[0].getLp();
+            lifePoints[2 * turns + 1] = teams[1].getLp();
+            turns++;
+            if (!game.isGameOver() && game.getCurrentTurn() == current) {
+                break; // The player did not end its turn
+            }
+        }
+
+        int winner = GameRecord.NO_WINNER;
+        if (game.isGameOver() && game.getWinner() != null) {
+            winner = (game.getWinner() == teams[0]) ? 0 : 1;
+        }
+        return new GameRecord(winner, game.getWinner() == team1, turns, Arrays.copyOf(lifePoints, 2 * turns));
+    }
+
+    private AIPlayer createPlayer(AIVariant variant, Game game, Team team, Random random) {
+        long budget = (budgetMillis > 0) ? budgetMillis : variant.getDefaultBudgetMillis();
+        // The games already run in parallel, so every player searches on one thread
+        return variant.create(game, team, random, budget, 1);
+    }
+}
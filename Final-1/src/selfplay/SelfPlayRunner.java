@@ -0,0 +1,194 @@
+package selfplay;
+
+import ai.AIVariant;
+import exceptions.FatalSetupException;
+import exceptions.GameConfigurationException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import logic.combination.UnitCombiner;
+import message.FatalError;
+import model.UnitTemplate;
+import utils.FileParser;
+import utils.GameConstants;
+
+/**
+ * The SelfPlayRunner class is the entry point of a headless tournament in which
+ * two AI variants play each other. The games run in parallel on all available
+ * processors, each with its own seed, and the variants change teams after every
+ * game, so that neither profits from moving first. Nothing of the games is
+ * printed; after the last game the runner prints the statistics of the
+ * tournament and the number of games per second.
+ *
+ * <p>
+ * The arguments are given as {@code key=value} pairs like those of the game:
+ * {@code seed}, {@code units} and {@code deck} or {@code deck1} and
+ * {@code deck2} as for the game, {@code games} for the number of games,
+ * {@code ai1} and {@code ai2} for the variants, {@code budget} for the
+ * wall-clock budget of the searching variants in milliseconds and
+ * {@code threads} for the number of games running at the same time.
+ * </p>
+ *
+ * @author udqch
+ */
+public final class SelfPlayRunner {
+
+    private static final String ARG_SEPARATOR = "=";
+
+    private static final String KEY_SEED = "seed";
+    private static final String KEY_UNITS = "units";
+    private static final String KEY_DECK = "deck";
+    private static final String KEY_DECK1 = "deck1";
+    private static final String KEY_DECK2 = "deck2";
+    private static final String KEY_GAMES = "games";
+    private static final String KEY_AI1 = "ai1";
+    private static final String KEY_AI2 = "ai2";
+    private static final String KEY_BUDGET = "budget";
+    private static final String KEY_THREADS = "threads";
+    private static final Set<String> ALLOWED_KEYS = Set.of(
+            KEY_SEED, KEY_UNITS, KEY_DECK, KEY_DECK1, KEY_DECK2,
+            KEY_GAMES, KEY_AI1, KEY_AI2, KEY_BUDGET, KEY_THREADS);
+
+    private static final int DEFAULT_GAMES = 100;
+
+    private SelfPlayRunner() {
+        // Private constructor to prevent instantiation of this utility class
+    }
+
+    /**
+     * The main method runs the tournament described by the command-line
+     * arguments and prints its statistics. If the setup fails or a game ends with
+     * an error, it prints an error message instead.
+     *
+     * @param args Command-line arguments passed to the program.
+     */
+    public static void main(String[] args) {
+        try {
+            Map<String, String> argsMap = parseArguments(args);
+            validateArguments(argsMap);
+            runTournament(argsMap);
+        } catch (FatalSetupException e) {
+            System.out.println(GameConstants.ERROR_PREFIX + e.getMessage());
+        }
+    }
+
+    private static Map<String, String> parseArguments(String[] args) throws FatalSetupException {
+        Map<String, String> argsMap = new HashMap<>();
+        for (String arg : args) {
+            String[] parts = arg.split(ARG_SEPARATOR, 2);
+            if (parts.length != 2 || argsMap.containsKey(parts[0]) || !ALLOWED_KEYS.contains(parts[0])) {
+                throw new FatalSetupException(FatalError.INVALID_ARGUMENT_FORMAT.get());
+            }
+            argsMap.put(parts[0], parts[1]);
+        }
+        return argsMap;
+    }
+
+    private static void validateArguments(Map<String, String> argsMap) throws FatalSetupException {
+        if (!argsMap.containsKey(KEY_SEED) || !argsMap.containsKey(KEY_UNITS)) {
+            throw new FatalSetupException(FatalError.MISSING_MANDATORY_ARGUMENT.get());
+        }
+
+        boolean hasDeck = argsMap.containsKey(KEY_DECK);
+        boolean hasDeck1 = argsMap.containsKey(KEY_DECK1);
+        boolean hasDeck2 = argsMap.containsKey(KEY_DECK2);
+        if (hasDeck == hasDeck1 || hasDeck1 != hasDeck2) {
+            throw new FatalSetupException(FatalError.INVALID_DECK_CONFIGURATION.get());
+        }
+    }
+
+    private static void runTournament(Map<String, String> argsMap) throws FatalSetupException {
+        try {
+            long seed = Long.parseLong(argsMap.get(KEY_SEED));
+            int games = loadPositive(argsMap, KEY_GAMES, DEFAULT_GAMES);
+            int threads = loadPositive(argsMap, KEY_THREADS, Runtime.getRuntime().availableProcessors());
+            // 0 lets every variant use its default budget
+            long budgetMillis = loadPositive(argsMap, KEY_BUDGET, 0);
+            AIVariant[] variants = { loadAIVariant(argsMap, KEY_AI1), loadAIVariant(argsMap, KEY_AI2) };
+
+            List<UnitTemplate> templates = FileParser.parseUnits(FileParser.readFile(argsMap.get(KEY_UNITS)));
+            UnitCombiner.precompute(templates);
+            List<List<UnitTemplate>> decks = loadDecks(argsMap, templates);
+
+            Random random = new Random(seed);
+            List<SelfPlayGame> tasks = new ArrayList<>();
+            for (int i = 0; i < games; i++) {
+                tasks.add(new SelfPlayGame(random.nextLong(), decks, variants, i % 2 == 1, budgetMillis));
+            }
+
+            TournamentReport report = new TournamentReport(variants);
+            long start = System.nanoTime();
+            runGames(tasks, threads, report);
+            report.print(System.nanoTime() - start);
+
+        } catch (IOException e) {
+            throw new FatalSetupException(FatalError.FILE_ERROR.get() + e.getMessage());
+
+        } catch (GameConfigurationException e) {
+            throw new FatalSetupException(e.getMessage());
+
+        } catch (NumberFormatException e) {
+            throw new FatalSetupException(FatalError.INVALID_NUMBER_FORMAT.get());
+        }
+    }
+
+    // Runs the games on a pool of threads and adds their records in the order of
+    // the games, so that the report does not depend on the scheduling
+    private static void runGames(List<SelfPlayGame> tasks, int threads, TournamentReport report)
+            throws FatalSetupException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<GameRecord>> futures = executor.invokeAll(tasks);
+            for (Future<GameRecord> future : futures) {
+                report.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FatalSetupException(e.toString());
+        } catch (ExecutionException e) {
+            throw new FatalSetupException(e.getCause().getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // --- PARSER METHODS ---
+
+    private static List<List<UnitTemplate>> loadDecks(Map<String, String> argsMap, List<UnitTemplate> templates)
+            throws IOException, GameConfigurationException {
+        if (argsMap.containsKey(KEY_DECK)) {
+            List<String> rawDeck = FileParser.readFile(argsMap.get(KEY_DECK));
+            return List.of(FileParser.parseDeck(rawDeck, templates), FileParser.parseDeck(rawDeck, templates));
+        }
+        List<UnitTemplate> team1Deck = FileParser.parseDeck(FileParser.readFile(argsMap.get(KEY_DECK1)), templates);
+        List<UnitTemplate> team2Deck = FileParser.parseDeck(FileParser.readFile(argsMap.get(KEY_DECK2)), templates);
+        return List.of(team1Deck, team2Deck);
+    }
+
+    private static int loadPositive(Map<String, String> argsMap, String key, int defaultValue) {
+        if (!argsMap.containsKey(key)) {
+            return defaultValue;
+        }
+        int value = Integer.parseInt(argsMap.get(key));
+        if (value <= 0) {
+            throw new NumberFormatException();
+        }
+        return value;
+    }
+
+    private static AIVariant loadAIVariant(Map<String, String> argsMap, String key) throws FatalSetupException {
+        AIVariant variant = AIVariant.fromString(argsMap.getOrDefault(key, AIVariant.GREEDY.getKeyword()));
+        if (variant == null) {
+            throw new FatalSetupException(FatalError.INVALID_AI_MODE.get());
+        }
+        return variant;
+    }
+}
@@ -0,0 +1,104 @@
+package selfplay;
+
+import ai.AIVariant;
+import java.util.Arrays;
+import message.ReportMessages;
+
+/**
+ * The TournamentReport class collects the records of the games of a
+ * tournament and prints their statistics: the throughput, the win rates of both
+ * variants and of the team moving first, the length of the games and the
+ * average life points of both variants after each turn.
+ *
+ * @author udqch
+ */
+final class TournamentReport {
+    private static final double PERCENT = 100.0;
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final AIVariant[] variants;
+    private final int[] variantWins;
+    private int games;
+    private int firstTeamWins;
+    private int noWinner;
+    private long totalTurns;
+    private int minTurns = Integer.MAX_VALUE;
+    private int maxTurns;
+    // Sums of the life points of both variants after each turn
+    private long[] lifePointSums = new long[0];
+    // Number of games lasting at least the turn
+    private int[] turnCounts = new int[0];
+
+    /**
+     * Constructor for the TournamentReport class.
+     *
+     * @param variants The AI variants of the tournament.
+     */
+    TournamentReport(AIVariant[] variants) {
+        this.variants = variants;
+        this.variantWins = new int[variants.length];
+    }
+
+    /**
+     * Adds the record of a game to the statistics.
+     *
+     * @param record The record of the game.
+     */
+    void add(GameRecord record) {
+        games++;
+        if (record.winner() == GameRecord.NO_WINNER) {
+            noWinner++;
+        } else {
+            variantWins[record.winner()]++;
+        }
+        if (record.isFirstTeamWinner()) {
+            firstTeamWins++;
+        }
+
+        int turns = record.turns();
+        totalTurns += turns;
+        minTurns = Math.min(minTurns, turns);
+        maxTurns = Math.max(maxTurns, turns);
+        if (turns > turnCounts.length) {
+            turnCounts = Arrays.copyOf(turnCounts, turns);
+            lifePointSums = Arrays.copyOf(lifePointSums, 2 * turns);
+        }
+        for (int turn = 0; turn < turns; turn++) {
+            turnCounts[turn]++;
+            for (int variant = 0; variant < variants.length; variant++) {
+                lifePointSums[2 * turn + variant] += record.lifePointsAfter(turn, variant);
+            }
+        }
+    }
+
+    /**
+     * Prints the statistics of all added games.
+     *
+     * @param elapsedNanos The wall-clock time the games took in nanoseconds.
+     */
+    void print(long elapsedNanos) {
+        double seconds = elapsedNanos / NANOS_PER_SECOND;
+        System.out.println(ReportMessages.GAMES.format(games, seconds, games / seconds));
+        for (int i = 0; i < variants.length; i++) {
+            System.out.println(ReportMessages.VARIANT_WINS.format(variants[i].getKeyword(), i + 1, variantWins[i],
+                    percentOf(variantWins[i])));
+        }
+        System.out.println(ReportMessages.FIRST_TEAM_WINS.format(firstTeamWins, percentOf(firstTeamWins)));
+        System.out.println(ReportMessages.NO_WINNER.format(noWinner));
+        if (games == 0) {
+            return;
+        }
+
+        System.out.println(ReportMessages.TURNS.format((double) totalTurns / games, minTurns, maxTurns));
+        System.out.println(ReportMessages.LP_CURVE_HEADER.format());
+        for (int turn = 0; turn < turnCounts.length; turn++) {
+            int count = turnCounts[turn];
+            System.out.println(ReportMessages.LP_CURVE_ROW.format(turn + 1, lifePointSums[2 * turn] / count,
+                    lifePointSums[2 * turn + 1] / count, count));
+        }
+    }
+
+    private double percentOf(int count) {
+        return (games == 0) ? 0 : PERCENT * count / games;
+    }
+}
@@ -37,14 +37,26 @@ public final class FileParser {
      *                     malformed or unmappable byte sequence is read
      */
     public static List<String> readAndPrintFile(String filePath) throws IOException {
-        Path path = Paths.get(filePath);
-        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        List<String> lines = readFile(filePath);
         for (String line : lines) {
             System.out.println(line);
         }
         return lines;
     }
 
+    /**
+     * Reads a file without printing its contents.
+     * 
+     * @param filePath the path to the file to read
+     * @return a list of lines read from the file
+     * @throws IOException if an I/O error occurs reading from the file or a
+     *                     malformed or unmappable byte sequence is read
+     */
+    public static List<String> readFile(String filePath) throws IOException {
+        Path path = Paths.get(filePath);
+        return Files.readAllLines(path, StandardCharsets.UTF_8);
+    }
+
     /**
      * Parses a list of strings into a list of UnitTemplate objects.
      * Each line is expected to be in the format: "qualifier;role;atk;def".